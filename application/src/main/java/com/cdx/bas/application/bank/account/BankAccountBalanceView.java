@@ -0,0 +1,12 @@
+package com.cdx.bas.application.bank.account;
+
+import com.cdx.bas.domain.bank.account.type.AccountType;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance-only projection of a bank account, one row per customer of the account.
+ * Unlike {@link BankAccountEntity} it never loads the issued and incoming transactions.
+ */
+public record BankAccountBalanceView(Long id, AccountType type, BigDecimal balance, Long customerId) {
+}
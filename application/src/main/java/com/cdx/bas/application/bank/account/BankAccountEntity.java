@@ -2,6 +2,7 @@ package com.cdx.bas.application.bank.account;
 
 import com.cdx.bas.application.bank.customer.CustomerEntity;
 import com.cdx.bas.application.bank.transaction.TransactionEntity;
+import com.cdx.bas.application.config.SequenceAllocation;
 import com.cdx.bas.domain.bank.account.type.AccountType;
 import com.cdx.bas.domain.testing.Generated;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -23,19 +24,37 @@ import java.util.Set;
 @Generated
 @Entity
 @Table(schema = "basapp", name = "bank_accounts", uniqueConstraints = @UniqueConstraint(columnNames = "account_id"))
+@NamedQueries({
+        @NamedQuery(name = "BankAccountEntity.applyBalanceDelta",
+                query = "UPDATE BankAccountEntity b SET b.balance = b.balance + :delta "
+                        + "WHERE b.id = :id AND b.balance + :delta >= :floor AND b.balance + :delta <= :ceiling"),
+        @NamedQuery(name = "BankAccountEntity.findBalanceView",
+                query = "SELECT new com.cdx.bas.application.bank.account.BankAccountBalanceView(b.id, b.type, b.balance, c.id) "
+                        + "FROM BankAccountEntity b LEFT JOIN b.customers c WHERE b.id = :id"),
+        @NamedQuery(name = "BankAccountEntity.findBalanceViewsByIds",
+                query = "SELECT new com.cdx.bas.application.bank.account.BankAccountBalanceView(b.id, b.type, b.balance, c.id) "
+                        + "FROM BankAccountEntity b LEFT JOIN b.customers c WHERE b.id IN :ids ORDER BY b.id ASC"),
+        @NamedQuery(name = "BankAccountEntity.findAllBalanceViews",
+                query = "SELECT new com.cdx.bas.application.bank.account.BankAccountBalanceView(b.id, b.type, b.balance, c.id) "
+                        + "FROM BankAccountEntity b LEFT JOIN b.customers c ORDER BY b.id ASC"),
+        @NamedQuery(name = "BankAccountEntity.findAllIds",
+                query = "SELECT b.id FROM BankAccountEntity b ORDER BY b.id ASC"),
+        @NamedQuery(name = "BankAccountEntity.findIdsAfterId",
+                query = "SELECT b.id FROM BankAccountEntity b WHERE b.id > :id ORDER BY b.id ASC")
+})
 public class BankAccountEntity extends PanacheEntityBase {
 
     @Id
     @Column(name = "account_id", nullable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bank_accounts_account_id_seq_gen")
-    @SequenceGenerator(name = "bank_accounts_account_id_seq_gen", sequenceName = "bank_accounts_account_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "bank_accounts_account_id_seq_gen", sequenceName = "bank_accounts_account_id_seq", allocationSize = SequenceAllocation.BLOCK_SIZE, initialValue = 1)
     private Long id;
 
     @Column(name = "type", nullable = false)
     @Enumerated(EnumType.STRING)
     private AccountType type;
 
-    @Column(name = "balance", nullable = false)
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
     private BigDecimal balance;
 
     @ToString.Exclude
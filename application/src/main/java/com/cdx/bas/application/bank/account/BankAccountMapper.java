@@ -40,7 +40,9 @@ public class BankAccountMapper implements DtoEntityMapper<BankAccount, BankAccou
 
         BankAccount dto = BankAccountFactory.createBankAccount(entity.getType());
         dto.setId(entity.getId());
-        dto.setBalance(new Money(entity.getBalance()));
+        if (entity.getBalance() != null) {
+            dto.setBalance(new Money(entity.getBalance()));
+        }
 
         dto.setCustomersId(entity.getCustomers().stream()
                 .map(CustomerEntity::getId)
@@ -2,24 +2,29 @@ package com.cdx.bas.application.bank.account;
 
 import com.cdx.bas.domain.bank.account.BankAccount;
 import com.cdx.bas.domain.bank.account.BankAccountException;
+import com.cdx.bas.domain.bank.account.BankAccountFactory;
 import com.cdx.bas.domain.bank.account.BankAccountPersistencePort;
 import com.cdx.bas.domain.bank.customer.Customer;
 import com.cdx.bas.domain.bank.customer.CustomerPersistencePort;
 import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
 import com.cdx.bas.domain.message.MessageFormatter;
+import com.cdx.bas.domain.money.Money;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
-import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static com.cdx.bas.domain.message.CommonMessages.*;
 import static com.cdx.bas.domain.metadata.MetadataFieldNames.REMOVED_EMITTER_ID;
@@ -36,6 +41,7 @@ public class BankAccountRepository implements BankAccountPersistencePort, Panach
 
     private static final Logger logger = LoggerFactory.getLogger(BankAccountRepository.class);
     public static final String ID_FIELD = "id";
+    public static final int STREAM_FETCH_SIZE = 500;
 
     BankAccountMapper bankAccountMapper;
     CustomerPersistencePort customerRepository;
@@ -55,11 +61,28 @@ public class BankAccountRepository implements BankAccountPersistencePort, Panach
         this.entityManager = entityManager;
     }
 
+    /**
+     * The page is cut on account ids first, so accounts shared by several customers are never split across pages.
+     */
     @Override
-    public List<BankAccount> getAll() {
-        return findAll(Sort.by(ID_FIELD)).stream()
-                .map(bankAccountMapper::toDto)
-                .toList();
+    public List<BankAccount> getAll(Long after, int limit) {
+        TypedQuery<Long> idsQuery;
+        if (after == null) {
+            idsQuery = entityManager.createNamedQuery("BankAccountEntity.findAllIds", Long.class);
+        } else {
+            idsQuery = entityManager.createNamedQuery("BankAccountEntity.findIdsAfterId", Long.class)
+                    .setParameter(ID_FIELD, after);
+        }
+        return findBalancesByIds(idsQuery.setMaxResults(limit).getResultList());
+    }
+
+    @Override
+    public void streamAll(Consumer<BankAccount> consumer) {
+        try (Stream<BankAccountBalanceView> balanceViews = entityManager.createNamedQuery("BankAccountEntity.findAllBalanceViews", BankAccountBalanceView.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream()) {
+            groupByAccount(balanceViews, consumer);
+        }
     }
 
     @Override
@@ -67,6 +90,56 @@ public class BankAccountRepository implements BankAccountPersistencePort, Panach
         return findByIdOptional(id).map(bankAccountMapper::toDto);
     }
 
+    @Override
+    public Optional<BankAccount> findBalanceById(long id) {
+        List<BankAccountBalanceView> balanceViews = entityManager.createNamedQuery("BankAccountEntity.findBalanceView", BankAccountBalanceView.class)
+                .setParameter(ID_FIELD, id)
+                .getResultList();
+        List<BankAccount> bankAccounts = new ArrayList<>(1);
+        groupByAccount(balanceViews.stream(), bankAccounts::add);
+        return bankAccounts.stream().findFirst();
+    }
+
+    @Override
+    public List<BankAccount> findBalancesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<BankAccount> bankAccounts = new ArrayList<>(ids.size());
+        List<BankAccountBalanceView> balanceViews = entityManager.createNamedQuery("BankAccountEntity.findBalanceViewsByIds", BankAccountBalanceView.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        groupByAccount(balanceViews.stream(), bankAccounts::add);
+        return bankAccounts;
+    }
+
+    /**
+     * Balance views come one row per customer, ordered by account id: consecutive rows of the same account
+     * are folded into a single BankAccount, handed to the consumer as soon as the next account starts.
+     */
+    private static void groupByAccount(Stream<BankAccountBalanceView> balanceViews, Consumer<BankAccount> consumer) {
+        Iterator<BankAccountBalanceView> iterator = balanceViews.iterator();
+        BankAccount currentAccount = null;
+        while (iterator.hasNext()) {
+            BankAccountBalanceView balanceView = iterator.next();
+            if (currentAccount == null || !currentAccount.getId().equals(balanceView.id())) {
+                if (currentAccount != null) {
+                    consumer.accept(currentAccount);
+                }
+                currentAccount = BankAccountFactory.createBankAccount(balanceView.type());
+                currentAccount.setId(balanceView.id());
+                currentAccount.setBalance(new Money(balanceView.balance()));
+                currentAccount.setCustomersId(new HashSet<>());
+            }
+            if (balanceView.customerId() != null) {
+                currentAccount.getCustomersId().add(balanceView.customerId());
+            }
+        }
+        if (currentAccount != null) {
+            consumer.accept(currentAccount);
+        }
+    }
+
     @Override
     public BankAccount create(BankAccount bankAccount) {
         BankAccountEntity entity = bankAccountMapper.toEntity(bankAccount);
@@ -86,6 +159,28 @@ public class BankAccountRepository implements BankAccountPersistencePort, Panach
         }
     }
 
+    @Override
+    public boolean applyBalanceDelta(long id, BigDecimal delta, BigDecimal floor, BigDecimal ceiling) {
+        int updatedRows = entityManager.createNamedQuery("BankAccountEntity.applyBalanceDelta")
+                .setParameter(ID_FIELD, id)
+                .setParameter("delta", delta)
+                .setParameter("floor", floor)
+                .setParameter("ceiling", ceiling)
+                .executeUpdate();
+        if (updatedRows == 0) {
+            return false;
+        }
+
+        // the bulk update bypasses the persistence context, an account already loaded must not keep its old balance
+        BankAccountEntity loadedEntity = entityManager.getReference(BankAccountEntity.class, id);
+        if (Hibernate.isInitialized(loadedEntity)) {
+            entityManager.refresh(loadedEntity);
+        }
+        logger.debug(MessageFormatter.format(BANK_ACCOUNT_CONTEXT, UPDATE_ACTION, SUCCESS_STATUS,
+                List.of(BANK_ACCOUNT_ID_DETAIL + id)));
+        return true;
+    }
+
     @Override
     public Optional<BankAccount> deleteById(long id) {
         Optional<BankAccountEntity> optionalEntity = findByIdOptional(id);
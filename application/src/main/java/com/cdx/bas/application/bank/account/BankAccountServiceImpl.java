@@ -5,17 +5,25 @@ import com.cdx.bas.domain.bank.account.BankAccount;
 import com.cdx.bas.domain.bank.account.BankAccountException;
 import com.cdx.bas.domain.bank.account.BankAccountPersistencePort;
 import com.cdx.bas.domain.bank.account.BankAccountServicePort;
+import com.cdx.bas.domain.bank.account.validation.BalanceLimits;
 import com.cdx.bas.domain.bank.account.validation.BankAccountValidator;
 import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.TransactionServicePort;
+import com.cdx.bas.domain.bank.transaction.history.TransactionDirection;
+import com.cdx.bas.domain.exception.DomainException;
+import com.cdx.bas.domain.pagination.Pagination;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static com.cdx.bas.domain.message.CommonMessages.*;
 import static com.cdx.bas.domain.message.MessageFormatter.format;
@@ -31,19 +39,46 @@ public class BankAccountServiceImpl implements BankAccountServicePort {
 
     TransactionServicePort transactionService;
 
+    BankAccountWorkingSet bankAccountWorkingSet;
+
     @Inject
     public BankAccountServiceImpl(BankAccountPersistencePort bankAccountRepository,
                                   BankAccountValidator bankAccountValidator,
-                                  TransactionServicePort transactionService) {
+                                  TransactionServicePort transactionService,
+                                  BankAccountWorkingSet bankAccountWorkingSet) {
         this.bankAccountRepository = bankAccountRepository;
         this.bankAccountValidator = bankAccountValidator;
         this.transactionService = transactionService;
+        this.bankAccountWorkingSet = bankAccountWorkingSet;
     }
 
     @Override
     @Transactional
-    public List<BankAccount> getAll() {
-        return bankAccountRepository.getAll();
+    public List<BankAccount> getAll(Long after, Integer limit) {
+        return bankAccountRepository.getAll(after, Pagination.limitOf(limit));
+    }
+
+    @Override
+    @Transactional
+    public void streamAll(Consumer<BankAccount> consumer) {
+        bankAccountRepository.streamAll(consumer);
+    }
+
+    @Override
+    public List<Transaction> findTransactionHistory(long bankAccountId, String direction, String from, String to, Long after, Integer limit) {
+        return transactionService.findAccountHistory(bankAccountId, TransactionDirection.fromString(direction),
+                parseDate(from), parseDate(to), after, Pagination.limitOf(limit));
+    }
+
+    private static Instant parseDate(String date) throws IllegalArgumentException {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(date);
+        } catch (DateTimeParseException exception) {
+            throw new IllegalArgumentException("Invalid date: " + date, exception);
+        }
     }
 
     @Override
@@ -59,6 +94,25 @@ public class BankAccountServiceImpl implements BankAccountServicePort {
                         Optional.of(NOT_FOUND_CAUSE), List.of(BANK_ACCOUNT_ID_DETAIL + bankAccountId))));
     }
 
+    /**
+     * A missing account does not doom the caller's transaction: a batch of transactions keeps going without it.
+     */
+    @Override
+    @Transactional(dontRollbackOn = DomainException.class)
+    public BankAccount findBankAccountBalance(Long bankAccountId) {
+        if (bankAccountId == null) {
+            throw new BankAccountException(format(BANK_ACCOUNT_CONTEXT, SEARCHING_ACTION, FAILED_STATUS,
+                    Optional.of(MISSING_ID_CAUSE), List.of(BANK_ACCOUNT_ID_DETAIL + "null")));
+        }
+
+        if (bankAccountWorkingSet.contains(bankAccountId)) {
+            return bankAccountWorkingSet.find(bankAccountId);
+        }
+        return bankAccountRepository.findBalanceById(bankAccountId)
+                .orElseThrow(() -> new BankAccountException(format(BANK_ACCOUNT_CONTEXT, SEARCHING_ACTION, FAILED_STATUS,
+                        Optional.of(NOT_FOUND_CAUSE), List.of(BANK_ACCOUNT_ID_DETAIL + bankAccountId))));
+    }
+
     @Override
     @Transactional
     public BankAccount putTransaction(Transaction transaction, BankAccount bankAccount) {
@@ -85,4 +139,23 @@ public class BankAccountServiceImpl implements BankAccountServicePort {
         logger.debug(format(BANK_ACCOUNT_CONTEXT, UPDATE_ACTION, SUCCESS_STATUS));
         return updatedBankAccount;
     }
-}
\ No newline at end of file
+
+    /**
+     * A refused delta writes nothing, so it leaves the caller's transaction usable: within a batch,
+     * the processing of the transaction is undone by its savepoint only.
+     */
+    @Override
+    @Transactional(dontRollbackOn = DomainException.class)
+    public void applyBalanceDelta(BankAccount bankAccount, BigDecimal delta) throws BankAccountException {
+        if (bankAccountWorkingSet.contains(bankAccount.getId())) {
+            bankAccountWorkingSet.applyBalanceDelta(bankAccount.getId(), delta);
+            return;
+        }
+        BalanceLimits balanceLimits = BalanceLimits.of(bankAccount.getType());
+        if (!bankAccountRepository.applyBalanceDelta(bankAccount.getId(), delta, balanceLimits.min(), balanceLimits.max())) {
+            throw new BankAccountException(format(BANK_ACCOUNT_CONTEXT, UPDATE_ACTION, FAILED_STATUS,
+                    Optional.of(balanceLimits.message()), List.of(BANK_ACCOUNT_ID_DETAIL + bankAccount.getId())));
+        }
+        logger.debug(format(BANK_ACCOUNT_CONTEXT, UPDATE_ACTION, SUCCESS_STATUS));
+    }
+}
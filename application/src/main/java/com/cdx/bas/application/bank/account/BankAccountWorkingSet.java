@@ -0,0 +1,153 @@
+package com.cdx.bas.application.bank.account;
+
+import com.cdx.bas.domain.bank.account.BankAccount;
+import com.cdx.bas.domain.bank.account.BankAccountException;
+import com.cdx.bas.domain.bank.account.BankAccountFactory;
+import com.cdx.bas.domain.bank.account.BankAccountPersistencePort;
+import com.cdx.bas.domain.bank.account.validation.BalanceLimits;
+import com.cdx.bas.domain.message.MessageFormatter;
+import com.cdx.bas.domain.money.Money;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Bank accounts of a batch of transactions, loaded with one query and changed in memory.
+ * <p>
+ * While the working set is open, balances are read from it and balance changes are checked against the
+ * {@link BalanceLimits} and accumulated per account. {@link #write()} then sends a single balance delta per changed
+ * account, in id order, so the account queries of a batch scale with its distinct accounts rather than its transactions.
+ * Changes made since the last {@link #mark()} can be undone with {@link #rollbackToMark()}, like a savepoint.
+ */
+@RequestScoped
+public class BankAccountWorkingSet {
+
+    private static final Logger logger = LoggerFactory.getLogger(BankAccountWorkingSet.class);
+
+    private final BankAccountPersistencePort bankAccountRepository;
+
+    private final Map<Long, BankAccount> bankAccounts = new HashMap<>();
+    private final SortedMap<Long, BigDecimal> pendingDeltas = new TreeMap<>();
+    private final Deque<Map.Entry<Long, BigDecimal>> deltasSinceMark = new ArrayDeque<>();
+    private boolean open;
+
+    @Inject
+    public BankAccountWorkingSet(BankAccountPersistencePort bankAccountRepository) {
+        this.bankAccountRepository = bankAccountRepository;
+    }
+
+    /**
+     * Load the bank accounts with one query, replacing any previous working set
+     *
+     * @param bankAccountIds ids of the accounts of the batch
+     */
+    public void open(Collection<Long> bankAccountIds) {
+        close();
+        bankAccountRepository.findBalancesByIds(bankAccountIds)
+                .forEach(bankAccount -> bankAccounts.put(bankAccount.getId(), bankAccount));
+        open = true;
+    }
+
+    public boolean contains(Long bankAccountId) {
+        return open && bankAccounts.containsKey(bankAccountId);
+    }
+
+    /**
+     * Current balance of an account of the working set, as a copy the caller is free to change
+     *
+     * @param bankAccountId id of an account of the working set
+     * @return copy of the account with its current balance
+     */
+    public BankAccount find(Long bankAccountId) {
+        BankAccount bankAccount = bankAccounts.get(bankAccountId);
+        BankAccount copy = BankAccountFactory.createBankAccount(bankAccount.getType());
+        copy.setId(bankAccount.getId());
+        copy.setBalance(bankAccount.getBalance());
+        copy.setCustomersId(new HashSet<>(bankAccount.getCustomersId()));
+        return copy;
+    }
+
+    /**
+     * Apply a balance change in memory if the new balance respects the limits of the account
+     *
+     * @param bankAccountId id of an account of the working set
+     * @param delta         amount added to the balance, negative to withdraw
+     * @throws BankAccountException if the new balance would not respect the limits of the account
+     */
+    public void applyBalanceDelta(Long bankAccountId, BigDecimal delta) throws BankAccountException {
+        BankAccount bankAccount = bankAccounts.get(bankAccountId);
+        BalanceLimits balanceLimits = BalanceLimits.of(bankAccount.getType());
+        BigDecimal newBalance = bankAccount.getBalance().getAmount().add(delta);
+        if (!balanceLimits.isRespectedBy(newBalance)) {
+            throw new BankAccountException(MessageFormatter.format(BANK_ACCOUNT_CONTEXT, UPDATE_ACTION, FAILED_STATUS,
+                    Optional.of(balanceLimits.message()), List.of(BANK_ACCOUNT_ID_DETAIL + bankAccountId)));
+        }
+        addDelta(bankAccount, delta);
+        deltasSinceMark.push(Map.entry(bankAccountId, delta));
+    }
+
+    /**
+     * Start a new set of changes that {@link #rollbackToMark()} can undo
+     */
+    public void mark() {
+        deltasSinceMark.clear();
+    }
+
+    /**
+     * Undo the balance changes applied since the last {@link #mark()}
+     */
+    public void rollbackToMark() {
+        while (!deltasSinceMark.isEmpty()) {
+            Map.Entry<Long, BigDecimal> delta = deltasSinceMark.pop();
+            addDelta(bankAccounts.get(delta.getKey()), delta.getValue().negate());
+        }
+    }
+
+    /**
+     * Write the net balance change of every changed account, once per account and in id order, then close the working set.
+     * The balances were read when the working set was opened: an account changed concurrently since may no longer
+     * respect its limits once written, its write is refused and the other accounts are still written.
+     *
+     * @return ids of the accounts whose write was refused, empty if every account was written
+     */
+    public Set<Long> write() {
+        Set<Long> refusedBankAccountIds = new TreeSet<>();
+        for (Map.Entry<Long, BigDecimal> pendingDelta : pendingDeltas.entrySet()) {
+            if (pendingDelta.getValue().signum() == 0) {
+                continue;
+            }
+            BankAccount bankAccount = bankAccounts.get(pendingDelta.getKey());
+            BalanceLimits balanceLimits = BalanceLimits.of(bankAccount.getType());
+            if (!bankAccountRepository.applyBalanceDelta(bankAccount.getId(), pendingDelta.getValue(), balanceLimits.min(), balanceLimits.max())) {
+                logger.warn(MessageFormatter.format(BANK_ACCOUNT_CONTEXT, UPDATE_ACTION, FAILED_STATUS,
+                        Optional.of(balanceLimits.message()), List.of(BANK_ACCOUNT_ID_DETAIL + bankAccount.getId())));
+                refusedBankAccountIds.add(bankAccount.getId());
+            }
+        }
+        logger.debug(MessageFormatter.format(BANK_ACCOUNT_CONTEXT, UPDATE_ACTION, SUCCESS_STATUS,
+                List.of(BATCH_DETAIL + (pendingDeltas.size() - refusedBankAccountIds.size()))));
+        close();
+        return refusedBankAccountIds;
+    }
+
+    /**
+     * Forget the working set and its pending changes
+     */
+    public void close() {
+        bankAccounts.clear();
+        pendingDeltas.clear();
+        deltasSinceMark.clear();
+        open = false;
+    }
+
+    private void addDelta(BankAccount bankAccount, BigDecimal delta) {
+        bankAccount.setBalance(bankAccount.getBalance().plus(Money.of(delta)));
+        pendingDeltas.merge(bankAccount.getId(), delta, BigDecimal::add);
+    }
+}
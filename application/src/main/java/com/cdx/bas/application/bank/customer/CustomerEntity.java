@@ -3,6 +3,7 @@ package com.cdx.bas.application.bank.customer;
 import com.cdx.bas.application.bank.account.BankAccountEntity;
 import com.cdx.bas.application.bank.customer.gender.GenderConverter;
 import com.cdx.bas.application.bank.customer.maritalstatus.MaritalStatusConverter;
+import com.cdx.bas.application.config.SequenceAllocation;
 import com.cdx.bas.domain.bank.customer.gender.Gender;
 import com.cdx.bas.domain.bank.customer.maritalstatus.MaritalStatus;
 import com.cdx.bas.domain.testing.Generated;
@@ -33,7 +34,7 @@ public class CustomerEntity extends PanacheEntityBase {
     @Id
     @Column(name = "customer_id", nullable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_customer_id_seq_gen")
-    @SequenceGenerator(name = "customers_customer_id_seq_gen", sequenceName = "customers_customer_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "customers_customer_id_seq_gen", sequenceName = "customers_customer_id_seq", allocationSize = SequenceAllocation.BLOCK_SIZE, initialValue = 1)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -1,6 +1,7 @@
 package com.cdx.bas.application.bank.transaction;
 
 import com.cdx.bas.application.bank.account.BankAccountEntity;
+import com.cdx.bas.application.config.SequenceAllocation;
 import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
 import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
 import com.cdx.bas.domain.testing.Generated;
@@ -21,15 +22,51 @@ import java.util.Objects;
 @NoArgsConstructor
 @Generated
 @Entity
-@Table(schema = "basapp", name = "transactions", uniqueConstraints = @UniqueConstraint(columnNames = "transaction_id"))
-@NamedQueries(@NamedQuery(
-        name = "TransactionEntity.findUnprocessed", query = "SELECT t FROM TransactionEntity t WHERE t.status = :status ORDER BY t.date ASC"))
+@Table(schema = "basapp", name = "transactions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = "transaction_id"),
+        @UniqueConstraint(name = "uk_transactions_idempotency_key", columnNames = {"emitter_account_id", "idempotency_key"})
+},
+        indexes = {
+                @Index(name = "idx_transactions_status_date", columnList = "status, date, transaction_id"),
+                @Index(name = "idx_transactions_emitter_date", columnList = "emitter_account_id, date, transaction_id"),
+                @Index(name = "idx_transactions_receiver_date", columnList = "receiver_account_id, date, transaction_id")
+        })
+@NamedQueries({
+        @NamedQuery(name = "TransactionEntity.findAllOrderedById",
+                query = "SELECT t FROM TransactionEntity t ORDER BY t.id ASC"),
+        @NamedQuery(name = "TransactionEntity.findAllAfterId",
+                query = "SELECT t FROM TransactionEntity t WHERE t.id > :id ORDER BY t.id ASC"),
+        @NamedQuery(name = "TransactionEntity.findFirstUnprocessedChunk",
+                query = "SELECT t FROM TransactionEntity t WHERE t.status = :status ORDER BY t.date ASC, t.id ASC"),
+        @NamedQuery(name = "TransactionEntity.findNextUnprocessedChunk",
+                query = "SELECT t FROM TransactionEntity t WHERE t.status = :status "
+                        + "AND (t.date > :date OR (t.date = :date AND t.id > :id)) ORDER BY t.date ASC, t.id ASC"),
+        @NamedQuery(name = "TransactionEntity.findStatusById",
+                query = "SELECT t.status FROM TransactionEntity t WHERE t.id = :id"),
+        @NamedQuery(name = "TransactionEntity.findByIdempotencyKey",
+                query = "SELECT t FROM TransactionEntity t WHERE t.emitterBankAccountEntity.id = :id AND t.idempotencyKey = :key"),
+        @NamedQuery(name = "TransactionEntity.findBacklog",
+                query = "SELECT COUNT(t), MIN(t.date) FROM TransactionEntity t WHERE t.status = :status"),
+        @NamedQuery(name = "TransactionEntity.countByEmitterAndStatus",
+                query = "SELECT COUNT(t) FROM TransactionEntity t WHERE t.emitterBankAccountEntity.id = :id AND t.status = :status"),
+        @NamedQuery(name = "TransactionEntity.findFirstPageByStatus",
+                query = "SELECT t FROM TransactionEntity t WHERE t.status = :status ORDER BY t.date ASC, t.id ASC"),
+        @NamedQuery(name = "TransactionEntity.findNextPageByStatus",
+                query = "SELECT t FROM TransactionEntity t, TransactionEntity previous WHERE previous.id = :id AND t.status = :status "
+                        + "AND (t.date > previous.date OR (t.date = previous.date AND t.id > previous.id)) ORDER BY t.date ASC, t.id ASC"),
+        @NamedQuery(name = "TransactionEntity.findClaimable",
+                query = "SELECT t FROM TransactionEntity t WHERE t.status = :status "
+                        + "AND (t.claimExpiresAt IS NULL OR t.claimExpiresAt < :date) ORDER BY t.date ASC, t.id ASC"),
+        @NamedQuery(name = "TransactionEntity.renewClaim",
+                query = "UPDATE TransactionEntity t SET t.claimExpiresAt = :date "
+                        + "WHERE t.id = :id AND t.status = :status AND t.claimOwner = :owner")
+})
 public class TransactionEntity extends PanacheEntityBase {
 
     @Id
     @Column(name = "transaction_id", nullable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_transaction_id_seq_gen")
-    @SequenceGenerator(name = "transactions_transaction_id_seq_gen", sequenceName = "transactions_transaction_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "transactions_transaction_id_seq_gen", sequenceName = "transactions_transaction_id_seq", allocationSize = SequenceAllocation.BLOCK_SIZE, initialValue = 1)
     private Long id;
 
     @ToString.Exclude
@@ -69,6 +106,18 @@ public class TransactionEntity extends PanacheEntityBase {
     @ColumnTransformer(write = "?::jsonb")
     private String metadata;
 
+    @Column(name = "claim_owner")
+    private String claimOwner;
+
+    @Column(name = "claim_expires_at")
+    private Instant claimExpiresAt;
+
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Column(name = "idempotency_fingerprint")
+    private String idempotencyFingerprint;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
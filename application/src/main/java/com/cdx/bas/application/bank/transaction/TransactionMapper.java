@@ -41,6 +41,8 @@ public class TransactionMapper implements DtoEntityMapper<Transaction, Transacti
         dto.setStatus(entity.getStatus());
         dto.setDate(entity.getDate());
         dto.setLabel(entity.getLabel());
+        dto.setIdempotencyKey(entity.getIdempotencyKey());
+        dto.setIdempotencyFingerprint(entity.getIdempotencyFingerprint());
 
         if (entity.getEmitterBankAccountEntity() != null) {
             dto.setEmitterAccountId(entity.getEmitterBankAccountEntity().getId());
@@ -74,22 +76,22 @@ public class TransactionMapper implements DtoEntityMapper<Transaction, Transacti
             entity = transactionRepository.findByIdOptional(dto.getId()).orElse(new TransactionEntity());
             entity.setId(dto.getId());
         }
+        copyToEntity(dto, entity);
+        return entity;
+    }
 
-        if (dto.getEmitterAccountId() != null) {
-            BankAccountEntity emitterBankAccountEntity = bankAccountRepository.findByIdOptional(dto.getEmitterAccountId())
-                    .orElseThrow(() -> new NoSuchElementException("Transaction does not have emitter bank account entity."));
-            entity.setEmitterBankAccountEntity(emitterBankAccountEntity);
-        } else {
-            entity.setEmitterBankAccountEntity(null);
-        }
-
-        if (dto.getReceiverAccountId() != null) {
-            BankAccountEntity receiverBankAccountEntity = bankAccountRepository.findByIdOptional(dto.getReceiverAccountId())
-                    .orElseThrow(() -> new NoSuchElementException("Transaction does not have receiver bank account entity."));
-            entity.setReceiverBankAccountEntity(receiverBankAccountEntity);
-        } else {
-            entity.setReceiverBankAccountEntity(null);
-        }
+    /**
+     * Copy the state of the dto onto an entity, a managed entity is then written by dirty checking at flush.
+     * Bank accounts are only looked up when the dto points to another account than the entity.
+     *
+     * @param dto    source of the state
+     * @param entity entity to update
+     */
+    public void copyToEntity(Transaction dto, TransactionEntity entity) {
+        entity.setEmitterBankAccountEntity(resolveBankAccountEntity(entity.getEmitterBankAccountEntity(), dto.getEmitterAccountId(),
+                "Transaction does not have emitter bank account entity."));
+        entity.setReceiverBankAccountEntity(resolveBankAccountEntity(entity.getReceiverBankAccountEntity(), dto.getReceiverAccountId(),
+                "Transaction does not have receiver bank account entity."));
 
         entity.setAmount(dto.getAmount());
         entity.setCurrency(dto.getCurrency());
@@ -97,6 +99,11 @@ public class TransactionMapper implements DtoEntityMapper<Transaction, Transacti
         entity.setStatus(dto.getStatus());
         entity.setDate(dto.getDate());
         entity.setLabel(dto.getLabel());
+        // the key identifies the request that created the transaction, it is never changed afterwards
+        if (entity.getIdempotencyKey() == null) {
+            entity.setIdempotencyKey(dto.getIdempotencyKey());
+            entity.setIdempotencyFingerprint(dto.getIdempotencyFingerprint());
+        }
 
         try {
             if (dto.getMetadata() != null && !dto.getMetadata().isEmpty()) {
@@ -107,6 +114,17 @@ public class TransactionMapper implements DtoEntityMapper<Transaction, Transacti
         } catch (JsonProcessingException exception) {
             throw new MappingException(MessageFormatter.format(TRANSACTION_CONTEXT, MAP_PARSE_METADATA, FAILED_STATUS), exception);
         }
-        return entity;
+    }
+
+    private BankAccountEntity resolveBankAccountEntity(BankAccountEntity currentEntity, Long bankAccountId, String missingMessage) {
+        if (bankAccountId == null) {
+            return null;
+        }
+        // the id of a lazy association is read without initializing it
+        if (currentEntity != null && bankAccountId.equals(currentEntity.getId())) {
+            return currentEntity;
+        }
+        return bankAccountRepository.findByIdOptional(bankAccountId)
+                .orElseThrow(() -> new NoSuchElementException(missingMessage));
     }
 }
@@ -23,7 +23,11 @@ public abstract class TransactionProcessorTemplate {
     protected abstract void persist(Transaction transaction);
     protected abstract String formatError(Transaction transaction, String errorStatus, Exception exception);
 
-    @Transactional
+    /**
+     * A refused or failed transaction does not mark the caller's unit of work rollback-only: its status is written
+     * before the exception is thrown, and a batch rolls it back to its savepoint then carries on.
+     */
+    @Transactional(dontRollbackOn = DomainException.class)
     public Transaction processTransaction(Transaction transaction) {
         Map<String, String> metadata = new HashMap<>();
         TransactionStatus transactionStatus = COMPLETED;
@@ -1,22 +1,39 @@
 package com.cdx.bas.application.bank.transaction;
 
+import com.cdx.bas.application.config.SequenceAllocation;
 import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
+import com.cdx.bas.domain.bank.transaction.history.TransactionDirection;
+import com.cdx.bas.domain.bank.transaction.status.TransactionBacklog;
+import com.cdx.bas.domain.bank.transaction.status.TransactionState;
 import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
 import com.cdx.bas.domain.message.MessageFormatter;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
-import io.quarkus.panache.common.Parameters;
-import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 import org.jboss.logging.Logger;
 
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.cdx.bas.domain.message.CommonMessages.*;
+import static com.cdx.bas.domain.metadata.MetadataFieldNames.ERROR_KEY;
 
 /***
  * persistence implementation for Transaction entities
@@ -30,6 +47,17 @@ public class TransactionRepository implements TransactionPersistencePort, Panach
 
     private static final Logger logger = Logger.getLogger(TransactionRepository.class);
     public static final String STATUS = "status";
+    public static final String DATE = "date";
+    public static final String ID = "id";
+    public static final String KEY = "key";
+    public static final String OWNER = "owner";
+    public static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+    public static final int STREAM_FETCH_SIZE = 500;
+    private static final String EMITTER_ACCOUNT_ID = "emitterBankAccountEntity.id";
+    private static final String RECEIVER_ACCOUNT_ID = "receiverBankAccountEntity.id";
+    private static final Comparator<Transaction> MOST_RECENT_FIRST = Comparator.comparing(Transaction::getDate)
+            .thenComparing(Transaction::getId)
+            .reversed();
 
     TransactionMapper transactionMapper;
 
@@ -69,29 +97,218 @@ public class TransactionRepository implements TransactionPersistencePort, Panach
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Issued and incoming transactions are read by two range scans on their own (account, date, id) index
+     * rather than one OR query the database can not serve from a single index. Each side returns at most
+     * a full page, the merged page keeps the most recent ones.
+     */
     @Override
-    public Set<Transaction> getAll() {
-        return findAll(Sort.by(STATUS)).stream()
-                .map(transactionEntity -> transactionMapper.toDto(transactionEntity))
-                .collect(Collectors.toSet());
+    public List<Transaction> findAccountHistory(long accountId, TransactionDirection direction, Instant from, Instant to, Long after, int limit) {
+        return switch (direction) {
+            case ISSUED -> findAccountHistoryPage(EMITTER_ACCOUNT_ID, accountId, from, to, after, limit);
+            case INCOMING -> findAccountHistoryPage(RECEIVER_ACCOUNT_ID, accountId, from, to, after, limit);
+            case ALL -> {
+                Map<Long, Transaction> transactionsById = new HashMap<>();
+                findAccountHistoryPage(EMITTER_ACCOUNT_ID, accountId, from, to, after, limit)
+                        .forEach(transaction -> transactionsById.put(transaction.getId(), transaction));
+                findAccountHistoryPage(RECEIVER_ACCOUNT_ID, accountId, from, to, after, limit)
+                        .forEach(transaction -> transactionsById.putIfAbsent(transaction.getId(), transaction));
+                yield transactionsById.values().stream()
+                        .sorted(MOST_RECENT_FIRST)
+                        .limit(limit)
+                        .toList();
+            }
+        };
     }
 
+    private List<Transaction> findAccountHistoryPage(String accountIdPath, long accountId, Instant from, Instant to, Long after, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT t FROM TransactionEntity t");
+        if (after != null) {
+            jpql.append(", TransactionEntity previous WHERE previous.id = :id AND ");
+        } else {
+            jpql.append(" WHERE ");
+        }
+        jpql.append("t.").append(accountIdPath).append(" = :accountId");
+        if (from != null) {
+            jpql.append(" AND t.date >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND t.date < :to");
+        }
+        if (after != null) {
+            jpql.append(" AND (t.date < previous.date OR (t.date = previous.date AND t.id < previous.id))");
+        }
+        jpql.append(" ORDER BY t.date DESC, t.id DESC");
+
+        TypedQuery<TransactionEntity> query = entityManager.createQuery(jpql.toString(), TransactionEntity.class)
+                .setParameter("accountId", accountId);
+        if (after != null) {
+            query.setParameter(ID, after);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return query.setMaxResults(limit)
+                .getResultStream()
+                .map(transactionMapper::toDto)
+                .toList();
+    }
 
     @Override
-    public Set<Transaction> findAllByStatus(TransactionStatus transactionStatus) {
-        return findAll(Sort.by(STATUS)).stream()
-                .filter(transaction -> transaction.getStatus().equals(transactionStatus))
-                .map(transaction -> transactionMapper.toDto(transaction))
-                .collect(Collectors.toSet());
+    public Set<Transaction> getAll(Long after, int limit) {
+        TypedQuery<TransactionEntity> query;
+        if (after == null) {
+            query = entityManager.createNamedQuery("TransactionEntity.findAllOrderedById", TransactionEntity.class);
+        } else {
+            query = entityManager.createNamedQuery("TransactionEntity.findAllAfterId", TransactionEntity.class)
+                    .setParameter(ID, after);
+        }
+        return query.setMaxResults(limit)
+                .getResultStream()
+                .map(transactionMapper::toDto)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Rows are read through a scrollable result in fetch size batches and detached once mapped,
+     * so neither the result nor the persistence context grows with the table.
+     */
+    @Override
+    public void streamAll(Consumer<Transaction> consumer) {
+        try (Stream<TransactionEntity> transactionEntities = entityManager.createNamedQuery("TransactionEntity.findAllOrderedById", TransactionEntity.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            transactionEntities.forEach(transactionEntity -> {
+                consumer.accept(transactionMapper.toDto(transactionEntity));
+                entityManager.detach(transactionEntity);
+            });
+        }
+    }
+
+
+    @Override
+    public Set<Transaction> findAllByStatus(TransactionStatus transactionStatus, Long after, int limit) {
+        TypedQuery<TransactionEntity> query;
+        if (after == null) {
+            query = entityManager.createNamedQuery("TransactionEntity.findFirstPageByStatus", TransactionEntity.class);
+        } else {
+            query = entityManager.createNamedQuery("TransactionEntity.findNextPageByStatus", TransactionEntity.class)
+                    .setParameter(ID, after);
+        }
+        return query.setParameter(STATUS, transactionStatus)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(transactionMapper::toDto)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Count and oldest date come from the status index, the transactions themselves are not loaded.
+     */
+    @Override
+    public TransactionBacklog findUnprocessedBacklog() {
+        Object[] backlog = entityManager.createNamedQuery("TransactionEntity.findBacklog", Object[].class)
+                .setParameter(STATUS, TransactionStatus.UNPROCESSED)
+                .getSingleResult();
+        return new TransactionBacklog((Long) backlog[0], (Instant) backlog[1]);
+    }
+
+    @Override
+    public Optional<Transaction> findByIdempotencyKey(Long emitterAccountId, String idempotencyKey) {
+        return entityManager.createNamedQuery("TransactionEntity.findByIdempotencyKey", TransactionEntity.class)
+                .setParameter(ID, emitterAccountId)
+                .setParameter(KEY, idempotencyKey)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(transactionMapper::toDto);
+    }
+
+    @Override
+    public Optional<TransactionState> findStateById(long id) {
+        return entityManager.createNamedQuery("TransactionEntity.findStatusById", TransactionStatus.class)
+                .setParameter(ID, id)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(status -> new TransactionState(id, status));
+    }
+
+    @Override
+    public long countUnprocessedByEmitter(long emitterAccountId) {
+        return entityManager.createNamedQuery("TransactionEntity.countByEmitterAndStatus", Long.class)
+                .setParameter(ID, emitterAccountId)
+                .setParameter(STATUS, TransactionStatus.UNPROCESSED)
+                .getSingleResult();
+    }
+
+    @Override
+    public List<Transaction> findUnprocessedTransactions(Instant afterDate, Long afterId, int limit) {
+        TypedQuery<TransactionEntity> query;
+        if (afterDate == null || afterId == null) {
+            query = entityManager.createNamedQuery("TransactionEntity.findFirstUnprocessedChunk", TransactionEntity.class);
+        } else {
+            query = entityManager.createNamedQuery("TransactionEntity.findNextUnprocessedChunk", TransactionEntity.class)
+                    .setParameter(DATE, afterDate)
+                    .setParameter(ID, afterId);
+        }
+        List<TransactionEntity> transactionEntities = query.setParameter(STATUS, TransactionStatus.UNPROCESSED)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<Transaction> transactions = new ArrayList<>(transactionEntities.size());
+        for (TransactionEntity transactionEntity : transactionEntities) {
+            transactions.add(transactionMapper.toDto(transactionEntity));
+            // keep the persistence context small while the whole backlog is walked chunk by chunk
+            entityManager.detach(transactionEntity);
+        }
+        return transactions;
     }
 
+    /**
+     * Rows are locked with FOR UPDATE SKIP LOCKED so concurrent nodes claim disjoint transactions without waiting.
+     * Dialects without SKIP LOCKED support (H2 in tests) fall back to a plain FOR UPDATE.
+     */
     @Override
-    public Queue<Transaction> findUnprocessedTransactions() {
-        return find("#TransactionEntity.findUnprocessed",
-                Parameters.with(STATUS, TransactionStatus.UNPROCESSED).map())
-                .list()
-                .stream().map(transactionMapper::toDto)
-                .collect(Collectors.toCollection(PriorityQueue::new));
+    @Transactional
+    public List<Transaction> claimUnprocessedTransactions(String owner, Instant now, Duration leaseDuration, int limit) {
+        List<TransactionEntity> transactionEntities = entityManager.createNamedQuery("TransactionEntity.findClaimable", TransactionEntity.class)
+                .setParameter(STATUS, TransactionStatus.UNPROCESSED)
+                .setParameter(DATE, now)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(LOCK_TIMEOUT_HINT, LockOptions.SKIP_LOCKED)
+                .setMaxResults(limit)
+                .getResultList();
+
+        Instant claimExpiresAt = now.plus(leaseDuration);
+        List<Transaction> transactions = new ArrayList<>(transactionEntities.size());
+        for (TransactionEntity transactionEntity : transactionEntities) {
+            transactionEntity.setClaimOwner(owner);
+            transactionEntity.setClaimExpiresAt(claimExpiresAt);
+            transactions.add(transactionMapper.toDto(transactionEntity));
+        }
+        logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, CLAIM_ACTION, SUCCESS_STATUS,
+                List.of(OWNER_DETAIL + owner, QUEUE_DETAIL + transactions.size())));
+        return transactions;
+    }
+
+    /**
+     * The conditional update locks the row until the processing unit of work ends: a node claiming the transaction
+     * after its lease expired waits for or skips the row, then finds it processed.
+     */
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public boolean renewClaim(long id, String owner, Instant now, Duration leaseDuration) {
+        return entityManager.createNamedQuery("TransactionEntity.renewClaim")
+                .setParameter(DATE, now.plus(leaseDuration))
+                .setParameter(ID, id)
+                .setParameter(STATUS, TransactionStatus.UNPROCESSED)
+                .setParameter(OWNER, owner)
+                .executeUpdate() == 1;
     }
 
     @Override
@@ -100,11 +317,98 @@ public class TransactionRepository implements TransactionPersistencePort, Panach
         logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, CREATION_ACTION, SUCCESS_STATUS, List.of(TRANSACTION_ID_DETAIL + transaction.getId())));
     }
 
+    /**
+     * Ids are assigned at persist by the pooled-lo generator, so they are known without reading the rows back.
+     * The persistence context is flushed and cleared every {@link SequenceAllocation#BLOCK_SIZE} transactions:
+     * the inserts are sent in full JDBC batches and the memory does not grow with the list.
+     */
+    @Override
+    public List<Long> createAll(List<Transaction> transactions) {
+        List<Long> ids = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            TransactionEntity transactionEntity = transactionMapper.toEntity(transaction);
+            entityManager.persist(transactionEntity);
+            ids.add(transactionEntity.getId());
+            if (ids.size() % SequenceAllocation.BLOCK_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, CREATION_ACTION, SUCCESS_STATUS, List.of(BATCH_DETAIL + ids.size())));
+        return ids;
+    }
+
+    /**
+     * Pending changes are flushed before the savepoint so that a rollback only undoes this transaction.
+     * After a rollback the persistence context is cleared: it still holds the undone changes, and the entities
+     * of the previous transactions are already written. The transaction is then written with the status it was refused
+     * or failed with, any other failure, such as a flush after it was completed, writes it in error.
+     */
+    @Override
+    public boolean processWithSavepoint(Transaction transaction, Consumer<Transaction> processing) {
+        Session session = entityManager.unwrap(Session.class);
+        session.flush();
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        try {
+            processing.accept(transaction);
+            session.flush();
+            session.doWork(connection -> connection.releaseSavepoint(savepoint));
+            return true;
+        } catch (RuntimeException exception) {
+            session.doWork(connection -> connection.rollback(savepoint));
+            session.clear();
+            if (!TransactionStatus.REFUSED.equals(transaction.getStatus()) && !TransactionStatus.ERROR.equals(transaction.getStatus())) {
+                transaction.setStatus(TransactionStatus.ERROR);
+                transaction.getMetadata().put(ERROR_KEY, exception.getMessage());
+            }
+            update(transaction);
+            logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, SAVEPOINT_ACTION, ROLLED_BACK_STATUS,
+                    List.of(TRANSACTION_ID_DETAIL + transaction.getId(), STATUS_DETAIL + transaction.getStatus(), ERROR_DETAIL + exception.getMessage())));
+            return false;
+        }
+    }
+
+    /**
+     * Pending changes are flushed before the savepoint, and the persistence context is cleared after a rollback.
+     */
+    @Override
+    public <T> T runWithSavepoint(Supplier<T> work, Predicate<T> isComplete) {
+        Session session = entityManager.unwrap(Session.class);
+        session.flush();
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        boolean kept = false;
+        try {
+            T result = work.get();
+            if (isComplete.test(result)) {
+                session.flush();
+                session.doWork(connection -> connection.releaseSavepoint(savepoint));
+                kept = true;
+            }
+            return result;
+        } finally {
+            if (!kept) {
+                session.doWork(connection -> connection.rollback(savepoint));
+                session.clear();
+                logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, SAVEPOINT_ACTION, ROLLED_BACK_STATUS));
+            }
+        }
+    }
+
+    /**
+     * The managed entity is changed in place and written once by dirty checking at flush,
+     * however many times the transaction is updated within the same unit of work.
+     */
     @Override
     public Transaction update(Transaction transaction) {
-        TransactionEntity entity = transactionMapper.toEntity(transaction);
-        TransactionEntity merge = entityManager.merge(entity);
-        Transaction updatedTransaction = transactionMapper.toDto(merge);
+        TransactionEntity managedEntity = transaction.getId() != null ? entityManager.find(TransactionEntity.class, transaction.getId()) : null;
+        Transaction updatedTransaction;
+        if (managedEntity != null) {
+            transactionMapper.copyToEntity(transaction, managedEntity);
+            updatedTransaction = transactionMapper.toDto(managedEntity);
+        } else {
+            updatedTransaction = transactionMapper.toDto(entityManager.merge(transactionMapper.toEntity(transaction)));
+        }
         logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, UPDATE_ACTION, SUCCESS_STATUS, List.of(TRANSACTION_ID_DETAIL + transaction.getId())));
         return updatedTransaction;
     }
@@ -1,22 +1,43 @@
 package com.cdx.bas.application.bank.transaction;
 
+import com.cdx.bas.application.bank.account.BankAccountWorkingSet;
+import com.cdx.bas.application.bank.transaction.admission.TransactionAdmissionControl;
 import com.cdx.bas.application.bank.transaction.category.cash.type.deposit.DepositProcessorImpl;
 import com.cdx.bas.application.bank.transaction.category.cash.type.withdraw.WithdrawProcessorImpl;
 import com.cdx.bas.application.bank.transaction.category.digital.type.credit.CreditProcessorImpl;
 import com.cdx.bas.application.bank.transaction.category.digital.type.debit.DebitProcessorImpl;
+import com.cdx.bas.application.scheduler.TransactionClaim;
+import com.cdx.bas.application.scheduler.trigger.PendingTransactionEvent;
 import com.cdx.bas.domain.bank.transaction.*;
 import com.cdx.bas.domain.bank.transaction.category.NewCashTransaction;
 import com.cdx.bas.domain.bank.transaction.category.NewDigitalTransaction;
+import com.cdx.bas.domain.bank.transaction.category.NewTransactionResult;
+import com.cdx.bas.domain.bank.transaction.history.TransactionDirection;
+import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
+import com.cdx.bas.domain.bank.transaction.status.TransactionState;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusChange;
 import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
-import com.cdx.bas.domain.message.CommonMessages;
+import com.cdx.bas.domain.exception.DomainException;
+import com.cdx.bas.domain.pagination.Pagination;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.*;
 import static com.cdx.bas.domain.message.CommonMessages.*;
@@ -25,12 +46,19 @@ import static com.cdx.bas.domain.message.MessageFormatter.format;
 @ApplicationScoped
 public class TransactionServiceImpl implements TransactionServicePort {
 
+    private static final Logger logger = Logger.getLogger(TransactionServiceImpl.class);
+
     private final TransactionPersistencePort transactionRepository;
     private final TransactionValidator transactionValidator;
     private final CreditProcessorImpl creditProcessorService;
     private final DebitProcessorImpl debitProcessorService;
     private final DepositProcessorImpl depositProcessorService;
     private final WithdrawProcessorImpl withdrawProcessorService;
+    private final BankAccountWorkingSet bankAccountWorkingSet;
+    private final Event<PendingTransactionEvent> pendingTransactionEvent;
+    private final TransactionAdmissionControl transactionAdmissionControl;
+    private final TransactionClaim transactionClaim;
+    private final Event<TransactionStatusChange> transactionStatusChangeEvent;
 
     @Inject
     public TransactionServiceImpl(TransactionPersistencePort transactionRepository,
@@ -38,19 +66,38 @@ public class TransactionServiceImpl implements TransactionServicePort {
                                   CreditProcessorImpl creditProcessorService,
                                   DebitProcessorImpl debitProcessorService,
                                   DepositProcessorImpl depositProcessorService,
-                                  WithdrawProcessorImpl withdrawProcessorService) {
+                                  WithdrawProcessorImpl withdrawProcessorService,
+                                  BankAccountWorkingSet bankAccountWorkingSet,
+                                  Event<PendingTransactionEvent> pendingTransactionEvent,
+                                  TransactionAdmissionControl transactionAdmissionControl,
+                                  TransactionClaim transactionClaim,
+                                  Event<TransactionStatusChange> transactionStatusChangeEvent) {
         this.transactionRepository = transactionRepository;
         this.transactionValidator = transactionValidator;
         this.creditProcessorService = creditProcessorService;
         this.debitProcessorService = debitProcessorService;
         this.depositProcessorService = depositProcessorService;
         this.withdrawProcessorService = withdrawProcessorService;
+        this.bankAccountWorkingSet = bankAccountWorkingSet;
+        this.pendingTransactionEvent = pendingTransactionEvent;
+        this.transactionAdmissionControl = transactionAdmissionControl;
+        this.transactionClaim = transactionClaim;
+        this.transactionStatusChangeEvent = transactionStatusChangeEvent;
+    }
+
+    @ConfigProperty(name = "transaction.batch.max-items", defaultValue = "1000")
+    int batchMaxItems;
+
+    @Override
+    @Transactional
+    public Set<Transaction> getAll(Long after, Integer limit) {
+        return transactionRepository.getAll(after, Pagination.limitOf(limit));
     }
 
     @Override
     @Transactional
-    public Set<Transaction> getAll() {
-        return transactionRepository.getAll();
+    public void streamAll(Consumer<Transaction> consumer) {
+        transactionRepository.streamAll(consumer);
     }
 
     @Override
@@ -65,17 +112,88 @@ public class TransactionServiceImpl implements TransactionServicePort {
 
     @Override
     @Transactional
-    public Set<Transaction> findAllByStatus(String status) throws IllegalArgumentException {
+    public Set<Transaction> findAllByStatus(String status, Long after, Integer limit) throws IllegalArgumentException {
         TransactionStatus transactionStatus = TransactionStatus.fromString(status);
-        return transactionRepository.findAllByStatus(transactionStatus);
+        return transactionRepository.findAllByStatus(transactionStatus, after, Pagination.limitOf(limit));
+    }
+
+    @Override
+    @Transactional
+    public List<Transaction> findAccountHistory(long accountId, TransactionDirection direction, Instant from, Instant to, Long after, int limit) {
+        return transactionRepository.findAccountHistory(accountId, direction, from, to, after, limit);
     }
 
+    /**
+     * The transaction is refused with a {@link TransactionBacklogException} while the backlog is full,
+     * otherwise the scheduler is triggered once the transaction is committed, see ProcessingTrigger
+     */
     @Override
     @Transactional
     public void createDigitalTransaction(NewDigitalTransaction newDigitalTransaction) throws TransactionException {
+        createDigitalTransaction(newDigitalTransaction, null);
+    }
+
+    @Override
+    @Transactional
+    public void createDigitalTransaction(NewDigitalTransaction newDigitalTransaction, String idempotencyKey) throws TransactionException {
         Transaction digitalTransaction = TransactionUtils.getNewDigitalTransaction(newDigitalTransaction);
+        digitalTransaction.setIdempotencyKey(idempotencyKey);
+        if (idempotencyKey != null) {
+            digitalTransaction.setIdempotencyFingerprint(newDigitalTransaction.fingerprint());
+        }
         transactionValidator.validateNewDigitalTransaction(digitalTransaction);
+        transactionAdmissionControl.admit(digitalTransaction.getEmitterAccountId());
         transactionRepository.create(digitalTransaction);
+        pendingTransactionEvent.fire(new PendingTransactionEvent(digitalTransaction.getEmitterAccountId()));
+    }
+
+    /**
+     * Each item goes through the same validation and admission as a single transaction, the accepted ones are then
+     * inserted together in JDBC batches and the scheduler is triggered once for the whole batch.
+     * The backlog of each emitter account is counted once for the batch and includes its items accepted so far.
+     * A batch over transaction.batch.max-items is refused as a whole before any item is validated.
+     */
+    @Override
+    @Transactional
+    public List<NewTransactionResult> createDigitalTransactions(List<NewDigitalTransaction> newDigitalTransactions) {
+        if (newDigitalTransactions.size() > batchMaxItems) {
+            throw new TransactionBatchTooLargeException(format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_BATCH_ACTION, REFUSED_STATUS,
+                    Optional.of(BATCH_TOO_LARGE_CAUSE + batchMaxItems)));
+        }
+        NewTransactionResult[] results = new NewTransactionResult[newDigitalTransactions.size()];
+        List<Transaction> acceptedTransactions = new ArrayList<>(newDigitalTransactions.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(newDigitalTransactions.size());
+        Map<Long, Long> pendingByEmitter = new HashMap<>();
+        for (int index = 0; index < newDigitalTransactions.size(); index++) {
+            NewDigitalTransaction newDigitalTransaction = newDigitalTransactions.get(index);
+            if (newDigitalTransaction == null) {
+                results[index] = NewTransactionResult.refused(index,
+                        format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_ACTION, REFUSED_STATUS, Optional.of(EMPTY_ITEM_CAUSE)));
+                continue;
+            }
+            try {
+                Transaction digitalTransaction = TransactionUtils.getNewDigitalTransaction(newDigitalTransaction);
+                transactionValidator.validateNewDigitalTransaction(digitalTransaction);
+                transactionAdmissionControl.admit(digitalTransaction.getEmitterAccountId(), pendingByEmitter);
+                acceptedTransactions.add(digitalTransaction);
+                acceptedIndexes.add(index);
+            } catch (DomainException exception) {
+                results[index] = NewTransactionResult.refused(index, exception.getMessage());
+            }
+        }
+
+        if (!acceptedTransactions.isEmpty()) {
+            List<Long> ids = transactionRepository.createAll(acceptedTransactions);
+            for (int i = 0; i < ids.size(); i++) {
+                results[acceptedIndexes.get(i)] = NewTransactionResult.created(acceptedIndexes.get(i), ids.get(i));
+            }
+            Set<Long> emitterAccountIds = acceptedTransactions.stream()
+                    .map(Transaction::getEmitterAccountId)
+                    .collect(Collectors.toSet());
+            pendingTransactionEvent.fire(new PendingTransactionEvent(
+                    emitterAccountIds.size() == 1 ? emitterAccountIds.iterator().next() : null, ids.size()));
+        }
+        return List.of(results);
     }
 
     @Override
@@ -91,31 +209,191 @@ public class TransactionServiceImpl implements TransactionServicePort {
                         Optional.of(NOT_FOUND_CAUSE), List.of(TRANSACTION_ID_DETAIL + transactionId))));
     }
 
+    @Override
+    @Transactional
+    public Optional<Transaction> findByIdempotencyKey(Long emitterAccountId, String idempotencyKey) {
+        return transactionRepository.findByIdempotencyKey(emitterAccountId, idempotencyKey);
+    }
+
+    @Override
+    @Transactional
+    public TransactionState findTransactionState(long transactionId) {
+        return transactionRepository.findStateById(transactionId)
+                .orElseThrow(() -> new TransactionException(format(TRANSACTION_CONTEXT, SEARCHING_ACTION, FAILED_STATUS,
+                        Optional.of(NOT_FOUND_CAUSE), List.of(TRANSACTION_ID_DETAIL + transactionId))));
+    }
+
+    /**
+     * In claim mode a transaction whose lease was lost to another node is left to that node
+     */
     @Override
     @Transactional
     public void processDigitalTransaction(Transaction digitalTransaction) {
-        if (CREDIT.equals(digitalTransaction.getType())) {
-            creditProcessorService.processTransaction(digitalTransaction);
-        } else if (DEBIT.equals(digitalTransaction.getType())) {
-            debitProcessorService.processTransaction(digitalTransaction);
+        if (transactionClaim.renew(digitalTransaction)) {
+            processByType(digitalTransaction);
+            fireStatusChange(digitalTransaction);
+        }
+    }
+
+    /**
+     * The accounts of the batch are loaded at once in the {@link BankAccountWorkingSet}, balances are changed in memory
+     * and each changed account is written once before commit. A rolled back transaction also undoes its balance changes.
+     * In claim mode a transaction whose lease was lost to another node is skipped.
+     * <p>
+     * When an account changed concurrently can no longer be written, the batch is rolled back to its savepoint and
+     * processed again with that account left out of the working set: its transactions change its balance one by one,
+     * and only those that no longer respect its limits are refused.
+     * <p>
+     * The status changes are fired once the batch is written, from the status each transaction is stored with.
+     */
+    @Override
+    @Transactional
+    public int processDigitalTransactions(List<Transaction> digitalTransactions, Duration maxLatency) {
+        long deadline = System.nanoTime() + maxLatency.toNanos();
+        Set<Long> bankAccountIds = new HashSet<>();
+        for (Transaction digitalTransaction : digitalTransactions) {
+            if (digitalTransaction.getEmitterAccountId() != null) {
+                bankAccountIds.add(digitalTransaction.getEmitterAccountId());
+            }
+            if (digitalTransaction.getReceiverAccountId() != null) {
+                bankAccountIds.add(digitalTransaction.getReceiverAccountId());
+            }
+        }
+
+        BatchResult batchResult = transactionRepository.runWithSavepoint(
+                () -> processBatch(digitalTransactions, bankAccountIds, deadline), BatchResult::isWritten);
+        while (!batchResult.isWritten()) {
+            logger.warn(format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_BATCH_ACTION, ROLLED_BACK_STATUS,
+                    Optional.of(CONCURRENT_BALANCE_CHANGE_CAUSE),
+                    List.of(BATCH_DETAIL + digitalTransactions.size(), BANK_ACCOUNT_ID_DETAIL + batchResult.refusedBankAccountIds())));
+            bankAccountIds.removeAll(batchResult.refusedBankAccountIds());
+            digitalTransactions.subList(0, batchResult.processedTransactions()).forEach(this::restoreStoredState);
+            batchResult = transactionRepository.runWithSavepoint(
+                    () -> processBatch(digitalTransactions, bankAccountIds, deadline), BatchResult::isWritten);
+        }
+        digitalTransactions.subList(0, batchResult.processedTransactions()).forEach(this::fireStatusChange);
+        return batchResult.processedTransactions();
+    }
+
+    private record BatchResult(int processedTransactions, Set<Long> refusedBankAccountIds) {
+
+        boolean isWritten() {
+            return refusedBankAccountIds.isEmpty();
+        }
+    }
+
+    private BatchResult processBatch(List<Transaction> digitalTransactions, Set<Long> bankAccountIds, long deadline) {
+        bankAccountWorkingSet.open(bankAccountIds);
+        try {
+            int processedTransactions = 0;
+            for (Transaction digitalTransaction : digitalTransactions) {
+                if (transactionClaim.renew(digitalTransaction)) {
+                    bankAccountWorkingSet.mark();
+                    if (!transactionRepository.processWithSavepoint(digitalTransaction, this::processByType)) {
+                        bankAccountWorkingSet.rollbackToMark();
+                    }
+                }
+                processedTransactions++;
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+            return new BatchResult(processedTransactions, bankAccountWorkingSet.write());
+        } finally {
+            bankAccountWorkingSet.close();
+        }
+    }
+
+    /**
+     * A transaction rolled back with its batch is processed again from its stored status and metadata
+     */
+    private void restoreStoredState(Transaction transaction) {
+        transactionRepository.findById(transaction.getId()).ifPresent(storedTransaction -> {
+            transaction.setStatus(storedTransaction.getStatus());
+            transaction.setMetadata(storedTransaction.getMetadata());
+        });
+    }
+
+    /**
+     * Subscribers get the change after commit, a transaction left unprocessed has no change to follow
+     */
+    private void fireStatusChange(Transaction transaction) {
+        if (transaction.getStatus() != TransactionStatus.UNPROCESSED) {
+            transactionStatusChangeEvent.fire(TransactionStatusChange.of(transaction));
+        }
+    }
+
+    /**
+     * Cash transactions accepted with submitDeposit or submitWithdraw are processed here too
+     */
+    private void processByType(Transaction transaction) {
+        if (CREDIT.equals(transaction.getType())) {
+            creditProcessorService.processTransaction(transaction);
+        } else if (DEBIT.equals(transaction.getType())) {
+            debitProcessorService.processTransaction(transaction);
+        } else if (DEPOSIT.equals(transaction.getType())) {
+            depositProcessorService.processTransaction(transaction);
+        } else if (WITHDRAW.equals(transaction.getType())) {
+            withdrawProcessorService.processTransaction(transaction);
         }
     }
 
     @Override
     @Transactional
     public void deposit(NewCashTransaction newDepositTransaction) {
-        Transaction depositTransaction = TransactionUtils.getNewCashTransaction(newDepositTransaction);
-        depositTransaction.setType(DEPOSIT);
-        depositTransaction.setLabel(DEPOSIT_DETAIL + newDepositTransaction.amount() + StringUtils.SPACE + newDepositTransaction.currency());
-        depositProcessorService.processTransaction(depositTransaction);
+        deposit(newDepositTransaction, null);
+    }
+
+    @Override
+    @Transactional
+    public void deposit(NewCashTransaction newDepositTransaction, String idempotencyKey) {
+        depositProcessorService.processTransaction(toCashTransaction(newDepositTransaction, DEPOSIT, DEPOSIT_DETAIL, idempotencyKey));
+    }
+
+    @Override
+    @Transactional
+    public long submitDeposit(NewCashTransaction newDepositTransaction, String idempotencyKey) {
+        return submitCashTransaction(toCashTransaction(newDepositTransaction, DEPOSIT, DEPOSIT_DETAIL, idempotencyKey));
     }
 
     @Override
     @Transactional
     public void withdraw(NewCashTransaction newWithdrawTransaction) {
-        Transaction withdrawTransaction = TransactionUtils.getNewCashTransaction(newWithdrawTransaction);
-        withdrawTransaction.setType(WITHDRAW);
-        withdrawTransaction.setLabel(CommonMessages.WITHDRAW_DETAIL + newWithdrawTransaction.amount() + StringUtils.SPACE + newWithdrawTransaction.currency());
-        withdrawProcessorService.processTransaction(withdrawTransaction);
+        withdraw(newWithdrawTransaction, null);
+    }
+
+    @Override
+    @Transactional
+    public void withdraw(NewCashTransaction newWithdrawTransaction, String idempotencyKey) {
+        withdrawProcessorService.processTransaction(toCashTransaction(newWithdrawTransaction, WITHDRAW, WITHDRAW_DETAIL, idempotencyKey));
+    }
+
+    @Override
+    @Transactional
+    public long submitWithdraw(NewCashTransaction newWithdrawTransaction, String idempotencyKey) {
+        return submitCashTransaction(toCashTransaction(newWithdrawTransaction, WITHDRAW, WITHDRAW_DETAIL, idempotencyKey));
+    }
+
+    private static Transaction toCashTransaction(NewCashTransaction newCashTransaction, TransactionType type, String labelPrefix, String idempotencyKey) {
+        Transaction cashTransaction = TransactionUtils.getNewCashTransaction(newCashTransaction);
+        cashTransaction.setIdempotencyKey(idempotencyKey);
+        if (idempotencyKey != null) {
+            cashTransaction.setIdempotencyFingerprint(newCashTransaction.fingerprint(type));
+        }
+        cashTransaction.setType(type);
+        cashTransaction.setLabel(labelPrefix + newCashTransaction.amount() + StringUtils.SPACE + newCashTransaction.currency());
+        return cashTransaction;
+    }
+
+    /**
+     * The request only pays for the validation and one insert, the balance is changed when the scheduler processes
+     * the transaction. Like a digital transaction it is refused while the backlog is full.
+     */
+    private long submitCashTransaction(Transaction cashTransaction) {
+        transactionValidator.validateCashTransaction(cashTransaction);
+        transactionAdmissionControl.admit(cashTransaction.getEmitterAccountId());
+        long id = transactionRepository.createAll(List.of(cashTransaction)).get(0);
+        pendingTransactionEvent.fire(new PendingTransactionEvent(cashTransaction.getEmitterAccountId()));
+        return id;
     }
 }
@@ -0,0 +1,134 @@
+package com.cdx.bas.application.bank.transaction.admission;
+
+import com.cdx.bas.application.scheduler.trigger.PendingTransactionEvent;
+import com.cdx.bas.domain.bank.transaction.TransactionBacklogException;
+import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
+import com.cdx.bas.domain.message.MessageFormatter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Refuses new digital transactions while the backlog of unprocessed transactions is above its soft limit,
+ * so the processing lag stays bounded instead of growing with the queue.
+ * <p>
+ * The backlog size is kept in memory: it is set each time the scheduler measures the backlog and decreased by the
+ * transactions the scheduler processes. Transactions still unprocessed after a pass, because their processing failed,
+ * keep their place so the soft limit keeps bounding the backlog. It is only measured here before the first measure of the scheduler.
+ * Admitting a transaction reserves its place in the backlog against the soft limit, so concurrent requests and the
+ * items of a batch cannot overshoot it, and the place is released if the unit of work creating the transaction rolls
+ * back. The optional cap of each emitter account is counted in the database.
+ */
+@ApplicationScoped
+public class TransactionAdmissionControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionAdmissionControl.class);
+
+    private static final long NOT_MEASURED = -1;
+
+    private final TransactionPersistencePort transactionRepository;
+    private final AtomicLong backlogSize = new AtomicLong(NOT_MEASURED);
+
+    @ConfigProperty(name = "transaction.admission.soft-limit", defaultValue = "10000")
+    long softLimit;
+
+    @ConfigProperty(name = "transaction.admission.max-pending-per-emitter")
+    Optional<Long> maxPendingPerEmitter;
+
+    @ConfigProperty(name = "transaction.admission.retry-after", defaultValue = "1S")
+    Duration retryAfter;
+
+    @Inject
+    public TransactionAdmissionControl(TransactionPersistencePort transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Admit a new transaction of the emitter account and reserve its place in the backlog
+     *
+     * @param emitterAccountId id of the emitter account
+     * @throws TransactionBacklogException if the backlog, or the backlog of the emitter account, is full
+     */
+    public void admit(Long emitterAccountId) throws TransactionBacklogException {
+        admit(emitterAccountId, new HashMap<>());
+    }
+
+    /**
+     * Admit a new transaction of a batch: the backlog of each emitter account is counted once per batch,
+     * then the transactions of the batch already admitted are added to it
+     *
+     * @param emitterAccountId  id of the emitter account
+     * @param pendingByEmitter  unprocessed transactions of each emitter account, including those admitted in the batch,
+     *                          shared by the items of the batch
+     * @throws TransactionBacklogException if the backlog, or the backlog of the emitter account, is full
+     */
+    public void admit(Long emitterAccountId, Map<Long, Long> pendingByEmitter) throws TransactionBacklogException {
+        boolean capped = maxPendingPerEmitter.isPresent() && emitterAccountId != null;
+        if (capped && pendingByEmitter.computeIfAbsent(emitterAccountId, transactionRepository::countUnprocessedByEmitter) >= maxPendingPerEmitter.get()) {
+            refuse(List.of(BANK_ACCOUNT_ID_DETAIL + emitterAccountId));
+        }
+        getBacklogSize();
+        long previousBacklogSize = backlogSize.getAndUpdate(size -> size < softLimit ? size + 1 : size);
+        if (previousBacklogSize >= softLimit) {
+            refuse(List.of(BACKLOG_DETAIL + previousBacklogSize));
+        }
+        if (capped) {
+            pendingByEmitter.merge(emitterAccountId, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * The places reserved by the admitted transactions are released when their unit of work rolls back,
+     * a unit of work failing before it fires the event keeps them until the next measure of the scheduler
+     */
+    void onPendingTransactionRolledBack(@Observes(during = TransactionPhase.AFTER_FAILURE) PendingTransactionEvent pendingTransactionEvent) {
+        backlogSize.getAndUpdate(size -> size == NOT_MEASURED ? NOT_MEASURED : Math.max(0, size - pendingTransactionEvent.count()));
+    }
+
+    /**
+     * @param measuredSize number of unprocessed transactions measured by the scheduler
+     */
+    public void onBacklogMeasured(long measuredSize) {
+        backlogSize.set(measuredSize);
+    }
+
+    /**
+     * @param processedTransactions number of transactions that the scheduler has just moved out of the unprocessed status,
+     *                              not the number of transactions it loaded
+     */
+    public void onProcessed(long processedTransactions) {
+        backlogSize.getAndUpdate(size -> size == NOT_MEASURED ? NOT_MEASURED : Math.max(0, size - processedTransactions));
+    }
+
+    /**
+     * @return estimated number of unprocessed transactions
+     */
+    public long getBacklogSize() {
+        long size = backlogSize.get();
+        if (size == NOT_MEASURED) {
+            backlogSize.compareAndSet(NOT_MEASURED, transactionRepository.findUnprocessedBacklog().size());
+            size = backlogSize.get();
+        }
+        return size;
+    }
+
+    private void refuse(List<String> details) {
+        String message = MessageFormatter.format(TRANSACTION_CONTEXT, ADMISSION_ACTION, REFUSED_STATUS,
+                Optional.of(BACKLOG_FULL_CAUSE), details);
+        logger.debug(message);
+        throw new TransactionBacklogException(message, retryAfter);
+    }
+}
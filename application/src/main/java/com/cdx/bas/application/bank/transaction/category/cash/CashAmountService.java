@@ -13,6 +13,7 @@ import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -34,14 +35,20 @@ public abstract class CashAmountService extends TransactionProcessorTemplate {
 
     @Override
     protected Transaction processCategory(Transaction transaction, Map<String, String> metadata) {
-        transactionValidator.validateCashTransaction(transaction);
-        BankAccount emitterBankAccount = bankAccountService.findBankAccount(transaction.getEmitterAccountId());
+        // a transaction accepted by submitDeposit or submitWithdraw is already stored when the scheduler processes it
+        if (transaction.getId() == null) {
+            transactionValidator.validateCashTransaction(transaction);
+        } else {
+            transactionValidator.validateExistingCashTransaction(transaction);
+        }
+        BankAccount emitterBankAccount = bankAccountService.findBankAccountBalance(transaction.getEmitterAccountId());
+        BigDecimal emitterBalanceBefore = emitterBankAccount.getBalance().getAmount();
 
         CashTransactionProcessingDetails cashTransactionProcessingDetails = new CashTransactionProcessingDetails(transaction, emitterBankAccount, metadata);
         processType(cashTransactionProcessingDetails);
 
         Transaction completedTransaction = transactionStatusService.setStatus(transaction, COMPLETED, metadata);
-        bankAccountService.updateBankAccount(emitterBankAccount);
+        bankAccountService.applyBalanceDelta(emitterBankAccount, emitterBankAccount.getBalance().getAmount().subtract(emitterBalanceBefore));
 
         logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, CASH_TRANSACTION_ACTION, COMPLETED_STATUS,
                 List.of(TRANSACTION_ID_DETAIL + transaction.getId(),
@@ -53,6 +60,10 @@ public abstract class CashAmountService extends TransactionProcessorTemplate {
 
     @Override
     protected void persist(Transaction transaction) {
-        transactionService.create(transaction);
+        if (transaction.getId() == null) {
+            transactionService.create(transaction);
+        } else {
+            transactionService.update(transaction);
+        }
     }
 }
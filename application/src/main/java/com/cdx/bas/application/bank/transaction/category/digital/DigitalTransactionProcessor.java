@@ -12,6 +12,7 @@ import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -32,9 +33,11 @@ public abstract class DigitalTransactionProcessor extends TransactionProcessorTe
 
     @Override
     protected Transaction processCategory(Transaction transaction, Map<String, String> metadata) {
-        BankAccount emitterBankAccount = bankAccountService.findBankAccount(transaction.getEmitterAccountId());
-        BankAccount receiverBankAccount = bankAccountService.findBankAccount(transaction.getReceiverAccountId());
+        BankAccount emitterBankAccount = bankAccountService.findBankAccountBalance(transaction.getEmitterAccountId());
+        BankAccount receiverBankAccount = bankAccountService.findBankAccountBalance(transaction.getReceiverAccountId());
         Transaction currentTransaction = transactionStatusService.setAsOutstanding(transaction);
+        BigDecimal emitterBalanceBefore = emitterBankAccount.getBalance().getAmount();
+        BigDecimal receiverBalanceBefore = receiverBankAccount.getBalance().getAmount();
 
         DigitalTransactionProcessingDetails digitalTransactionProcessingDetails = new DigitalTransactionProcessingDetails(currentTransaction,
                 emitterBankAccount,
@@ -43,8 +46,16 @@ public abstract class DigitalTransactionProcessor extends TransactionProcessorTe
         processType(digitalTransactionProcessingDetails);
 
         Transaction completedTransaction = transactionStatusService.setStatus(currentTransaction, COMPLETED, metadata);
-        bankAccountService.updateBankAccount(emitterBankAccount);
-        bankAccountService.updateBankAccount(receiverBankAccount);
+        BigDecimal emitterDelta = emitterBankAccount.getBalance().getAmount().subtract(emitterBalanceBefore);
+        BigDecimal receiverDelta = receiverBankAccount.getBalance().getAmount().subtract(receiverBalanceBefore);
+        // accounts are always changed in id order so two opposite transfers can not lock each other
+        if (emitterBankAccount.getId() <= receiverBankAccount.getId()) {
+            bankAccountService.applyBalanceDelta(emitterBankAccount, emitterDelta);
+            bankAccountService.applyBalanceDelta(receiverBankAccount, receiverDelta);
+        } else {
+            bankAccountService.applyBalanceDelta(receiverBankAccount, receiverDelta);
+            bankAccountService.applyBalanceDelta(emitterBankAccount, emitterDelta);
+        }
 
         logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, CREDIT_ACTION, COMPLETED_STATUS,
                 List.of(CREDIT_DETAIL + currentTransaction.getAmount(),
@@ -0,0 +1,46 @@
+package com.cdx.bas.application.bank.transaction.status;
+
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusChange;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusEventPort;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusSubscription;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes the status given to each transaction by the processing to the subscriptions following it.
+ * <p>
+ * A change is published once the unit of work of the processing is committed, so a subscriber never sees a status
+ * that has been rolled back. Publishing only buffers the change in each subscription and never waits for a subscriber.
+ */
+@ApplicationScoped
+public class TransactionStatusEventBus implements TransactionStatusEventPort {
+
+    private final Set<TransactionStatusSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    @ConfigProperty(name = "transaction.events.buffer-size", defaultValue = "256")
+    int bufferSize;
+
+    @Override
+    public TransactionStatusSubscription subscribe(Long accountId) {
+        TransactionStatusSubscription subscription = new TransactionStatusSubscription(accountId, bufferSize, subscriptions::remove);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    void onStatusChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) TransactionStatusChange transactionStatusChange) {
+        for (TransactionStatusSubscription subscription : subscriptions) {
+            if (subscription.concerns(transactionStatusChange)) {
+                subscription.offer(transactionStatusChange);
+            }
+        }
+    }
+
+    int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+}
@@ -39,8 +39,11 @@ public class TransactionStatusServiceImpl implements TransactionStatusServicePor
         this.transactionPersistencePort = transactionPersistencePort;
     }
 
+    /**
+     * The outstanding status is not written: the processing unit of work writes the final status once,
+     * and an intermediate write would never be visible outside of it.
+     */
     @Override
-    @Transactional
     public Transaction setAsOutstanding(Transaction transaction) throws TransactionException {
         if (UNPROCESSED.equals(transaction.getStatus())) {
             transaction.setStatus(OUTSTANDING);
@@ -48,7 +51,7 @@ public class TransactionStatusServiceImpl implements TransactionStatusServicePor
             throw new TransactionException(MessageFormatter.format(TRANSACTION_CONTEXT, OUTSTANDING_STATUS_ACTION, NO_LONGER_UNPROCESSED_STATUS,
                     List.of(STATUS_DETAIL + transaction.getStatus())));
         }
-        return transactionPersistencePort.update(transaction);
+        return transaction;
     }
 
     @Override
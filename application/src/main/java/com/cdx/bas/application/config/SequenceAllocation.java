@@ -0,0 +1,17 @@
+package com.cdx.bas.application.config;
+
+/**
+ * Id allocation shared by the sequence generators of the entities.
+ * <p>
+ * Ids are reserved by blocks with the pooled-lo optimizer (quarkus.hibernate-orm.mapping.id.optimizer.default),
+ * so only one nextval is needed for {@link #BLOCK_SIZE} inserts. The INCREMENT of the database sequences must be
+ * equal to the block size: change env/migration/pooled-sequences.sql together with this value.
+ */
+public class SequenceAllocation {
+
+    public static final int BLOCK_SIZE = 50;
+
+    private SequenceAllocation() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+}
@@ -0,0 +1,125 @@
+package com.cdx.bas.application.currency.rate;
+
+import com.cdx.bas.domain.currency.error.CurrencyException;
+import com.cdx.bas.domain.currency.rate.ExchangeRateProviderPort;
+import com.cdx.bas.domain.currency.rate.ExchangeRateSnapshot;
+import com.cdx.bas.domain.currency.rate.ExchangeRateUtils;
+import com.cdx.bas.domain.message.MessageFormatter;
+import io.quarkus.runtime.Startup;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Publishes the exchange rates of a properties file as immutable snapshots, starting with the default rates.
+ * <p>
+ * The file gives its version with the {@value #VERSION_KEY} key and the euro exchange rate of each currency with its
+ * code. It is loaded at startup then again on the scheduler thread each time it changes: a new snapshot is built aside
+ * and swapped atomically, so readers never wait for a reload and a reader keeps a consistent table for as long as it
+ * holds its snapshot. A file that cannot be loaded is reported and leaves the current snapshot in place.
+ */
+@Startup
+@ApplicationScoped
+public class ExchangeRateProvider implements ExchangeRateProviderPort {
+
+    private static final Logger logger = Logger.getLogger(ExchangeRateProvider.class);
+
+    static final String VERSION_KEY = "version";
+
+    private final AtomicReference<ExchangeRateSnapshot> snapshot = new AtomicReference<>(ExchangeRateUtils.getDefaultSnapshot());
+
+    private FileTime loadedModifiedTime;
+    private long loadedSize;
+
+    @ConfigProperty(name = "exchange-rates.file")
+    Optional<String> file;
+
+    @Override
+    public ExchangeRateSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    @Scheduled(every = "{exchange-rates.reload-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void poll() {
+        reload();
+    }
+
+    /**
+     * Load the rate file if it changed since the last attempt
+     *
+     * @return true if a new snapshot is published
+     */
+    synchronized boolean reload() {
+        if (file.isEmpty()) {
+            return false;
+        }
+        Path path = Path.of(file.get());
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attributes.lastModifiedTime().equals(loadedModifiedTime) && attributes.size() == loadedSize) {
+                return false;
+            }
+            loadedModifiedTime = attributes.lastModifiedTime();
+            loadedSize = attributes.size();
+            ExchangeRateSnapshot loadedSnapshot = load(path);
+            snapshot.set(loadedSnapshot);
+            logger.info(MessageFormatter.format(EXCHANGE_RATE_CONTEXT, RELOAD_ACTION, SUCCESS_STATUS,
+                    List.of(FILE_DETAIL + path, RATE_VERSION_DETAIL + loadedSnapshot.version())));
+            return true;
+        } catch (IOException | RuntimeException exception) {
+            logger.error(MessageFormatter.format(EXCHANGE_RATE_CONTEXT, RELOAD_ACTION, FAILED_STATUS,
+                    Optional.of(UNEXPECTED_ERROR_CAUSE),
+                    List.of(FILE_DETAIL + path, RATE_VERSION_DETAIL + getSnapshot().version(), ERROR_DETAIL + exception.getMessage())));
+            return false;
+        }
+    }
+
+    private static ExchangeRateSnapshot load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        String version = properties.getProperty(VERSION_KEY);
+        if (version == null || version.isBlank()) {
+            throw new CurrencyException("No version found in exchange rate file");
+        }
+        Map<String, BigDecimal> euroExchangeRates = new HashMap<>();
+        for (String currency : properties.stringPropertyNames()) {
+            if (!VERSION_KEY.equals(currency)) {
+                euroExchangeRates.put(currency, parseRate(currency, properties.getProperty(currency)));
+            }
+        }
+        return ExchangeRateUtils.createSnapshot(version.trim(), euroExchangeRates);
+    }
+
+    private static BigDecimal parseRate(String currency, String rate) {
+        try {
+            return new BigDecimal(rate.trim());
+        } catch (NumberFormatException exception) {
+            throw new CurrencyException("Invalid exchange rate for currency: " + currency);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+
+import java.util.*;
+
+/**
+ * Splits pending transactions into shards that can be processed in parallel.
+ * <p>
+ * Every account touched by a transaction (emitter and receiver) is linked to the other accounts of that transaction,
+ * so a shard always holds complete groups of connected accounts. Two shards never share an account: a transfer
+ * between two accounts can not be split across shards and no worker ever has to wait for another one.
+ * Inside a shard the transactions keep the order of the given list, which must be sorted by date,
+ * so the transactions of an account are still applied in date order.
+ */
+public class AccountShardPartitioner {
+
+    private AccountShardPartitioner() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Group transactions by connected accounts and spread the groups over at most shardCount shards
+     *
+     * @param transactions sorted by date
+     * @param shardCount   maximum number of shards
+     * @return non-empty shards keeping the date order of each account
+     */
+    public static List<List<Transaction>> partition(List<Transaction> transactions, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+
+        AccountGroups accountGroups = new AccountGroups();
+        for (Transaction transaction : transactions) {
+            accountGroups.link(transaction.getEmitterAccountId(), transaction.getReceiverAccountId());
+        }
+
+        Map<Long, List<Transaction>> transactionsByGroup = new LinkedHashMap<>();
+        List<Transaction> transactionsWithoutAccount = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            Long accountId = transaction.getEmitterAccountId() != null ? transaction.getEmitterAccountId() : transaction.getReceiverAccountId();
+            if (accountId == null) {
+                transactionsWithoutAccount.add(transaction);
+            } else {
+                transactionsByGroup.computeIfAbsent(accountGroups.find(accountId), group -> new ArrayList<>()).add(transaction);
+            }
+        }
+
+        List<List<Transaction>> groups = new ArrayList<>(transactionsByGroup.values());
+        groups.sort(Comparator.comparingInt((List<Transaction> group) -> group.size()).reversed());
+
+        List<List<Transaction>> shards = new ArrayList<>();
+        PriorityQueue<List<Transaction>> lightestShards = new PriorityQueue<>(Comparator.comparingInt(List::size));
+        for (List<Transaction> group : groups) {
+            if (shards.size() < shardCount) {
+                List<Transaction> shard = new ArrayList<>(group);
+                shards.add(shard);
+                lightestShards.add(shard);
+            } else {
+                List<Transaction> lightestShard = lightestShards.poll();
+                lightestShard.addAll(group);
+                lightestShards.add(lightestShard);
+            }
+        }
+
+        if (!transactionsWithoutAccount.isEmpty()) {
+            shards.add(transactionsWithoutAccount);
+        }
+        return shards;
+    }
+
+    /**
+     * Union-find of account ids
+     */
+    private static class AccountGroups {
+        private final Map<Long, Long> parents = new HashMap<>();
+
+        void link(Long firstAccountId, Long secondAccountId) {
+            if (firstAccountId == null && secondAccountId == null) {
+                return;
+            }
+            if (firstAccountId == null || secondAccountId == null) {
+                find(firstAccountId != null ? firstAccountId : secondAccountId);
+                return;
+            }
+            Long firstRoot = find(firstAccountId);
+            Long secondRoot = find(secondAccountId);
+            if (!firstRoot.equals(secondRoot)) {
+                parents.put(secondRoot, firstRoot);
+            }
+        }
+
+        Long find(Long accountId) {
+            Long root = accountId;
+            Long parent = parents.putIfAbsent(root, root);
+            while (parent != null && !parent.equals(root)) {
+                root = parent;
+                parent = parents.get(root);
+            }
+
+            Long current = accountId;
+            while (!current.equals(root)) {
+                Long next = parents.get(current);
+                parents.put(current, root);
+                current = next;
+            }
+            return root;
+        }
+    }
+}
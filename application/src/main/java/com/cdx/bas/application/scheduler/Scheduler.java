@@ -1,5 +1,17 @@
 package com.cdx.bas.application.scheduler;
 
+import java.time.Duration;
+
 public interface Scheduler {
     void processQueue();
+
+    /**
+     * @return current pace of the scheduler
+     */
+    SchedulerMode getMode();
+
+    /**
+     * @return waiting time of the oldest unprocessed transaction when the scheduler last measured its backlog
+     */
+    Duration getLag();
 }
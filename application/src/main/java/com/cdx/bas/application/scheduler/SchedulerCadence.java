@@ -0,0 +1,92 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.status.TransactionBacklog;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Pace of the scheduler, adapted to the backlog measured before each run.
+ * <p>
+ * While the backlog size or the waiting time of its oldest transaction reaches its threshold, the scheduler is
+ * {@link SchedulerMode#CONTINUOUS}. Otherwise it is in {@link SchedulerMode#BACKOFF}: a pending backlog keeps the
+ * minimum interval, and each empty run in a row doubles the interval up to the maximum, so an idle queue costs
+ * fewer and fewer polls while new work is picked up again at the minimum interval.
+ */
+public class SchedulerCadence {
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final long backlogThreshold;
+    private final Duration lagThreshold;
+
+    private volatile SchedulerMode mode = SchedulerMode.BACKOFF;
+    private Duration interval;
+    private volatile Duration lag = Duration.ZERO;
+    private boolean lastRunEmpty;
+
+    /**
+     * @param minInterval      interval after a run with pending transactions, and first interval of the backoff
+     * @param maxInterval      upper bound of the backoff
+     * @param backlogThreshold backlog size from which the scheduler runs continuously, must be positive
+     * @param lagThreshold     waiting time of the oldest transaction from which the scheduler runs continuously
+     */
+    public SchedulerCadence(Duration minInterval, Duration maxInterval, long backlogThreshold, Duration lagThreshold) {
+        if (minInterval.isNegative() || maxInterval.compareTo(minInterval) < 0 || backlogThreshold < 1) {
+            throw new IllegalArgumentException("Invalid scheduler cadence: min interval " + minInterval
+                    + ", max interval " + maxInterval + ", backlog threshold " + backlogThreshold);
+        }
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.backlogThreshold = backlogThreshold;
+        this.lagThreshold = lagThreshold;
+        this.interval = minInterval;
+    }
+
+    /**
+     * Adapt the mode and the interval to the backlog measured before a run
+     *
+     * @param backlog unprocessed transactions
+     * @param now     date of the measure
+     * @return mode of the scheduler for this run
+     */
+    public SchedulerMode update(TransactionBacklog backlog, Instant now) {
+        lag = backlog.lag(now);
+        if (backlog.size() >= backlogThreshold || (!backlog.isEmpty() && lag.compareTo(lagThreshold) >= 0)) {
+            mode = SchedulerMode.CONTINUOUS;
+            interval = minInterval;
+            lastRunEmpty = false;
+        } else if (backlog.isEmpty()) {
+            mode = SchedulerMode.BACKOFF;
+            interval = lastRunEmpty ? min(interval.multipliedBy(2), maxInterval) : minInterval;
+            lastRunEmpty = true;
+        } else {
+            mode = SchedulerMode.BACKOFF;
+            interval = minInterval;
+            lastRunEmpty = false;
+        }
+        return mode;
+    }
+
+    public SchedulerMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return time to wait before the next poll, meaningless while the mode is continuous
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return waiting time of the oldest unprocessed transaction at the last measure
+     */
+    public Duration getLag() {
+        return lag;
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
@@ -1,18 +1,23 @@
 package com.cdx.bas.application.scheduler;
 
+import com.cdx.bas.application.bank.transaction.admission.TransactionAdmissionControl;
 import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
-import com.cdx.bas.domain.bank.transaction.TransactionServicePort;
+import com.cdx.bas.domain.bank.transaction.status.TransactionBacklog;
 import com.cdx.bas.domain.message.MessageFormatter;
 import io.quarkus.runtime.Startup;
 import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.control.ActivateRequestContext;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.cdx.bas.domain.message.CommonMessages.*;
 
@@ -22,44 +27,157 @@ import static com.cdx.bas.domain.message.CommonMessages.*;
 
         private static final Logger logger = Logger.getLogger(SchedulerImpl.class);
 
-        private static final PriorityQueue<Transaction> transactionQueue = new PriorityQueue<>();
-
-        private final TransactionServicePort transactionService;
         private final TransactionPersistencePort transactionRepository;
+        private final ShardedProcessingEngine processingEngine;
+        private final TransactionAdmissionControl transactionAdmissionControl;
+        private final TransactionClaim transactionClaim;
 
         @Inject
-        public SchedulerImpl(TransactionPersistencePort transactionRepository, TransactionServicePort transactionService) {
+        public SchedulerImpl(TransactionPersistencePort transactionRepository, ShardedProcessingEngine processingEngine,
+                             TransactionAdmissionControl transactionAdmissionControl, TransactionClaim transactionClaim) {
             this.transactionRepository = transactionRepository;
-            this.transactionService = transactionService;
+            this.processingEngine = processingEngine;
+            this.transactionAdmissionControl = transactionAdmissionControl;
+            this.transactionClaim = transactionClaim;
         }
 
         @ConfigProperty(name = "scheduler.activation", defaultValue = "true")
         boolean activation;
 
-        @ConfigProperty(name = "scheduler.every", defaultValue = "30s")
-        String every;
+        @ConfigProperty(name = "scheduler.cadence.min-interval", defaultValue = "1S")
+        Duration minInterval;
+
+        @ConfigProperty(name = "scheduler.cadence.max-interval", defaultValue = "60S")
+        Duration maxInterval;
+
+        @ConfigProperty(name = "scheduler.cadence.backlog-threshold", defaultValue = "500")
+        long backlogThreshold;
+
+        @ConfigProperty(name = "scheduler.cadence.lag-threshold", defaultValue = "5S")
+        Duration lagThreshold;
+
+        @ConfigProperty(name = "scheduler.chunk-size", defaultValue = "500")
+        int chunkSize;
+
+        private final ReentrantLock processingLock = new ReentrantLock();
 
-        private static PriorityQueue<Transaction> getTransactionQueue() {
-            return transactionQueue;
+        private SchedulerCadence cadence;
+        private volatile Instant nextPollDate = Instant.MIN;
+
+        /**
+         * The cadence is built once the configuration is injected, before the bean is published to the scheduler
+         * and request threads
+         */
+        @PostConstruct
+        void init() {
+            cadence = new SchedulerCadence(minInterval, maxInterval, backlogThreshold, lagThreshold);
+        }
+
+        /**
+         * Ticks at the minimum interval and only runs once the interval computed by the cadence has elapsed,
+         * so an idle scheduler does not query the database at every tick
+         */
+        @Scheduled(every = "{scheduler.cadence.min-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+        void poll() {
+            if (isActivated() && !Instant.now().isBefore(nextPollDate)) {
+                processQueue();
+            }
         }
 
+        /**
+         * Called by the poll and by the processing trigger, runs are serialized so a transaction
+         * is never loaded by two runs at once. The backlog is measured before each pass: in continuous mode
+         * passes follow each other until the backlog is back under its thresholds. Only transactions that left the
+         * unprocessed status are counted, and passes also stop when the backlog did not shrink since the previous one,
+         * so transactions that stay unprocessed never keep the scheduler looping.
+         */
         @Override
-        @Scheduled(every = "{scheduler.every}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+        @ActivateRequestContext
         public void processQueue() {
             if (isActivated()) {
-                logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, STARTING_ACTION, DONE_STATUS));
-                if (getTransactionQueue().isEmpty()) {
-                    getTransactionQueue().addAll(transactionRepository.findUnprocessedTransactions());
+                processingLock.lock();
+                try {
+                    logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, STARTING_ACTION, DONE_STATUS));
+                    SchedulerCadence schedulerCadence = cadence;
+                    int processedTransactions;
+                    long previousBacklogSize = Long.MAX_VALUE;
+                    do {
+                        TransactionBacklog backlog = transactionRepository.findUnprocessedBacklog();
+                        transactionAdmissionControl.onBacklogMeasured(backlog.size());
+                        SchedulerMode mode = schedulerCadence.update(backlog, Instant.now());
+                        logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, PROCESS_ACTION, IN_PROGRESS_STATUS,
+                                List.of(MODE_DETAIL + mode, BACKLOG_DETAIL + backlog.size(), LAG_DETAIL + schedulerCadence.getLag())));
+                        boolean backlogShrank = backlog.size() < previousBacklogSize;
+                        previousBacklogSize = backlog.size();
+                        if (backlog.isEmpty() || !backlogShrank) {
+                            processedTransactions = 0;
+                        } else if (transactionClaim.isEnabled()) {
+                            processedTransactions = processClaimedChunks();
+                        } else {
+                            processedTransactions = processChunks();
+                        }
+                        transactionAdmissionControl.onProcessed(processedTransactions);
+                        // leases of other nodes can keep the backlog high without giving this node anything to process
+                    } while (schedulerCadence.getMode() == SchedulerMode.CONTINUOUS && processedTransactions > 0);
+                    nextPollDate = Instant.now().plus(schedulerCadence.getInterval());
+                    logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, ENDING_ACTION, DONE_STATUS,
+                            List.of(INTERVAL_DETAIL + schedulerCadence.getInterval())));
+                } finally {
+                    processingLock.unlock();
                 }
+            }
+        }
 
-                logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, PROCESS_ACTION, IN_PROGRESS_STATUS, List.of(QUEUE_DETAIL + transactionQueue.size())));
-                while (!getTransactionQueue().isEmpty()) {
-                    Transaction currentTransation = getTransactionQueue().poll();
-                    transactionService.processDigitalTransaction(currentTransation);
+        private int processChunks() {
+            Instant afterDate = null;
+            Long afterId = null;
+            int processedTransactions = 0;
+            List<Transaction> chunk;
+            // a chunk is fully processed before the next one is loaded, so each account keeps its date order
+            do {
+                chunk = transactionRepository.findUnprocessedTransactions(afterDate, afterId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
                 }
-                logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, ENDING_ACTION, DONE_STATUS));
-            }
+                logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, PROCESS_ACTION, IN_PROGRESS_STATUS, List.of(QUEUE_DETAIL + chunk.size())));
+                processedTransactions += processingEngine.process(chunk);
+                Transaction lastTransaction = chunk.get(chunk.size() - 1);
+                afterDate = lastTransaction.getDate();
+                afterId = lastTransaction.getId();
+            } while (chunk.size() == chunkSize);
+            return processedTransactions;
+        }
+
+        /**
+         * Claim mode lets several nodes share the backlog: each chunk is leased to this node before being processed,
+         * transactions leased by another node are skipped until their lease expires. The lease of each transaction
+         * is renewed by the unit of work processing it, see {@link TransactionClaim}.
+         */
+        private int processClaimedChunks() {
+            String owner = transactionClaim.getOwner();
+            int processedTransactions = 0;
+            List<Transaction> chunk;
+            do {
+                chunk = transactionRepository.claimUnprocessedTransactions(owner, Instant.now(), transactionClaim.getLease(), chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, PROCESS_ACTION, IN_PROGRESS_STATUS, List.of(OWNER_DETAIL + owner, QUEUE_DETAIL + chunk.size())));
+                processedTransactions += processingEngine.process(chunk);
+            } while (chunk.size() == chunkSize);
+            return processedTransactions;
         }
+
+        @Override
+        public SchedulerMode getMode() {
+            return cadence.getMode();
+        }
+
+        @Override
+        public Duration getLag() {
+            return cadence.getLag();
+        }
+
         public boolean isActivated() {
             return activation;
         }
@@ -0,0 +1,15 @@
+package com.cdx.bas.application.scheduler;
+
+/**
+ * How the scheduler paces its runs, see {@link SchedulerCadence}
+ */
+public enum SchedulerMode {
+    /**
+     * backlog or lag above their thresholds: runs follow each other without waiting
+     */
+    CONTINUOUS,
+    /**
+     * backlog under control: runs are spaced by an interval doubled after each empty run
+     */
+    BACKOFF
+}
@@ -0,0 +1,122 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.cdx.bas.domain.bank.transaction.TransactionServicePort;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
+import com.cdx.bas.domain.message.MessageFormatter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Process the transactions of one shard, in order, on the calling worker thread.
+ * <p>
+ * With a batch size greater than 1 the transactions are committed by batches instead of one by one,
+ * see {@link TransactionServicePort#processDigitalTransactions(List, Duration)}.
+ * <p>
+ * A transaction is only counted as processed once the unit of work processing it committed with a status other than
+ * unprocessed: a transaction of an unknown type, whose claim could not be renewed or whose unit of work rolled back
+ * stays in the backlog.
+ */
+@ApplicationScoped
+public class ShardWorker {
+
+    private static final Logger logger = Logger.getLogger(ShardWorker.class);
+
+    private final TransactionServicePort transactionService;
+
+    @ConfigProperty(name = "scheduler.batch.size", defaultValue = "1")
+    int batchSize;
+
+    @ConfigProperty(name = "scheduler.batch.max-latency", defaultValue = "1S")
+    Duration batchMaxLatency;
+
+    @Inject
+    public ShardWorker(TransactionServicePort transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * @param shard transactions of the shard, sorted by date
+     * @return number of transactions of the shard that are no longer unprocessed
+     */
+    @ActivateRequestContext
+    public int processShard(List<Transaction> shard) {
+        if (batchSize > 1) {
+            return processBatches(shard);
+        }
+        int processedTransactions = 0;
+        for (Transaction transaction : shard) {
+            processedTransactions += processTransaction(transaction);
+        }
+        return processedTransactions;
+    }
+
+    private int processBatches(List<Transaction> shard) {
+        int nextIndex = 0;
+        int processedTransactions = 0;
+        while (nextIndex < shard.size()) {
+            List<Transaction> batch = shard.subList(nextIndex, Math.min(nextIndex + batchSize, shard.size()));
+            try {
+                int handledTransactions = transactionService.processDigitalTransactions(batch, batchMaxLatency);
+                // the batch committed, the transactions it went through hold their stored status
+                processedTransactions += countProcessed(batch.subList(0, handledTransactions));
+                nextIndex += handledTransactions;
+            } catch (RuntimeException exception) {
+                // the whole batch was rolled back, its transactions are processed again one by one from their stored state
+                logger.warn(MessageFormatter.format(SCHEDULER_CONTEXT, BATCH_ACTION, ROLLED_BACK_STATUS,
+                        List.of(BATCH_DETAIL + batch.size(), ERROR_DETAIL + exception.getMessage())));
+                for (Transaction transaction : batch) {
+                    processedTransactions += reprocessTransaction(transaction);
+                }
+                nextIndex += batch.size();
+            }
+        }
+        return processedTransactions;
+    }
+
+    private int reprocessTransaction(Transaction transaction) {
+        try {
+            return processTransaction(transactionService.findTransaction(transaction.getId()));
+        } catch (RuntimeException exception) {
+            logFailure(transaction, exception);
+            return 0;
+        }
+    }
+
+    private int processTransaction(Transaction transaction) {
+        try {
+            transactionService.processDigitalTransaction(transaction);
+            return isProcessed(transaction) ? 1 : 0;
+        } catch (RuntimeException exception) {
+            logFailure(transaction, exception);
+            return 0;
+        }
+    }
+
+    private static int countProcessed(List<Transaction> transactions) {
+        int processedTransactions = 0;
+        for (Transaction transaction : transactions) {
+            if (isProcessed(transaction)) {
+                processedTransactions++;
+            }
+        }
+        return processedTransactions;
+    }
+
+    private static boolean isProcessed(Transaction transaction) {
+        return transaction.getStatus() != TransactionStatus.UNPROCESSED;
+    }
+
+    private static void logFailure(Transaction transaction, RuntimeException exception) {
+        logger.warn(MessageFormatter.format(SCHEDULER_CONTEXT, PROCESS_ACTION, FAILED_STATUS,
+                List.of(TRANSACTION_ID_DETAIL + transaction.getId(), ERROR_DETAIL + exception.getMessage())));
+    }
+}
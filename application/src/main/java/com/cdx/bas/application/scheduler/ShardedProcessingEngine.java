@@ -0,0 +1,143 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.cdx.bas.domain.message.MessageFormatter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Processing engine running the pending transactions on a pool of workers.
+ * Transactions are split by account with {@link AccountShardPartitioner} and each shard is processed by one worker,
+ * so the transactions of an account are applied one after the other in date order while independent accounts
+ * are processed in parallel.
+ * <p>
+ * In virtual thread mode every group of connected accounts becomes its own shard, run on its own virtual thread.
+ * A thread blocked on JDBC then no longer holds a platform thread, and the number of shards running at once is
+ * bounded by a semaphore sized like the connection pool rather than by the number of workers.
+ */
+@ApplicationScoped
+public class ShardedProcessingEngine {
+
+    private static final Logger logger = Logger.getLogger(ShardedProcessingEngine.class);
+
+    private final ShardWorker shardWorker;
+
+    private ExecutorService executor;
+    private Semaphore runningShards;
+
+    @ConfigProperty(name = "scheduler.workers", defaultValue = "0")
+    int workers;
+
+    @ConfigProperty(name = "scheduler.virtual-threads.enabled", defaultValue = "false")
+    boolean virtualThreads;
+
+    @ConfigProperty(name = "scheduler.virtual-threads.max-concurrent-shards", defaultValue = "20")
+    int maxConcurrentShards;
+
+    @Inject
+    public ShardedProcessingEngine(ShardWorker shardWorker) {
+        this.shardWorker = shardWorker;
+    }
+
+    @PostConstruct
+    void init() {
+        if (virtualThreads) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bas-shard-worker-", 0).factory());
+            runningShards = new Semaphore(maxConcurrentShards);
+        } else {
+            executor = Executors.newFixedThreadPool(getWorkerCount(), Thread.ofPlatform().name("bas-shard-worker-", 0).factory());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Number of workers, every available processor is used when no positive value is configured
+     *
+     * @return number of shards processed in parallel
+     */
+    public int getWorkerCount() {
+        return workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Maximum number of shards of a chunk, unbounded in virtual thread mode where each group of accounts is a shard
+     *
+     * @return maximum number of shards given to the partitioner
+     */
+    public int getShardCount() {
+        return virtualThreads ? Integer.MAX_VALUE : getWorkerCount();
+    }
+
+    /**
+     * Process transactions on the workers and wait until every shard is done
+     *
+     * @param transactions sorted by date
+     * @return number of transactions that are no longer unprocessed, see {@link ShardWorker}
+     */
+    public int process(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        List<List<Transaction>> shards = AccountShardPartitioner.partition(transactions, getShardCount());
+        logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, PROCESS_ACTION, IN_PROGRESS_STATUS,
+                List.of(QUEUE_DETAIL + transactions.size(), SHARD_DETAIL + shards.size())));
+
+        List<Future<Integer>> processedShards = new ArrayList<>(shards.size());
+        for (List<Transaction> shard : shards) {
+            processedShards.add(executor.submit(() -> processShard(shard)));
+        }
+        return awaitShards(processedShards);
+    }
+
+    private int processShard(List<Transaction> shard) {
+        if (runningShards == null) {
+            return shardWorker.processShard(shard);
+        }
+        try {
+            runningShards.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        try {
+            return shardWorker.processShard(shard);
+        } finally {
+            runningShards.release();
+        }
+    }
+
+    private static int awaitShards(List<Future<Integer>> processedShards) {
+        int processedTransactions = 0;
+        for (Future<Integer> processedShard : processedShards) {
+            try {
+                processedTransactions += processedShard.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return processedTransactions;
+            } catch (ExecutionException exception) {
+                logger.error(MessageFormatter.format(SCHEDULER_CONTEXT, PROCESS_ACTION, FAILED_STATUS,
+                        List.of(ERROR_DETAIL + exception.getCause().getMessage())), exception.getCause());
+            }
+        }
+        return processedTransactions;
+    }
+}
@@ -0,0 +1,85 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
+import com.cdx.bas.domain.message.MessageFormatter;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Claim of this node on the transactions it processes in claim mode.
+ * <p>
+ * A claim leases a whole chunk when it is loaded, and processing the chunk can outlast the lease: once it expired
+ * another node can claim the same transactions. Each transaction is therefore renewed by the unit of work processing
+ * it, before any balance is changed. The renewal only succeeds while the transaction is unprocessed and still leased
+ * to this node, and it keeps the row locked until commit, so a transaction is never applied by two nodes.
+ */
+@Singleton
+public class TransactionClaim {
+
+    private static final Logger logger = Logger.getLogger(TransactionClaim.class);
+
+    private final TransactionPersistencePort transactionRepository;
+
+    @ConfigProperty(name = "scheduler.claim.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "scheduler.claim.lease", defaultValue = "5M")
+    Duration lease;
+
+    @ConfigProperty(name = "scheduler.node-id")
+    Optional<String> nodeId;
+
+    String owner;
+
+    @Inject
+    public TransactionClaim(TransactionPersistencePort transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    @PostConstruct
+    void init() {
+        owner = nodeId.orElseGet(() -> UUID.randomUUID().toString());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    /**
+     * Renew the lease of a claimed transaction, to be called within the unit of work processing it
+     *
+     * @param transaction about to be processed
+     * @return true if the transaction can be processed, always true when claim mode is disabled
+     */
+    public boolean renew(Transaction transaction) {
+        if (!enabled) {
+            return true;
+        }
+        boolean renewed = transactionRepository.renewClaim(transaction.getId(), owner, Instant.now(), lease);
+        if (!renewed) {
+            logger.warn(MessageFormatter.format(TRANSACTION_CONTEXT, RENEW_CLAIM_ACTION, FAILED_STATUS,
+                    Optional.of(CLAIM_LOST_CAUSE), List.of(TRANSACTION_ID_DETAIL + transaction.getId(), OWNER_DETAIL + owner)));
+        }
+        return renewed;
+    }
+}
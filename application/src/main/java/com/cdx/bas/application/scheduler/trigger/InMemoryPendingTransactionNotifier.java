@@ -0,0 +1,27 @@
+package com.cdx.bas.application.scheduler.trigger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Notifier limited to the current node, for a single instance or the tests: listeners are called on the publishing thread.
+ */
+public class InMemoryPendingTransactionNotifier implements PendingTransactionNotifier {
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish() {
+        listeners.forEach(Runnable::run);
+    }
+
+    @Override
+    public void listen(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        listeners.clear();
+    }
+}
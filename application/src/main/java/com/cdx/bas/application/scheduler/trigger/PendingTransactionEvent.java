@@ -0,0 +1,14 @@
+package com.cdx.bas.application.scheduler.trigger;
+
+/**
+ * Fired when transactions waiting for the scheduler are created, observed once their unit of work is committed
+ *
+ * @param emitterAccountId id of the account emitting the created transactions, null when they have several emitters
+ * @param count            number of created transactions
+ */
+public record PendingTransactionEvent(Long emitterAccountId, int count) {
+
+    public PendingTransactionEvent(Long emitterAccountId) {
+        this(emitterAccountId, 1);
+    }
+}
@@ -0,0 +1,25 @@
+package com.cdx.bas.application.scheduler.trigger;
+
+/**
+ * Tells every node that transactions are waiting to be processed.
+ * A notification published on one node is delivered to the listeners of every node, this one included.
+ */
+public interface PendingTransactionNotifier {
+
+    /**
+     * Notify the listeners of every node, without waiting for them
+     */
+    void publish();
+
+    /**
+     * Register a listener called each time a notification is received, it must return quickly
+     *
+     * @param listener called on the notifier thread
+     */
+    void listen(Runnable listener);
+
+    /**
+     * Stop receiving notifications and release the resources of the notifier
+     */
+    void close();
+}
@@ -0,0 +1,79 @@
+package com.cdx.bas.application.scheduler.trigger;
+
+import com.cdx.bas.domain.message.MessageFormatter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+@ApplicationScoped
+public class PendingTransactionNotifierFactory {
+
+    private static final Logger logger = Logger.getLogger(PendingTransactionNotifierFactory.class);
+
+    static final String MEMORY_NOTIFIER = "memory";
+    static final String POSTGRES_NOTIFIER = "postgres";
+    private static final String LISTEN_APPLICATION_NAME = "bas-notifier-listen";
+
+    private final Instance<DataSource> dataSource;
+
+    @ConfigProperty(name = "scheduler.trigger.notifier", defaultValue = MEMORY_NOTIFIER)
+    String notifier;
+
+    @ConfigProperty(name = "scheduler.trigger.reconnect-delay", defaultValue = "5S")
+    Duration reconnectDelay;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.url")
+    Optional<String> jdbcUrl;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    Optional<String> username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    Optional<String> password;
+
+    @Inject
+    public PendingTransactionNotifierFactory(Instance<DataSource> dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Produces
+    @ApplicationScoped
+    public PendingTransactionNotifier createPendingTransactionNotifier() {
+        logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, TRIGGER_ACTION, DONE_STATUS, List.of(NOTIFIER_DETAIL + notifier)));
+        return switch (notifier) {
+            case MEMORY_NOTIFIER -> new InMemoryPendingTransactionNotifier();
+            case POSTGRES_NOTIFIER -> new PostgresPendingTransactionNotifier(dataSource.get(), this::openListenConnection, reconnectDelay);
+            default -> throw new IllegalArgumentException("Unexpected notifier " + notifier);
+        };
+    }
+
+    /**
+     * The LISTEN connection is opened with the settings of the datasource but outside of its pool
+     */
+    Connection openListenConnection() throws SQLException {
+        Properties properties = new Properties();
+        username.ifPresent(user -> properties.setProperty("user", user));
+        password.ifPresent(value -> properties.setProperty("password", value));
+        properties.setProperty("ApplicationName", LISTEN_APPLICATION_NAME);
+        return DriverManager.getConnection(jdbcUrl.orElseThrow(() -> new SQLException("Missing quarkus.datasource.jdbc.url")), properties);
+    }
+
+    public void closePendingTransactionNotifier(@Disposes PendingTransactionNotifier pendingTransactionNotifier) {
+        pendingTransactionNotifier.close();
+    }
+}
@@ -0,0 +1,147 @@
+package com.cdx.bas.application.scheduler.trigger;
+
+import com.cdx.bas.domain.message.MessageFormatter;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Notifier shared by every node through Postgres LISTEN/NOTIFY.
+ * <p>
+ * Notifications are published with NOTIFY on a pooled connection and received by a dedicated thread holding its own
+ * LISTEN connection. That connection is opened outside the pool, so it does not take a pooled connection for the life
+ * of the application: each node opens one more connection to the database than its pool size. The connection is
+ * opened again after a failure, and the listeners are called once it listens again since the notifications sent in
+ * between are lost.
+ */
+public class PostgresPendingTransactionNotifier implements PendingTransactionNotifier {
+
+    private static final Logger logger = Logger.getLogger(PostgresPendingTransactionNotifier.class);
+
+    static final String CHANNEL = "bas_pending_transactions";
+    private static final int RECEIVE_TIMEOUT_MILLIS = 500;
+    // a connection dropped without a reset of its socket only fails once it is used: it is checked every 30 seconds
+    private static final int RECEIVES_BETWEEN_CHECKS = 60;
+    private static final int CHECK_TIMEOUT_SECONDS = 5;
+
+    private final DataSource dataSource;
+    private final ListenConnectionFactory listenConnectionFactory;
+    private final Duration reconnectDelay;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("bas-notifier-publisher").daemon().factory());
+
+    private Thread receiver;
+    private volatile boolean running = true;
+
+    /**
+     * Opens the connection kept by the receiver thread to LISTEN
+     */
+    @FunctionalInterface
+    public interface ListenConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    public PostgresPendingTransactionNotifier(DataSource dataSource, ListenConnectionFactory listenConnectionFactory, Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.listenConnectionFactory = listenConnectionFactory;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void publish() {
+        publisher.execute(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("NOTIFY " + CHANNEL);
+            } catch (SQLException exception) {
+                logger.warn(MessageFormatter.format(SCHEDULER_CONTEXT, NOTIFY_ACTION, FAILED_STATUS,
+                        List.of(ERROR_DETAIL + exception.getMessage())));
+                // the other nodes will rely on their poll, this one does not have to
+                notifyListeners();
+            }
+        });
+    }
+
+    @Override
+    public synchronized void listen(Runnable listener) {
+        listeners.add(listener);
+        if (receiver == null) {
+            receiver = Thread.ofPlatform().name("bas-notifier-receiver").daemon().start(this::receive);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        publisher.shutdown();
+        if (receiver != null) {
+            receiver.interrupt();
+        }
+        listeners.clear();
+    }
+
+    private void receive() {
+        while (running) {
+            try (Connection connection = listenConnectionFactory.open()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                logger.debug(MessageFormatter.format(SCHEDULER_CONTEXT, LISTEN_ACTION, IN_PROGRESS_STATUS, List.of(CHANNEL_DETAIL + CHANNEL)));
+                notifyListeners();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                int emptyReceives = 0;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(RECEIVE_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        emptyReceives = 0;
+                        notifyListeners();
+                    } else if (++emptyReceives == RECEIVES_BETWEEN_CHECKS) {
+                        emptyReceives = 0;
+                        if (!connection.isValid(CHECK_TIMEOUT_SECONDS)) {
+                            throw new SQLException("LISTEN connection is no longer valid");
+                        }
+                    }
+                }
+            } catch (SQLException exception) {
+                if (running) {
+                    logger.warn(MessageFormatter.format(SCHEDULER_CONTEXT, LISTEN_ACTION, FAILED_STATUS,
+                            List.of(CHANNEL_DETAIL + CHANNEL, ERROR_DETAIL + exception.getMessage())));
+                    awaitReconnect();
+                }
+            }
+        }
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException exception) {
+                logger.error(MessageFormatter.format(SCHEDULER_CONTEXT, NOTIFY_ACTION, FAILED_STATUS,
+                        List.of(ERROR_DETAIL + exception.getMessage())), exception);
+            }
+        }
+    }
+
+    private void awaitReconnect() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
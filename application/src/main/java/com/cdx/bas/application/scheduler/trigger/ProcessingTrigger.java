@@ -0,0 +1,79 @@
+package com.cdx.bas.application.scheduler.trigger;
+
+import com.cdx.bas.application.scheduler.Scheduler;
+import com.cdx.bas.domain.message.MessageFormatter;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Runs the scheduler as soon as pending transactions are committed instead of waiting for the next poll.
+ * <p>
+ * A committed {@link PendingTransactionEvent} is published to every node through the {@link PendingTransactionNotifier}.
+ * Notifications received while a run is already queued are coalesced, so a burst of transactions costs at most one run
+ * in progress and one queued run; the periodic poll of the scheduler remains as a safety net for lost notifications.
+ */
+@Startup
+@ApplicationScoped
+public class ProcessingTrigger {
+
+    private static final Logger logger = Logger.getLogger(ProcessingTrigger.class);
+
+    private final Scheduler scheduler;
+    private final PendingTransactionNotifier pendingTransactionNotifier;
+    private final AtomicBoolean runQueued = new AtomicBoolean();
+
+    private ExecutorService dispatcher;
+
+    @Inject
+    public ProcessingTrigger(Scheduler scheduler, PendingTransactionNotifier pendingTransactionNotifier) {
+        this.scheduler = scheduler;
+        this.pendingTransactionNotifier = pendingTransactionNotifier;
+    }
+
+    @PostConstruct
+    void init() {
+        dispatcher = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("bas-processing-trigger").factory());
+        pendingTransactionNotifier.listen(this::signal);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    void onPendingTransaction(@Observes(during = TransactionPhase.AFTER_SUCCESS) PendingTransactionEvent pendingTransactionEvent) {
+        pendingTransactionNotifier.publish();
+    }
+
+    /**
+     * Queue a run of the scheduler unless one is already queued
+     */
+    public void signal() {
+        if (runQueued.compareAndSet(false, true)) {
+            dispatcher.execute(this::run);
+        }
+    }
+
+    private void run() {
+        runQueued.set(false);
+        try {
+            scheduler.processQueue();
+        } catch (RuntimeException exception) {
+            logger.error(MessageFormatter.format(SCHEDULER_CONTEXT, TRIGGER_ACTION, FAILED_STATUS,
+                    List.of(ERROR_DETAIL + exception.getMessage())), exception);
+        }
+    }
+}
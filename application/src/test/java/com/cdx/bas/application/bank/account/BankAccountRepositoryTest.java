@@ -25,6 +25,8 @@ import org.junit.jupiter.api.TestMethodOrder;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -63,7 +65,7 @@ class BankAccountRepositoryTest {
         );
 
         // Act
-        List<BankAccount> allBankAccounts = bankAccountRepository.getAll();
+        List<BankAccount> allBankAccounts = bankAccountRepository.getAll(null, 100);
 
         // Assert
         assertThat(allBankAccounts)
@@ -73,6 +75,23 @@ class BankAccountRepositoryTest {
                 .isEqualTo(expectedAccounts);
     }
 
+    @Test
+    @Transactional
+    @Order(2)
+    void streamAll_shouldGiveEveryBankAccountOnceWithAllCustomers() {
+        // Arrange
+        List<BankAccount> streamedAccounts = new ArrayList<>();
+
+        // Act
+        bankAccountRepository.streamAll(streamedAccounts::add);
+
+        // Assert
+        assertThat(streamedAccounts)
+                .extracting(BankAccount::getId)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(streamedAccounts.get(1).getCustomersId()).containsExactlyInAnyOrder(2L, 3L);
+    }
+
     @Test
     @Transactional
     void shouldReturnBankAccount_whenAccountIsFound() {
@@ -91,6 +110,54 @@ class BankAccountRepositoryTest {
                 .isEqualTo(bankAccount);
     }
 
+    @Test
+    @Transactional
+    void findBalanceById_shouldReturnBankAccountWithoutTransactions_whenAccountIsFound() {
+        // Arrange
+        long accountId = 1L;
+        BankAccount bankAccount = new CheckingBankAccount(1L, new Money(new BigDecimal("400.00")), Set.of(1L), new HashSet<>());
+
+        // Act
+        Optional<BankAccount> optionalBankAccount = bankAccountRepository.findBalanceById(accountId);
+
+        // Assert
+        assertThat(optionalBankAccount).isPresent();
+        assertThat(optionalBankAccount.get())
+                .usingRecursiveComparison()
+                .isEqualTo(bankAccount);
+    }
+
+    @Test
+    @Transactional
+    void findBalanceById_shouldReturnEmptyOptional_whenAccountIsNotFound() {
+        // Act
+        Optional<BankAccount> optionalBankAccount = bankAccountRepository.findBalanceById(99999L);
+
+        // Assert
+        assertThat(optionalBankAccount).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void findBalancesByIds_shouldReturnFoundBankAccountsOrderedById() {
+        // Act
+        List<BankAccount> bankAccounts = bankAccountRepository.findBalancesByIds(List.of(2L, 1L, 99999L));
+
+        // Assert
+        assertThat(bankAccounts).extracting(BankAccount::getId).containsExactly(1L, 2L);
+        assertThat(bankAccounts.get(1).getCustomersId()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(bankAccounts.get(0))
+                .usingRecursiveComparison()
+                .isEqualTo(new CheckingBankAccount(1L, new Money(new BigDecimal("400.00")), Set.of(1L), new HashSet<>()));
+    }
+
+    @Test
+    @Transactional
+    void findBalancesByIds_shouldReturnEmptyList_whenNoIdIsGiven() {
+        // Act & Assert
+        assertThat(bankAccountRepository.findBalancesByIds(List.of())).isEmpty();
+    }
+
     @Test
     @Transactional
     void shouldReturnEmptyOptional_whenAccountIsNotFound() {
@@ -104,7 +171,7 @@ class BankAccountRepositoryTest {
 
     @Test
     @Transactional
-    @Order(2)
+    @Order(3)
     void shouldCreateBankAccountSuccessfully() {
         // Arrange
         long id = 20L;
@@ -127,7 +194,7 @@ class BankAccountRepositoryTest {
 
     @Test
     @Transactional
-    @Order(3)
+    @Order(4)
     void shouldUpdateBankAccountSuccessfully() {
         // Arrange
         long id = 8L;
@@ -163,7 +230,7 @@ class BankAccountRepositoryTest {
 
     @Test
     @Transactional
-    @Order(4)
+    @Order(5)
     void shouldDeleteBankAccountSuccessfully_whenAccountExists() {
         // Act
         long id = 3L;
@@ -178,6 +245,48 @@ class BankAccountRepositoryTest {
         assertThat(bankAccountRepository.findById(id)).isEmpty();
     }
 
+    @Test
+    @Transactional
+    void applyBalanceDelta_shouldChangeBalance_whenLimitsAreRespected() {
+        // Arrange
+        long id = 4L;
+        BigDecimal balanceBefore = bankAccountRepository.findById(id).orElseThrow().getBalance().getAmount();
+
+        // Act
+        boolean applied = bankAccountRepository.applyBalanceDelta(id, new BigDecimal("-100.50"), new BigDecimal("-600"), new BigDecimal("100000"));
+
+        // Assert
+        assertThat(applied).isTrue();
+        assertThat(bankAccountRepository.findById(id).orElseThrow().getBalance().getAmount())
+                .isEqualByComparingTo(balanceBefore.subtract(new BigDecimal("100.50")));
+    }
+
+    @Test
+    @Transactional
+    void applyBalanceDelta_shouldNotChangeBalance_whenFloorIsNotRespected() {
+        // Arrange
+        long id = 4L;
+        BigDecimal balanceBefore = bankAccountRepository.findById(id).orElseThrow().getBalance().getAmount();
+
+        // Act
+        boolean applied = bankAccountRepository.applyBalanceDelta(id, new BigDecimal("-1000000.00"), new BigDecimal("-600"), new BigDecimal("100000"));
+
+        // Assert
+        assertThat(applied).isFalse();
+        assertThat(bankAccountRepository.findById(id).orElseThrow().getBalance().getAmount())
+                .isEqualByComparingTo(balanceBefore);
+    }
+
+    @Test
+    @Transactional
+    void applyBalanceDelta_shouldReturnFalse_whenIdDoesNotExist() {
+        // Act
+        boolean applied = bankAccountRepository.applyBalanceDelta(999L, BigDecimal.TEN, new BigDecimal("-600"), new BigDecimal("100000"));
+
+        // Assert
+        assertThat(applied).isFalse();
+    }
+
     @Test
     @Transactional
     void shouldReturnEmptyOptional_whenDeletingNonExistentAccount() {
@@ -46,7 +46,7 @@ class BankAccountServiceTest {
         List<BankAccount> bankAccounts = getAllBankAccounts();
 
         // Act
-        List<BankAccount> actualBankAccounts = bankAccountService.getAll();
+        List<BankAccount> actualBankAccounts = bankAccountService.getAll(null, null);
 
         // Assert
         assertThat(actualBankAccounts).usingRecursiveComparison()
@@ -91,6 +91,38 @@ class BankAccountServiceTest {
         }
     }
 
+    @Test
+    void findBankAccountBalance_shouldThrowBankAccountException_whenBankAccountDoesNotExist() {
+        // Arrange
+        long id = 99L;
+
+        // Act
+        try {
+            bankAccountService.findBankAccountBalance(id);
+            fail("Bank account does not exist");
+        } catch (BankAccountException exception) {
+            // Assert
+            String expectedMessage = "Bank account: searching failed - not found\n" + "Bank account id:" + id;
+            assertThat(exception).hasMessage(expectedMessage);
+        }
+    }
+
+    @Test
+    void applyBalanceDelta_shouldThrowBankAccountException_whenBalanceLimitIsNotRespected() {
+        // Arrange
+        BankAccount bankAccount = bankAccountService.findBankAccountBalance(1L);
+
+        // Act
+        try {
+            bankAccountService.applyBalanceDelta(bankAccount, new BigDecimal("-1000000.00"));
+            fail("Balance limit is not respected");
+        } catch (BankAccountException exception) {
+            // Assert
+            String expectedMessage = "Bank account: update failed - balance amount must be between -600 and 100000.\n" + "Bank account id:1";
+            assertThat(exception).hasMessage(expectedMessage);
+        }
+    }
+
     @Test
     void shouldAddTransactionToBankAccount_whenTransactionDoesNotExist() {
         // Arrange
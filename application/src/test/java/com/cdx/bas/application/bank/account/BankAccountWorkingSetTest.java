@@ -0,0 +1,117 @@
+package com.cdx.bas.application.bank.account;
+
+import com.cdx.bas.domain.bank.account.BankAccount;
+import com.cdx.bas.domain.bank.account.BankAccountException;
+import com.cdx.bas.domain.bank.account.BankAccountPersistencePort;
+import com.cdx.bas.domain.bank.account.checking.CheckingBankAccount;
+import com.cdx.bas.domain.bank.account.saving.SavingBankAccount;
+import com.cdx.bas.domain.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BankAccountWorkingSetTest {
+
+    @Mock
+    BankAccountPersistencePort bankAccountRepository;
+
+    BankAccountWorkingSet bankAccountWorkingSet;
+
+    @BeforeEach
+    void setUp() {
+        bankAccountWorkingSet = new BankAccountWorkingSet(bankAccountRepository);
+        when(bankAccountRepository.findBalancesByIds(Set.of(1L, 3L))).thenReturn(List.of(
+                new CheckingBankAccount(1L, Money.of(new BigDecimal("400.00")), new HashSet<>(Set.of(1L)), new HashSet<>()),
+                new SavingBankAccount(3L, Money.of(new BigDecimal("19200.00")), new HashSet<>(Set.of(4L)), new HashSet<>())));
+        bankAccountWorkingSet.open(Set.of(1L, 3L));
+    }
+
+    @Test
+    void find_shouldReturnCopyOfCurrentBalance() {
+        // Act
+        BankAccount bankAccount = bankAccountWorkingSet.find(1L);
+        bankAccount.setBalance(bankAccount.getBalance().plus(Money.of(new BigDecimal("100.00"))));
+
+        // Assert
+        assertThat(bankAccountWorkingSet.contains(1L)).isTrue();
+        assertThat(bankAccountWorkingSet.contains(2L)).isFalse();
+        assertThat(bankAccountWorkingSet.find(1L).getBalance().getAmount()).isEqualByComparingTo("400.00");
+    }
+
+    @Test
+    void applyBalanceDelta_shouldThrowBankAccountException_whenLimitsAreNotRespected() {
+        // Act & Assert
+        assertThatThrownBy(() -> bankAccountWorkingSet.applyBalanceDelta(1L, new BigDecimal("-1000.01")))
+                .isInstanceOf(BankAccountException.class)
+                .hasMessage("Bank account: update failed - balance amount must be between -600 and 100000.\nBank account id:1");
+        assertThat(bankAccountWorkingSet.find(1L).getBalance().getAmount()).isEqualByComparingTo("400.00");
+    }
+
+    @Test
+    void rollbackToMark_shouldUndoDeltasAppliedSinceMark() {
+        // Arrange
+        bankAccountWorkingSet.applyBalanceDelta(1L, new BigDecimal("-100.00"));
+        bankAccountWorkingSet.mark();
+        bankAccountWorkingSet.applyBalanceDelta(1L, new BigDecimal("-50.00"));
+        bankAccountWorkingSet.applyBalanceDelta(3L, new BigDecimal("50.00"));
+
+        // Act
+        bankAccountWorkingSet.rollbackToMark();
+
+        // Assert
+        assertThat(bankAccountWorkingSet.find(1L).getBalance().getAmount()).isEqualByComparingTo("300.00");
+        assertThat(bankAccountWorkingSet.find(3L).getBalance().getAmount()).isEqualByComparingTo("19200.00");
+    }
+
+    @Test
+    void write_shouldWriteNetDeltaOncePerChangedAccount_inIdOrder() {
+        // Arrange
+        bankAccountWorkingSet.applyBalanceDelta(3L, new BigDecimal("25.00"));
+        bankAccountWorkingSet.applyBalanceDelta(1L, new BigDecimal("-100.00"));
+        bankAccountWorkingSet.applyBalanceDelta(3L, new BigDecimal("75.00"));
+        when(bankAccountRepository.applyBalanceDelta(anyLong(), any(), any(), any())).thenReturn(true);
+
+        // Act
+        Set<Long> refusedBankAccountIds = bankAccountWorkingSet.write();
+
+        // Assert
+        assertThat(refusedBankAccountIds).isEmpty();
+        InOrder inOrder = inOrder(bankAccountRepository);
+        inOrder.verify(bankAccountRepository).applyBalanceDelta(eq(1L), eq(new BigDecimal("-100.00")), any(), any());
+        inOrder.verify(bankAccountRepository).applyBalanceDelta(eq(3L), eq(new BigDecimal("100.00")), any(), any());
+        verify(bankAccountRepository, times(2)).applyBalanceDelta(anyLong(), any(), any(), any());
+        assertThat(bankAccountWorkingSet.contains(1L)).isFalse();
+    }
+
+    @Test
+    void write_shouldReturnRefusedAccount_andStillWriteTheOthers_whenDatabaseRefusesDelta() {
+        // Arrange
+        bankAccountWorkingSet.applyBalanceDelta(1L, new BigDecimal("-100.00"));
+        bankAccountWorkingSet.applyBalanceDelta(3L, new BigDecimal("100.00"));
+        when(bankAccountRepository.applyBalanceDelta(eq(1L), any(), any(), any())).thenReturn(false);
+        when(bankAccountRepository.applyBalanceDelta(eq(3L), any(), any(), any())).thenReturn(true);
+
+        // Act
+        Set<Long> refusedBankAccountIds = bankAccountWorkingSet.write();
+
+        // Assert
+        assertThat(refusedBankAccountIds).containsExactly(1L);
+        verify(bankAccountRepository).applyBalanceDelta(eq(3L), eq(new BigDecimal("100.00")), any(), any());
+        assertThat(bankAccountWorkingSet.contains(1L)).isFalse();
+    }
+}
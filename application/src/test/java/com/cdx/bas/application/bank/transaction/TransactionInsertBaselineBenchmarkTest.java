@@ -0,0 +1,33 @@
+package com.cdx.bas.application.bank.transaction;
+
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.h2.H2DatabaseTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Tag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of transactions with the settings before pooled-lo ids and JDBC batching, run with the benchmark
+ * profile: mvn test -Pbenchmark
+ * <p>
+ * The sequence optimizer is disabled, so every id is a nextval round trip whatever the allocation size of the entity,
+ * and every insert is sent on its own.
+ */
+@Tag("benchmark")
+@QuarkusTest
+@TestProfile(UnbatchedInsertTestProfile.class)
+@WithTestResource(H2DatabaseTestResource.class)
+class TransactionInsertBaselineBenchmarkTest extends TransactionInsertBenchmarkTest {
+
+    @Override
+    String settings() {
+        return "one nextval per id, no JDBC batch";
+    }
+
+    @Override
+    void assertStatementsPerInsert(double statementsPerInsert) {
+        assertThat(statementsPerInsert).isGreaterThanOrEqualTo(2.0);
+    }
+}
@@ -0,0 +1,133 @@
+package com.cdx.bas.application.bank.transaction;
+
+import com.cdx.bas.application.config.SequenceAllocation;
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.h2.H2DatabaseTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.CREDIT;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.COMPLETED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of transactions, run with the benchmark profile: mvn test -Pbenchmark
+ * <p>
+ * "one by one" commits every insert on its own, like a create path without batching: one nextval and one insert
+ * round trip per row. "batched" inserts in a single unit of work, ids come from the pooled-lo blocks and rows are
+ * flushed in JDBC batches. "create all" is the path of the batch endpoint: same unit of work, with the persistence
+ * context flushed and cleared every block so it does not grow with the batch.
+ * <p>
+ * {@link TransactionInsertBaselineBenchmarkTest} runs the same inserts with the previous settings, one nextval per id
+ * and no JDBC batching, and logs its rates next to these ones. The rates depend on the machine, so what is asserted
+ * is the number of JDBC statements per row of "create all": a nextval and an insert batch per block of
+ * {@link SequenceAllocation#BLOCK_SIZE} rows here, at least a nextval and an insert per row for the baseline.
+ */
+@Tag("benchmark")
+@QuarkusTest
+@WithTestResource(H2DatabaseTestResource.class)
+class TransactionInsertBenchmarkTest {
+
+    private static final Logger logger = Logger.getLogger(TransactionInsertBenchmarkTest.class);
+    private static final int WARMUP_INSERTS = 500;
+    private static final int MEASURED_INSERTS = 5000;
+
+    @Inject
+    TransactionRepository transactionRepository;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    void create_insertThroughput() {
+        insertOneByOne(WARMUP_INSERTS);
+        insertBatched(WARMUP_INSERTS);
+        insertCreateAll(WARMUP_INSERTS);
+
+        double oneByOneRate = insertOneByOne(MEASURED_INSERTS);
+        double batchedRate = insertBatched(MEASURED_INSERTS);
+        double createAllRate = insertCreateAll(MEASURED_INSERTS);
+
+        double statementsPerInsert = createAllStatementsPerInsert(MEASURED_INSERTS);
+
+        logger.infof("Transaction inserts/sec (%s) - one by one: %.0f, batched: %.0f (x%.1f), create all: %.0f (x%.1f), statements per insert: %.3f",
+                settings(), oneByOneRate, batchedRate, batchedRate / oneByOneRate, createAllRate, createAllRate / oneByOneRate, statementsPerInsert);
+        assertStatementsPerInsert(statementsPerInsert);
+    }
+
+    String settings() {
+        return "pooled-lo ids, JDBC batches";
+    }
+
+    /**
+     * One nextval and one insert batch per block, plus the reads of the two bank accounts after each clear
+     */
+    void assertStatementsPerInsert(double statementsPerInsert) {
+        assertThat(statementsPerInsert).isLessThan(5.0 / SequenceAllocation.BLOCK_SIZE);
+    }
+
+    private double createAllStatementsPerInsert(int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(newTransaction(i));
+        }
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        QuarkusTransaction.requiringNew().run(() -> transactionRepository.createAll(transactions));
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return (double) statements / count;
+    }
+
+    private double insertOneByOne(int count) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            QuarkusTransaction.requiringNew().run(() -> transactionRepository.create(newTransaction(index)));
+        }
+        return rate(count, System.nanoTime() - start);
+    }
+
+    private double insertBatched(int count) {
+        long start = System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < count; i++) {
+                transactionRepository.create(newTransaction(i));
+            }
+        });
+        return rate(count, System.nanoTime() - start);
+    }
+
+    private double insertCreateAll(int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(newTransaction(i));
+        }
+        long start = System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() -> transactionRepository.createAll(transactions));
+        return rate(count, System.nanoTime() - start);
+    }
+
+    private static double rate(int count, long elapsedNanos) {
+        return count / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    private static Transaction newTransaction(int index) {
+        return new Transaction(null, 1L, 2L, new BigDecimal("1.00"), "EUR", CREDIT, COMPLETED,
+                Instant.parse("2020-01-01T00:00:00Z"), "benchmark " + index, new HashMap<>());
+    }
+}
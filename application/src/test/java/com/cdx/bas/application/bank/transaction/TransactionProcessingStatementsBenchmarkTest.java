@@ -0,0 +1,86 @@
+package com.cdx.bas.application.bank.transaction;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.cdx.bas.domain.bank.transaction.TransactionServicePort;
+import com.cdx.bas.domain.pagination.Pagination;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.h2.H2DatabaseTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+
+import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.CREDIT;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.COMPLETED;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.UNPROCESSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JDBC statements sent per processed digital transaction, run with the benchmark profile: mvn test -Pbenchmark
+ * <p>
+ * Every transaction is processed in its own unit of work like the scheduler does. The expected cost is the two balance
+ * reads, the read of the transaction, the two balance deltas and the single write of the outcome: the test fails when
+ * processing sends more statements, as it did with the OUTSTANDING write and the merges of detached entities.
+ */
+@Tag("benchmark")
+@QuarkusTest
+@WithTestResource(H2DatabaseTestResource.class)
+class TransactionProcessingStatementsBenchmarkTest {
+
+    private static final Logger logger = Logger.getLogger(TransactionProcessingStatementsBenchmarkTest.class);
+    private static final String LABEL = "statements benchmark";
+    private static final int PROCESSED_TRANSACTIONS = 200;
+    private static final int EXPECTED_STATEMENTS_PER_TRANSACTION = 6;
+
+    @Inject
+    TransactionRepository transactionRepository;
+
+    @Inject
+    TransactionServicePort transactionService;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    void processDigitalTransaction_statementsPerTransaction() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < PROCESSED_TRANSACTIONS; i++) {
+                transactionRepository.create(newTransaction());
+            }
+        });
+        List<Transaction> transactions = QuarkusTransaction.requiringNew().call(() ->
+                transactionRepository.findAllByStatus(UNPROCESSED, null, Pagination.MAX_LIMIT).stream()
+                        .filter(transaction -> LABEL.equals(transaction.getLabel()))
+                        .toList());
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        transactions.forEach(transaction -> transactionService.processDigitalTransaction(transaction));
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        double statementsPerTransaction = (double) statements / transactions.size();
+        logger.infof("Digital transaction processing - statements per transaction: %.2f (%d statements, %d transactions)",
+                statementsPerTransaction, statements, transactions.size());
+        assertThat(transactions).hasSize(PROCESSED_TRANSACTIONS);
+        assertThat(statementsPerTransaction).isLessThanOrEqualTo(EXPECTED_STATEMENTS_PER_TRANSACTION);
+        assertThat(transactionRepository.findById(transactions.get(0).getId().longValue()))
+                .map(Transaction::getStatus)
+                .contains(COMPLETED);
+    }
+
+    private static Transaction newTransaction() {
+        return new Transaction(null, 5L, 1L, new BigDecimal("1.00"), "EUR", CREDIT, UNPROCESSED,
+                Instant.parse("2020-01-01T00:00:00Z"), LABEL, new HashMap<>());
+    }
+}
@@ -2,7 +2,10 @@ package com.cdx.bas.application.bank.transaction;
 
 import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
+import com.cdx.bas.domain.bank.transaction.status.TransactionBacklog;
+import com.cdx.bas.domain.bank.transaction.status.TransactionState;
 import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
+import io.quarkus.test.TestTransaction;
 import io.quarkus.test.common.WithTestResource;
 import io.quarkus.test.h2.H2DatabaseTestResource;
 import io.quarkus.test.junit.QuarkusTest;
@@ -14,11 +17,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
 
+import static com.cdx.bas.domain.bank.transaction.history.TransactionDirection.*;
 import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.CREDIT;
 import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.DEBIT;
 import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.UNPROCESSED;
@@ -66,25 +71,89 @@ class TransactionRepositoryTest {
     }
 
     @Test
-    @Order(2)
-    void findUnprocessedTransactions_shouldFindEveryUnprocessedTransactions() {
-        Queue<Transaction> actualUnprocessedTransactions = transactionRepository.findUnprocessedTransactions();
-
-        Queue<Transaction> expectedUnprocessedTransactions = new PriorityQueue<>();
-        expectedUnprocessedTransactions.add(new Transaction(5L, 2L, 1L, new BigDecimal("600.99"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-11-06T17:00:00+00:00"), "transaction 5", new HashMap<>()));
-        expectedUnprocessedTransactions.add(new Transaction(6L, 1L, 7L, new BigDecimal("2000.00"), "EUR", DEBIT, UNPROCESSED, Instant.parse("2024-11-06T17:30:00+00:00"), "transaction 6", new HashMap<>()));
-        expectedUnprocessedTransactions.add(new Transaction(7L, 3L, 1L, new BigDecimal("1000.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-12-06T17:00:00+00:00"), "transaction 7", new HashMap<>()));
-        expectedUnprocessedTransactions.add(new Transaction(8L, 4L, 2L, new BigDecimal("300.80"), "EUR", DEBIT, UNPROCESSED, Instant.parse("2024-12-06T18:00:00+00:00"), "transaction 8", new HashMap<>()));
-        expectedUnprocessedTransactions.add(new Transaction(9L, 8L, 7L, new BigDecimal("5000.00"), "EUR", DEBIT, UNPROCESSED, Instant.parse("2024-12-06T18:00:10+00:00"), "transaction 9", new HashMap<>()));
-
-        assertThat(actualUnprocessedTransactions)
+    @Order(3)
+    void findUnprocessedBacklog_shouldCountUnprocessedTransactions_andFindOldestDate() {
+        TransactionBacklog transactionBacklog = transactionRepository.findUnprocessedBacklog();
+
+        assertThat(transactionBacklog).isEqualTo(new TransactionBacklog(5, Instant.parse("2024-11-06T17:00:00+00:00")));
+    }
+
+    @Test
+    @Order(4)
+    void countUnprocessedByEmitter_shouldCountUnprocessedTransactionsOfEmitterOnly() {
+        assertThat(transactionRepository.countUnprocessedByEmitter(1L)).isEqualTo(1L);
+        assertThat(transactionRepository.countUnprocessedByEmitter(7L)).isZero();
+    }
+
+    @Test
+    @Order(5)
+    void findAllByStatus_shouldReturnOrderedPage_whenCursorIsGiven() {
+        Set<Transaction> firstPage = transactionRepository.findAllByStatus(UNPROCESSED, null, 3);
+        Set<Transaction> secondPage = transactionRepository.findAllByStatus(UNPROCESSED, 7L, 3);
+        Set<Transaction> unknownCursorPage = transactionRepository.findAllByStatus(UNPROCESSED, 999L, 3);
+
+        assertThat(firstPage).extracting(Transaction::getId).containsExactly(5L, 6L, 7L);
+        assertThat(secondPage).extracting(Transaction::getId).containsExactly(8L, 9L);
+        assertThat(unknownCursorPage).isEmpty();
+    }
+
+    @Test
+    @Order(6)
+    void findAccountHistory_shouldReturnMostRecentTransactionsFirst_whenCursorIsGiven() {
+        List<Transaction> firstPage = transactionRepository.findAccountHistory(1L, ALL, null, null, null, 3);
+        List<Transaction> secondPage = transactionRepository.findAccountHistory(1L, ALL, null, null, 7L, 3);
+        List<Transaction> issued = transactionRepository.findAccountHistory(1L, ISSUED, null, null, null, 10);
+        List<Transaction> incomingSinceNovember = transactionRepository.findAccountHistory(1L, INCOMING,
+                Instant.parse("2024-11-01T00:00:00Z"), Instant.parse("2025-01-01T00:00:00Z"), null, 10);
+
+        assertThat(firstPage).extracting(Transaction::getId).containsExactly(11L, 10L, 7L);
+        assertThat(secondPage).extracting(Transaction::getId).containsExactly(6L, 5L, 4L);
+        assertThat(issued).extracting(Transaction::getId).containsExactly(11L, 10L, 6L, 1L);
+        assertThat(incomingSinceNovember).extracting(Transaction::getId).containsExactly(7L, 5L);
+    }
+
+    @Test
+    @Order(7)
+    void findUnprocessedTransactions_shouldWalkUnprocessedTransactionsByChunk_whenPositionIsGiven() {
+        List<Transaction> firstChunk = transactionRepository.findUnprocessedTransactions(null, null, 2);
+        List<Transaction> secondChunk = transactionRepository.findUnprocessedTransactions(Instant.parse("2024-11-06T17:30:00+00:00"), 6L, 2);
+        List<Transaction> lastChunk = transactionRepository.findUnprocessedTransactions(Instant.parse("2024-12-06T18:00:00+00:00"), 8L, 2);
+
+        assertThat(firstChunk)
                 .usingRecursiveComparison()
-                .ignoringCollectionOrder()
-                .isEqualTo(expectedUnprocessedTransactions);
+                .isEqualTo(List.of(
+                        new Transaction(5L, 2L, 1L, new BigDecimal("600.99"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-11-06T17:00:00+00:00"), "transaction 5", new HashMap<>()),
+                        new Transaction(6L, 1L, 7L, new BigDecimal("2000.00"), "EUR", DEBIT, UNPROCESSED, Instant.parse("2024-11-06T17:30:00+00:00"), "transaction 6", new HashMap<>())));
+        assertThat(secondChunk)
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new Transaction(7L, 3L, 1L, new BigDecimal("1000.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-12-06T17:00:00+00:00"), "transaction 7", new HashMap<>()),
+                        new Transaction(8L, 4L, 2L, new BigDecimal("300.80"), "EUR", DEBIT, UNPROCESSED, Instant.parse("2024-12-06T18:00:00+00:00"), "transaction 8", new HashMap<>())));
+        assertThat(lastChunk)
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new Transaction(9L, 8L, 7L, new BigDecimal("5000.00"), "EUR", DEBIT, UNPROCESSED, Instant.parse("2024-12-06T18:00:10+00:00"), "transaction 9", new HashMap<>())));
     }
 
     @Test
-    @Order(3)
+    @Order(8)
+    @TestTransaction
+    void claimUnprocessedTransactions_shouldSkipLeasedTransactions_untilLeaseExpires() {
+        Instant now = Instant.parse("2025-01-01T00:00:00+00:00");
+        Duration leaseDuration = Duration.ofMinutes(5);
+
+        List<Transaction> firstClaim = transactionRepository.claimUnprocessedTransactions("node-1", now, leaseDuration, 2);
+        List<Transaction> secondClaim = transactionRepository.claimUnprocessedTransactions("node-2", now, leaseDuration, 2);
+        List<Transaction> claimAfterExpiration = transactionRepository.claimUnprocessedTransactions("node-2", now.plus(Duration.ofMinutes(10)), leaseDuration, 2);
+
+        assertThat(firstClaim).extracting(Transaction::getId).containsExactly(5L, 6L);
+        assertThat(secondClaim).extracting(Transaction::getId).containsExactly(7L, 8L);
+        assertThat(claimAfterExpiration).extracting(Transaction::getId).containsExactly(5L, 6L);
+        assertThat(claimAfterExpiration).extracting(Transaction::getStatus).containsOnly(UNPROCESSED);
+    }
+
+    @Test
+    @Order(9)
     @Transactional
     void create_shouldPersistTransaction() {
         long id = 20L;
@@ -101,7 +170,7 @@ class TransactionRepositoryTest {
     }
 
     @Test
-    @Order(4)
+    @Order(10)
     @Transactional
     void update_shouldMergeTransaction() {
         Transaction expectedTransaction = new Transaction(2L, 6L, 3L,
@@ -122,7 +191,7 @@ class TransactionRepositoryTest {
     }
 
     @Test
-    @Order(5)
+    @Order(11)
     @Transactional
     void deleteById_shouldDeleteTransaction_whenIdIsFound() {
         // Arrange
@@ -141,4 +210,116 @@ class TransactionRepositoryTest {
                 .usingRecursiveComparison()
                 .isEqualTo(optionalTransaction);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(12)
+    @Transactional
+    void createAll_shouldPersistTransactions_andReturnTheirIdsInOrder() {
+        // Arrange
+        List<Transaction> transactionsToCreate = List.of(
+                new Transaction(null, 1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-12-07T10:00:00+00:00"), "batch 1", new HashMap<>()),
+                new Transaction(null, 4L, 2L, new BigDecimal("20.00"), "EUR", DEBIT, UNPROCESSED, Instant.parse("2024-12-07T10:00:01+00:00"), "batch 2", new HashMap<>()));
+
+        // Act
+        List<Long> ids = transactionRepository.createAll(transactionsToCreate);
+
+        // Assert
+        assertThat(ids).hasSize(2).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(transactionRepository.findById(ids.get(0).longValue())).get()
+                .extracting(Transaction::getLabel, Transaction::getEmitterAccountId)
+                .containsExactly("batch 1", 1L);
+        assertThat(transactionRepository.findById(ids.get(1).longValue())).get()
+                .extracting(Transaction::getLabel, Transaction::getEmitterAccountId)
+                .containsExactly("batch 2", 4L);
+        ids.forEach(id -> transactionRepository.deleteById(id.longValue()));
+    }
+
+    @Test
+    @Order(13)
+    @Transactional
+    void findByIdempotencyKey_shouldFindTransactionCreatedWithTheKey() {
+        // Arrange
+        Transaction transactionToCreate = new Transaction(null, 1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-12-07T10:00:00+00:00"), "idempotent", new HashMap<>());
+        transactionToCreate.setIdempotencyKey("request-1");
+        transactionRepository.create(transactionToCreate);
+
+        // Act
+        Optional<Transaction> actualTransaction = transactionRepository.findByIdempotencyKey(1L, "request-1");
+        Optional<Transaction> unknownTransaction = transactionRepository.findByIdempotencyKey(1L, "request-2");
+        Optional<Transaction> otherEmitterTransaction = transactionRepository.findByIdempotencyKey(2L, "request-1");
+
+        // Assert
+        assertThat(actualTransaction).get()
+                .extracting(Transaction::getLabel, Transaction::getIdempotencyKey)
+                .containsExactly("idempotent", "request-1");
+        assertThat(unknownTransaction).isEmpty();
+        assertThat(otherEmitterTransaction).isEmpty();
+        transactionRepository.deleteById(actualTransaction.get().getId().longValue());
+    }
+
+    @Test
+    @Order(14)
+    @Transactional
+    void findStateById_shouldReturnOnlyIdAndStatus() {
+        // Arrange
+        Transaction transactionToCreate = new Transaction(null, 1L, null, new BigDecimal("10.00"), "EUR", TransactionType.DEPOSIT, UNPROCESSED, Instant.parse("2024-12-07T10:00:00+00:00"), "state", new HashMap<>());
+        long id = transactionRepository.createAll(List.of(transactionToCreate)).get(0);
+
+        // Act
+        Optional<TransactionState> actualState = transactionRepository.findStateById(id);
+        Optional<TransactionState> unknownState = transactionRepository.findStateById(99999L);
+
+        // Assert
+        assertThat(actualState).contains(new TransactionState(id, UNPROCESSED));
+        assertThat(unknownState).isEmpty();
+        transactionRepository.deleteById(id);
+    }
+
+    @Test
+    @Order(15)
+    @TestTransaction
+    void renewClaim_shouldFailForFirstOwner_whenLeaseExpiredAndAnotherOwnerClaimedTransaction() {
+        // Arrange
+        Instant now = Instant.parse("2025-01-01T00:00:00+00:00");
+        Duration leaseDuration = Duration.ofMinutes(5);
+        Instant afterExpiration = now.plus(Duration.ofMinutes(10));
+        long id = transactionRepository.claimUnprocessedTransactions("node-1", now, leaseDuration, 1).get(0).getId();
+        List<Transaction> claimAfterExpiration = transactionRepository.claimUnprocessedTransactions("node-2", afterExpiration, leaseDuration, 1);
+
+        // Act
+        boolean renewedByFirstOwner = transactionRepository.renewClaim(id, "node-1", afterExpiration, leaseDuration);
+        boolean renewedBySecondOwner = transactionRepository.renewClaim(id, "node-2", afterExpiration, leaseDuration);
+
+        // Assert
+        assertThat(claimAfterExpiration).extracting(Transaction::getId).containsExactly(id);
+        assertThat(renewedByFirstOwner).isFalse();
+        assertThat(renewedBySecondOwner).isTrue();
+    }
+
+    @Test
+    @Order(16)
+    @TestTransaction
+    void processWithSavepoint_shouldWriteTransactionInError_whenFlushFailsAfterItWasCompleted() {
+        // Arrange
+        Transaction keyedTransaction = new Transaction(null, 1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-12-07T10:00:00+00:00"), "keyed", new HashMap<>());
+        keyedTransaction.setIdempotencyKey("savepoint-key");
+        Transaction transactionToProcess = new Transaction(null, 1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-12-07T10:00:01+00:00"), "to process", new HashMap<>());
+        long id = transactionRepository.createAll(List.of(keyedTransaction, transactionToProcess)).get(1);
+        Transaction transaction = transactionRepository.findById(id).orElseThrow();
+        Transaction duplicateKeyTransaction = new Transaction(null, 1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-12-07T10:00:02+00:00"), "duplicate key", new HashMap<>());
+        duplicateKeyTransaction.setIdempotencyKey("savepoint-key");
+
+        // Act
+        boolean processed = transactionRepository.processWithSavepoint(transaction, completedTransaction -> {
+            completedTransaction.setStatus(TransactionStatus.COMPLETED);
+            transactionRepository.update(completedTransaction);
+            transactionRepository.create(duplicateKeyTransaction);
+        });
+
+        // Assert
+        assertThat(processed).isFalse();
+        Transaction actualTransaction = transactionRepository.findById(id).orElseThrow();
+        assertThat(actualTransaction.getStatus()).isEqualTo(TransactionStatus.ERROR);
+        assertThat(actualTransaction.getMetadata()).containsKey("error");
+    }
+}
@@ -0,0 +1,165 @@
+package com.cdx.bas.application.bank.transaction;
+
+import com.cdx.bas.application.bank.account.BankAccountWorkingSet;
+import com.cdx.bas.application.bank.transaction.admission.TransactionAdmissionControl;
+import com.cdx.bas.application.bank.transaction.category.cash.type.deposit.DepositProcessorImpl;
+import com.cdx.bas.application.bank.transaction.category.cash.type.withdraw.WithdrawProcessorImpl;
+import com.cdx.bas.application.bank.transaction.category.digital.type.credit.CreditProcessorImpl;
+import com.cdx.bas.application.bank.transaction.category.digital.type.debit.DebitProcessorImpl;
+import com.cdx.bas.application.scheduler.TransactionClaim;
+import com.cdx.bas.application.scheduler.trigger.PendingTransactionEvent;
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
+import com.cdx.bas.domain.bank.transaction.TransactionValidator;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusChange;
+import jakarta.enterprise.event.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.CREDIT;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.COMPLETED;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.ERROR;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.UNPROCESSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceBatchTest {
+
+    @Mock
+    TransactionPersistencePort transactionRepository;
+
+    @Mock
+    TransactionValidator transactionValidator;
+
+    @Mock
+    CreditProcessorImpl creditProcessorService;
+
+    @Mock
+    DebitProcessorImpl debitProcessorService;
+
+    @Mock
+    DepositProcessorImpl depositProcessorService;
+
+    @Mock
+    WithdrawProcessorImpl withdrawProcessorService;
+
+    @Mock
+    BankAccountWorkingSet bankAccountWorkingSet;
+
+    @Mock
+    Event<PendingTransactionEvent> pendingTransactionEvent;
+
+    @Mock
+    TransactionAdmissionControl transactionAdmissionControl;
+
+    @Mock
+    TransactionClaim transactionClaim;
+
+    @Mock
+    Event<TransactionStatusChange> transactionStatusChangeEvent;
+
+    TransactionServiceImpl transactionService;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new TransactionServiceImpl(transactionRepository, transactionValidator, creditProcessorService,
+                debitProcessorService, depositProcessorService, withdrawProcessorService, bankAccountWorkingSet,
+                pendingTransactionEvent, transactionAdmissionControl, transactionClaim, transactionStatusChangeEvent);
+    }
+
+    @Test
+    void processDigitalTransactions_shouldProcessBatchAgainWithoutRefusedAccount_whenAccountChangedConcurrently() {
+        // Arrange
+        Transaction transaction = new Transaction(5L, 2L, 1L, new BigDecimal("600.99"), "EUR", CREDIT, UNPROCESSED,
+                Instant.parse("2024-11-06T17:00:00+00:00"), "transaction 5", new HashMap<>());
+        Transaction storedTransaction = new Transaction(5L, 2L, 1L, new BigDecimal("600.99"), "EUR", CREDIT, UNPROCESSED,
+                Instant.parse("2024-11-06T17:00:00+00:00"), "transaction 5", new HashMap<>());
+        List<Set<Long>> openedBankAccountIds = new ArrayList<>();
+        doAnswer(invocation -> {
+            openedBankAccountIds.add(Set.copyOf(invocation.<Collection<Long>>getArgument(0)));
+            return null;
+        }).when(bankAccountWorkingSet).open(any());
+        when(bankAccountWorkingSet.write()).thenReturn(Set.of(1L), Set.of());
+        when(transactionRepository.runWithSavepoint(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(transactionRepository.processWithSavepoint(any(), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Transaction>>getArgument(1).accept(invocation.getArgument(0));
+            return true;
+        });
+        when(transactionClaim.renew(transaction)).thenReturn(true);
+        when(creditProcessorService.processTransaction(transaction)).thenAnswer(invocation -> {
+            assertThat(transaction.getStatus()).isEqualTo(UNPROCESSED);
+            transaction.setStatus(COMPLETED);
+            return transaction;
+        });
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(storedTransaction));
+
+        // Act
+        int processedTransactions = transactionService.processDigitalTransactions(List.of(transaction), Duration.ofMinutes(1));
+
+        // Assert
+        assertThat(processedTransactions).isEqualTo(1);
+        assertThat(openedBankAccountIds).containsExactly(Set.of(1L, 2L), Set.of(2L));
+        verify(creditProcessorService, times(2)).processTransaction(transaction);
+        assertThat(transaction.getStatus()).isEqualTo(COMPLETED);
+        verify(transactionStatusChangeEvent, times(1)).fire(any());
+        verify(transactionStatusChangeEvent).fire(new TransactionStatusChange(5L, 2L, 1L, COMPLETED));
+    }
+
+    @Test
+    void processDigitalTransactions_shouldFireStoredStatus_whenTransactionIsWrittenInErrorAfterFlushFailure() {
+        // Arrange
+        Transaction transaction = new Transaction(5L, 2L, 1L, new BigDecimal("600.99"), "EUR", CREDIT, UNPROCESSED,
+                Instant.parse("2024-11-06T17:00:00+00:00"), "transaction 5", new HashMap<>());
+        when(bankAccountWorkingSet.write()).thenReturn(Set.of());
+        when(transactionRepository.runWithSavepoint(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(transactionClaim.renew(transaction)).thenReturn(true);
+        when(transactionRepository.processWithSavepoint(any(), any())).thenAnswer(invocation -> {
+            // processed as completed, then rewritten in error once its flush failed
+            invocation.<Consumer<Transaction>>getArgument(1).accept(invocation.getArgument(0));
+            transaction.setStatus(ERROR);
+            return false;
+        });
+        when(creditProcessorService.processTransaction(transaction)).thenAnswer(invocation -> {
+            transaction.setStatus(COMPLETED);
+            return transaction;
+        });
+
+        // Act
+        transactionService.processDigitalTransactions(List.of(transaction), Duration.ofMinutes(1));
+
+        // Assert
+        verify(transactionStatusChangeEvent, times(1)).fire(any());
+        verify(transactionStatusChangeEvent).fire(new TransactionStatusChange(5L, 2L, 1L, ERROR));
+    }
+
+    @Test
+    void processDigitalTransactions_shouldNotFireStatusChange_whenClaimIsLost() {
+        // Arrange
+        Transaction transaction = new Transaction(5L, 2L, 1L, new BigDecimal("600.99"), "EUR", CREDIT, UNPROCESSED,
+                Instant.parse("2024-11-06T17:00:00+00:00"), "transaction 5", new HashMap<>());
+        when(bankAccountWorkingSet.write()).thenReturn(Set.of());
+        when(transactionRepository.runWithSavepoint(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(transactionClaim.renew(transaction)).thenReturn(false);
+
+        // Act
+        transactionService.processDigitalTransactions(List.of(transaction), Duration.ofMinutes(1));
+
+        // Assert
+        verifyNoInteractions(transactionStatusChangeEvent, creditProcessorService);
+    }
+}
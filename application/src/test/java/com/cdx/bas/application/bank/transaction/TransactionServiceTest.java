@@ -8,6 +8,7 @@ import com.cdx.bas.domain.bank.transaction.category.NewCashTransaction;
 import com.cdx.bas.domain.bank.transaction.category.NewDigitalTransaction;
 import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
 import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.common.WithTestResource;
 import io.quarkus.test.h2.H2DatabaseTestResource;
 import io.quarkus.test.junit.QuarkusTest;
@@ -15,6 +16,7 @@ import jakarta.inject.Inject;
 import org.junit.jupiter.api.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -53,7 +55,7 @@ class TransactionServiceTest {
         );
 
         // Act
-        Set<Transaction> actualTransactions = transactionService.getAll();
+        Set<Transaction> actualTransactions = transactionService.getAll(null, null);
 
         // Assert
         assertThat(actualTransactions).isEqualTo(expectedTransactions);
@@ -71,7 +73,7 @@ class TransactionServiceTest {
         );
 
         // Act
-        Set<Transaction> actualTransactions = transactionService.findAllByStatus("COMPLETED");
+        Set<Transaction> actualTransactions = transactionService.findAllByStatus("COMPLETED", null, null);
 
         // Assert
         assertThat(actualTransactions).isEqualTo(expectedTransactions);
@@ -81,7 +83,7 @@ class TransactionServiceTest {
     void shouldThrowException_whenStatusIsInvalid() {
         // Act
         try {
-            transactionService.findAllByStatus("INVALID");
+            transactionService.findAllByStatus("INVALID", null, null);
         } catch (IllegalArgumentException exception) {
             // Assert
             assertThat(exception.getMessage()).isEqualTo("Invalid status: INVALID");
@@ -253,4 +255,33 @@ class TransactionServiceTest {
         // Assert
         assertThat(transactionRepository.findById(20L)).isPresent();
     }
+
+    @Test
+    void processDigitalTransactions_shouldIsolateRefusedTransaction_andCommitTheOthers() {
+        // Arrange
+        QuarkusTransaction.requiringNew().run(() -> {
+            transactionRepository.create(new Transaction(null, 5L, 1L, new BigDecimal("1.00"), "EUR", CREDIT, UNPROCESSED,
+                    Instant.parse("2020-01-01T00:00:00Z"), "batch 1", new HashMap<>()));
+            transactionRepository.create(new Transaction(null, 7L, 1L, new BigDecimal("1000000.00"), "EUR", CREDIT, UNPROCESSED,
+                    Instant.parse("2020-01-01T00:00:01Z"), "batch 2", new HashMap<>()));
+            transactionRepository.create(new Transaction(null, 1L, 5L, new BigDecimal("1.00"), "EUR", CREDIT, UNPROCESSED,
+                    Instant.parse("2020-01-01T00:00:02Z"), "batch 3", new HashMap<>()));
+        });
+        List<Transaction> batch = transactionService.findAllByStatus("UNPROCESSED", null, null).stream()
+                .filter(transaction -> transaction.getLabel().startsWith("batch "))
+                .toList();
+
+        // Act
+        int processedTransactions = transactionService.processDigitalTransactions(batch, Duration.ofMinutes(1));
+
+        // Assert
+        assertThat(processedTransactions).isEqualTo(3);
+        assertThat(transactionRepository.findById(batch.get(0).getId().longValue()))
+                .map(Transaction::getStatus).contains(COMPLETED);
+        Transaction refusedTransaction = transactionRepository.findById(batch.get(1).getId().longValue()).orElseThrow();
+        assertThat(refusedTransaction.getStatus()).isEqualTo(REFUSED);
+        assertThat(refusedTransaction.getMetadata()).containsKey("error");
+        assertThat(transactionRepository.findById(batch.get(2).getId().longValue()))
+                .map(Transaction::getStatus).contains(COMPLETED);
+    }
 }
@@ -36,7 +36,7 @@ class TransactionStatusServiceTest {
 
     @Test
     @Transactional
-    void setAsOutstanding_shouldSetStatusAndUpdate_whenStatusIsOutstanding() {
+    void setAsOutstanding_shouldSetStatusWithoutWriting_whenStatusIsUnprocessed() {
         Transaction transaction = new Transaction();
         transaction.setId(9L);
         transaction.setEmitterAccountId(8L);
@@ -65,6 +65,9 @@ class TransactionStatusServiceTest {
         assertThat(actualTransaction)
                 .usingRecursiveComparison()
                 .isEqualTo(expectedTransaction);
+        assertThat(transactionPersistencePort.findById(9L))
+                .map(Transaction::getStatus)
+                .contains(TransactionStatus.UNPROCESSED);
     }
 
     @Test
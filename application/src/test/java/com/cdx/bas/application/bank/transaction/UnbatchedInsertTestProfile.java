@@ -0,0 +1,20 @@
+package com.cdx.bas.application.bank.transaction;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class UnbatchedInsertTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        Map<String, String> overridenConfig = new HashMap<>();
+        overridenConfig.put("quarkus.hibernate-orm.mapping.id.optimizer.default", "none");
+        overridenConfig.put("quarkus.hibernate-orm.jdbc.statement-batch-size", "0");
+        overridenConfig.put("quarkus.hibernate-orm.unsupported-properties.\"hibernate.order_inserts\"", "false");
+        overridenConfig.put("quarkus.hibernate-orm.unsupported-properties.\"hibernate.order_updates\"", "false");
+        return overridenConfig;
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.cdx.bas.application.bank.transaction.admission;
+
+import com.cdx.bas.application.scheduler.trigger.PendingTransactionEvent;
+import com.cdx.bas.domain.bank.transaction.TransactionBacklogException;
+import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
+import com.cdx.bas.domain.bank.transaction.status.TransactionBacklog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionAdmissionControlTest {
+
+    @Mock
+    TransactionPersistencePort transactionRepository;
+
+    TransactionAdmissionControl transactionAdmissionControl;
+
+    @BeforeEach
+    void setUp() {
+        transactionAdmissionControl = new TransactionAdmissionControl(transactionRepository);
+        transactionAdmissionControl.softLimit = 3;
+        transactionAdmissionControl.maxPendingPerEmitter = Optional.empty();
+        transactionAdmissionControl.retryAfter = Duration.ofMillis(1500);
+    }
+
+    @Test
+    void admit_shouldMeasureBacklogOnce_whenSchedulerHasNotMeasuredIt() {
+        // Arrange
+        when(transactionRepository.findUnprocessedBacklog()).thenReturn(new TransactionBacklog(1, Instant.now()));
+
+        // Act
+        transactionAdmissionControl.admit(1L);
+        transactionAdmissionControl.admit(1L);
+
+        // Assert
+        verify(transactionRepository, times(1)).findUnprocessedBacklog();
+        assertThat(transactionAdmissionControl.getBacklogSize()).isEqualTo(3);
+    }
+
+    @Test
+    void admit_shouldThrowTransactionBacklogException_whenBacklogReachesSoftLimit() {
+        // Arrange
+        transactionAdmissionControl.onBacklogMeasured(2);
+        transactionAdmissionControl.admit(2L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionAdmissionControl.admit(1L))
+                .isInstanceOf(TransactionBacklogException.class)
+                .hasMessage("Transaction: admission refused - too many unprocessed transactions\nBacklog size:3")
+                .extracting(exception -> ((TransactionBacklogException) exception).getRetryAfterSeconds())
+                .isEqualTo(2L);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void admit_shouldNotOvershootSoftLimit_whenTransactionsAreAdmittedConcurrently() throws InterruptedException {
+        // Arrange
+        transactionAdmissionControl.softLimit = 100;
+        transactionAdmissionControl.onBacklogMeasured(0);
+        AtomicInteger admittedTransactions = new AtomicInteger();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1000; i++) {
+                executor.execute(() -> {
+                    try {
+                        transactionAdmissionControl.admit(1L);
+                        admittedTransactions.incrementAndGet();
+                    } catch (TransactionBacklogException exception) {
+                        // refused once the soft limit is reached
+                    }
+                });
+            }
+        }
+
+        // Assert
+        assertThat(admittedTransactions).hasValue(100);
+        assertThat(transactionAdmissionControl.getBacklogSize()).isEqualTo(100);
+    }
+
+    @Test
+    void admit_shouldAdmitAgain_whenUnitOfWorkOfAdmittedTransactionsRollsBack() {
+        // Arrange
+        transactionAdmissionControl.onBacklogMeasured(1);
+        transactionAdmissionControl.admit(1L);
+        transactionAdmissionControl.admit(1L);
+
+        // Act
+        transactionAdmissionControl.onPendingTransactionRolledBack(new PendingTransactionEvent(1L, 2));
+
+        // Assert
+        assertThat(transactionAdmissionControl.getBacklogSize()).isEqualTo(1);
+        assertThatNoException().isThrownBy(() -> transactionAdmissionControl.admit(1L));
+    }
+
+    @Test
+    void admit_shouldAdmitAgain_whenSchedulerHasProcessedBacklog() {
+        // Arrange
+        transactionAdmissionControl.onBacklogMeasured(5);
+
+        // Act
+        transactionAdmissionControl.onProcessed(4);
+
+        // Assert
+        assertThatNoException().isThrownBy(() -> transactionAdmissionControl.admit(1L));
+        transactionAdmissionControl.onProcessed(10);
+        assertThat(transactionAdmissionControl.getBacklogSize()).isZero();
+    }
+
+    @Test
+    void admit_shouldThrowTransactionBacklogException_whenEmitterReachesItsCap() {
+        // Arrange
+        transactionAdmissionControl.onBacklogMeasured(0);
+        transactionAdmissionControl.maxPendingPerEmitter = Optional.of(2L);
+        when(transactionRepository.countUnprocessedByEmitter(1L)).thenReturn(2L);
+        when(transactionRepository.countUnprocessedByEmitter(2L)).thenReturn(1L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionAdmissionControl.admit(1L))
+                .isInstanceOf(TransactionBacklogException.class)
+                .hasMessage("Transaction: admission refused - too many unprocessed transactions\nBank account id:1");
+        assertThatNoException().isThrownBy(() -> transactionAdmissionControl.admit(2L));
+    }
+
+    @Test
+    void admit_shouldCountEmitterOncePerBatch_andIncludeItemsAdmittedSoFar() {
+        // Arrange
+        transactionAdmissionControl.softLimit = 100;
+        transactionAdmissionControl.onBacklogMeasured(0);
+        transactionAdmissionControl.maxPendingPerEmitter = Optional.of(3L);
+        when(transactionRepository.countUnprocessedByEmitter(1L)).thenReturn(1L);
+        when(transactionRepository.countUnprocessedByEmitter(2L)).thenReturn(0L);
+        Map<Long, Long> pendingByEmitter = new HashMap<>();
+
+        // Act
+        transactionAdmissionControl.admit(1L, pendingByEmitter);
+        transactionAdmissionControl.admit(2L, pendingByEmitter);
+        transactionAdmissionControl.admit(1L, pendingByEmitter);
+
+        // Assert
+        assertThatThrownBy(() -> transactionAdmissionControl.admit(1L, pendingByEmitter))
+                .isInstanceOf(TransactionBacklogException.class)
+                .hasMessage("Transaction: admission refused - too many unprocessed transactions\nBank account id:1");
+        verify(transactionRepository, times(1)).countUnprocessedByEmitter(1L);
+        verify(transactionRepository, times(1)).countUnprocessedByEmitter(2L);
+        assertThat(pendingByEmitter).containsEntry(1L, 3L).containsEntry(2L, 1L);
+    }
+}
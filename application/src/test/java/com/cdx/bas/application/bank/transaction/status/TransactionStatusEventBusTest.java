@@ -0,0 +1,54 @@
+package com.cdx.bas.application.bank.transaction.status;
+
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusChange;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusSubscription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.COMPLETED;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.REFUSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionStatusEventBusTest {
+
+    TransactionStatusEventBus transactionStatusEventBus;
+
+    @BeforeEach
+    void setUp() {
+        transactionStatusEventBus = new TransactionStatusEventBus();
+        transactionStatusEventBus.bufferSize = 10;
+    }
+
+    @Test
+    void onStatusChange_shouldPublishToSubscriptionsFollowingTheAccounts() throws InterruptedException {
+        // Arrange
+        TransactionStatusSubscription accountSubscription = transactionStatusEventBus.subscribe(1L);
+        TransactionStatusSubscription allSubscription = transactionStatusEventBus.subscribe(null);
+
+        // Act
+        transactionStatusEventBus.onStatusChange(new TransactionStatusChange(5L, 2L, 1L, COMPLETED));
+        transactionStatusEventBus.onStatusChange(new TransactionStatusChange(8L, 4L, 2L, REFUSED));
+
+        // Assert
+        assertThat(accountSubscription.take(Duration.ZERO))
+                .extracting(TransactionStatusChange::transactionId)
+                .containsExactly(5L);
+        assertThat(allSubscription.take(Duration.ZERO))
+                .extracting(TransactionStatusChange::transactionId)
+                .containsExactly(5L, 8L);
+    }
+
+    @Test
+    void subscribe_shouldForgetSubscription_whenItIsClosed() {
+        // Arrange
+        TransactionStatusSubscription subscription = transactionStatusEventBus.subscribe(1L);
+
+        // Act
+        subscription.close();
+
+        // Assert
+        assertThat(transactionStatusEventBus.getSubscriptionCount()).isZero();
+    }
+}
@@ -72,6 +72,7 @@ class CreditProcessorServiceImplTest {
         metadata.put("emitter_amount_after", "999.01");
         metadata.put("receiver_amount_before", "400.00");
         metadata.put("emitter_amount_before", "1600.00");
+        metadata.put("rate_version", "default");
         metadata.put("receiver_amount_after", "1000.99");
         expectedTransaction.setMetadata(metadata);
 
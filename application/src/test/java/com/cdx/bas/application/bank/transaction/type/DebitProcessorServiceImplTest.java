@@ -72,6 +72,7 @@ class DebitProcessorServiceImplTest {
         metadata.put("emitter_amount_after", "2000.00");
         metadata.put("receiver_amount_before", "400.00");
         metadata.put("emitter_amount_before", "1600.00");
+        metadata.put("rate_version", "default");
         metadata.put("receiver_amount_after", "0.00");
         expectedTransaction.setMetadata(metadata);
 
@@ -67,6 +67,7 @@ class WithdrawProcessorServiceImplTest {
         metadata.put("bill", "500,500");
         metadata.put("emitter_amount_after", "600.00");
         metadata.put("emitter_amount_before", "1600.00");
+        metadata.put("rate_version", "default");
         expectedTransaction.setMetadata(metadata);
 
         assertThat(actualTransaction)
@@ -0,0 +1,111 @@
+package com.cdx.bas.application.currency.rate;
+
+import com.cdx.bas.domain.currency.rate.ExchangeRateSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExchangeRateProviderTest {
+
+    @TempDir
+    Path directory;
+
+    Path rateFile;
+
+    ExchangeRateProvider exchangeRateProvider;
+
+    @BeforeEach
+    void setUp() {
+        rateFile = directory.resolve("exchange-rates.properties");
+        exchangeRateProvider = new ExchangeRateProvider();
+        exchangeRateProvider.file = Optional.of(rateFile.toString());
+    }
+
+    @Test
+    void getSnapshot_shouldReturnDefaultRates_whenNoFileIsConfigured() {
+        // Arrange
+        exchangeRateProvider.file = Optional.empty();
+
+        // Act
+        boolean reloaded = exchangeRateProvider.reload();
+
+        // Assert
+        assertThat(reloaded).isFalse();
+        assertThat(exchangeRateProvider.getSnapshot().version()).isEqualTo("default");
+        assertThat(exchangeRateProvider.getSnapshot().converter().hasCurrency("USD")).isTrue();
+    }
+
+    @Test
+    void reload_shouldPublishNewSnapshot_whenFileChanges() throws IOException {
+        // Arrange
+        write("version=2024-06-14\nUSD=1.0745\n", Instant.parse("2024-06-14T10:00:00Z"));
+        exchangeRateProvider.reload();
+        ExchangeRateSnapshot firstSnapshot = exchangeRateProvider.getSnapshot();
+
+        // Act
+        write("version=2024-06-15\nUSD=1.0801\nCHF=0.9561\n", Instant.parse("2024-06-15T10:00:00Z"));
+        boolean reloaded = exchangeRateProvider.reload();
+
+        // Assert
+        assertThat(reloaded).isTrue();
+        assertThat(firstSnapshot.version()).isEqualTo("2024-06-14");
+        assertThat(firstSnapshot.converter().getPivotAmount("USD", BigDecimal.TEN)).isEqualByComparingTo("10.745");
+        assertThat(firstSnapshot.converter().hasCurrency("CHF")).isFalse();
+        ExchangeRateSnapshot secondSnapshot = exchangeRateProvider.getSnapshot();
+        assertThat(secondSnapshot.version()).isEqualTo("2024-06-15");
+        assertThat(secondSnapshot.converter().getPivotAmount("USD", BigDecimal.TEN)).isEqualByComparingTo("10.801");
+        assertThat(secondSnapshot.converter().hasCurrency("CHF")).isTrue();
+    }
+
+    @Test
+    void reload_shouldKeepSnapshot_whenFileIsUnchanged() throws IOException {
+        // Arrange
+        write("version=2024-06-14\nUSD=1.0745\n", Instant.parse("2024-06-14T10:00:00Z"));
+        exchangeRateProvider.reload();
+        ExchangeRateSnapshot loadedSnapshot = exchangeRateProvider.getSnapshot();
+
+        // Act
+        boolean reloaded = exchangeRateProvider.reload();
+
+        // Assert
+        assertThat(reloaded).isFalse();
+        assertThat(exchangeRateProvider.getSnapshot()).isSameAs(loadedSnapshot);
+    }
+
+    @Test
+    void reload_shouldKeepSnapshot_whenFileIsInvalid() throws IOException {
+        // Arrange
+        write("version=2024-06-14\nUSD=1.0745\n", Instant.parse("2024-06-14T10:00:00Z"));
+        exchangeRateProvider.reload();
+        ExchangeRateSnapshot loadedSnapshot = exchangeRateProvider.getSnapshot();
+
+        // Act
+        write("version=2024-06-15\nUSD=one\n", Instant.parse("2024-06-15T10:00:00Z"));
+        boolean invalidRateReloaded = exchangeRateProvider.reload();
+        write("USD=1.0801\n", Instant.parse("2024-06-16T10:00:00Z"));
+        boolean missingVersionReloaded = exchangeRateProvider.reload();
+        Files.delete(rateFile);
+        boolean missingFileReloaded = exchangeRateProvider.reload();
+
+        // Assert
+        assertThat(invalidRateReloaded).isFalse();
+        assertThat(missingVersionReloaded).isFalse();
+        assertThat(missingFileReloaded).isFalse();
+        assertThat(exchangeRateProvider.getSnapshot()).isSameAs(loadedSnapshot);
+    }
+
+    private void write(String content, Instant modifiedTime) throws IOException {
+        Files.writeString(rateFile, content);
+        Files.setLastModifiedTime(rateFile, FileTime.from(modifiedTime));
+    }
+}
@@ -0,0 +1,75 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+
+import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.CREDIT;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.UNPROCESSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountShardPartitionerTest {
+
+    @Test
+    void partition_shouldSplitIndependentAccounts_whenTransactionsDoNotShareAccounts() {
+        Transaction transaction1 = createTransaction(1L, 1L, 2L, "2024-11-06T17:00:00Z");
+        Transaction transaction2 = createTransaction(2L, 3L, 4L, "2024-11-06T17:30:00Z");
+
+        List<List<Transaction>> shards = AccountShardPartitioner.partition(List.of(transaction1, transaction2), 2);
+
+        assertThat(shards).containsExactlyInAnyOrder(List.of(transaction1), List.of(transaction2));
+    }
+
+    @Test
+    void partition_shouldKeepConnectedAccountsInSameShard_whenTransactionTouchesTwoGroups() {
+        Transaction transaction1 = createTransaction(1L, 1L, 2L, "2024-11-06T17:00:00Z");
+        Transaction transaction2 = createTransaction(2L, 3L, 4L, "2024-11-06T17:30:00Z");
+        Transaction transaction3 = createTransaction(3L, 2L, 3L, "2024-11-06T18:00:00Z");
+        Transaction transaction4 = createTransaction(4L, 5L, 6L, "2024-11-06T18:30:00Z");
+
+        List<List<Transaction>> shards = AccountShardPartitioner.partition(List.of(transaction1, transaction2, transaction3, transaction4), 4);
+
+        assertThat(shards).containsExactlyInAnyOrder(
+                List.of(transaction1, transaction2, transaction3),
+                List.of(transaction4));
+    }
+
+    @Test
+    void partition_shouldNotCreateMoreShardsThanExpected_whenManyIndependentAccounts() {
+        List<Transaction> transactions = List.of(
+                createTransaction(1L, 1L, 2L, "2024-11-06T17:00:00Z"),
+                createTransaction(2L, 3L, 4L, "2024-11-06T17:10:00Z"),
+                createTransaction(3L, 5L, 6L, "2024-11-06T17:20:00Z"),
+                createTransaction(4L, 1L, 7L, "2024-11-06T17:30:00Z"),
+                createTransaction(5L, 8L, 9L, "2024-11-06T17:40:00Z"));
+
+        List<List<Transaction>> shards = AccountShardPartitioner.partition(transactions, 2);
+
+        assertThat(shards).hasSize(2);
+        assertThat(shards).flatMap(shard -> shard).containsExactlyInAnyOrderElementsOf(transactions);
+        assertThat(shards).anySatisfy(shard -> assertThat(shard).startsWith(transactions.get(0), transactions.get(3)));
+    }
+
+    @Test
+    void partition_shouldReturnNoShard_whenNoTransaction() {
+        assertThat(AccountShardPartitioner.partition(List.of(), 4)).isEmpty();
+    }
+
+    @Test
+    void partition_shouldThrowIllegalArgumentException_whenShardCountIsNotPositive() {
+        List<Transaction> transactions = List.of();
+        assertThatThrownBy(() -> AccountShardPartitioner.partition(transactions, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Shard count must be positive: 0");
+    }
+
+    private static Transaction createTransaction(Long id, Long emitterAccountId, Long receiverAccountId, String date) {
+        return new Transaction(id, emitterAccountId, receiverAccountId, new BigDecimal("100.00"), "EUR", CREDIT, UNPROCESSED,
+                Instant.parse(date), "transaction " + id, new HashMap<>());
+    }
+}
@@ -0,0 +1,63 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.status.TransactionBacklog;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchedulerCadenceTest {
+
+    private static final Instant NOW = Instant.parse("2024-11-06T17:00:00Z");
+
+    private final SchedulerCadence schedulerCadence = new SchedulerCadence(Duration.ofSeconds(1), Duration.ofSeconds(5), 100, Duration.ofSeconds(30));
+
+    @Test
+    void update_shouldDoubleIntervalUpToMax_whenBacklogStaysEmpty() {
+        // Act & Assert
+        assertThat(schedulerCadence.update(TransactionBacklog.EMPTY, NOW)).isEqualTo(SchedulerMode.BACKOFF);
+        assertThat(schedulerCadence.getInterval()).isEqualTo(Duration.ofSeconds(1));
+        schedulerCadence.update(TransactionBacklog.EMPTY, NOW);
+        assertThat(schedulerCadence.getInterval()).isEqualTo(Duration.ofSeconds(2));
+        schedulerCadence.update(TransactionBacklog.EMPTY, NOW);
+        assertThat(schedulerCadence.getInterval()).isEqualTo(Duration.ofSeconds(4));
+        schedulerCadence.update(TransactionBacklog.EMPTY, NOW);
+        assertThat(schedulerCadence.getInterval()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void update_shouldResetInterval_whenTransactionsArePending() {
+        // Arrange
+        schedulerCadence.update(TransactionBacklog.EMPTY, NOW);
+        schedulerCadence.update(TransactionBacklog.EMPTY, NOW);
+
+        // Act
+        SchedulerMode mode = schedulerCadence.update(new TransactionBacklog(3, NOW.minusSeconds(2)), NOW);
+
+        // Assert
+        assertThat(mode).isEqualTo(SchedulerMode.BACKOFF);
+        assertThat(schedulerCadence.getInterval()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(schedulerCadence.getLag()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void update_shouldRunContinuously_whenBacklogOrLagReachesThreshold() {
+        // Act & Assert
+        assertThat(schedulerCadence.update(new TransactionBacklog(100, NOW), NOW)).isEqualTo(SchedulerMode.CONTINUOUS);
+        assertThat(schedulerCadence.update(new TransactionBacklog(1, NOW.minusSeconds(30)), NOW)).isEqualTo(SchedulerMode.CONTINUOUS);
+        assertThat(schedulerCadence.getLag()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(schedulerCadence.update(new TransactionBacklog(1, NOW.minusSeconds(29)), NOW)).isEqualTo(SchedulerMode.BACKOFF);
+    }
+
+    @Test
+    void constructor_shouldThrowIllegalArgumentException_whenIntervalsAreInconsistent() {
+        // Act & Assert
+        assertThatThrownBy(() -> new SchedulerCadence(Duration.ofSeconds(10), Duration.ofSeconds(5), 100, Duration.ofSeconds(30)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SchedulerCadence(Duration.ofSeconds(1), Duration.ofSeconds(5), 0, Duration.ofSeconds(30)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
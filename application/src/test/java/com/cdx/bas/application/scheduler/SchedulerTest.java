@@ -1,16 +1,21 @@
 package com.cdx.bas.application.scheduler;
 
+import com.cdx.bas.application.bank.transaction.admission.TransactionAdmissionControl;
 import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
-import com.cdx.bas.domain.bank.transaction.TransactionServicePort;
+import com.cdx.bas.domain.bank.transaction.status.TransactionBacklog;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.lang.reflect.Field;
-import java.util.PriorityQueue;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -20,39 +25,269 @@ import static org.wildfly.common.Assert.assertTrue;
 class SchedulerImplTest {
 
     @Mock
-    TransactionServicePort transactionService;
+    ShardedProcessingEngine processingEngine;
 
     @Mock
     TransactionPersistencePort transactionRepository;
 
+    @Mock
+    TransactionAdmissionControl transactionAdmissionControl;
+
+    @Mock
+    TransactionClaim transactionClaim;
+
     @InjectMocks
     SchedulerImpl scheduler;
 
+    @BeforeEach
+    void setUp() {
+        scheduler.minInterval = Duration.ofSeconds(1);
+        scheduler.maxInterval = Duration.ofSeconds(8);
+        scheduler.backlogThreshold = 100;
+        scheduler.lagThreshold = Duration.ofHours(1);
+        scheduler.init();
+    }
+
     @Test
     void testProcessQueue_withActivatedScheduler() {
         // Arrange
         scheduler.activation = true;
-        PriorityQueue<Transaction> mockQueue = new PriorityQueue<>();
+        scheduler.chunkSize = 3;
+        Transaction transaction1 = mock(Transaction.class);
+        Transaction transaction2 = mock(Transaction.class);
+        List<Transaction> transactions = List.of(transaction1, transaction2);
+
+        when(transactionRepository.findUnprocessedBacklog()).thenReturn(new TransactionBacklog(2, Instant.now()));
+        when(transactionRepository.findUnprocessedTransactions(null, null, 3)).thenReturn(transactions);
+        when(processingEngine.process(transactions)).thenReturn(2);
+
+        // Act
+        scheduler.processQueue();
+
+        // Assert
+        verify(transactionRepository).findUnprocessedBacklog();
+        verify(transactionRepository).findUnprocessedTransactions(null, null, 3);
+        verify(transactionAdmissionControl).onBacklogMeasured(2);
+        verify(transactionAdmissionControl).onProcessed(2);
+        verifyNoMoreInteractions(transactionRepository);
+        ArgumentCaptor<List<Transaction>> processedTransactions = ArgumentCaptor.forClass(List.class);
+        verify(processingEngine, times(1)).process(processedTransactions.capture());
+        assertThat(processedTransactions.getValue()).containsExactly(transaction1, transaction2);
+    }
+
+    @Test
+    void testProcessQueue_shouldLoadNextChunkAfterLastTransaction_whenChunkIsFull() {
+        // Arrange
+        scheduler.activation = true;
+        scheduler.chunkSize = 2;
+        Instant lastDate = Instant.parse("2024-11-06T17:30:00+00:00");
+        Transaction transaction1 = mock(Transaction.class);
+        Transaction transaction2 = mock(Transaction.class);
+        when(transaction2.getDate()).thenReturn(lastDate);
+        when(transaction2.getId()).thenReturn(6L);
+        Transaction transaction3 = mock(Transaction.class);
+        Transaction transaction4 = mock(Transaction.class);
+        when(transaction4.getDate()).thenReturn(lastDate.plusSeconds(60));
+        when(transaction4.getId()).thenReturn(8L);
+
+        when(transactionRepository.findUnprocessedBacklog()).thenReturn(new TransactionBacklog(4, lastDate));
+        when(transactionRepository.findUnprocessedTransactions(null, null, 2)).thenReturn(List.of(transaction1, transaction2));
+        when(transactionRepository.findUnprocessedTransactions(lastDate, 6L, 2)).thenReturn(List.of(transaction3, transaction4));
+        when(transactionRepository.findUnprocessedTransactions(lastDate.plusSeconds(60), 8L, 2)).thenReturn(List.of());
+
+        // Act
+        scheduler.processQueue();
+
+        // Assert
+        InOrder inOrder = inOrder(processingEngine);
+        inOrder.verify(processingEngine).process(List.of(transaction1, transaction2));
+        inOrder.verify(processingEngine).process(List.of(transaction3, transaction4));
+        inOrder.verifyNoMoreInteractions();
+        verify(transactionRepository).findUnprocessedTransactions(lastDate.plusSeconds(60), 8L, 2);
+    }
+
+    @Test
+    void testProcessQueue_shouldClaimChunksUntilBacklogIsEmpty_whenClaimIsEnabled() {
+        // Arrange
+        scheduler.activation = true;
+        when(transactionClaim.isEnabled()).thenReturn(true);
+        when(transactionClaim.getOwner()).thenReturn("node-1");
+        when(transactionClaim.getLease()).thenReturn(Duration.ofMinutes(5));
+        scheduler.chunkSize = 2;
         Transaction transaction1 = mock(Transaction.class);
         Transaction transaction2 = mock(Transaction.class);
-        mockQueue.add(transaction1);
-        mockQueue.add(transaction2);
+        Transaction transaction3 = mock(Transaction.class);
+
+        when(transactionRepository.findUnprocessedBacklog()).thenReturn(new TransactionBacklog(3, Instant.now()));
+        when(transactionRepository.claimUnprocessedTransactions(eq("node-1"), any(Instant.class), eq(Duration.ofMinutes(5)), eq(2)))
+                .thenReturn(List.of(transaction1, transaction2))
+                .thenReturn(List.of(transaction3));
+
+        // Act
+        scheduler.processQueue();
+
+        // Assert
+        verify(transactionRepository, times(2)).claimUnprocessedTransactions(eq("node-1"), any(Instant.class), eq(Duration.ofMinutes(5)), eq(2));
+        verify(transactionRepository, never()).findUnprocessedTransactions(any(), any(), anyInt());
+        InOrder inOrder = inOrder(processingEngine);
+        inOrder.verify(processingEngine).process(List.of(transaction1, transaction2));
+        inOrder.verify(processingEngine).process(List.of(transaction3));
+        inOrder.verifyNoMoreInteractions();
+    }
 
-        PriorityQueue<Transaction> transactions = new PriorityQueue<>() {{
-            add(transaction1);
-            add(transaction2);
-        }};
+    @Test
+    void processQueue_shouldRunPassesContinuously_untilBacklogIsUnderThreshold() {
+        // Arrange
+        scheduler.activation = true;
+        scheduler.chunkSize = 3;
+        scheduler.backlogThreshold = 2;
+        scheduler.init();
+        Transaction transaction1 = mock(Transaction.class);
+        Transaction transaction2 = mock(Transaction.class);
+        Transaction transaction3 = mock(Transaction.class);
+        when(transaction2.getDate()).thenReturn(Instant.parse("2024-11-06T17:30:00+00:00"));
+        when(transaction2.getId()).thenReturn(6L);
 
-        when(transactionRepository.findUnprocessedTransactions()).thenReturn(transactions);
+        when(transactionRepository.findUnprocessedBacklog())
+                .thenReturn(new TransactionBacklog(2, Instant.now()))
+                .thenReturn(new TransactionBacklog(1, Instant.now()));
+        when(transactionRepository.findUnprocessedTransactions(null, null, 3))
+                .thenReturn(List.of(transaction1, transaction2))
+                .thenReturn(List.of(transaction3));
+        when(processingEngine.process(List.of(transaction1, transaction2))).thenReturn(1);
+        when(processingEngine.process(List.of(transaction3))).thenReturn(1);
 
         // Act
         scheduler.processQueue();
 
         // Assert
-        verify(transactionRepository).findUnprocessedTransactions();
-        verify(transactionService, times(1)).processDigitalTransaction(transaction1);
-        verify(transactionService, times(1)).processDigitalTransaction(transaction2);
-        assertThat(getTransactionQueueReflection()).isEmpty();
+        verify(transactionRepository, times(2)).findUnprocessedBacklog();
+        InOrder inOrder = inOrder(processingEngine);
+        inOrder.verify(processingEngine).process(List.of(transaction1, transaction2));
+        inOrder.verify(processingEngine).process(List.of(transaction3));
+        inOrder.verifyNoMoreInteractions();
+        assertThat(scheduler.getMode()).isEqualTo(SchedulerMode.BACKOFF);
+    }
+
+    @Test
+    void processQueue_shouldStopContinuousPasses_whenNothingCanBeProcessed() {
+        // Arrange
+        scheduler.activation = true;
+        when(transactionClaim.isEnabled()).thenReturn(true);
+        when(transactionClaim.getOwner()).thenReturn("node-1");
+        when(transactionClaim.getLease()).thenReturn(Duration.ofMinutes(5));
+        scheduler.chunkSize = 2;
+        scheduler.backlogThreshold = 2;
+        scheduler.init();
+        Instant oldestDate = Instant.now().minus(Duration.ofMinutes(10));
+
+        when(transactionRepository.findUnprocessedBacklog()).thenReturn(new TransactionBacklog(5, oldestDate));
+        when(transactionRepository.claimUnprocessedTransactions(eq("node-1"), any(Instant.class), eq(Duration.ofMinutes(5)), eq(2)))
+                .thenReturn(List.of());
+
+        // Act
+        scheduler.processQueue();
+
+        // Assert
+        verify(transactionRepository, times(1)).findUnprocessedBacklog();
+        verifyNoInteractions(processingEngine);
+        assertThat(scheduler.getMode()).isEqualTo(SchedulerMode.CONTINUOUS);
+        assertThat(scheduler.getLag()).isGreaterThanOrEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void processQueue_shouldStopContinuousPasses_whenTransactionStaysUnprocessed() {
+        // Arrange
+        scheduler.activation = true;
+        scheduler.chunkSize = 3;
+        scheduler.lagThreshold = Duration.ofSeconds(5);
+        scheduler.init();
+        Transaction transaction = mock(Transaction.class);
+        when(transaction.getDate()).thenReturn(Instant.parse("2024-11-06T17:30:00+00:00"));
+        when(transaction.getId()).thenReturn(6L);
+
+        when(transactionRepository.findUnprocessedBacklog()).thenReturn(new TransactionBacklog(1, Instant.now().minus(Duration.ofMinutes(10))));
+        when(transactionRepository.findUnprocessedTransactions(null, null, 3)).thenReturn(List.of(transaction));
+        when(processingEngine.process(List.of(transaction))).thenReturn(0);
+
+        // Act
+        scheduler.processQueue();
+
+        // Assert
+        verify(transactionRepository, times(1)).findUnprocessedBacklog();
+        verify(processingEngine, times(1)).process(List.of(transaction));
+        verify(transactionAdmissionControl).onProcessed(0);
+        assertThat(scheduler.getMode()).isEqualTo(SchedulerMode.CONTINUOUS);
+    }
+
+    @Test
+    void processQueue_shouldReleaseAdmissionOnlyForTransactionsThatLeftBacklog() {
+        // Arrange
+        scheduler.activation = true;
+        scheduler.chunkSize = 3;
+        Transaction transaction1 = mock(Transaction.class);
+        Transaction transaction2 = mock(Transaction.class);
+        when(transaction2.getDate()).thenReturn(Instant.parse("2024-11-06T17:30:00+00:00"));
+        when(transaction2.getId()).thenReturn(6L);
+
+        when(transactionRepository.findUnprocessedBacklog()).thenReturn(new TransactionBacklog(2, Instant.now()));
+        when(transactionRepository.findUnprocessedTransactions(null, null, 3)).thenReturn(List.of(transaction1, transaction2));
+        when(processingEngine.process(List.of(transaction1, transaction2))).thenReturn(1);
+
+        // Act
+        scheduler.processQueue();
+
+        // Assert
+        InOrder inOrder = inOrder(transactionAdmissionControl);
+        inOrder.verify(transactionAdmissionControl).onBacklogMeasured(2);
+        inOrder.verify(transactionAdmissionControl).onProcessed(1);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void processQueue_shouldStopContinuousPasses_whenBacklogDoesNotShrink() {
+        // Arrange
+        scheduler.activation = true;
+        scheduler.chunkSize = 3;
+        scheduler.backlogThreshold = 2;
+        scheduler.init();
+        Transaction transaction1 = mock(Transaction.class);
+        Transaction transaction2 = mock(Transaction.class);
+        when(transaction2.getDate()).thenReturn(Instant.parse("2024-11-06T17:30:00+00:00"));
+        when(transaction2.getId()).thenReturn(6L);
+
+        when(transactionRepository.findUnprocessedBacklog()).thenReturn(new TransactionBacklog(2, Instant.now()));
+        when(transactionRepository.findUnprocessedTransactions(null, null, 3)).thenReturn(List.of(transaction1, transaction2));
+        when(processingEngine.process(List.of(transaction1, transaction2))).thenReturn(1);
+
+        // Act
+        scheduler.processQueue();
+
+        // Assert
+        verify(transactionRepository, times(2)).findUnprocessedBacklog();
+        verify(processingEngine, times(1)).process(anyList());
+        assertThat(scheduler.getMode()).isEqualTo(SchedulerMode.CONTINUOUS);
+    }
+
+    @Test
+    void poll_shouldWaitForInterval_whenBacklogIsEmpty() {
+        // Arrange
+        scheduler.activation = true;
+        scheduler.minInterval = Duration.ofMinutes(1);
+        scheduler.maxInterval = Duration.ofMinutes(8);
+        scheduler.init();
+        when(transactionRepository.findUnprocessedBacklog()).thenReturn(TransactionBacklog.EMPTY);
+
+        // Act
+        scheduler.poll();
+        scheduler.poll();
+
+        // Assert
+        verify(transactionRepository, times(1)).findUnprocessedBacklog();
+        verify(transactionRepository, never()).findUnprocessedTransactions(any(), any(), anyInt());
+        verifyNoInteractions(processingEngine);
+        assertThat(scheduler.getMode()).isEqualTo(SchedulerMode.BACKOFF);
+        assertThat(scheduler.getLag()).isZero();
     }
 
     @Test
@@ -65,7 +300,7 @@ class SchedulerImplTest {
 
         // Assert
         verifyNoInteractions(transactionRepository);
-        verifyNoInteractions(transactionService);
+        verifyNoInteractions(processingEngine);
     }
 
     @Test
@@ -88,14 +323,4 @@ class SchedulerImplTest {
         // Assert
         assertThat(deactivated).isFalse();
     }
-
-    private PriorityQueue<Transaction> getTransactionQueueReflection() {
-        try {
-            Field field = SchedulerImpl.class.getDeclaredField("transactionQueue");
-            field.setAccessible(true);
-            return (PriorityQueue<Transaction>) field.get(null);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new RuntimeException("Reflection failed for transactionQueue", e);
-        }
-    }
 }
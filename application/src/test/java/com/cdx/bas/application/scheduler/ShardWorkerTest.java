@@ -0,0 +1,113 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.cdx.bas.domain.bank.transaction.TransactionServicePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+
+import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.CREDIT;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.COMPLETED;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.UNPROCESSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardWorkerTest {
+
+    private static final Duration MAX_LATENCY = Duration.ofSeconds(1);
+
+    @Mock
+    TransactionServicePort transactionService;
+
+    ShardWorker shardWorker;
+
+    @BeforeEach
+    void setUp() {
+        shardWorker = new ShardWorker(transactionService);
+        shardWorker.batchSize = 1;
+        shardWorker.batchMaxLatency = MAX_LATENCY;
+    }
+
+    @Test
+    void processShard_shouldProcessTransactionsOneByOne_whenBatchSizeIsOne() {
+        Transaction transaction1 = newTransaction(1L);
+        Transaction transaction2 = newTransaction(2L);
+        doThrow(new IllegalStateException("failure")).when(transactionService).processDigitalTransaction(transaction1);
+        doAnswer(invocation -> {
+            transaction2.setStatus(COMPLETED);
+            return null;
+        }).when(transactionService).processDigitalTransaction(transaction2);
+
+        int processedTransactions = shardWorker.processShard(List.of(transaction1, transaction2));
+
+        verify(transactionService).processDigitalTransaction(transaction1);
+        verify(transactionService).processDigitalTransaction(transaction2);
+        verifyNoMoreInteractions(transactionService);
+        assertThat(processedTransactions).isEqualTo(1);
+    }
+
+    @Test
+    void processShard_shouldNotCountTransaction_whenItStaysUnprocessed() {
+        Transaction transaction = newTransaction(1L);
+
+        int processedTransactions = shardWorker.processShard(List.of(transaction));
+
+        verify(transactionService).processDigitalTransaction(transaction);
+        assertThat(processedTransactions).isZero();
+    }
+
+    @Test
+    void processShard_shouldContinueAfterProcessedTransactions_whenBatchStopsOnMaxLatency() {
+        shardWorker.batchSize = 2;
+        Transaction transaction1 = newTransaction(1L);
+        Transaction transaction2 = newTransaction(2L);
+        Transaction transaction3 = newTransaction(3L);
+        when(transactionService.processDigitalTransactions(List.of(transaction1, transaction2), MAX_LATENCY)).thenAnswer(invocation -> {
+            transaction1.setStatus(COMPLETED);
+            return 1;
+        });
+        when(transactionService.processDigitalTransactions(List.of(transaction2, transaction3), MAX_LATENCY)).thenAnswer(invocation -> {
+            transaction3.setStatus(COMPLETED);
+            return 2;
+        });
+
+        int processedTransactions = shardWorker.processShard(List.of(transaction1, transaction2, transaction3));
+
+        verify(transactionService).processDigitalTransactions(List.of(transaction1, transaction2), MAX_LATENCY);
+        verify(transactionService).processDigitalTransactions(List.of(transaction2, transaction3), MAX_LATENCY);
+        verifyNoMoreInteractions(transactionService);
+        assertThat(processedTransactions).isEqualTo(2);
+    }
+
+    @Test
+    void processShard_shouldReprocessStoredTransactionsOneByOne_whenBatchIsRolledBack() {
+        shardWorker.batchSize = 2;
+        Transaction transaction1 = newTransaction(1L);
+        Transaction transaction2 = newTransaction(2L);
+        Transaction storedTransaction1 = newTransaction(1L);
+        Transaction storedTransaction2 = newTransaction(2L);
+        when(transactionService.processDigitalTransactions(List.of(transaction1, transaction2), MAX_LATENCY))
+                .thenThrow(new IllegalStateException("commit failed"));
+        when(transactionService.findTransaction(1L)).thenReturn(storedTransaction1);
+        when(transactionService.findTransaction(2L)).thenReturn(storedTransaction2);
+
+        shardWorker.processShard(List.of(transaction1, transaction2));
+
+        verify(transactionService).processDigitalTransaction(same(storedTransaction1));
+        verify(transactionService).processDigitalTransaction(same(storedTransaction2));
+    }
+
+    private static Transaction newTransaction(long id) {
+        return new Transaction(id, 1L, 2L, new BigDecimal("100.00"), "EUR", CREDIT, UNPROCESSED,
+                Instant.parse("2024-11-06T17:00:00Z"), "transaction " + id, new HashMap<>());
+    }
+}
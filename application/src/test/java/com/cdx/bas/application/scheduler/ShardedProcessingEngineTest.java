@@ -0,0 +1,101 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.CREDIT;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.UNPROCESSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedProcessingEngineTest {
+
+    @Mock
+    ShardWorker shardWorker;
+
+    ShardedProcessingEngine processingEngine;
+
+    @BeforeEach
+    void setUp() {
+        processingEngine = new ShardedProcessingEngine(shardWorker);
+        processingEngine.workers = 2;
+        processingEngine.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        processingEngine.shutdown();
+    }
+
+    @Test
+    void process_shouldProcessEveryShard_whenTransactionsTouchIndependentAccounts() {
+        Transaction transaction1 = new Transaction(1L, 1L, 2L, new BigDecimal("100.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-11-06T17:00:00Z"), "transaction 1", new HashMap<>());
+        Transaction transaction2 = new Transaction(2L, 3L, 4L, new BigDecimal("100.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-11-06T17:30:00Z"), "transaction 2", new HashMap<>());
+
+        when(shardWorker.processShard(List.of(transaction1))).thenReturn(1);
+        when(shardWorker.processShard(List.of(transaction2))).thenReturn(0);
+
+        int processedTransactions = processingEngine.process(List.of(transaction1, transaction2));
+
+        verify(shardWorker).processShard(List.of(transaction1));
+        verify(shardWorker).processShard(List.of(transaction2));
+        verifyNoMoreInteractions(shardWorker);
+        assertThat(processedTransactions).isEqualTo(1);
+    }
+
+    @Test
+    void process_shouldNotProcessAnything_whenNoTransaction() {
+        assertThat(processingEngine.process(List.of())).isZero();
+
+        verifyNoInteractions(shardWorker);
+    }
+
+    @Test
+    void getWorkerCount_shouldUseAvailableProcessors_whenWorkersAreNotConfigured() {
+        processingEngine.workers = 0;
+
+        assertThat(processingEngine.getWorkerCount()).isEqualTo(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    void process_shouldRunEachAccountGroupOnVirtualThread_whenVirtualThreadsAreEnabled() {
+        ShardedProcessingEngine virtualProcessingEngine = new ShardedProcessingEngine(shardWorker);
+        virtualProcessingEngine.workers = 1;
+        virtualProcessingEngine.virtualThreads = true;
+        virtualProcessingEngine.maxConcurrentShards = 2;
+        virtualProcessingEngine.init();
+        Set<Boolean> virtualWorkers = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            virtualWorkers.add(Thread.currentThread().isVirtual());
+            return 1;
+        }).when(shardWorker).processShard(anyList());
+        Transaction transaction1 = new Transaction(1L, 1L, 2L, new BigDecimal("100.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-11-06T17:00:00Z"), "transaction 1", new HashMap<>());
+        Transaction transaction2 = new Transaction(2L, 3L, 4L, new BigDecimal("100.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-11-06T17:30:00Z"), "transaction 2", new HashMap<>());
+        Transaction transaction3 = new Transaction(3L, 5L, 6L, new BigDecimal("100.00"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-11-06T18:00:00Z"), "transaction 3", new HashMap<>());
+
+        try {
+            virtualProcessingEngine.process(List.of(transaction1, transaction2, transaction3));
+        } finally {
+            virtualProcessingEngine.shutdown();
+        }
+
+        verify(shardWorker).processShard(List.of(transaction1));
+        verify(shardWorker).processShard(List.of(transaction2));
+        verify(shardWorker).processShard(List.of(transaction3));
+        assertThat(virtualWorkers).containsExactly(true);
+        assertThat(virtualProcessingEngine.getShardCount()).isEqualTo(Integer.MAX_VALUE);
+    }
+}
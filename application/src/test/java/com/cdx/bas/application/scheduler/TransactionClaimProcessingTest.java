@@ -0,0 +1,84 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.account.BankAccountPersistencePort;
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
+import com.cdx.bas.domain.bank.transaction.TransactionServicePort;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.h2.H2DatabaseTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+
+import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.CREDIT;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.COMPLETED;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.UNPROCESSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@WithTestResource(H2DatabaseTestResource.class)
+class TransactionClaimProcessingTest {
+
+    @Inject
+    TransactionClaim transactionClaim;
+
+    @Inject
+    TransactionPersistencePort transactionRepository;
+
+    @Inject
+    TransactionServicePort transactionService;
+
+    @Inject
+    BankAccountPersistencePort bankAccountRepository;
+
+    @AfterEach
+    void tearDown() {
+        transactionClaim.enabled = false;
+        transactionClaim.init();
+    }
+
+    @Test
+    @TestTransaction
+    void processDigitalTransaction_shouldLeaveTransactionToSecondOwner_whenLeaseExpiredMidChunk() {
+        // Arrange
+        transactionRepository.create(new Transaction(null, 5L, 1L, new BigDecimal("1.00"), "EUR", CREDIT, UNPROCESSED,
+                Instant.parse("2019-01-01T00:00:00Z"), "claimed", new HashMap<>()));
+        Instant now = Instant.now();
+        Duration lease = Duration.ofMinutes(5);
+        Transaction claimedByFirstOwner = transactionRepository.claimUnprocessedTransactions("node-1", now, lease, 1).get(0);
+        Transaction claimedBySecondOwner = transactionRepository.claimUnprocessedTransactions("node-2", now.plus(Duration.ofMinutes(10)), lease, 1).get(0);
+        long id = claimedByFirstOwner.getId();
+        BigDecimal emitterBalanceBefore = getBalance(5L);
+        BigDecimal receiverBalanceBefore = getBalance(1L);
+        transactionClaim.enabled = true;
+
+        // Act
+        transactionClaim.owner = "node-1";
+        transactionService.processDigitalTransaction(claimedByFirstOwner);
+        TransactionStatus statusAfterFirstOwner = transactionRepository.findById(id).orElseThrow().getStatus();
+        BigDecimal emitterBalanceAfterFirstOwner = getBalance(5L);
+
+        transactionClaim.owner = "node-2";
+        transactionService.processDigitalTransaction(claimedBySecondOwner);
+
+        // Assert
+        assertThat(claimedBySecondOwner.getId()).isEqualTo(id);
+        assertThat(statusAfterFirstOwner).isEqualTo(UNPROCESSED);
+        assertThat(emitterBalanceAfterFirstOwner).isEqualByComparingTo(emitterBalanceBefore);
+        assertThat(transactionRepository.findById(id)).map(Transaction::getStatus).contains(COMPLETED);
+        assertThat(getBalance(5L)).isEqualByComparingTo(emitterBalanceBefore.subtract(new BigDecimal("1.00")));
+        assertThat(getBalance(1L)).isEqualByComparingTo(receiverBalanceBefore.add(new BigDecimal("1.00")));
+    }
+
+    private BigDecimal getBalance(long bankAccountId) {
+        return bankAccountRepository.findById(bankAccountId).orElseThrow().getBalance().getAmount();
+    }
+}
@@ -0,0 +1,76 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.cdx.bas.domain.bank.transaction.TransactionPersistencePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Optional;
+
+import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.CREDIT;
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.UNPROCESSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionClaimTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Mock
+    TransactionPersistencePort transactionRepository;
+
+    TransactionClaim transactionClaim;
+
+    private final Transaction transaction = new Transaction(5L, 2L, 1L, new BigDecimal("10.00"), "EUR", CREDIT, UNPROCESSED,
+            Instant.parse("2024-11-06T17:00:00+00:00"), "transaction 5", new HashMap<>());
+
+    @BeforeEach
+    void setUp() {
+        transactionClaim = new TransactionClaim(transactionRepository);
+        transactionClaim.enabled = true;
+        transactionClaim.lease = LEASE;
+        transactionClaim.nodeId = Optional.of("node-1");
+        transactionClaim.init();
+    }
+
+    @Test
+    void renew_shouldAllowProcessing_withoutQuery_whenClaimIsDisabled() {
+        transactionClaim.enabled = false;
+
+        assertThat(transactionClaim.renew(transaction)).isTrue();
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void renew_shouldAllowProcessing_whenTransactionIsStillLeasedToOwner() {
+        when(transactionRepository.renewClaim(eq(5L), eq("node-1"), any(Instant.class), eq(LEASE))).thenReturn(true);
+
+        assertThat(transactionClaim.renew(transaction)).isTrue();
+    }
+
+    @Test
+    void renew_shouldRefuseProcessing_whenLeaseWasLostToAnotherOwner() {
+        when(transactionRepository.renewClaim(eq(5L), eq("node-1"), any(Instant.class), eq(LEASE))).thenReturn(false);
+
+        assertThat(transactionClaim.renew(transaction)).isFalse();
+    }
+
+    @Test
+    void init_shouldGenerateOwner_whenNodeIdIsNotConfigured() {
+        transactionClaim.nodeId = Optional.empty();
+
+        transactionClaim.init();
+
+        assertThat(transactionClaim.getOwner()).isNotBlank().isNotEqualTo("node-1");
+    }
+}
@@ -0,0 +1,98 @@
+package com.cdx.bas.application.scheduler;
+
+import com.cdx.bas.domain.bank.account.BankAccountServicePort;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.h2.H2DatabaseTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Blocking operations per second on platform and virtual threads, run with the benchmark profile: mvn test -Pbenchmark
+ * <p>
+ * Each operation waits like a call to a remote system then reads a balance through JDBC, both executors share the
+ * same connection pool. The platform executor is bounded like a worker pool, the virtual one starts a thread per
+ * operation: the waits no longer hold a platform thread and only the connection pool limits the concurrency.
+ * <p>
+ * The wait is fixed on purpose, it bounds the platform executor to {@code PLATFORM_THREADS / REMOTE_WAIT_MILLIS}
+ * operations per second whatever the speed of the database. What is asserted is that the virtual executor goes over
+ * that bound, which it can only do if waiting operations do not hold a thread. The rates themselves depend on the
+ * machine and are only logged.
+ */
+@Tag("benchmark")
+@QuarkusTest
+@WithTestResource(H2DatabaseTestResource.class)
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final Logger logger = Logger.getLogger(VirtualThreadLoadBenchmarkTest.class);
+    private static final int PLATFORM_THREADS = 64;
+    private static final int WARMUP_OPERATIONS = 500;
+    private static final int MEASURED_OPERATIONS = 5000;
+    private static final long REMOTE_WAIT_MILLIS = 10;
+    private static final long[] ACCOUNT_IDS = {1L, 2L, 4L, 5L, 6L, 7L};
+
+    @Inject
+    BankAccountServicePort bankAccountService;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.max-size", defaultValue = "20")
+    int connectionPoolSize;
+
+    @Test
+    void blockingOperations_platformVersusVirtualThreads() throws Exception {
+        try (ExecutorService platformExecutor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+             ExecutorService virtualExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            run(platformExecutor, WARMUP_OPERATIONS);
+            run(virtualExecutor, WARMUP_OPERATIONS);
+
+            double platformRate = run(platformExecutor, MEASURED_OPERATIONS);
+            double virtualRate = run(virtualExecutor, MEASURED_OPERATIONS);
+
+            double platformBound = PLATFORM_THREADS * 1000.0 / REMOTE_WAIT_MILLIS;
+
+            logger.infof("Blocking operations/sec with %d connections - platform (%d threads, at most %.0f): %.0f, virtual: %.0f (x%.1f)",
+                    connectionPoolSize, PLATFORM_THREADS, platformBound, platformRate, virtualRate, virtualRate / platformRate);
+            assertThat(platformRate).isLessThanOrEqualTo(platformBound);
+            assertThat(virtualRate).isGreaterThan(platformBound);
+        }
+    }
+
+    private double run(ExecutorService executor, int operations) throws InterruptedException, ExecutionException {
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            long accountId = ACCOUNT_IDS[i % ACCOUNT_IDS.length];
+            results.add(executor.submit(() -> blockingOperation(accountId)));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        return operations / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private void blockingOperation(long accountId) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            Thread.sleep(REMOTE_WAIT_MILLIS);
+            bankAccountService.findBankAccountBalance(accountId);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            requestContext.terminate();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.cdx.bas.application.scheduler.trigger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresPendingTransactionNotifierTest {
+
+    @Mock
+    DataSource dataSource;
+
+    @Mock
+    Connection droppedConnection;
+
+    @Mock
+    Connection reopenedConnection;
+
+    @Mock
+    Statement statement;
+
+    @Mock
+    PGConnection droppedPgConnection;
+
+    @Mock
+    PGConnection reopenedPgConnection;
+
+    PostgresPendingTransactionNotifier pendingTransactionNotifier;
+
+    @AfterEach
+    void tearDown() {
+        pendingTransactionNotifier.close();
+    }
+
+    @Test
+    void listen_shouldListenOnNewConnection_whenListenConnectionDrops() throws SQLException, InterruptedException {
+        // Arrange
+        when(droppedConnection.createStatement()).thenReturn(statement);
+        when(reopenedConnection.createStatement()).thenReturn(statement);
+        when(droppedConnection.unwrap(PGConnection.class)).thenReturn(droppedPgConnection);
+        when(reopenedConnection.unwrap(PGConnection.class)).thenReturn(reopenedPgConnection);
+        when(droppedPgConnection.getNotifications(anyInt())).thenThrow(new SQLException("An I/O error occurred while sending to the backend."));
+        when(reopenedPgConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            return null;
+        });
+        AtomicInteger openedConnections = new AtomicInteger();
+        PostgresPendingTransactionNotifier.ListenConnectionFactory listenConnectionFactory = () ->
+                openedConnections.incrementAndGet() == 1 ? droppedConnection : reopenedConnection;
+        pendingTransactionNotifier = new PostgresPendingTransactionNotifier(dataSource, listenConnectionFactory, Duration.ofMillis(10));
+        CountDownLatch listening = new CountDownLatch(2);
+
+        // Act
+        pendingTransactionNotifier.listen(listening::countDown);
+
+        // Assert
+        assertThat(listening.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(openedConnections).hasValue(2);
+        verify(droppedConnection).close();
+        verify(statement, times(2)).execute("LISTEN " + PostgresPendingTransactionNotifier.CHANNEL);
+        verifyNoInteractions(dataSource);
+    }
+}
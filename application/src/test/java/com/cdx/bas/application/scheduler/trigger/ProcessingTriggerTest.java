@@ -0,0 +1,85 @@
+package com.cdx.bas.application.scheduler.trigger;
+
+import com.cdx.bas.application.scheduler.Scheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessingTriggerTest {
+
+    @Mock
+    Scheduler scheduler;
+
+    InMemoryPendingTransactionNotifier pendingTransactionNotifier;
+
+    ProcessingTrigger processingTrigger;
+
+    @BeforeEach
+    void setUp() {
+        pendingTransactionNotifier = new InMemoryPendingTransactionNotifier();
+        processingTrigger = new ProcessingTrigger(scheduler, pendingTransactionNotifier);
+        processingTrigger.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        processingTrigger.shutdown();
+    }
+
+    @Test
+    void onPendingTransaction_shouldRunScheduler_whenNotificationIsReceived() {
+        // Act
+        processingTrigger.onPendingTransaction(new PendingTransactionEvent(1L));
+
+        // Assert
+        verify(scheduler, timeout(1000)).processQueue();
+    }
+
+    @Test
+    void signal_shouldCoalesceSignals_whenRunIsAlreadyQueued() throws InterruptedException {
+        // Arrange
+        CountDownLatch runStarted = new CountDownLatch(1);
+        CountDownLatch releaseRun = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            runStarted.countDown();
+            releaseRun.await(1, TimeUnit.SECONDS);
+            return null;
+        }).doNothing().when(scheduler).processQueue();
+
+        // Act
+        processingTrigger.signal();
+        assertThat(runStarted.await(1, TimeUnit.SECONDS)).isTrue();
+        processingTrigger.signal();
+        processingTrigger.signal();
+        processingTrigger.signal();
+        releaseRun.countDown();
+
+        // Assert
+        verify(scheduler, timeout(1000).times(2)).processQueue();
+        verify(scheduler, after(200).times(2)).processQueue();
+    }
+
+    @Test
+    void signal_shouldKeepTriggering_whenRunFails() {
+        // Arrange
+        doThrow(new IllegalStateException("database unavailable")).doNothing().when(scheduler).processQueue();
+
+        // Act
+        processingTrigger.signal();
+        verify(scheduler, timeout(1000)).processQueue();
+        processingTrigger.signal();
+
+        // Assert
+        verify(scheduler, timeout(1000).times(2)).processQueue();
+    }
+}
@@ -1,34 +1,57 @@
 package com.cdx.bas.client.bank.account;
 
+import com.cdx.bas.client.concurrent.VirtualThreadDispatcher;
+import com.cdx.bas.client.pagination.PageParameters;
+import com.cdx.bas.client.stream.NdjsonStreamingOutput;
 import com.cdx.bas.domain.bank.account.BankAccount;
 import com.cdx.bas.domain.bank.account.BankAccountControllerPort;
 import com.cdx.bas.domain.bank.account.BankAccountServicePort;
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.GET;
-import jakarta.ws.rs.Path;
-import jakarta.ws.rs.PathParam;
-import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 @Path("/accounts")
 @RequestScoped
 public class BankAccountResource implements BankAccountControllerPort {
 
     BankAccountServicePort bankAccountServicePort;
+    ObjectMapper objectMapper;
+    VirtualThreadDispatcher virtualThreadDispatcher;
 
     @Inject
-    public BankAccountResource(BankAccountServicePort bankAccountServicePort) {
+    public BankAccountResource(BankAccountServicePort bankAccountServicePort, ObjectMapper objectMapper,
+                               VirtualThreadDispatcher virtualThreadDispatcher) {
         this.bankAccountServicePort = bankAccountServicePort;
+        this.objectMapper = objectMapper;
+        this.virtualThreadDispatcher = virtualThreadDispatcher;
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Override
-    public List<BankAccount> getAll() {
-        return bankAccountServicePort.getAll();
+    public List<BankAccount> getAll(@QueryParam("after") Long after, @QueryParam("limit") Integer limit) {
+        PageParameters.check(after, limit);
+        try {
+            return bankAccountServicePort.getAll(after, limit);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return Collections.emptyList();
+        }
+    }
+
+    @GET
+    @Produces(NdjsonStreamingOutput.APPLICATION_NDJSON)
+    @Override
+    public StreamingOutput streamAll() {
+        return new NdjsonStreamingOutput<BankAccount>(objectMapper, bankAccountServicePort::streamAll);
     }
 
     @GET()
@@ -38,4 +61,48 @@ public class BankAccountResource implements BankAccountControllerPort {
     public BankAccount findById(@PathParam("id") long id) {
         return bankAccountServicePort.findBankAccount(id);
     }
+
+    @GET
+    @Path("/{id}/transactions")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Override
+    public List<Transaction> getTransactions(@PathParam("id") long id,
+                                             @QueryParam("from") String from,
+                                             @QueryParam("to") String to,
+                                             @QueryParam("after") Long after,
+                                             @QueryParam("limit") Integer limit,
+                                             @QueryParam("direction") String direction) {
+        PageParameters.check(after, limit);
+        try {
+            return bankAccountServicePort.findTransactionHistory(id, direction, from, to, after, limit);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new WebApplicationException(illegalArgumentException.getMessage(), Response.Status.BAD_REQUEST);
+        }
+    }
+
+    @GET
+    @Path("/virtual")
+    @Produces(MediaType.APPLICATION_JSON)
+    public CompletionStage<List<BankAccount>> getAllOnVirtualThread(@QueryParam("after") Long after, @QueryParam("limit") Integer limit) {
+        return virtualThreadDispatcher.dispatch(() -> getAll(after, limit));
+    }
+
+    @GET
+    @Path("/virtual/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public CompletionStage<BankAccount> findByIdOnVirtualThread(@PathParam("id") long id) {
+        return virtualThreadDispatcher.dispatch(() -> findById(id));
+    }
+
+    @GET
+    @Path("/virtual/{id}/transactions")
+    @Produces(MediaType.APPLICATION_JSON)
+    public CompletionStage<List<Transaction>> getTransactionsOnVirtualThread(@PathParam("id") long id,
+                                                                            @QueryParam("from") String from,
+                                                                            @QueryParam("to") String to,
+                                                                            @QueryParam("after") Long after,
+                                                                            @QueryParam("limit") Integer limit,
+                                                                            @QueryParam("direction") String direction) {
+        return virtualThreadDispatcher.dispatch(() -> getTransactions(id, from, to, after, limit, direction));
+    }
 }
@@ -1,6 +1,7 @@
 package com.cdx.bas.client.bank.customer;
 
 
+import com.cdx.bas.client.concurrent.VirtualThreadDispatcher;
 import com.cdx.bas.domain.bank.customer.Customer;
 import com.cdx.bas.domain.bank.customer.CustomerServicePort;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -12,16 +13,19 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 @Path("/customers")
 @ApplicationScoped
 public class CustomerResource {
 
     private final CustomerServicePort customerServicePort;
+    private final VirtualThreadDispatcher virtualThreadDispatcher;
 
     @Inject
-    public CustomerResource(CustomerServicePort customerServicePort) {
+    public CustomerResource(CustomerServicePort customerServicePort, VirtualThreadDispatcher virtualThreadDispatcher) {
         this.customerServicePort = customerServicePort;
+        this.virtualThreadDispatcher = virtualThreadDispatcher;
     }
 
     @GET
@@ -36,4 +40,18 @@ public class CustomerResource {
     public Customer getCustomer(@PathParam("id") long id) {
         return customerServicePort.findCustomer(id);
     }
+
+    @GET
+    @Path("/virtual")
+    @Produces(MediaType.APPLICATION_JSON)
+    public CompletionStage<Set<Customer>> getAllOnVirtualThread() {
+        return virtualThreadDispatcher.dispatch(this::getAll);
+    }
+
+    @GET
+    @Path("/virtual/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public CompletionStage<Customer> getCustomerOnVirtualThread(@PathParam("id") long id) {
+        return virtualThreadDispatcher.dispatch(() -> getCustomer(id));
+    }
 }
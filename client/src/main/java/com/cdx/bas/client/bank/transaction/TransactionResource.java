@@ -1,25 +1,53 @@
 package com.cdx.bas.client.bank.transaction;
 
+import com.cdx.bas.client.concurrent.VirtualThreadDispatcher;
+import com.cdx.bas.client.idempotency.IdempotencyCache;
+import com.cdx.bas.client.idempotency.IdempotentRequest;
+import com.cdx.bas.client.idempotency.IdempotentResponse;
+import com.cdx.bas.client.pagination.PageParameters;
+import com.cdx.bas.client.stream.NdjsonStreamingOutput;
+import com.cdx.bas.client.stream.TransactionStatusEventStreamer;
 import com.cdx.bas.domain.bank.transaction.category.NewCashTransaction;
 import com.cdx.bas.domain.bank.transaction.category.NewDigitalTransaction;
+import com.cdx.bas.domain.bank.transaction.category.NewTransactionResult;
 import com.cdx.bas.domain.exception.DomainException;
 import com.cdx.bas.domain.bank.transaction.*;
+import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
+import com.cdx.bas.domain.bank.transaction.status.TransactionState;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
 import com.cdx.bas.domain.message.MessageFormatter;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 import static com.cdx.bas.domain.message.CommonMessages.*;
+import static com.cdx.bas.domain.metadata.MetadataFieldNames.ERROR_KEY;
 
 @Path("/transactions")
 @ApplicationScoped
@@ -27,27 +55,63 @@ public class TransactionResource implements TransactionControllerPort {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionResource.class);
 
+    private static final String DIGITAL_PATH = "/transactions/digital";
+    private static final String WITHDRAW_PATH = "/transactions/withdraw";
+    private static final String DEPOSIT_PATH = "/transactions/deposit";
+
     @Inject
-    public TransactionResource(TransactionServicePort transactionServicePort) {
+    public TransactionResource(TransactionServicePort transactionServicePort, ObjectMapper objectMapper,
+                               VirtualThreadDispatcher virtualThreadDispatcher, IdempotencyCache idempotencyCache,
+                               TransactionStatusEventStreamer transactionStatusEventStreamer) {
         this.transactionServicePort = transactionServicePort;
+        this.objectMapper = objectMapper;
+        this.virtualThreadDispatcher = virtualThreadDispatcher;
+        this.idempotencyCache = idempotencyCache;
+        this.transactionStatusEventStreamer = transactionStatusEventStreamer;
     }
 
     TransactionServicePort transactionServicePort;
+    ObjectMapper objectMapper;
+    VirtualThreadDispatcher virtualThreadDispatcher;
+    IdempotencyCache idempotencyCache;
+    TransactionStatusEventStreamer transactionStatusEventStreamer;
+
+    @ConfigProperty(name = "rest.cash.async.enabled", defaultValue = "false")
+    boolean cashAsync;
+
+    @ConfigProperty(name = "transaction.batch.max-items", defaultValue = "1000")
+    int batchMaxItems;
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Override
-    public Set<Transaction> getAll() {
-        return transactionServicePort.getAll();
+    public Set<Transaction> getAll(@QueryParam("after") Long after, @QueryParam("limit") Integer limit) {
+        PageParameters.check(after, limit);
+        try {
+            return transactionServicePort.getAll(after, limit);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, SEARCHING_ALL_ACTION, illegalArgumentException.getMessage()));
+            return Collections.emptySet();
+        }
+    }
+
+    @GET
+    @Produces(NdjsonStreamingOutput.APPLICATION_NDJSON)
+    @Override
+    public StreamingOutput streamAll() {
+        return new NdjsonStreamingOutput<Transaction>(objectMapper, transactionServicePort::streamAll);
     }
 
     @GET
     @Path("/{status}")
     @Produces(MediaType.APPLICATION_JSON)
     @Override
-    public Set<Transaction> getAllByStatus(@PathParam("status") String status) {
+    public Set<Transaction> getAllByStatus(@PathParam("status") String status,
+                                           @QueryParam("after") Long after,
+                                           @QueryParam("limit") Integer limit) {
+        PageParameters.check(after, limit);
         try {
-            return transactionServicePort.findAllByStatus(status);
+            return transactionServicePort.findAllByStatus(status, after, limit);
         } catch (IllegalArgumentException illegalArgumentException) {
             logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, SEARCHING_ALL_ACTION, illegalArgumentException.getMessage()));
             return Collections.emptySet();
@@ -66,6 +130,31 @@ public class TransactionResource implements TransactionControllerPort {
         }
     }
 
+    @GET
+    @Path("/{id}/status")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Find transaction status", description = "Returns the current status of the transaction, without its details")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Transaction found"),
+            @APIResponse(responseCode = "404", description = "Transaction not found")
+    })
+    @Override
+    public TransactionState findStateById(@PathParam("id") long id) {
+        try {
+            return transactionServicePort.findTransactionState(id);
+        } catch (TransactionException exception) {
+            throw new WebApplicationException(exception.getMessage(), Response.Status.NOT_FOUND);
+        }
+    }
+
+    @GET
+    @Path("/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(summary = "Follow transaction statuses", description = "Streams the status of each processed transaction of the account, or of every account without accountId")
+    public void streamStatusEvents(@QueryParam("accountId") Long accountId, @Context SseEventSink eventSink, @Context Sse sse) {
+        transactionStatusEventStreamer.stream(accountId, eventSink, sse);
+    }
+
     @POST
     @Path("/digital")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -74,24 +163,102 @@ public class TransactionResource implements TransactionControllerPort {
     @APIResponses(value = {
             @APIResponse(responseCode = "200", description = "New transaction accepted"),
             @APIResponse(responseCode = "400", description = "Transaction invalid check error details"),
+            @APIResponse(responseCode = "422", description = "Idempotency key already used by another request"),
+            @APIResponse(responseCode = "429", description = "Too many unprocessed transactions, retry after the Retry-After delay"),
             @APIResponse(responseCode = "500", description = "Unexpected error happened")
     })
+    @Override
+    public Response addDigitalTransaction(@HeaderParam(IdempotencyCache.IDEMPOTENCY_KEY) String idempotencyKey, NewDigitalTransaction newTransaction) {
+        Long emitterAccountId = newTransaction != null ? newTransaction.emitterAccountId() : null;
+        IdempotentRequest request = idempotentRequest(DIGITAL_PATH, emitterAccountId, idempotencyKey,
+                () -> newTransaction != null ? newTransaction.fingerprint() : null);
+        return submitOnce(request, () -> {
+            try {
+                transactionServicePort.createDigitalTransaction(newTransaction, idempotencyKey);
+                return Response.status(Response.Status.ACCEPTED)
+                        .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_ACTION, ACCEPTED_STATUS))
+                        .build();
+            } catch (TransactionBacklogException exception) {
+                return backlogFull(exception);
+            } catch (DomainException exception) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(exception.getMessage()).build();
+            } catch (Exception exception) {
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                        .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_ACTION, UNEXPECTED_STATUS))
+                        .build();
+            }
+        });
+    }
+
     @Override
     public Response addDigitalTransaction(NewDigitalTransaction newTransaction) {
-        try {
-            transactionServicePort.createDigitalTransaction(newTransaction);
-            return Response.status(Response.Status.ACCEPTED)
-                    .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_ACTION, ACCEPTED_STATUS))
+        return addDigitalTransaction(null, newTransaction);
+    }
+
+    @POST
+    @Path("/digital/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Add transactions", description = "Returns the id of each created transaction or the reason of its refusal, in the order of the batch")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Batch handled, check the result of each transaction"),
+            @APIResponse(responseCode = "400", description = "Batch unreadable"),
+            @APIResponse(responseCode = "413", description = "Batch with more items than the maximum, no transaction created"),
+            @APIResponse(responseCode = "500", description = "Unexpected error happened, no transaction created")
+    })
+    @Override
+    public Response addDigitalTransactions(List<NewDigitalTransaction> newTransactions) {
+        if (newTransactions == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_BATCH_ACTION, REFUSED_STATUS,
+                            Optional.of(EMPTY_ITEM_CAUSE)))
                     .build();
-        } catch (DomainException exception) {
-            return Response.status(Response.Status.BAD_REQUEST).entity(exception.getMessage()).build();
+        }
+        try {
+            List<NewTransactionResult> results = transactionServicePort.createDigitalTransactions(newTransactions);
+            return Response.ok(results).build();
+        } catch (TransactionBatchTooLargeException exception) {
+            return batchTooLarge(exception.getMessage());
         } catch (Exception exception) {
+            logger.error(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_BATCH_ACTION, UNEXPECTED_STATUS), exception);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_ACTION, UNEXPECTED_STATUS))
+                    .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_BATCH_ACTION, UNEXPECTED_STATUS))
                     .build();
         }
     }
 
+    @POST
+    @Path("/digital/batch")
+    @Consumes(NdjsonStreamingOutput.APPLICATION_NDJSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Add transactions as NDJSON", description = "Same as the JSON array batch, with one transaction per line")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Batch handled, check the result of each transaction"),
+            @APIResponse(responseCode = "400", description = "Batch unreadable"),
+            @APIResponse(responseCode = "413", description = "Batch with more items than the maximum, no transaction created"),
+            @APIResponse(responseCode = "500", description = "Unexpected error happened, no transaction created")
+    })
+    @Override
+    public Response addDigitalTransactions(InputStream newTransactions) {
+        // lines are read one at a time and the body is no longer read once it has more items than the maximum
+        List<NewDigitalTransaction> parsedTransactions = new ArrayList<>();
+        try (MappingIterator<NewDigitalTransaction> lines = objectMapper.readerFor(NewDigitalTransaction.class).readValues(newTransactions)) {
+            while (lines.hasNextValue()) {
+                if (parsedTransactions.size() == batchMaxItems) {
+                    return batchTooLarge(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_BATCH_ACTION, REFUSED_STATUS,
+                            Optional.of(BATCH_TOO_LARGE_CAUSE + batchMaxItems)));
+                }
+                parsedTransactions.add(lines.nextValue());
+            }
+        } catch (IOException exception) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_BATCH_ACTION, REFUSED_STATUS,
+                            Optional.ofNullable(exception.getMessage())))
+                    .build();
+        }
+        return addDigitalTransactions(parsedTransactions);
+    }
+
     @POST
     @Path("/withdraw")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -102,21 +269,36 @@ public class TransactionResource implements TransactionControllerPort {
             @APIResponse(responseCode = "400", description = "Transaction invalid check error details"),
             @APIResponse(responseCode = "500", description = "Unexpected error happened")
     })
+    @Override
+    public Response withdraw(@HeaderParam(IdempotencyCache.IDEMPOTENCY_KEY) String idempotencyKey, NewCashTransaction newWithdrawTransaction) {
+        Long emitterAccountId = newWithdrawTransaction != null ? newWithdrawTransaction.emitterAccountId() : null;
+        IdempotentRequest request = idempotentRequest(WITHDRAW_PATH, emitterAccountId, idempotencyKey,
+                () -> newWithdrawTransaction != null ? newWithdrawTransaction.fingerprint(TransactionType.WITHDRAW) : null);
+        return submitOnce(request, () -> {
+            try {
+                if (cashAsync) {
+                    return acceptedForProcessing(transactionServicePort.submitWithdraw(newWithdrawTransaction, idempotencyKey));
+                }
+                transactionServicePort.withdraw(newWithdrawTransaction, idempotencyKey);
+                return Response.status(Response.Status.ACCEPTED)
+                        .entity(MessageFormatter.format(TRANSACTION_CONTEXT, WITHDRAW_ACTION, ACCEPTED_STATUS))
+                        .build();
+            } catch (TransactionBacklogException exception) {
+                return backlogFull(exception);
+            } catch (DomainException exception) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(exception.getMessage()).build();
+            } catch (Exception exception) {
+                logger.error("Unexpected error happened:&", exception.getCause());
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                        .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_ACTION, UNEXPECTED_STATUS))
+                        .build();
+            }
+        });
+    }
+
     @Override
     public Response withdraw(NewCashTransaction newWithdrawTransaction) {
-        try {
-            transactionServicePort.withdraw(newWithdrawTransaction);
-            return Response.status(Response.Status.ACCEPTED)
-                    .entity(MessageFormatter.format(TRANSACTION_CONTEXT, WITHDRAW_ACTION, ACCEPTED_STATUS))
-                    .build();
-        } catch (DomainException exception) {
-            return Response.status(Response.Status.BAD_REQUEST).entity(exception.getMessage()).build();
-        } catch (Exception exception) {
-            logger.error("Unexpected error happened:&", exception.getCause());
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DIGITAL_TRANSACTION_ACTION, UNEXPECTED_STATUS))
-                    .build();
-        }
+        return withdraw(null, newWithdrawTransaction);
     }
 
     @POST
@@ -129,19 +311,150 @@ public class TransactionResource implements TransactionControllerPort {
             @APIResponse(responseCode = "400", description = "Transaction invalid check error details"),
             @APIResponse(responseCode = "500", description = "Unexpected error happened")
     })
+    @Override
+    public Response deposit(@HeaderParam(IdempotencyCache.IDEMPOTENCY_KEY) String idempotencyKey, NewCashTransaction newDepositTransaction) {
+        Long emitterAccountId = newDepositTransaction != null ? newDepositTransaction.emitterAccountId() : null;
+        IdempotentRequest request = idempotentRequest(DEPOSIT_PATH, emitterAccountId, idempotencyKey,
+                () -> newDepositTransaction != null ? newDepositTransaction.fingerprint(TransactionType.DEPOSIT) : null);
+        return submitOnce(request, () -> {
+            try {
+                if (cashAsync) {
+                    return acceptedForProcessing(transactionServicePort.submitDeposit(newDepositTransaction, idempotencyKey));
+                }
+                transactionServicePort.deposit(newDepositTransaction, idempotencyKey);
+                return Response.status(Response.Status.ACCEPTED)
+                        .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DEPOSIT_ACTION, ACCEPTED_STATUS))
+                        .build();
+            } catch (TransactionBacklogException exception) {
+                return backlogFull(exception);
+            } catch (DomainException exception) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(exception.getMessage()).build();
+            } catch (Exception exception) {
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                        .entity(MessageFormatter.format(TRANSACTION_CONTEXT, CASH_TRANSACTION_ACTION, UNEXPECTED_STATUS))
+                        .build();
+            }
+        });
+    }
+
     @Override
     public Response deposit(NewCashTransaction newDepositTransaction) {
-        try {
-            transactionServicePort.deposit(newDepositTransaction);
-            return Response.status(Response.Status.ACCEPTED)
-                    .entity(MessageFormatter.format(TRANSACTION_CONTEXT, DEPOSIT_ACTION, ACCEPTED_STATUS))
-                    .build();
-        } catch (DomainException exception) {
-            return Response.status(Response.Status.BAD_REQUEST).entity(exception.getMessage()).build();
-        } catch (Exception exception) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity(MessageFormatter.format(TRANSACTION_CONTEXT, CASH_TRANSACTION_ACTION, UNEXPECTED_STATUS))
-                    .build();
+        return deposit(null, newDepositTransaction);
+    }
+
+    @GET
+    @Path("/virtual")
+    @Produces(MediaType.APPLICATION_JSON)
+    public CompletionStage<Set<Transaction>> getAllOnVirtualThread(@QueryParam("after") Long after, @QueryParam("limit") Integer limit) {
+        return virtualThreadDispatcher.dispatch(() -> getAll(after, limit));
+    }
+
+    @GET
+    @Path("/virtual/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public CompletionStage<Transaction> findByIdOnVirtualThread(@PathParam("id") long id) {
+        return virtualThreadDispatcher.dispatch(() -> findById(id));
+    }
+
+    @POST
+    @Path("/virtual/digital")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Add transaction on a virtual thread", description = "Same as /transactions/digital, the blocking work runs on a virtual thread when rest.virtual-threads.enabled is set")
+    public CompletionStage<Response> addDigitalTransactionOnVirtualThread(@HeaderParam(IdempotencyCache.IDEMPOTENCY_KEY) String idempotencyKey,
+                                                                          NewDigitalTransaction newTransaction) {
+        return virtualThreadDispatcher.dispatch(() -> addDigitalTransaction(idempotencyKey, newTransaction));
+    }
+
+    /**
+     * A request carrying an idempotency key is submitted once: its retries get the first response from the cache,
+     * or a response rebuilt from the transaction stored with the key, without calling the service again.
+     * Keys are unique per emitter account: two concurrent requests with the same key both reach the service, the unique
+     * key of the transactions refuses the second one which then answers like a retry. A key the emitter account already
+     * used on another endpoint or with another body is refused with 422: the cache and the stored transaction both
+     * compare the request fingerprint, see {@link NewDigitalTransaction#fingerprint()}.
+     */
+    Response submitOnce(IdempotentRequest request, Supplier<Response> submission) {
+        if (!request.hasIdempotencyKey()) {
+            return submission.get();
+        }
+        Optional<IdempotentResponse> replayedResponse = idempotencyCache.find(request)
+                .or(() -> findStoredResponse(request));
+        if (replayedResponse.isPresent()) {
+            logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, IDEMPOTENT_REPLAY_ACTION, DONE_STATUS, List.of(IDEMPOTENCY_KEY_DETAIL + request.idempotencyKey())));
+            return replayedResponse.get().toResponse();
+        }
+
+        Response response = submission.get();
+        IdempotentResponse idempotentResponse = IdempotentResponse.of(response);
+        if (response.getStatus() == Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()) {
+            Optional<IdempotentResponse> concurrentResponse = findStoredResponse(request);
+            if (concurrentResponse.isPresent()) {
+                return concurrentResponse.get().toResponse();
+            }
+        }
+        if (idempotentResponse.isReplayable()) {
+            idempotencyCache.put(request, idempotentResponse);
+        }
+        return response;
+    }
+
+    private static IdempotentRequest idempotentRequest(String path, Long emitterAccountId, String idempotencyKey, Supplier<String> fingerprint) {
+        boolean hasIdempotencyKey = idempotencyKey != null && !idempotencyKey.isBlank();
+        return new IdempotentRequest(HttpMethod.POST, path, emitterAccountId, idempotencyKey, hasIdempotencyKey ? fingerprint.get() : null);
+    }
+
+    private Optional<IdempotentResponse> findStoredResponse(IdempotentRequest request) {
+        Optional<Transaction> storedTransaction = transactionServicePort.findByIdempotencyKey(request.emitterAccountId(), request.idempotencyKey());
+        if (storedTransaction.isPresent() && !isSameRequest(request, storedTransaction.get())) {
+            return Optional.of(IdempotentResponse.keyReused(request.idempotencyKey()));
+        }
+        Optional<IdempotentResponse> storedResponse = storedTransaction.map(this::toIdempotentResponse);
+        storedResponse.ifPresent(response -> idempotencyCache.put(request, response));
+        return storedResponse;
+    }
+
+    private static boolean isSameRequest(IdempotentRequest request, Transaction transaction) {
+        return request.fingerprint() != null && request.fingerprint().equals(transaction.getIdempotencyFingerprint());
+    }
+
+    private IdempotentResponse toIdempotentResponse(Transaction transaction) {
+        boolean cashTransaction = transaction.getType() == TransactionType.DEPOSIT || transaction.getType() == TransactionType.WITHDRAW;
+        if (cashAsync && cashTransaction) {
+            return IdempotentResponse.of(acceptedForProcessing(new TransactionState(transaction.getId(), transaction.getStatus())));
         }
+        String action = switch (transaction.getType()) {
+            case CREDIT, DEBIT -> DIGITAL_TRANSACTION_ACTION;
+            case DEPOSIT -> DEPOSIT_ACTION;
+            case WITHDRAW -> WITHDRAW_ACTION;
+        };
+        if (transaction.getStatus() == TransactionStatus.REFUSED || transaction.getStatus() == TransactionStatus.ERROR) {
+            return new IdempotentResponse(Response.Status.BAD_REQUEST.getStatusCode(),
+                    MessageFormatter.format(TRANSACTION_CONTEXT, action, REFUSED_STATUS,
+                            Optional.ofNullable(transaction.getMetadata().get(ERROR_KEY))));
+        }
+        return new IdempotentResponse(Response.Status.ACCEPTED.getStatusCode(),
+                MessageFormatter.format(TRANSACTION_CONTEXT, action, ACCEPTED_STATUS));
+    }
+
+    private static Response acceptedForProcessing(long id) {
+        return acceptedForProcessing(new TransactionState(id, TransactionStatus.UNPROCESSED));
+    }
+
+    private static Response acceptedForProcessing(TransactionState transactionState) {
+        return Response.accepted(transactionState)
+                .location(UriBuilder.fromResource(TransactionResource.class).path("{id}/status").build(transactionState.id()))
+                .build();
+    }
+
+    private static Response batchTooLarge(String message) {
+        return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE).entity(message).build();
+    }
+
+    private static Response backlogFull(TransactionBacklogException exception) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, exception.getRetryAfterSeconds())
+                .entity(exception.getMessage())
+                .build();
     }
-}
\ No newline at end of file
+}
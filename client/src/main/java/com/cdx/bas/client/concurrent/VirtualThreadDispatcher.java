@@ -0,0 +1,66 @@
+package com.cdx.bas.client.concurrent;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs the blocking part of an endpoint on a virtual thread when virtual threads are enabled.
+ * <p>
+ * RESTEasy classic ignores {@code @RunOnVirtualThread}: endpoints returning the {@link CompletionStage} of this
+ * dispatcher give their worker thread back while the operation blocks on its own virtual thread, which gets a new
+ * request context. When virtual threads are disabled the operation runs on the calling worker thread as usual.
+ */
+@ApplicationScoped
+public class VirtualThreadDispatcher {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bas-rest-", 0).factory());
+
+    @ConfigProperty(name = "rest.virtual-threads.enabled", defaultValue = "false")
+    boolean virtualThreads;
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Run a blocking operation on a virtual thread, or on the calling thread when virtual threads are disabled
+     *
+     * @param operation blocking operation
+     * @return stage completed with the result of the operation, or with the exception it threw as is
+     */
+    public <T> CompletionStage<T> dispatch(Supplier<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (!virtualThreads) {
+            complete(result, operation);
+            return result;
+        }
+        executor.execute(() -> {
+            ManagedContext requestContext = Arc.container().requestContext();
+            requestContext.activate();
+            try {
+                complete(result, operation);
+            } finally {
+                requestContext.terminate();
+            }
+        });
+        return result;
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, Supplier<T> operation) {
+        try {
+            result.complete(operation.get());
+        } catch (RuntimeException exception) {
+            result.completeExceptionally(exception);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.cdx.bas.client.idempotency;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Responses of the last requests carrying an idempotency key, so that a retry is answered from memory.
+ * <p>
+ * Responses are stored under the key scoped by the method, the path and the emitter account of the request, so reusing
+ * a key on another endpoint never replays the response of the first one. A request with the same scoped key but another
+ * body is refused instead of replayed. The least recently used keys are evicted beyond the maximum size and each
+ * response expires after the time to live. A key missing here is then looked up in the database, where the key is
+ * unique per emitter account.
+ */
+@ApplicationScoped
+public class IdempotencyCache {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    @ConfigProperty(name = "rest.idempotency.cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    @ConfigProperty(name = "rest.idempotency.cache.ttl", defaultValue = "1H")
+    Duration ttl;
+
+    LongSupplier nanoClock = System::nanoTime;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * @param request request carrying an idempotency key
+     * @return response given to the first request with this scoped key, a refusal if its body was different,
+     * empty if unknown or expired
+     */
+    public synchronized Optional<IdempotentResponse> find(IdempotentRequest request) {
+        String scopedKey = request.scopedKey();
+        Entry entry = entries.get(scopedKey);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+            entries.remove(scopedKey);
+            return Optional.empty();
+        }
+        if (!Objects.equals(entry.fingerprint(), request.fingerprint())) {
+            return Optional.of(IdempotentResponse.keyReused(request.idempotencyKey()));
+        }
+        return Optional.of(entry.response());
+    }
+
+    /**
+     * @param request  request carrying an idempotency key
+     * @param response response given to the request
+     */
+    public synchronized void put(IdempotentRequest request, IdempotentResponse response) {
+        entries.put(request.scopedKey(), new Entry(request.fingerprint(), response, nanoClock.getAsLong() + ttl.toNanos()));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(String fingerprint, IdempotentResponse response, long expiresAt) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.cdx.bas.client.idempotency;
+
+/**
+ * Request carrying an idempotency key. The key is scoped by the method, the path and the emitter account of the
+ * request, and the fingerprint of its body tells a retry from another request reusing the key.
+ *
+ * @param method           HTTP method of the request
+ * @param path             path of the request
+ * @param emitterAccountId id of the emitter account of the request, null if it has none
+ * @param idempotencyKey   key sent by the client
+ * @param fingerprint      fingerprint of the body of the request, the one stored with the transaction it creates
+ */
+public record IdempotentRequest(String method, String path, Long emitterAccountId, String idempotencyKey, String fingerprint) {
+
+    public boolean hasIdempotencyKey() {
+        return idempotencyKey != null && !idempotencyKey.isBlank();
+    }
+
+    public String scopedKey() {
+        return method + ' ' + path + ' ' + emitterAccountId + ' ' + idempotencyKey;
+    }
+}
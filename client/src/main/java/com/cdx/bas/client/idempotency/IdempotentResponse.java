@@ -0,0 +1,54 @@
+package com.cdx.bas.client.idempotency;
+
+import com.cdx.bas.domain.message.MessageFormatter;
+import jakarta.ws.rs.core.Response;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Status, entity and location answered to a request carrying an idempotency key, given again to the retries of the request
+ *
+ * @param status   HTTP status of the response
+ * @param entity   entity of the response
+ * @param location Location header of the response, null if it has none
+ */
+public record IdempotentResponse(int status, Object entity, URI location) {
+
+    public static final int UNPROCESSABLE_CONTENT = 422;
+
+    public IdempotentResponse(int status, Object entity) {
+        this(status, entity, null);
+    }
+
+    public static IdempotentResponse of(Response response) {
+        return new IdempotentResponse(response.getStatus(), response.getEntity(), response.getLocation());
+    }
+
+    /**
+     * @param idempotencyKey key already used by the emitter account for a request with another body or on another endpoint
+     * @return refusal of the request, never stored nor replayed
+     */
+    public static IdempotentResponse keyReused(String idempotencyKey) {
+        return new IdempotentResponse(UNPROCESSABLE_CONTENT, MessageFormatter.format(TRANSACTION_CONTEXT, IDEMPOTENT_REPLAY_ACTION,
+                REFUSED_STATUS, Optional.of(IDEMPOTENCY_KEY_REUSED_CAUSE), List.of(IDEMPOTENCY_KEY_DETAIL + idempotencyKey)));
+    }
+
+    /**
+     * A response is replayed unless retrying the request could give another one:
+     * server errors and refusals of a full backlog are answered again by the next attempt
+     *
+     * @return true if the response can be given to the retries of the request
+     */
+    public boolean isReplayable() {
+        return status < Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()
+                && status != Response.Status.TOO_MANY_REQUESTS.getStatusCode();
+    }
+
+    public Response toResponse() {
+        return Response.status(status).entity(entity).location(location).build();
+    }
+}
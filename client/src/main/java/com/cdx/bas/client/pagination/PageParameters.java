@@ -0,0 +1,28 @@
+package com.cdx.bas.client.pagination;
+
+import com.cdx.bas.domain.pagination.Pagination;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Checks the after and limit query parameters of the paginated endpoints before the search runs.
+ */
+public class PageParameters {
+
+    private PageParameters() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * @param after cursor of the requested page
+     * @param limit size of the requested page
+     * @throws WebApplicationException with a 400 status if the page is invalid, see {@link Pagination#checkPage}
+     */
+    public static void check(Long after, Integer limit) {
+        try {
+            Pagination.checkPage(after, limit);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new WebApplicationException(illegalArgumentException.getMessage(), Response.Status.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.cdx.bas.client.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes items as newline delimited JSON while the source reads them, one JSON document per line.
+ * Nothing is buffered beyond the item being written, so the response size does not depend on the memory.
+ *
+ * @param <T> type of the streamed items
+ */
+public class NdjsonStreamingOutput<T> implements StreamingOutput {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<Consumer<T>> source;
+
+    /**
+     * @param objectMapper mapper serializing each item
+     * @param source       gives every item to the consumer it receives, typically a streamAll method of a service
+     */
+    public NdjsonStreamingOutput(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        this.objectMapper = objectMapper;
+        this.source = source;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        try {
+            source.accept(item -> writeLine(output, item));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        output.flush();
+    }
+
+    private void writeLine(OutputStream output, T item) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(item));
+            output.write(LINE_SEPARATOR);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.cdx.bas.client.stream;
+
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusChange;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusEventPort;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatusSubscription;
+import com.cdx.bas.domain.message.MessageFormatter;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.cdx.bas.domain.message.CommonMessages.*;
+
+/**
+ * Sends the status changes of the processed transactions as server-sent events.
+ * <p>
+ * Each stream waits for its subscription on its own virtual thread: a slow client only delays its own events, while
+ * its subscription keeps the latest change of each transaction and drops the oldest ones once full. A {@value #DROPPED_EVENT}
+ * event gives the number of dropped changes so the client knows it has to reload the transactions it follows.
+ */
+@ApplicationScoped
+public class TransactionStatusEventStreamer {
+
+    public static final String STATUS_EVENT = "status";
+    public static final String DROPPED_EVENT = "dropped";
+    private static final String KEEP_ALIVE_COMMENT = "keep-alive";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStatusEventStreamer.class);
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bas-sse-", 0).factory());
+    private final TransactionStatusEventPort transactionStatusEventPort;
+
+    @ConfigProperty(name = "rest.events.keep-alive", defaultValue = "15S")
+    Duration keepAlive;
+
+    @Inject
+    public TransactionStatusEventStreamer(TransactionStatusEventPort transactionStatusEventPort) {
+        this.transactionStatusEventPort = transactionStatusEventPort;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Stream the status changes of the transactions of an account until the client disconnects
+     *
+     * @param accountId id of the followed bank account, null to follow every transaction
+     * @param eventSink sink of the client, closed when the stream ends
+     * @param sse       builder of the events
+     */
+    public void stream(Long accountId, SseEventSink eventSink, Sse sse) {
+        TransactionStatusSubscription subscription = transactionStatusEventPort.subscribe(accountId);
+        executor.execute(() -> {
+            try (subscription; eventSink) {
+                while (!eventSink.isClosed()) {
+                    List<TransactionStatusChange> changes = subscription.take(keepAlive);
+                    long droppedChanges = subscription.takeDroppedChanges();
+                    if (droppedChanges > 0) {
+                        send(eventSink, sse.newEventBuilder().name(DROPPED_EVENT).data(droppedChanges).build());
+                    }
+                    if (changes.isEmpty()) {
+                        send(eventSink, sse.newEventBuilder().comment(KEEP_ALIVE_COMMENT).build());
+                    }
+                    for (TransactionStatusChange change : changes) {
+                        send(eventSink, sse.newEventBuilder()
+                                .name(STATUS_EVENT)
+                                .id(String.valueOf(change.transactionId()))
+                                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                                .data(TransactionStatusChange.class, change)
+                                .build());
+                    }
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (CompletionException exception) {
+                logger.debug(MessageFormatter.format(TRANSACTION_CONTEXT, STATUS_EVENTS_ACTION, DONE_STATUS,
+                        List.of(BANK_ACCOUNT_ID_DETAIL + accountId, ERROR_DETAIL + exception.getMessage())));
+            }
+        });
+    }
+
+    private static void send(SseEventSink eventSink, OutboundSseEvent event) {
+        eventSink.send(event).toCompletableFuture().join();
+    }
+}
@@ -13,12 +13,16 @@ import io.quarkus.test.common.WithTestResource;
 import io.quarkus.test.h2.H2DatabaseTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -50,7 +54,7 @@ class BankAccountResourceTest {
                 new SavingBankAccount(8L, Money.of(new BigDecimal("200000.00")), Set.of(6L), new HashSet<>())
         );
 
-        List<BankAccount> actualTransactions = bankAccountResource.getAll();
+        List<BankAccount> actualTransactions = bankAccountResource.getAll(null, null);
         assertThat(actualTransactions)
                 .usingRecursiveComparison()
                 .ignoringCollectionOrder()
@@ -58,6 +62,75 @@ class BankAccountResourceTest {
                 .isEqualTo(expectedCustomers);
     }
 
+    @Test
+    @Order(2)
+    void getAll_shouldReturnNextPageWithAllCustomers_whenCursorAndLimitAreGiven() {
+        List<BankAccount> expectedBankAccounts = List.of(
+                new CheckingBankAccount(2L, Money.of(new BigDecimal("1600.00")), Set.of(2L, 3L), new HashSet<>()),
+                new SavingBankAccount(3L, Money.of(new BigDecimal("19200.00")), Set.of(4L), new HashSet<>())
+        );
+
+        List<BankAccount> actualBankAccounts = bankAccountResource.getAll(1L, 2);
+        assertThat(actualBankAccounts)
+                .usingRecursiveComparison()
+                .ignoringFields("issuedTransactions", "incomingTransactions")
+                .isEqualTo(expectedBankAccounts);
+    }
+
+    @Test
+    @Order(3)
+    void streamAll_shouldWriteOneJsonBankAccountPerLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bankAccountResource.streamAll().write(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(8);
+        assertThat(lines[1]).contains("\"id\":2");
+    }
+
+    @Test
+    @Order(4)
+    void getTransactions_shouldReturnIncomingTransactionsMostRecentFirst() {
+        List<Transaction> actualTransactions = bankAccountResource.getTransactions(1L, null, null, null, 2, "incoming");
+        assertThat(actualTransactions)
+                .extracting(Transaction::getId)
+                .containsExactly(7L, 5L);
+    }
+
+    @Test
+    void getAll_shouldThrowBadRequest_whenLimitIsInvalid() {
+        try {
+            bankAccountResource.getAll(null, 0);
+            fail();
+        } catch (WebApplicationException exception) {
+            assertThat(exception.getResponse().getStatus()).isEqualTo(400);
+            assertThat(exception.getMessage()).isEqualTo("Invalid limit: 0, expected between 1 and 1000");
+        }
+    }
+
+    @Test
+    void getTransactions_shouldThrowBadRequest_whenLimitIsTooHigh() {
+        try {
+            bankAccountResource.getTransactions(1L, null, null, null, 1001, null);
+            fail();
+        } catch (WebApplicationException exception) {
+            assertThat(exception.getResponse().getStatus()).isEqualTo(400);
+            assertThat(exception.getMessage()).isEqualTo("Invalid limit: 1001, expected between 1 and 1000");
+        }
+    }
+
+    @Test
+    void getTransactions_shouldThrowBadRequest_whenDateIsInvalid() {
+        try {
+            bankAccountResource.getTransactions(1L, "yesterday", null, null, null, null);
+            fail();
+        } catch (WebApplicationException exception) {
+            assertThat(exception.getResponse().getStatus()).isEqualTo(400);
+            assertThat(exception.getMessage()).isEqualTo("Invalid date: yesterday");
+        }
+    }
+
     @Test
     void findById_shouldReturnBankAccount_whenBankAccountFound() {
         BankAccount expectedBankAccount = new SavingBankAccount();
@@ -1,8 +1,14 @@
 package com.cdx.bas.client.bank.transaction;
 
 import com.cdx.bas.application.bank.transaction.TransactionRepository;
+import com.cdx.bas.client.idempotency.IdempotentResponse;
 import com.cdx.bas.domain.bank.transaction.category.NewCashTransaction;
+import com.cdx.bas.domain.bank.transaction.category.NewDigitalTransaction;
+import com.cdx.bas.domain.bank.transaction.category.NewTransactionResult;
 import com.cdx.bas.domain.bank.transaction.Transaction;
+import com.cdx.bas.domain.bank.transaction.TransactionServicePort;
+import com.cdx.bas.domain.bank.transaction.status.TransactionState;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.common.WithTestResource;
 import io.quarkus.test.h2.H2DatabaseTestResource;
 import io.quarkus.test.junit.QuarkusTest;
@@ -11,13 +17,20 @@ import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.*;
 import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @QuarkusTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -30,6 +43,9 @@ class TransactionResourceTest {
     @Inject
     TransactionResource transactionResource;
 
+    @Inject
+    TransactionServicePort transactionServicePort;
+
     @Test
     @Order(1)
     void getAll_shouldReturnAllTransactions() {
@@ -47,16 +63,38 @@ class TransactionResourceTest {
                 new Transaction(11L, 1L, null, new BigDecimal("200.00"), "EUR", WITHDRAW, COMPLETED, Instant.parse("2024-12-06T18:00:10+00:00"), "transaction 11", new HashMap<>())
         );
 
-        Set<Transaction> actualTransactions = transactionResource.getAll();
+        Set<Transaction> actualTransactions = transactionResource.getAll(null, null);
         assertThat(actualTransactions).containsExactlyInAnyOrderElementsOf(expectedTransactions);
     }
 
     @Test
     @Order(2)
+    void getAll_shouldReturnNextPageOrderedById_whenCursorAndLimitAreGiven() {
+        Set<Transaction> actualTransactions = transactionResource.getAll(3L, 2);
+        assertThat(actualTransactions)
+                .extracting(Transaction::getId)
+                .containsExactly(4L, 5L);
+    }
+
+    @Test
+    @Order(3)
+    void streamAll_shouldWriteOneJsonTransactionPerLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        transactionResource.streamAll().write(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(11);
+        assertThat(lines[0]).contains("\"id\":1,");
+        assertThat(lines[10]).contains("\"id\":11,");
+    }
+
+    @Test
+    @Order(4)
     void getAllByStatus_shouldReturnEmptySet_whenStatusIsInvalid() {
         Set<Transaction> expectedCustomers = Collections.emptySet();
 
-        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("");
+        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("", null, null);
         assertThat(actualTransactions)
                 .usingRecursiveComparison()
                 .ignoringCollectionOrder()
@@ -64,7 +102,7 @@ class TransactionResourceTest {
     }
 
     @Test
-    @Order(3)
+    @Order(5)
     void getAllByStatus_shouldReturnTransactionWithCompletedStatus() {
         Set<Transaction> expectedCustomers = Set.of(
                 new Transaction(1L, 1L, 2L, new BigDecimal("1600.00"), "EUR", CREDIT, COMPLETED, Instant.parse("2024-06-06T11:00:00+00:00"), "transaction 1", Map.of("emitter_amount_before", "2000", "receiver_amount_before", "0", "emitter_amount_after", "400", "receiver_amount_after", "1600")),
@@ -73,7 +111,7 @@ class TransactionResourceTest {
                 new Transaction(11L, 1L, null, new BigDecimal("200.00"), "EUR", WITHDRAW, COMPLETED, Instant.parse("2024-12-06T18:00:10+00:00"), "transaction 11", new HashMap<>())
         );
 
-        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("completed");
+        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("completed", null, null);
         assertThat(actualTransactions)
                 .usingRecursiveComparison()
                 .ignoringCollectionOrder()
@@ -81,7 +119,7 @@ class TransactionResourceTest {
     }
 
     @Test
-    @Order(4)
+    @Order(6)
     void getAllByStatus_shouldReturnTransactionWithUnprocessedStatus() {
         Set<Transaction> expectedCustomers = Set.of(
                 new Transaction(5L, 2L, 1L, new BigDecimal("600.99"), "EUR", CREDIT, UNPROCESSED, Instant.parse("2024-11-06T17:00:00+00:00"), "transaction 5", new HashMap<>()),
@@ -91,7 +129,7 @@ class TransactionResourceTest {
                 new Transaction(9L, 8L, 7L, new BigDecimal("5000.00"), "EUR", DEBIT, UNPROCESSED, Instant.parse("2024-12-06T18:00:10+00:00"), "transaction 9", new HashMap<>())
         );
 
-        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("unprocessed");
+        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("unprocessed", null, null);
         assertThat(actualTransactions)
                 .usingRecursiveComparison()
                 .ignoringCollectionOrder()
@@ -99,13 +137,13 @@ class TransactionResourceTest {
     }
 
     @Test
-    @Order(5)
+    @Order(7)
     void getAllByStatus_shouldReturnTransactionWithErrorStatus() {
         Set<Transaction> expectedCustomers = Set.of(
                 new Transaction(2L, 6L, 3L, new BigDecimal("9200.00"), "EUR", CREDIT, ERROR, Instant.parse("2024-07-10T14:00:00+00:00"), "transaction 2", Map.of("error", "Transaction 2 deposit error for amount 9200 ..."))
         );
 
-        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("error");
+        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("error", null, null);
         assertThat(actualTransactions)
                 .usingRecursiveComparison()
                 .ignoringCollectionOrder()
@@ -113,20 +151,68 @@ class TransactionResourceTest {
     }
 
     @Test
-    @Order(6)
+    @Order(8)
     void getAllByStatus_shouldReturnTransactionWithRefusedStatus() {
         Set<Transaction> expectedCustomers = Set.of(
                 new Transaction(4L, 5L, 1L, new BigDecimal("100000.00"), "EUR", CREDIT, REFUSED, Instant.parse("2024-07-10T14:00:00+00:00"), "transaction 4", Map.of("error", "Transaction 4 deposit error for amount 100000 ..."))
         );
 
-        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("refused");
+        Set<Transaction> actualTransactions = transactionResource.getAllByStatus("refused", null, null);
         assertThat(actualTransactions)
                 .usingRecursiveComparison()
                 .ignoringCollectionOrder()
                 .isEqualTo(expectedCustomers);
     }
 
-    @Order(7)
+    @Test
+    @Order(9)
+    void getAllByStatus_shouldReturnPagesOrderedByDate_whenLimitAndCursorAreGiven() {
+        List<Transaction> expectedFirstPage = List.of(
+                new Transaction(1L, 1L, 2L, new BigDecimal("1600.00"), "EUR", CREDIT, COMPLETED, Instant.parse("2024-06-06T11:00:00+00:00"), "transaction 1", Map.of("emitter_amount_before", "2000", "receiver_amount_before", "0", "emitter_amount_after", "400", "receiver_amount_after", "1600")),
+                new Transaction(3L, 6L, 3L, new BigDecimal("9200.00"), "EUR", CREDIT, COMPLETED, Instant.parse("2024-07-10T14:00:00+00:00"), "transaction 3", Map.of("emitter_amount_before", "9200", "receiver_amount_before", "10000", "emitter_amount_after", "0", "receiver_amount_after", "19200"))
+        );
+        List<Transaction> expectedSecondPage = List.of(
+                new Transaction(10L, 1L, null, new BigDecimal("100.00"), "EUR", DEPOSIT, COMPLETED, Instant.parse("2024-12-06T18:00:10+00:00"), "transaction 10", new HashMap<>()),
+                new Transaction(11L, 1L, null, new BigDecimal("200.00"), "EUR", WITHDRAW, COMPLETED, Instant.parse("2024-12-06T18:00:10+00:00"), "transaction 11", new HashMap<>())
+        );
+
+        Set<Transaction> actualFirstPage = transactionResource.getAllByStatus("completed", null, 2);
+        Set<Transaction> actualSecondPage = transactionResource.getAllByStatus("completed", 3L, 2);
+
+        assertThat(actualFirstPage).containsExactlyElementsOf(expectedFirstPage);
+        assertThat(actualSecondPage).containsExactlyElementsOf(expectedSecondPage);
+    }
+
+    @Test
+    @Order(10)
+    void getAllByStatus_shouldThrowBadRequest_whenLimitOrCursorIsInvalid() {
+        assertThatThrownBy(() -> transactionResource.getAllByStatus("completed", null, 0))
+                .isInstanceOf(WebApplicationException.class)
+                .hasMessage("Invalid limit: 0, expected between 1 and 1000")
+                .extracting(exception -> ((WebApplicationException) exception).getResponse().getStatus())
+                .isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+        assertThatThrownBy(() -> transactionResource.getAllByStatus("completed", null, 1001))
+                .isInstanceOf(WebApplicationException.class)
+                .hasMessage("Invalid limit: 1001, expected between 1 and 1000");
+        assertThatThrownBy(() -> transactionResource.getAllByStatus("completed", -1L, null))
+                .isInstanceOf(WebApplicationException.class)
+                .hasMessage("Invalid cursor: -1");
+    }
+
+    @Test
+    @Order(10)
+    void getAll_shouldThrowBadRequest_whenLimitOrCursorIsInvalid() {
+        assertThatThrownBy(() -> transactionResource.getAll(null, 0))
+                .isInstanceOf(WebApplicationException.class)
+                .hasMessage("Invalid limit: 0, expected between 1 and 1000");
+        assertThatThrownBy(() -> transactionResource.getAll(-1L, null))
+                .isInstanceOf(WebApplicationException.class)
+                .hasMessage("Invalid cursor: -1")
+                .extracting(exception -> ((WebApplicationException) exception).getResponse().getStatus())
+                .isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+
+    @Order(11)
     @Test
     void findById_shouldReturnTransaction_whenTransactionFound() {
         Transaction expectedTransaction = new Transaction(1L, 1L, 2L, new BigDecimal("1600.00"), "EUR", CREDIT, COMPLETED, Instant.parse("2024-06-06T11:00:00+00:00"), "transaction 1", Map.of("emitter_amount_before", "2000", "receiver_amount_before", "0", "emitter_amount_after", "400", "receiver_amount_after", "1600"));
@@ -136,7 +222,7 @@ class TransactionResourceTest {
 
     }
 
-    @Order(8)
+    @Order(12)
     @Test
     void findById_shouldReturnEmptyTransaction_whenTransactionNotFound() {
         long id = 99L;
@@ -150,14 +236,26 @@ class TransactionResourceTest {
     }
 
     @Test
-    @Order(9)
+    @Order(13)
+    void findByIdOnVirtualThread_shouldCompleteWithTransaction_orWithNotFoundError() {
+        Transaction actualTransaction = transactionResource.findByIdOnVirtualThread(1L).toCompletableFuture().join();
+        CompletableFuture<Transaction> notFoundTransaction = transactionResource.findByIdOnVirtualThread(99L).toCompletableFuture();
+
+        assertThat(actualTransaction.getLabel()).isEqualTo("transaction 1");
+        assertThat(notFoundTransaction).isCompletedExceptionally();
+        assertThatThrownBy(notFoundTransaction::join)
+                .hasCauseInstanceOf(WebApplicationException.class);
+    }
+
+    @Test
+    @Order(14)
     void withdraw_shouldReturnAcceptedResponse_whenTransactionIsValidated() {
         Instant timestampBefore = Instant.now();
         Map<String, String> metadata = new HashMap<>();
         metadata.put("bill", "500,500");
         NewCashTransaction validNewTransaction = new NewCashTransaction(2L, new BigDecimal("1000.00"), "EUR", metadata);
         Transaction expectedCreatedTransaction = new Transaction(20L, 2L, null, new BigDecimal("1000.00"), "EUR", WITHDRAW, COMPLETED, timestampBefore, "withdraw:1000.00 EUR",
-                Map.of("bill", "500,500", "emitter_amount_after", "600.00", "emitter_amount_before", "1600.00"));
+                Map.of("bill", "500,500", "emitter_amount_after", "600.00", "emitter_amount_before", "1600.00", "rate_version", "default"));
 
         Response actualResponse = transactionResource.withdraw(validNewTransaction);
         Transaction actualTransaction = transactionResource.findById(20L);
@@ -172,14 +270,14 @@ class TransactionResourceTest {
     }
 
     @Test
-    @Order(10)
+    @Order(15)
     void deposit_shouldReturnAcceptedResponse_whenTransactionIsValidated() {
         Instant timestampBefore = Instant.now();
         Map<String, String> metadata = new HashMap<>();
         metadata.put("bill", "500,500");
         NewCashTransaction validNewTransaction = new NewCashTransaction(1L, new BigDecimal("1000.00"), "EUR", metadata);
         Transaction expectedCreatedTransaction = new Transaction(21L, 1L, null, new BigDecimal("1000.00"), "EUR", DEPOSIT, COMPLETED, timestampBefore, "deposit:1000.00 EUR",
-                Map.of("bill", "500,500", "emitter_amount_before", "400.00", "emitter_amount_after", "1400.00"));
+                Map.of("bill", "500,500", "emitter_amount_before", "400.00", "emitter_amount_after", "1400.00", "rate_version", "default"));
 
         Response actualResponse = transactionResource.deposit(validNewTransaction);
         Transaction actualTransaction = transactionResource.findById(21L);
@@ -195,7 +293,7 @@ class TransactionResourceTest {
 
 
     @Test
-    @Order(11)
+    @Order(16)
     void withdraw_shouldReturnErrorResponse_whenTransactionIsInvalid() {
         NewCashTransaction invalidNewTransaction = new NewCashTransaction(1L, null, null, null);
         List<String> expectedLines = Arrays.asList("Withdraw transaction: withdraw refused - domain error",
@@ -211,7 +309,7 @@ class TransactionResourceTest {
     }
 
     @Test
-    @Order(12)
+    @Order(17)
     void deposit_shouldReturnErrorResponse_whenTransactionIsInvalid() {
         NewCashTransaction invalidNewTransaction = new NewCashTransaction(null, null, null, null);
         List<String> expectedLines = Arrays.asList(
@@ -227,4 +325,156 @@ class TransactionResourceTest {
         assertThat(actualLines)
                 .containsExactlyInAnyOrderElementsOf(expectedLines);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(18)
+    void addDigitalTransactions_shouldCreateValidTransactions_andRefuseInvalidOnes() {
+        NewDigitalTransaction validTransaction = new NewDigitalTransaction(1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, "batch transaction", new HashMap<>());
+        NewDigitalTransaction invalidTransaction = new NewDigitalTransaction(1L, 2L, null, "EUR", CREDIT, "invalid batch transaction", new HashMap<>());
+
+        Response actualResponse = transactionResource.addDigitalTransactions(Arrays.asList(invalidTransaction, validTransaction, null));
+
+        assertThat(actualResponse.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        @SuppressWarnings("unchecked")
+        List<NewTransactionResult> actualResults = (List<NewTransactionResult>) actualResponse.getEntity();
+        assertThat(actualResults).extracting(NewTransactionResult::index).containsExactly(0, 1, 2);
+        assertThat(actualResults).extracting(NewTransactionResult::isCreated).containsExactly(false, true, false);
+        assertThat(actualResults.get(0).error()).contains("Amount must not be null.");
+        assertThat(actualResults.get(2).error()).isEqualTo("Transaction: digital transaction refused - empty item");
+        Long createdId = actualResults.get(1).id();
+        assertThat(transactionResource.findById(createdId))
+                .extracting(Transaction::getLabel, Transaction::getStatus)
+                .containsExactly("batch transaction", UNPROCESSED);
+        QuarkusTransaction.requiringNew().run(() -> transactionRepository.deleteById(createdId.longValue()));
+    }
+
+    @Test
+    @Order(19)
+    void addDigitalTransactions_shouldReadOneTransactionPerLine_whenBodyIsNdjson() {
+        String validLines = """
+                {"emitterAccountId":1,"receiverAccountId":2,"currency":"EUR","type":"CREDIT","label":"line 1"}
+
+                {"emitterAccountId":null,"receiverAccountId":2,"amount":5,"currency":"EUR","type":"CREDIT","label":"line 2"}
+                """;
+        String invalidLines = "{\"emitterAccountId\":1,";
+
+        Response actualResponse = transactionResource.addDigitalTransactions(new ByteArrayInputStream(validLines.getBytes(StandardCharsets.UTF_8)));
+        Response actualInvalidResponse = transactionResource.addDigitalTransactions(new ByteArrayInputStream(invalidLines.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(actualResponse.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        @SuppressWarnings("unchecked")
+        List<NewTransactionResult> actualResults = (List<NewTransactionResult>) actualResponse.getEntity();
+        assertThat(actualResults).extracting(NewTransactionResult::index).containsExactly(0, 1);
+        assertThat(actualResults).extracting(NewTransactionResult::isCreated).containsExactly(false, false);
+        assertThat(actualInvalidResponse.getStatus()).isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+        assertThat(actualInvalidResponse.getEntity().toString()).startsWith("Transaction: digital transaction batch refused - ");
+    }
+
+    @Test
+    @Order(20)
+    void addDigitalTransaction_shouldCreateTransactionOnce_whenRequestIsRetriedWithSameIdempotencyKey() {
+        String idempotencyKey = "retried-digital-transaction";
+        NewDigitalTransaction newTransaction = new NewDigitalTransaction(1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, "retried transaction", new HashMap<>());
+        int unprocessedBefore = transactionRepository.findAllByStatus(UNPROCESSED, null, 100).size();
+
+        Response firstResponse = transactionResource.addDigitalTransaction(idempotencyKey, newTransaction);
+        Response retriedResponse = transactionResource.addDigitalTransaction(idempotencyKey, newTransaction);
+        Response otherBodyResponse = transactionResource.addDigitalTransaction(idempotencyKey,
+                new NewDigitalTransaction(1L, 2L, new BigDecimal("20.00"), "EUR", CREDIT, "retried transaction", new HashMap<>()));
+        Response otherEmitterResponse = transactionResource.addDigitalTransaction(idempotencyKey,
+                new NewDigitalTransaction(3L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, "retried transaction", new HashMap<>()));
+
+        assertThat(firstResponse.getStatus()).isEqualTo(Response.Status.ACCEPTED.getStatusCode());
+        assertThat(retriedResponse.getStatus()).isEqualTo(firstResponse.getStatus());
+        assertThat(retriedResponse.getEntity()).isEqualTo(firstResponse.getEntity());
+        assertThat(otherBodyResponse.getStatus()).isEqualTo(IdempotentResponse.UNPROCESSABLE_CONTENT);
+        assertThat(otherEmitterResponse.getStatus()).isEqualTo(Response.Status.ACCEPTED.getStatusCode());
+        assertThat(transactionRepository.findAllByStatus(UNPROCESSED, null, 100)).hasSize(unprocessedBefore + 2);
+        Transaction createdTransaction = transactionRepository.findByIdempotencyKey(1L, idempotencyKey).orElseThrow();
+        Transaction otherEmitterTransaction = transactionRepository.findByIdempotencyKey(3L, idempotencyKey).orElseThrow();
+        assertThat(createdTransaction.getLabel()).isEqualTo("retried transaction");
+        QuarkusTransaction.requiringNew().run(() -> {
+            transactionRepository.deleteById(createdTransaction.getId().longValue());
+            transactionRepository.deleteById(otherEmitterTransaction.getId().longValue());
+        });
+    }
+
+    @Test
+    @Order(21)
+    void addDigitalTransaction_shouldCompareStoredFingerprint_whenRetryIsNotCached() {
+        String idempotencyKey = "stored-digital-transaction";
+        NewDigitalTransaction newTransaction = new NewDigitalTransaction(1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, "stored transaction", new HashMap<>());
+        transactionServicePort.createDigitalTransaction(newTransaction, idempotencyKey);
+
+        Response otherLabelResponse = transactionResource.addDigitalTransaction(idempotencyKey,
+                new NewDigitalTransaction(1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, "other label", new HashMap<>()));
+        Response retriedResponse = transactionResource.addDigitalTransaction(idempotencyKey,
+                new NewDigitalTransaction(1L, 2L, new BigDecimal("10.0"), "EUR", CREDIT, "stored transaction", new HashMap<>()));
+
+        assertThat(otherLabelResponse.getStatus()).isEqualTo(IdempotentResponse.UNPROCESSABLE_CONTENT);
+        assertThat(retriedResponse.getStatus()).isEqualTo(Response.Status.ACCEPTED.getStatusCode());
+        Transaction storedTransaction = transactionRepository.findByIdempotencyKey(1L, idempotencyKey).orElseThrow();
+        assertThat(storedTransaction.getIdempotencyFingerprint()).isEqualTo(newTransaction.fingerprint());
+        QuarkusTransaction.requiringNew().run(() -> transactionRepository.deleteById(storedTransaction.getId().longValue()));
+    }
+
+    @Test
+    @Order(22)
+    void deposit_shouldAcceptCashTransactionForProcessing_whenCashIsAsynchronous() {
+        transactionResource.cashAsync = true;
+        try {
+            NewCashTransaction newDeposit = new NewCashTransaction(1L, new BigDecimal("100.00"), "EUR", new HashMap<>(Map.of("bill", "50,50")));
+            NewCashTransaction newWithdraw = new NewCashTransaction(1L, new BigDecimal("100.00"), "EUR", new HashMap<>(Map.of("bill", "50,50")));
+
+            Response depositResponse = transactionResource.deposit(newDeposit);
+            Response withdrawResponse = transactionResource.withdraw(newWithdraw);
+
+            assertThat(depositResponse.getStatus()).isEqualTo(Response.Status.ACCEPTED.getStatusCode());
+            assertThat(withdrawResponse.getStatus()).isEqualTo(Response.Status.ACCEPTED.getStatusCode());
+            TransactionState acceptedDeposit = (TransactionState) depositResponse.getEntity();
+            TransactionState acceptedWithdraw = (TransactionState) withdrawResponse.getEntity();
+            assertThat(acceptedDeposit.status()).isEqualTo(UNPROCESSED);
+            assertThat(depositResponse.getLocation()).hasPath("/transactions/" + acceptedDeposit.id() + "/status");
+            assertThat(transactionResource.findStateById(acceptedDeposit.id())).isEqualTo(acceptedDeposit);
+
+            transactionServicePort.processDigitalTransactions(List.of(
+                    transactionResource.findById(acceptedDeposit.id()),
+                    transactionResource.findById(acceptedWithdraw.id())), Duration.ofSeconds(10));
+
+            assertThat(transactionResource.findStateById(acceptedDeposit.id()).status()).isEqualTo(COMPLETED);
+            assertThat(transactionResource.findStateById(acceptedWithdraw.id()).status()).isEqualTo(COMPLETED);
+            QuarkusTransaction.requiringNew().run(() -> {
+                transactionRepository.deleteById(acceptedDeposit.id().longValue());
+                transactionRepository.deleteById(acceptedWithdraw.id().longValue());
+            });
+        } finally {
+            transactionResource.cashAsync = false;
+        }
+    }
+
+    @Test
+    @Order(23)
+    void findStateById_shouldThrowNotFound_whenTransactionDoesNotExist() {
+        assertThatThrownBy(() -> transactionResource.findStateById(99999L))
+                .isInstanceOf(WebApplicationException.class)
+                .extracting(exception -> ((WebApplicationException) exception).getResponse().getStatus())
+                .isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
+    }
+
+    @Test
+    @Order(24)
+    void addDigitalTransactions_shouldRefuseBatch_whenItHasMoreItemsThanTheMaximum() {
+        String line = "{\"emitterAccountId\":1,\"receiverAccountId\":2,\"amount\":5,\"currency\":\"EUR\",\"type\":\"CREDIT\",\"label\":\"line\"}\n";
+        int unprocessedBefore = transactionRepository.findAllByStatus(UNPROCESSED, null, 2000).size();
+
+        Response actualNdjsonResponse = transactionResource.addDigitalTransactions(
+                new ByteArrayInputStream(line.repeat(1001).getBytes(StandardCharsets.UTF_8)));
+        Response actualResponse = transactionResource.addDigitalTransactions(Collections.nCopies(1001, (NewDigitalTransaction) null));
+
+        assertThat(actualNdjsonResponse.getStatus()).isEqualTo(Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode());
+        assertThat(actualNdjsonResponse.getEntity()).isEqualTo("Transaction: digital transaction batch refused - too many items, the maximum is 1000");
+        assertThat(actualResponse.getStatus()).isEqualTo(Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode());
+        assertThat(actualResponse.getEntity()).isEqualTo(actualNdjsonResponse.getEntity());
+        assertThat(transactionRepository.findAllByStatus(UNPROCESSED, null, 2000)).hasSize(unprocessedBefore);
+    }
+}
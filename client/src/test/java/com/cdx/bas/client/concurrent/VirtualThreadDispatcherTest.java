@@ -0,0 +1,60 @@
+package com.cdx.bas.client.concurrent;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.h2.H2DatabaseTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@QuarkusTest
+@WithTestResource(H2DatabaseTestResource.class)
+class VirtualThreadDispatcherTest {
+
+    VirtualThreadDispatcher virtualThreadDispatcher = new VirtualThreadDispatcher();
+
+    @AfterEach
+    void tearDown() {
+        virtualThreadDispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_shouldRunOnCallingThread_whenVirtualThreadsAreDisabled() {
+        virtualThreadDispatcher.virtualThreads = false;
+        Thread callingThread = Thread.currentThread();
+
+        Thread actualThread = virtualThreadDispatcher.dispatch(Thread::currentThread).toCompletableFuture().join();
+
+        assertThat(actualThread).isSameAs(callingThread);
+    }
+
+    @Test
+    void dispatch_shouldRunOnVirtualThreadWithRequestContext_whenVirtualThreadsAreEnabled() {
+        virtualThreadDispatcher.virtualThreads = true;
+
+        boolean[] actualThread = virtualThreadDispatcher.dispatch(() -> new boolean[]{
+                Thread.currentThread().isVirtual(),
+                Arc.container().requestContext().isActive()
+        }).toCompletableFuture().join();
+
+        assertThat(actualThread).containsExactly(true, true);
+    }
+
+    @Test
+    void dispatch_shouldCompleteWithThrownException_whenOperationFails() {
+        virtualThreadDispatcher.virtualThreads = true;
+
+        CompletableFuture<Object> result = virtualThreadDispatcher.dispatch(() -> {
+            throw new IllegalStateException("blocking operation failed");
+        }).toCompletableFuture();
+
+        assertThatThrownBy(result::join)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("blocking operation failed");
+    }
+}
@@ -0,0 +1,92 @@
+package com.cdx.bas.client.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyCacheTest {
+
+    IdempotencyCache idempotencyCache = new IdempotencyCache();
+    long now;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyCache.maxSize = 2;
+        idempotencyCache.ttl = Duration.ofSeconds(10);
+        idempotencyCache.nanoClock = () -> now;
+    }
+
+    @Test
+    void find_shouldReturnStoredResponse_untilItExpires() {
+        // Arrange
+        IdempotentResponse response = new IdempotentResponse(202, "Transaction: deposit accepted");
+        idempotencyCache.put(deposit(1L, "key-1", "{\"amount\":100}"), response);
+
+        // Act
+        now = Duration.ofSeconds(9).toNanos();
+        boolean foundBeforeExpiration = idempotencyCache.find(deposit(1L, "key-1", "{\"amount\":100}")).isPresent();
+        now = Duration.ofSeconds(10).toNanos();
+        boolean foundAfterExpiration = idempotencyCache.find(deposit(1L, "key-1", "{\"amount\":100}")).isPresent();
+
+        // Assert
+        assertThat(foundBeforeExpiration).isTrue();
+        assertThat(foundAfterExpiration).isFalse();
+        assertThat(idempotencyCache.size()).isZero();
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedKey_whenMaxSizeIsReached() {
+        // Arrange
+        idempotencyCache.put(deposit(1L, "key-1", "body"), new IdempotentResponse(202, "first"));
+        idempotencyCache.put(deposit(1L, "key-2", "body"), new IdempotentResponse(202, "second"));
+        idempotencyCache.find(deposit(1L, "key-1", "body"));
+
+        // Act
+        idempotencyCache.put(deposit(1L, "key-3", "body"), new IdempotentResponse(400, "third"));
+
+        // Assert
+        assertThat(idempotencyCache.find(deposit(1L, "key-1", "body"))).map(IdempotentResponse::entity).contains("first");
+        assertThat(idempotencyCache.find(deposit(1L, "key-2", "body"))).isEmpty();
+        assertThat(idempotencyCache.find(deposit(1L, "key-3", "body"))).map(IdempotentResponse::status).contains(400);
+    }
+
+    @Test
+    void find_shouldNotReplayResponse_whenKeyIsReusedOnAnotherEndpointOrByAnotherEmitter() {
+        // Arrange
+        idempotencyCache.put(deposit(1L, "key-1", "body"), new IdempotentResponse(202, "deposit accepted"));
+
+        // Act & Assert
+        assertThat(idempotencyCache.find(new IdempotentRequest("POST", "/transactions/withdraw", 1L, "key-1", "body"))).isEmpty();
+        assertThat(idempotencyCache.find(deposit(2L, "key-1", "body"))).isEmpty();
+        assertThat(idempotencyCache.find(deposit(1L, "key-1", "body"))).map(IdempotentResponse::status).contains(202);
+    }
+
+    @Test
+    void find_shouldRefuseRequest_whenKeyIsReusedWithAnotherBody() {
+        // Arrange
+        idempotencyCache.put(deposit(1L, "key-1", "{\"amount\":100}"), new IdempotentResponse(202, "deposit accepted"));
+
+        // Act
+        IdempotentResponse response = idempotencyCache.find(deposit(1L, "key-1", "{\"amount\":200}")).orElseThrow();
+
+        // Assert
+        assertThat(response.status()).isEqualTo(IdempotentResponse.UNPROCESSABLE_CONTENT);
+        assertThat(response.isReplayable()).isTrue();
+        assertThat((String) response.entity()).contains("key-1");
+    }
+
+    @Test
+    void isReplayable_shouldBeFalse_forServerErrorsAndFullBacklog() {
+        assertThat(new IdempotentResponse(202, "accepted").isReplayable()).isTrue();
+        assertThat(new IdempotentResponse(400, "invalid").isReplayable()).isTrue();
+        assertThat(new IdempotentResponse(429, "backlog full").isReplayable()).isFalse();
+        assertThat(new IdempotentResponse(500, "unexpected").isReplayable()).isFalse();
+    }
+
+    private static IdempotentRequest deposit(Long emitterAccountId, String idempotencyKey, String fingerprint) {
+        return new IdempotentRequest("POST", "/transactions/deposit", emitterAccountId, idempotencyKey, fingerprint);
+    }
+}
@@ -1,15 +1,27 @@
 package com.cdx.bas.domain.bank.account;
 
+import com.cdx.bas.domain.bank.transaction.Transaction;
+import jakarta.ws.rs.core.StreamingOutput;
+
 import java.util.List;
 
 public interface BankAccountControllerPort {
 
     /**
-     * Find all bank accounts
+     * Find a page of bank accounts ordered by id, without their transactions
+     *
+     * @param after id of the last BankAccount of the previous page, null for the first page
+     * @param limit maximum number of BankAccount in the page, null for the default limit
+     * @return BankAccount of the page
+     */
+    public List<BankAccount> getAll(Long after, Integer limit);
+
+    /**
+     * Stream all bank accounts as newline delimited JSON, one BankAccount per line
      *
-     * @return all BankAccount found
+     * @return output writing each BankAccount as it is read
      */
-    public List<BankAccount> getAll();
+    public StreamingOutput streamAll();
     
     /**
      * Find BankAccount from its id
@@ -18,4 +30,17 @@ public interface BankAccountControllerPort {
      * @return BankAccount corresponding to the id
      */
     public BankAccount findById(long id);
+
+    /**
+     * Find a page of the transactions of a BankAccount, most recent first
+     *
+     * @param id        of BankAccount
+     * @param from      inclusive ISO-8601 lower bound of the date, null for no bound
+     * @param to        exclusive ISO-8601 upper bound of the date, null for no bound
+     * @param after     id of the last Transaction of the previous page, null for the first page
+     * @param limit     maximum number of Transaction in the page, null for the default limit
+     * @param direction issued, incoming or all (default) transactions of the BankAccount
+     * @return Transaction of the page
+     */
+    public List<Transaction> getTransactions(long id, String from, String to, Long after, Integer limit, String direction);
 }
@@ -1,17 +1,29 @@
 package com.cdx.bas.domain.bank.account;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BankAccountPersistencePort {
 
 
     /**
-     * find all accounts
+     * find a page of accounts ordered by id, with their balance and customers but without transactions
      *
-     * @return Set with all BankAccount
+     * @param after id of the last BankAccount of the previous page, null for the first page
+     * @param limit maximum number of BankAccount in the page
+     * @return List with the BankAccount of the page
      */
-    public List<BankAccount> getAll();
+    public List<BankAccount> getAll(Long after, int limit);
+
+    /**
+     * give every account to the consumer, ordered by id and without transactions, without holding the whole result in memory
+     *
+     * @param consumer called for each BankAccount as it is read
+     */
+    public void streamAll(Consumer<BankAccount> consumer);
     
     /**
      * find BankAccount from its id
@@ -20,6 +32,22 @@ public interface BankAccountPersistencePort {
      * @return <Optional>BankAccount if id corresponding or not to a BankAccount
      */
     public Optional<BankAccount> findById(long id);
+
+    /**
+     * find BankAccount from its id with only its type, balance and customers, without any transaction
+     *
+     * @param id of BankAccount
+     * @return <Optional>BankAccount with empty issued and incoming transactions
+     */
+    public Optional<BankAccount> findBalanceById(long id);
+
+    /**
+     * find the accounts with their balance and customers only, their transactions are not loaded, with a single query
+     *
+     * @param ids of the accounts, unknown ids are ignored
+     * @return List with the BankAccount found, ordered by id
+     */
+    public List<BankAccount> findBalancesByIds(Collection<Long> ids);
     
     /**
      * create the current BankAccount
@@ -36,6 +64,17 @@ public interface BankAccountPersistencePort {
      * @return updated BankAccount
      */
     public BankAccount update(BankAccount bankAccount);
+
+    /**
+     * add a delta to the balance of a BankAccount in a single statement, only if the new balance respects the limits
+     *
+     * @param id of BankAccount
+     * @param delta to add to the balance, negative to withdraw
+     * @param floor lowest allowed balance after the change
+     * @param ceiling highest allowed balance after the change
+     * @return true if the balance has been changed, false if the BankAccount does not exist or the limits are not respected
+     */
+    public boolean applyBalanceDelta(long id, BigDecimal delta, BigDecimal floor, BigDecimal ceiling);
     
     /**
      * delete BankAccount from its id
@@ -2,17 +2,41 @@ package com.cdx.bas.domain.bank.account;
 
 import com.cdx.bas.domain.bank.transaction.Transaction;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BankAccountServicePort {
 
     /**
-     * find all accounts
+     * find a page of accounts ordered by id, without their transactions
      *
-     * @return List with all BankAccount
+     * @param after id of the last BankAccount of the previous page, null for the first page
+     * @param limit maximum number of BankAccount in the page, null for the default limit
+     * @return List with the BankAccount of the page
      */
-    List<BankAccount> getAll();
+    List<BankAccount> getAll(Long after, Integer limit);
 
+    /**
+     * give every account to the consumer, ordered by id and without transactions
+     *
+     * @param consumer called for each BankAccount as it is read
+     */
+    void streamAll(Consumer<BankAccount> consumer);
+
+    /**
+     * find a page of the transactions of a bank account, most recent first
+     *
+     * @param bankAccountId id of the bank account
+     * @param direction     issued, incoming or all (default) transactions of the account
+     * @param from          inclusive ISO-8601 lower bound of the date, null for no bound
+     * @param to            exclusive ISO-8601 upper bound of the date, null for no bound
+     * @param after         id of the last transaction of the previous page, null for the first page
+     * @param limit         maximum number of transactions in the page, null for the default limit
+     * @return List with the transactions of the page
+     * @throws IllegalArgumentException if the direction, a date or the limit is invalid
+     */
+    List<Transaction> findTransactionHistory(long bankAccountId, String direction, String from, String to, Long after, Integer limit);
 
     /**
      * find bank account from id
@@ -22,6 +46,14 @@ public interface BankAccountServicePort {
      */
     BankAccount findBankAccount(Long bankAccountId);
 
+    /**
+     * find bank account from id with its balance only, its transactions are not loaded
+     *
+     * @param bankAccountId
+     * @return bank account found without transactions
+     */
+    BankAccount findBankAccountBalance(Long bankAccountId);
+
     /**
      * add transaction to bank account
      *
@@ -37,4 +69,13 @@ public interface BankAccountServicePort {
      * @return bank account updated
      */
     BankAccount updateBankAccount(BankAccount bankAccount);
+
+    /**
+     * apply a balance change to bank account in database, checked against the limits of its type
+     *
+     * @param bankAccount to change
+     * @param delta to add to the balance, negative to withdraw
+     * @throws BankAccountException if the new balance does not respect the limits of the bank account
+     */
+    void applyBalanceDelta(BankAccount bankAccount, BigDecimal delta);
 }
@@ -0,0 +1,54 @@
+package com.cdx.bas.domain.bank.account.validation;
+
+import com.cdx.bas.domain.bank.account.BankAccountFactory;
+import com.cdx.bas.domain.bank.account.type.AccountType;
+import com.cdx.bas.domain.money.Amount;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Balance restrictions of a bank account type, read once from the {@link Amount} constraint of its balance.
+ * They let the persistence check a balance change in the database without loading and validating the whole account.
+ *
+ * @param min     lowest allowed balance
+ * @param max     highest allowed balance
+ * @param message violation message of the constraint
+ */
+public record BalanceLimits(BigDecimal min, BigDecimal max, String message) {
+
+    private static final Map<AccountType, BalanceLimits> LIMITS_BY_TYPE = new EnumMap<>(AccountType.class);
+
+    static {
+        for (AccountType type : AccountType.values()) {
+            LIMITS_BY_TYPE.put(type, readLimits(type));
+        }
+    }
+
+    public static BalanceLimits of(AccountType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Unexpected account type null");
+        }
+        return LIMITS_BY_TYPE.get(type);
+    }
+
+    public boolean isRespectedBy(BigDecimal balance) {
+        return balance.compareTo(min) >= 0 && balance.compareTo(max) <= 0;
+    }
+
+    private static BalanceLimits readLimits(AccountType type) {
+        try {
+            Amount amount = BankAccountFactory.createBankAccount(type).getClass()
+                    .getMethod("getBalance")
+                    .getAnnotation(Amount.class);
+            if (amount != null) {
+                return new BalanceLimits(BigDecimal.valueOf(amount.min()), BigDecimal.valueOf(amount.max()), amount.message());
+            }
+        } catch (IllegalArgumentException | NoSuchMethodException exception) {
+            // account type without dedicated bank account, no restriction to apply
+        }
+        return new BalanceLimits(BigDecimal.valueOf(Long.MIN_VALUE), BigDecimal.valueOf(Long.MAX_VALUE),
+                "balance amount must respect the bank account restrictions.");
+    }
+}
@@ -64,6 +64,11 @@ public class Transaction implements Comparable<Transaction> {
     @NotNull(message = "Metadata must not be null.")
     private Map<String, String> metadata = new HashMap<>();
 
+    @Size(max = 255, message = "Idempotency key must not exceed 255 characters.")
+    private String idempotencyKey;
+
+    private String idempotencyFingerprint;
+
     @Override
     public int compareTo(Transaction transactionToCompare) {
         return this.getDate().compareTo(transactionToCompare.getDate());
@@ -165,6 +170,22 @@ public class Transaction implements Comparable<Transaction> {
         this.metadata = metadata;
     }
 
+    public @Size(max = 255, message = "Idempotency key must not exceed 255 characters.") String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(@Size(max = 255, message = "Idempotency key must not exceed 255 characters.") String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyFingerprint() {
+        return idempotencyFingerprint;
+    }
+
+    public void setIdempotencyFingerprint(String idempotencyFingerprint) {
+        this.idempotencyFingerprint = idempotencyFingerprint;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -178,11 +199,13 @@ public class Transaction implements Comparable<Transaction> {
                 && type == that.type && status == that.status
                 && Objects.equals(date, that.date)
                 && Objects.equals(label, that.label)
-                && Objects.equals(metadata, that.metadata);
+                && Objects.equals(metadata, that.metadata)
+                && Objects.equals(idempotencyKey, that.idempotencyKey)
+                && Objects.equals(idempotencyFingerprint, that.idempotencyFingerprint);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, emitterAccountId, receiverAccountId, amount, currency, type, status, date, label, metadata);
+        return Objects.hash(id, emitterAccountId, receiverAccountId, amount, currency, type, status, date, label, metadata, idempotencyKey, idempotencyFingerprint);
     }
 }
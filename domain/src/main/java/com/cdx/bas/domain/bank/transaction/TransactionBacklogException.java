@@ -0,0 +1,31 @@
+package com.cdx.bas.domain.bank.transaction;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Thrown when a new transaction is not admitted because too many transactions are waiting to be processed
+ */
+public class TransactionBacklogException extends TransactionException {
+
+    @Serial
+    private static final long serialVersionUID = -3390845412722473114L;
+
+    private final transient Duration retryAfter;
+
+    public TransactionBacklogException(String errorMessage, Duration retryAfter) {
+        super(errorMessage);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * @return delay before a new attempt, rounded up to a whole number of seconds as expected by Retry-After
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, retryAfter.plusNanos(999_999_999).toSeconds());
+    }
+}
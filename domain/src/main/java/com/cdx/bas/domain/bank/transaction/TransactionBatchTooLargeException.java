@@ -0,0 +1,16 @@
+package com.cdx.bas.domain.bank.transaction;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a batch of new transactions has more items than the configured maximum, none of them is created
+ */
+public class TransactionBatchTooLargeException extends TransactionException {
+
+    @Serial
+    private static final long serialVersionUID = 4518037715822093371L;
+
+    public TransactionBatchTooLargeException(String errorMessage) {
+        super(errorMessage);
+    }
+}
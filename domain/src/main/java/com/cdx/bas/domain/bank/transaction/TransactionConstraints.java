@@ -0,0 +1,217 @@
+package com.cdx.bas.domain.bank.transaction;
+
+import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
+import com.cdx.bas.domain.bank.transaction.category.digital.type.TypeValidator;
+import com.cdx.bas.domain.bank.transaction.category.digital.type.ValidType;
+import com.cdx.bas.domain.bank.transaction.category.group.AdvancedGroup;
+import com.cdx.bas.domain.bank.transaction.status.StatusValidator;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
+import com.cdx.bas.domain.bank.transaction.status.ValidStatus;
+import com.cdx.bas.domain.currency.validation.ValidCurrency;
+import jakarta.validation.Constraint;
+import jakarta.validation.constraints.*;
+import jakarta.validation.groups.Default;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Constraints of a {@link Transaction} for one state group and one category group, compiled into a flat array of checks
+ * evaluated in a single pass.
+ * <p>
+ * The checks are read once from the constraint annotations of the transaction fields and ordered like the four
+ * validations they replace: default group, {@link AdvancedGroup}, state group then category group, the first violation
+ * of a property being the one reported. A valid transaction is checked without allocating anything, the violations are
+ * only collected from the first failed check. Annotations that cannot be compiled, such as a message template to
+ * interpolate, leave the combination to Bean Validation.
+ */
+final class TransactionConstraints {
+
+    private static final Map<String, Function<Transaction, Object>> PROPERTIES = Map.ofEntries(
+            Map.entry("id", Transaction::getId),
+            Map.entry("emitterAccountId", Transaction::getEmitterAccountId),
+            Map.entry("receiverAccountId", Transaction::getReceiverAccountId),
+            Map.entry("amount", Transaction::getAmount),
+            Map.entry("currency", Transaction::getCurrency),
+            Map.entry("type", Transaction::getType),
+            Map.entry("status", Transaction::getStatus),
+            Map.entry("date", Transaction::getDate),
+            Map.entry("label", Transaction::getLabel),
+            Map.entry("metadata", Transaction::getMetadata),
+            Map.entry("idempotencyKey", Transaction::getIdempotencyKey));
+
+    private final Check[] checks;
+
+    private TransactionConstraints(Check[] checks) {
+        this.checks = checks;
+    }
+
+    private record Rule(Class<?>[] groups, Predicate<Object> isValid, Function<Object, String> message) {
+    }
+
+    private record Check(String property, Function<Transaction, Object> accessor, Predicate<Object> isValid,
+                         Function<Object, String> message, boolean defaultGroup) {
+    }
+
+    /**
+     * @param stateGroup    group of the transaction state, new or existing
+     * @param categoryGroup group of the transaction category, digital or physical cash
+     * @param hasCurrency   whether a currency has an exchange rate
+     * @return the compiled constraints, or empty if one of the constraints cannot be compiled
+     */
+    static Optional<TransactionConstraints> compile(Class<?> stateGroup, Class<?> categoryGroup, Predicate<String> hasCurrency) {
+        List<Class<?>> phases = List.of(Default.class, AdvancedGroup.class, stateGroup, categoryGroup);
+        List<Check> checks = new ArrayList<>();
+        for (Class<?> phase : phases) {
+            for (Field field : Transaction.class.getDeclaredFields()) {
+                for (Annotation annotation : getConstraints(field)) {
+                    Rule rule = compile(annotation, field.getType(), hasCurrency);
+                    Function<Transaction, Object> accessor = PROPERTIES.get(field.getName());
+                    if (rule == null || accessor == null) {
+                        return Optional.empty();
+                    }
+                    if (isInGroup(rule.groups(), phase)) {
+                        checks.add(new Check(field.getName(), accessor, rule.isValid(), rule.message(), phase == Default.class));
+                    }
+                }
+            }
+        }
+        return Optional.of(new TransactionConstraints(checks.toArray(Check[]::new)));
+    }
+
+    /**
+     * @param transaction to check
+     * @return message of the first violation of each property, or null if the transaction is valid
+     */
+    Map<String, String> check(Transaction transaction) {
+        Map<String, String> violationsByFields = null;
+        for (Check check : checks) {
+            Object value = check.accessor().apply(transaction);
+            if (!check.isValid().test(value)) {
+                if (violationsByFields == null) {
+                    violationsByFields = new HashMap<>();
+                }
+                if (check.defaultGroup()) {
+                    violationsByFields.put(check.property(), check.message().apply(value));
+                } else {
+                    violationsByFields.putIfAbsent(check.property(), check.message().apply(value));
+                }
+            }
+        }
+        return violationsByFields;
+    }
+
+    private static List<Annotation> getConstraints(Field field) {
+        List<Annotation> constraints = new ArrayList<>();
+        for (Annotation annotation : field.getDeclaredAnnotations()) {
+            if (annotation.annotationType().isAnnotationPresent(Constraint.class)) {
+                constraints.add(annotation);
+            } else {
+                constraints.addAll(getRepeatedConstraints(annotation));
+            }
+        }
+        return constraints;
+    }
+
+    private static List<Annotation> getRepeatedConstraints(Annotation container) {
+        for (Method value : container.annotationType().getDeclaredMethods()) {
+            if ("value".equals(value.getName()) && value.getReturnType().isArray()
+                    && value.getReturnType().getComponentType().isAnnotationPresent(Constraint.class)) {
+                try {
+                    return List.of((Annotation[]) value.invoke(container));
+                } catch (IllegalAccessException | InvocationTargetException exception) {
+                    throw new IllegalStateException("Cannot read repeated constraints of " + container, exception);
+                }
+            }
+        }
+        return List.of();
+    }
+
+    private static boolean isInGroup(Class<?>[] groups, Class<?> phase) {
+        if (groups.length == 0) {
+            return phase == Default.class;
+        }
+        return Arrays.asList(groups).contains(phase);
+    }
+
+    private static Rule compile(Annotation annotation, Class<?> type, Predicate<String> hasCurrency) {
+        if (annotation instanceof NotNull notNull) {
+            return rule(notNull.groups(), notNull.message(), Objects::nonNull);
+        } else if (annotation instanceof Null isNull) {
+            return rule(isNull.groups(), isNull.message(), Objects::isNull);
+        } else if (annotation instanceof Min min && isNumber(type)) {
+            return compile(min);
+        } else if (annotation instanceof Positive positive && isNumber(type)) {
+            return rule(positive.groups(), positive.message(), value -> value == null || signum(value) > 0);
+        } else if (annotation instanceof NotEmpty notEmpty && hasSize(type)) {
+            return rule(notEmpty.groups(), notEmpty.message(), value -> value != null && size(value) > 0);
+        } else if (annotation instanceof Size size && hasSize(type)) {
+            return rule(size.groups(), size.message(),
+                    value -> value == null || (size(value) >= size.min() && size(value) <= size.max()));
+        } else if (annotation instanceof ValidCurrency validCurrency && type == String.class) {
+            return rule(validCurrency.groups(), validCurrency.message(), value -> hasCurrency.test((String) value));
+        } else if (annotation instanceof ValidType validType) {
+            return compile(validType);
+        } else if (annotation instanceof ValidStatus validStatus) {
+            return new Rule(validStatus.groups(),
+                    value -> value == null || value == validStatus.expectedStatus(),
+                    value -> StatusValidator.unexpectedStatusMessage((TransactionStatus) value, validStatus.expectedStatus()));
+        }
+        return null;
+    }
+
+    private static Rule compile(Min min) {
+        BigDecimal minimum = BigDecimal.valueOf(min.value());
+        return rule(min.groups(), min.message(), value -> {
+            if (value instanceof BigDecimal decimal) {
+                return decimal.compareTo(minimum) >= 0;
+            }
+            return value == null || ((Number) value).longValue() >= min.value();
+        });
+    }
+
+    private static Rule compile(ValidType validType) {
+        Set<TransactionType> expectedTypes = EnumSet.noneOf(TransactionType.class);
+        expectedTypes.addAll(Arrays.asList(validType.expectedTypes()));
+        return new Rule(validType.groups(),
+                value -> value == null || expectedTypes.contains(value),
+                value -> TypeValidator.unexpectedTypeMessage((TransactionType) value, validType.expectedTypes()));
+    }
+
+    private static Rule rule(Class<?>[] groups, String message, Predicate<Object> isValid) {
+        if (message.indexOf('{') >= 0 || message.indexOf('$') >= 0) {
+            return null;
+        }
+        return new Rule(groups, isValid, value -> message);
+    }
+
+    private static boolean isNumber(Class<?> type) {
+        return type == BigDecimal.class || type == Long.class || type == Integer.class;
+    }
+
+    private static boolean hasSize(Class<?> type) {
+        return type == String.class || Map.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type);
+    }
+
+    private static int signum(Object number) {
+        if (number instanceof BigDecimal decimal) {
+            return decimal.signum();
+        }
+        return Long.signum(((Number) number).longValue());
+    }
+
+    private static int size(Object value) {
+        if (value instanceof CharSequence charSequence) {
+            return charSequence.length();
+        } else if (value instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        return ((Collection<?>) value).size();
+    }
+}
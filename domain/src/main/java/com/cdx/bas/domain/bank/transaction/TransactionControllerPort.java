@@ -2,27 +2,42 @@ package com.cdx.bas.domain.bank.transaction;
 
 import com.cdx.bas.domain.bank.transaction.category.NewCashTransaction;
 import com.cdx.bas.domain.bank.transaction.category.NewDigitalTransaction;
+import com.cdx.bas.domain.bank.transaction.status.TransactionState;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.Set;
 
 public interface TransactionControllerPort {
 
     /**
-     * Find all Transaction
+     * Find a page of Transaction ordered by id
      *
-     * @return all Transaction found
+     * @param after id of the last Transaction of the previous page, null for the first page
+     * @param limit maximum number of Transaction in the page, null for the default limit
+     * @return Transaction of the page
      */
-    Set<Transaction> getAll();
+    Set<Transaction> getAll(Long after, Integer limit);
 
     /**
-     * Find all Transaction with matching status
+     * Stream all Transaction as newline delimited JSON, one Transaction per line
+     *
+     * @return output writing each Transaction as it is read
+     */
+    StreamingOutput streamAll();
+
+    /**
+     * Find a page of Transaction with matching status, ordered by date
      *
      * @param status of Transaction
-     * @return all Transaction corresponding to the status
+     * @param after id of the last Transaction of the previous page, null for the first page
+     * @param limit maximum number of Transaction in the page, null for the default limit
+     * @return Transaction of the page corresponding to the status
      */
-    Set<Transaction> getAllByStatus(@PathParam("status") String status) ;
+    Set<Transaction> getAllByStatus(@PathParam("status") String status, Long after, Integer limit);
 
     /**
      * Find Transaction from its id
@@ -32,6 +47,14 @@ public interface TransactionControllerPort {
      */
     Transaction findById(long id);
 
+    /**
+     * Find the status of a Transaction from its id
+     *
+     * @param id of Transaction
+     * @return id and current status of the Transaction
+     */
+    TransactionState findStateById(long id);
+
     /**
      * Create a new digital transaction
      *
@@ -40,6 +63,31 @@ public interface TransactionControllerPort {
      */
     Response addDigitalTransaction(NewDigitalTransaction newTransaction);
 
+    /**
+     * Create a new digital transaction once per idempotency key, a retry with the same key gets the first response
+     *
+     * @param idempotencyKey key of the request, null to submit without deduplication
+     * @param newTransaction to add to a BankAccount
+     * @return Response with status corresponding to transaction validation or not
+     */
+    Response addDigitalTransaction(String idempotencyKey, NewDigitalTransaction newTransaction);
+
+    /**
+     * Create a batch of digital transactions sent as a JSON array
+     *
+     * @param newTransactions to add, in order
+     * @return Response with the result of each transaction, its id or the reason of its refusal
+     */
+    Response addDigitalTransactions(List<NewDigitalTransaction> newTransactions);
+
+    /**
+     * Create a batch of digital transactions sent as newline delimited JSON, one transaction per line
+     *
+     * @param newTransactions stream of the transactions to add, in order
+     * @return Response with the result of each transaction, its id or the reason of its refusal
+     */
+    Response addDigitalTransactions(InputStream newTransactions);
+
     /**
      * Process deposit of cash
      *
@@ -48,6 +96,15 @@ public interface TransactionControllerPort {
      */
     Response deposit(NewCashTransaction newCashTransaction);
 
+    /**
+     * Process deposit of cash once per idempotency key, a retry with the same key gets the first response
+     *
+     * @param idempotencyKey     key of the request, null to submit without deduplication
+     * @param newCashTransaction with detail of cash transaction
+     * @return Response with status corresponding to transaction validation or not
+     */
+    Response deposit(String idempotencyKey, NewCashTransaction newCashTransaction);
+
     /**
      * Process deposit of cash
      *
@@ -56,5 +113,14 @@ public interface TransactionControllerPort {
      */
     Response withdraw(NewCashTransaction newCashTransaction);
 
+    /**
+     * Process withdraw of cash once per idempotency key, a retry with the same key gets the first response
+     *
+     * @param idempotencyKey     key of the request, null to submit without deduplication
+     * @param newCashTransaction with detail of cash transaction
+     * @return Response with status corresponding to transaction validation or not
+     */
+    Response withdraw(String idempotencyKey, NewCashTransaction newCashTransaction);
+
 
 }
@@ -1,10 +1,18 @@
 package com.cdx.bas.domain.bank.transaction;
 
+import com.cdx.bas.domain.bank.transaction.history.TransactionDirection;
+import com.cdx.bas.domain.bank.transaction.status.TransactionBacklog;
+import com.cdx.bas.domain.bank.transaction.status.TransactionState;
 import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public interface TransactionPersistencePort {
     
@@ -16,6 +24,46 @@ public interface TransactionPersistencePort {
      */
     public Optional<Transaction> findById(long id);
 
+    /**
+     * find the Transaction created by the request of the emitter account carrying the idempotency key,
+     * keys are unique per emitter account
+     *
+     * @param emitterAccountId id of the emitter account of the request
+     * @param idempotencyKey   key sent with the request that created the transaction
+     * @return <Optional>Transaction if a transaction was created with this key by the emitter account
+     */
+    Optional<Transaction> findByIdempotencyKey(Long emitterAccountId, String idempotencyKey);
+
+    /**
+     * find the status of a Transaction without loading the transaction
+     *
+     * @param id of Transaction
+     * @return <Optional>TransactionState if id corresponding or not to a Transaction
+     */
+    Optional<TransactionState> findStateById(long id);
+
+    /**
+     * run the processing of a transaction inside a savepoint of the current database transaction.
+     * When the processing fails, every change it made is rolled back to the savepoint and only the transaction
+     * is written, with the refused or error status the processing left on it, in error otherwise.
+     *
+     * @param transaction to process
+     * @param processing  applied to the transaction, throws when the transaction is refused or fails
+     * @return true if the processing succeeded, false if it was rolled back
+     */
+    public boolean processWithSavepoint(Transaction transaction, Consumer<Transaction> processing);
+
+    /**
+     * run a batch of work inside a savepoint of the current database transaction.
+     * When the result is not complete, every change of the batch is rolled back to the savepoint.
+     *
+     * @param work       batch of work to run
+     * @param isComplete whether the result of the work can be kept
+     * @param <T>        type of the result of the work
+     * @return result of the work, whether it was kept or rolled back
+     */
+    public <T> T runWithSavepoint(Supplier<T> work, Predicate<T> isComplete);
+
     /**
      * find Transaction from its id
      *
@@ -33,25 +81,90 @@ public interface TransactionPersistencePort {
     public Set<Transaction> findTransactionsByReceiverBankAccount(long receiverBankAccountId);
 
     /**
-     * find all transactions
+     * find a page of the history of a bank account, most recent transactions first (date then id descending)
      *
-     * @return Set with all the transactions
+     * @param accountId id of the bank account
+     * @param direction issued, incoming or all transactions of the account
+     * @param from      inclusive lower bound of the date, null for no bound
+     * @param to        exclusive upper bound of the date, null for no bound
+     * @param after     id of the last transaction of the previous page, null for the first page
+     * @param limit     maximum number of transactions in the page
+     * @return List with the transactions of the page
      */
-    public Set<Transaction> getAll();
+    public List<Transaction> findAccountHistory(long accountId, TransactionDirection direction, Instant from, Instant to, Long after, int limit);
 
     /**
-     * find all transactions by status
+     * find a page of transactions ordered by id
      *
-     * @return Set with all the transactions by status
+     * @param after id of the last transaction of the previous page, null for the first page
+     * @param limit maximum number of transactions in the page
+     * @return ordered Set with the transactions of the page
      */
-    public Set<Transaction> findAllByStatus(TransactionStatus transactionStatus);
+    public Set<Transaction> getAll(Long after, int limit);
 
     /**
-     * find all unprocessed transactions in a queue
-     * 
-     * @return queue with all the unprocessed transactions
+     * give every transaction to the consumer, ordered by id, without holding the whole result in memory
+     *
+     * @param consumer called for each transaction as it is read
+     */
+    public void streamAll(Consumer<Transaction> consumer);
+
+    /**
+     * find a page of transactions by status, ordered by date then id
+     *
+     * @param transactionStatus of the transactions
+     * @param after id of the last transaction of the previous page, null for the first page
+     * @param limit maximum number of transactions in the page
+     * @return ordered Set with the transactions of the page
      */
-    Queue<Transaction> findUnprocessedTransactions();
+    public Set<Transaction> findAllByStatus(TransactionStatus transactionStatus, Long after, int limit);
+
+    /**
+     * find the next chunk of unprocessed transactions, ordered by date then id (keyset pagination)
+     *
+     * @param afterDate date of the last transaction of the previous chunk, null for the first chunk
+     * @param afterId id of the last transaction of the previous chunk, null for the first chunk
+     * @param limit maximum number of transactions in the chunk
+     * @return list with at most limit unprocessed transactions following the given position
+     */
+    List<Transaction> findUnprocessedTransactions(Instant afterDate, Long afterId, int limit);
+
+    /**
+     * count the unprocessed transactions and find the date of the oldest one
+     *
+     * @return size and oldest date of the unprocessed transactions
+     */
+    TransactionBacklog findUnprocessedBacklog();
+
+    /**
+     * count the unprocessed transactions emitted by an account
+     *
+     * @param emitterAccountId id of the emitter account
+     * @return number of unprocessed transactions of the account
+     */
+    long countUnprocessedByEmitter(long emitterAccountId);
+
+    /**
+     * claim the oldest unprocessed transactions which are not leased by another node
+     *
+     * @param owner identifier of the node claiming the transactions
+     * @param now current date, leases expired before this date can be claimed again
+     * @param leaseDuration duration during which the claimed transactions are reserved to the owner
+     * @param limit maximum number of transactions to claim
+     * @return claimed transactions ordered by date then id
+     */
+    List<Transaction> claimUnprocessedTransactions(String owner, Instant now, Duration leaseDuration, int limit);
+
+    /**
+     * renew the lease of a claimed transaction within the unit of work processing it, its row stays locked until commit
+     *
+     * @param id of the claimed transaction
+     * @param owner identifier of the node which claimed the transaction
+     * @param now current date, the lease is renewed from this date
+     * @param leaseDuration duration of the renewed lease
+     * @return true if the transaction is still unprocessed and leased to the owner, false if it must not be processed
+     */
+    boolean renewClaim(long id, String owner, Instant now, Duration leaseDuration);
     
     /**
      * create the current Transaction
@@ -59,6 +172,14 @@ public interface TransactionPersistencePort {
      * @param transaction to create
      */
     public void create(Transaction transaction);
+
+    /**
+     * create the transactions in JDBC batches within the current unit of work
+     *
+     * @param transactions to create
+     * @return ids of the created transactions, in the order of the list
+     */
+    List<Long> createAll(List<Transaction> transactions);
     
     /**
      * update the current Transaction
@@ -2,17 +2,34 @@ package com.cdx.bas.domain.bank.transaction;
 
 import com.cdx.bas.domain.bank.transaction.category.NewCashTransaction;
 import com.cdx.bas.domain.bank.transaction.category.NewDigitalTransaction;
+import com.cdx.bas.domain.bank.transaction.category.NewTransactionResult;
+import com.cdx.bas.domain.bank.transaction.history.TransactionDirection;
+import com.cdx.bas.domain.bank.transaction.status.TransactionState;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface TransactionServicePort {
 
     /**
-     * find all transactions
+     * find a page of transactions ordered by id
      *
-     * @return Set with all the transactions
+     * @param after id of the last transaction of the previous page, null for the first page
+     * @param limit maximum number of transactions in the page, null for the default limit
+     * @return ordered Set with the transactions of the page
      */
-    public Set<Transaction> getAll();
+    public Set<Transaction> getAll(Long after, Integer limit);
+
+    /**
+     * give every transaction to the consumer, ordered by id, without holding the whole result in memory
+     *
+     * @param consumer called for each transaction as it is read
+     */
+    void streamAll(Consumer<Transaction> consumer);
 
     /**
      * Create new transaction
@@ -30,11 +47,27 @@ public interface TransactionServicePort {
 
 
     /**
-     * find all transactions by status
+     * find a page of transactions by status, ordered by date then id
      *
-     * @return Set with all the transactions by status
+     * @param status of the transactions
+     * @param after id of the last transaction of the previous page, null for the first page
+     * @param limit maximum number of transactions in the page, null for the default limit
+     * @return ordered Set with the transactions of the page
      */
-    public Set<Transaction> findAllByStatus(String status);
+    public Set<Transaction> findAllByStatus(String status, Long after, Integer limit);
+
+    /**
+     * find a page of the history of a bank account, most recent transactions first
+     *
+     * @param accountId id of the bank account
+     * @param direction issued, incoming or all transactions of the account
+     * @param from      inclusive lower bound of the date, null for no bound
+     * @param to        exclusive upper bound of the date, null for no bound
+     * @param after     id of the last transaction of the previous page, null for the first page
+     * @param limit     maximum number of transactions in the page
+     * @return List with the transactions of the page
+     */
+    public List<Transaction> findAccountHistory(long accountId, TransactionDirection direction, Instant from, Instant to, Long after, int limit);
 
 
     /**
@@ -44,6 +77,24 @@ public interface TransactionServicePort {
      */
     void createDigitalTransaction(NewDigitalTransaction newDigitalTransaction);
 
+    /**
+     * add digital transaction created by a request carrying an idempotency key
+     *
+     * @param newDigitalTransaction to add
+     * @param idempotencyKey        key of the request stored with the transaction, null if the request has none
+     */
+    void createDigitalTransaction(NewDigitalTransaction newDigitalTransaction, String idempotencyKey);
+
+    /**
+     * add digital transactions in a single database transaction, each one validated on its own:
+     * an invalid item is refused without preventing the creation of the others
+     *
+     * @param newDigitalTransactions to add, in order
+     * @return result of each item, in the order of the list
+     * @throws TransactionBatchTooLargeException if the batch has more items than the configured maximum
+     */
+    List<NewTransactionResult> createDigitalTransactions(List<NewDigitalTransaction> newDigitalTransactions);
+
     /**
      * find Transaction from id
      *
@@ -52,6 +103,24 @@ public interface TransactionServicePort {
      */
     Transaction findTransaction(Long transactionId);
 
+    /**
+     * find the Transaction created by the request of the emitter account carrying the idempotency key,
+     * keys are unique per emitter account
+     *
+     * @param emitterAccountId id of the emitter account of the request
+     * @param idempotencyKey   key sent with the request that created the transaction
+     * @return <Optional>Transaction if a transaction was created with this key by the emitter account
+     */
+    Optional<Transaction> findByIdempotencyKey(Long emitterAccountId, String idempotencyKey);
+
+    /**
+     * find the status of a Transaction from its id
+     *
+     * @param transactionId id of the transaction
+     * @return id and current status of the transaction
+     */
+    TransactionState findTransactionState(long transactionId);
+
     /**
      * Process digital transaction
      *
@@ -59,6 +128,17 @@ public interface TransactionServicePort {
      */
     void processDigitalTransaction(Transaction digitalTransaction);
 
+    /**
+     * Process digital transactions in order within a single database transaction, each one isolated by a savepoint:
+     * a refused or failed transaction only records its status and metadata, the others are kept.
+     * No transaction is started once maxLatency has elapsed, the remaining ones are left to the next batch.
+     *
+     * @param digitalTransactions to process, in order
+     * @param maxLatency          time after which the batch is committed even if transactions remain
+     * @return number of transactions processed in the batch, starting from the first one
+     */
+    int processDigitalTransactions(List<Transaction> digitalTransactions, Duration maxLatency);
+
     /**
      * Process deposit of cash
      *
@@ -66,10 +146,46 @@ public interface TransactionServicePort {
      */
     void deposit(NewCashTransaction newCashTransaction);
 
+    /**
+     * Process deposit of cash requested with an idempotency key
+     *
+     * @param newCashTransaction with detail of cash transaction
+     * @param idempotencyKey     key of the request stored with the transaction, null if the request has none
+     */
+    void deposit(NewCashTransaction newCashTransaction, String idempotencyKey);
+
+    /**
+     * Accept a deposit of cash without processing it: the transaction is validated and stored as unprocessed,
+     * the scheduler applies it later like a digital transaction
+     *
+     * @param newCashTransaction with detail of cash transaction
+     * @param idempotencyKey     key of the request stored with the transaction, null if the request has none
+     * @return id of the accepted transaction
+     */
+    long submitDeposit(NewCashTransaction newCashTransaction, String idempotencyKey);
+
     /**
      * Process withdraw of cash
      *
      * @param newCashTransaction with detail of cash transaction
      */
     void withdraw(NewCashTransaction newCashTransaction);
+
+    /**
+     * Process withdraw of cash requested with an idempotency key
+     *
+     * @param newCashTransaction with detail of cash transaction
+     * @param idempotencyKey     key of the request stored with the transaction, null if the request has none
+     */
+    void withdraw(NewCashTransaction newCashTransaction, String idempotencyKey);
+
+    /**
+     * Accept a withdraw of cash without processing it: the transaction is validated and stored as unprocessed,
+     * the scheduler applies it later like a digital transaction
+     *
+     * @param newCashTransaction with detail of cash transaction
+     * @param idempotencyKey     key of the request stored with the transaction, null if the request has none
+     * @return id of the accepted transaction
+     */
+    long submitWithdraw(NewCashTransaction newCashTransaction, String idempotencyKey);
 }
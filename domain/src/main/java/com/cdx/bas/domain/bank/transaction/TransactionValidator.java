@@ -1,48 +1,81 @@
 package com.cdx.bas.domain.bank.transaction;
 
 import com.cdx.bas.domain.bank.transaction.category.group.*;
-import jakarta.enterprise.context.RequestScoped;
+import com.cdx.bas.domain.currency.rate.ExchangeRateProviderPort;
+import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.validation.Validator;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
-
-@RequestScoped
+/**
+ * Validates transactions in a single pass over constraints compiled at startup for each state and category, falling
+ * back to Bean Validation for a combination that cannot be compiled.
+ */
+@ApplicationScoped
 public class TransactionValidator {
 
     Validator validator;
 
+    private final ExchangeRateProviderPort exchangeRateProvider;
+    private final Function<Transaction, Map<String, String>> newDigitalValidation;
+    private final Function<Transaction, Map<String, String>> existingDigitalValidation;
+    private final Function<Transaction, Map<String, String>> newCashValidation;
+    private final Function<Transaction, Map<String, String>> existingCashValidation;
+
     @Inject
-    public TransactionValidator(Validator validator) {
+    public TransactionValidator(Validator validator, ExchangeRateProviderPort exchangeRateProvider) {
         this.validator = validator;
+        this.exchangeRateProvider = exchangeRateProvider;
+        this.newDigitalValidation = compile(NewTransactionGroup.class, DigitalTransactionGroup.class);
+        this.existingDigitalValidation = compile(ExistingTransactionGroup.class, DigitalTransactionGroup.class);
+        this.newCashValidation = compile(NewTransactionGroup.class, PhysicalCashTransactionGroup.class);
+        this.existingCashValidation = compile(ExistingTransactionGroup.class, PhysicalCashTransactionGroup.class);
     }
 
     public void validateNewDigitalTransaction(Transaction transaction) throws TransactionException {
-        validateTransaction(transaction, NewTransactionGroup.class, DigitalTransactionGroup.class);
+        checkConstraintViolation(newDigitalValidation.apply(transaction));
     }
 
     public void validateExistingDigitalTransaction(Transaction transaction) throws TransactionException {
-        validateTransaction(transaction, ExistingTransactionGroup.class, DigitalTransactionGroup.class);
+        checkConstraintViolation(existingDigitalValidation.apply(transaction));
     }
 
 
     public void validateCashTransaction(Transaction transaction) throws TransactionException {
-        validateTransaction(transaction, NewTransactionGroup.class, PhysicalCashTransactionGroup.class);
+        checkConstraintViolation(newCashValidation.apply(transaction));
+    }
+
+    public void validateExistingCashTransaction(Transaction transaction) throws TransactionException {
+        checkConstraintViolation(existingCashValidation.apply(transaction));
+    }
+
+    private Function<Transaction, Map<String, String>> compile(Class<?> stateGroup, Class<?> typeGroup) {
+        return TransactionConstraints.compile(stateGroup, typeGroup, this::hasCurrency)
+                .<Function<Transaction, Map<String, String>>>map(constraints -> constraints::check)
+                .orElse(transaction -> validateGroups(transaction, stateGroup, typeGroup));
+    }
+
+    private boolean hasCurrency(String currency) {
+        return exchangeRateProvider.getSnapshot().converter().hasCurrency(currency);
     }
 
-    private void validateTransaction(Transaction transaction, Class<?> stateGroup, Class<?> typeGroup) throws TransactionException {
+    /**
+     * Bean Validation of the default, advanced, state and category groups, one validator call per group
+     */
+    Map<String, String> validateGroups(Transaction transaction, Class<?> stateGroup, Class<?> typeGroup) {
         Map<String, String> violationsByFields = new HashMap<>();
         validator.validate(transaction).forEach(violation -> violationsByFields.put(violation.getPropertyPath().toString(), violation.getMessage()));
         validator.validate(transaction, AdvancedGroup.class).forEach(violation -> violationsByFields.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage()));
         validator.validate(transaction, stateGroup).forEach(violation -> violationsByFields.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage()));
         validator.validate(transaction, typeGroup).forEach(violation -> violationsByFields.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage()));
-        checkConstraintViolation(violationsByFields);
+        return violationsByFields;
     }
 
     private static void checkConstraintViolation(Map<String, String> violationsByFields) {
-        if (!violationsByFields.isEmpty()) {
+        if (violationsByFields != null && !violationsByFields.isEmpty()) {
             throw new TransactionException(concatViolations(violationsByFields));
         }
     }
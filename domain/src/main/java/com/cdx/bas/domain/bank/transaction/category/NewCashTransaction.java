@@ -1,9 +1,26 @@
 package com.cdx.bas.domain.bank.transaction.category;
 
+import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
+
 import java.math.BigDecimal;
 import java.util.Map;
 
 public record NewCashTransaction(Long emitterAccountId,
                                  BigDecimal amount,
                                  String currency,
-                                 Map<String, String> metadata) {}
+                                 Map<String, String> metadata) {
+
+    /**
+     * Fingerprint of the whole request for the given cash movement type,
+     * stored with an idempotent transaction to recognize its retries
+     */
+    public String fingerprint(TransactionType type) {
+        return new RequestFingerprint()
+                .with(type)
+                .with(emitterAccountId)
+                .with(amount)
+                .with(currency)
+                .with(metadata)
+                .digest();
+    }
+}
@@ -9,4 +9,20 @@ import java.util.Map;
 public record NewDigitalTransaction(Long emitterAccountId, Long receiverAccountId,
                                     BigDecimal amount, String currency,
                                     TransactionType type, String label,
-                                    Map<String, String> metadata) {}
+                                    Map<String, String> metadata) {
+
+    /**
+     * Fingerprint of the whole request, stored with an idempotent transaction to recognize its retries
+     */
+    public String fingerprint() {
+        return new RequestFingerprint()
+                .with(type)
+                .with(emitterAccountId)
+                .with(receiverAccountId)
+                .with(amount)
+                .with(currency)
+                .with(label)
+                .with(metadata)
+                .digest();
+    }
+}
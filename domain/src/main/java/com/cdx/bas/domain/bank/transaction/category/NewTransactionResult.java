@@ -0,0 +1,24 @@
+package com.cdx.bas.domain.bank.transaction.category;
+
+/**
+ * Outcome of one item of a batch of new transactions, either the id of the created transaction or the error
+ * that refused it
+ *
+ * @param index position of the item in the submitted batch
+ * @param id    id of the created transaction, null when the item is refused
+ * @param error reason of the refusal, null when the transaction is created
+ */
+public record NewTransactionResult(int index, Long id, String error) {
+
+    public static NewTransactionResult created(int index, Long id) {
+        return new NewTransactionResult(index, id, null);
+    }
+
+    public static NewTransactionResult refused(int index, String error) {
+        return new NewTransactionResult(index, null, error);
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+}
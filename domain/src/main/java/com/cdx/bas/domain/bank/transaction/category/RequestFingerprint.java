@@ -0,0 +1,52 @@
+package com.cdx.bas.domain.bank.transaction.category;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the fingerprint of a transaction request, a SHA-256 digest of its fields.
+ * Each value is written with its length so two different requests never share the same input,
+ * amounts are compared by value and metadata by sorted keys.
+ */
+final class RequestFingerprint {
+
+    private final StringBuilder input = new StringBuilder();
+
+    RequestFingerprint with(Object value) {
+        String text = value == null ? null : String.valueOf(value);
+        if (text == null) {
+            input.append("-1:");
+        } else {
+            input.append(text.length()).append(':').append(text);
+        }
+        return this;
+    }
+
+    RequestFingerprint with(BigDecimal amount) {
+        return with(amount == null ? null : amount.stripTrailingZeros().toPlainString());
+    }
+
+    RequestFingerprint with(Map<String, String> metadata) {
+        if (metadata == null) {
+            return with((Object) null);
+        }
+        Map<String, String> sortedMetadata = new TreeMap<>(metadata);
+        with(sortedMetadata.size());
+        sortedMetadata.forEach((key, value) -> with(key).with(value));
+        return this;
+    }
+
+    String digest() {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(input.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
@@ -1,33 +1,44 @@
 package com.cdx.bas.domain.bank.transaction.category.cash.type.deposit;
 
+import com.cdx.bas.domain.bank.account.BankAccount;
 import com.cdx.bas.domain.bank.transaction.TransactionException;
 import com.cdx.bas.domain.bank.transaction.category.cash.CashAmountServicePort;
 import com.cdx.bas.domain.bank.transaction.category.cash.CashTransactionProcessingDetails;
-import com.cdx.bas.domain.currency.rate.ExchangeRateUtils;
+import com.cdx.bas.domain.currency.rate.ExchangeRateProviderPort;
+import com.cdx.bas.domain.currency.rate.ExchangeRateSnapshot;
 import com.cdx.bas.domain.message.MessageFormatter;
 import com.cdx.bas.domain.money.Money;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
 import static com.cdx.bas.domain.message.CommonMessages.*;
-import static com.cdx.bas.domain.money.AmountUtils.isNotPositive;
-
+import static com.cdx.bas.domain.metadata.MetadataFieldNames.RATE_VERSION_KEY;
 
 @ApplicationScoped
 public class DepositAmountServiceImpl implements CashAmountServicePort {
 
+    private final ExchangeRateProviderPort exchangeRateProvider;
+
+    @Inject
+    public DepositAmountServiceImpl(ExchangeRateProviderPort exchangeRateProvider) {
+        this.exchangeRateProvider = exchangeRateProvider;
+    }
+
     @Override
     public void applyToAccount(CashTransactionProcessingDetails cashTransactionProcessingDetails) {
-        BigDecimal euroAmount = ExchangeRateUtils.getEuroAmountFrom(cashTransactionProcessingDetails.getTransaction().getCurrency(),
-                cashTransactionProcessingDetails.getTransaction().getAmount());
-        if (isNotPositive(euroAmount)) {
+        ExchangeRateSnapshot exchangeRates = exchangeRateProvider.getSnapshot();
+        BankAccount emitterBankAccount = cashTransactionProcessingDetails.getEmitterBankAccount();
+        Money amount = exchangeRates.converter().convert(cashTransactionProcessingDetails.getTransaction().getCurrency(),
+                emitterBankAccount.getBalance().getCurrency(), cashTransactionProcessingDetails.getTransaction().getAmount());
+        cashTransactionProcessingDetails.getMetadata().put(RATE_VERSION_KEY, exchangeRates.version());
+        if (!amount.isPositive()) {
             throw new TransactionException(MessageFormatter.format(DEPOSIT_TRANSACTION_CONTEXT, DEPOSIT_ACTION, FAILED_STATUS,
                     Optional.of(SHOULD_HAVE_POSITIVE_VALUE_CAUSE),
-                    List.of(TRANSACTION_ID_DETAIL + cashTransactionProcessingDetails.getTransaction().getId(), EURO_AMOUNT_DETAIL + euroAmount)));
+                    List.of(TRANSACTION_ID_DETAIL + cashTransactionProcessingDetails.getTransaction().getId(), EURO_AMOUNT_DETAIL + amount.getAmount())));
         }
-        cashTransactionProcessingDetails.getEmitterBankAccount().getBalance().plus(Money.of(euroAmount));
+        emitterBankAccount.setBalance(emitterBankAccount.getBalance().plus(amount));
     }
 }
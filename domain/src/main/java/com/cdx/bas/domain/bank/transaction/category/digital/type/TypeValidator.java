@@ -18,16 +18,20 @@ public class TypeValidator implements ConstraintValidator<ValidType, Transaction
     @Override
     public boolean isValid(TransactionType value, ConstraintValidatorContext context) {
             if (value != null && !Arrays.asList(expectedTypes).contains(value)) {
-            String message = "Unexpected transaction types " + value +
-                    ", expected type: " + Arrays.stream(expectedTypes)
-                    .map(TransactionType::name)
-                    .collect(Collectors.joining(", "))+ ".";
-
             context.disableDefaultConstraintViolation();
-            context.buildConstraintViolationWithTemplate(message)
+            context.buildConstraintViolationWithTemplate(unexpectedTypeMessage(value, expectedTypes))
                     .addConstraintViolation();
             return false;
         }
         return true;
     }
+
+    /**
+     * Violation message of {@link ValidType}, also used by the compiled transaction constraints
+     */
+    public static String unexpectedTypeMessage(TransactionType value, TransactionType[] expectedTypes) {
+        return "Unexpected transaction types " + value + ", expected type: " + Arrays.stream(expectedTypes)
+                .map(TransactionType::name)
+                .collect(Collectors.joining(", ")) + ".";
+    }
 }
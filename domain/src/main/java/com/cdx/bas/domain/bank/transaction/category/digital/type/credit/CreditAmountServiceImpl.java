@@ -1,33 +1,49 @@
 package com.cdx.bas.domain.bank.transaction.category.digital.type.credit;
 
+import com.cdx.bas.domain.bank.account.BankAccount;
+import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.TransactionException;
 import com.cdx.bas.domain.bank.transaction.category.digital.DigitalAmountServicePort;
 import com.cdx.bas.domain.bank.transaction.category.digital.DigitalTransactionProcessingDetails;
-import com.cdx.bas.domain.currency.rate.ExchangeRateUtils;
+import com.cdx.bas.domain.currency.rate.ExchangeRateProviderPort;
+import com.cdx.bas.domain.currency.rate.ExchangeRateSnapshot;
 import com.cdx.bas.domain.money.Money;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
 import static com.cdx.bas.domain.message.CommonMessages.*;
 import static com.cdx.bas.domain.message.CommonMessages.EURO_AMOUNT_DETAIL;
 import static com.cdx.bas.domain.message.MessageFormatter.format;
-import static com.cdx.bas.domain.money.AmountUtils.isNotPositive;
+import static com.cdx.bas.domain.metadata.MetadataFieldNames.RATE_VERSION_KEY;
 
 @ApplicationScoped
 public class CreditAmountServiceImpl implements DigitalAmountServicePort {
+
+    private final ExchangeRateProviderPort exchangeRateProvider;
+
+    @Inject
+    public CreditAmountServiceImpl(ExchangeRateProviderPort exchangeRateProvider) {
+        this.exchangeRateProvider = exchangeRateProvider;
+    }
+
     @Override
     public void transferBetweenAccounts(DigitalTransactionProcessingDetails digitalTransactionProcessingDetails) {
-        BigDecimal euroAmount = ExchangeRateUtils.getEuroAmountFrom(digitalTransactionProcessingDetails.getTransaction().getCurrency(),
-                digitalTransactionProcessingDetails.getTransaction().getAmount());
-        if (isNotPositive(euroAmount)) {
+        ExchangeRateSnapshot exchangeRates = exchangeRateProvider.getSnapshot();
+        Transaction transaction = digitalTransactionProcessingDetails.getTransaction();
+        BankAccount emitterBankAccount = digitalTransactionProcessingDetails.getEmitterBankAccount();
+        BankAccount receiverBankAccount = digitalTransactionProcessingDetails.getReceiverBankAccount();
+        Money emitterAmount = exchangeRates.converter().convert(transaction.getCurrency(), emitterBankAccount.getBalance().getCurrency(), transaction.getAmount());
+        Money receiverAmount = exchangeRates.converter().convert(transaction.getCurrency(), receiverBankAccount.getBalance().getCurrency(), transaction.getAmount());
+        digitalTransactionProcessingDetails.getMetadata().put(RATE_VERSION_KEY, exchangeRates.version());
+        if (!emitterAmount.isPositive() || !receiverAmount.isPositive()) {
             throw new TransactionException(format(CREDIT_TRANSACTION_CONTEXT, CREDIT_ACTION, FAILED_STATUS,
                     Optional.of(SHOULD_HAVE_POSITIVE_VALUE_CAUSE),
-                    List.of(TRANSACTION_ID_DETAIL + digitalTransactionProcessingDetails.getTransaction().getId(), EURO_AMOUNT_DETAIL + euroAmount)));
+                    List.of(TRANSACTION_ID_DETAIL + transaction.getId(), EURO_AMOUNT_DETAIL + emitterAmount.getAmount())));
         }
-        digitalTransactionProcessingDetails.getEmitterBankAccount().getBalance().minus(Money.of(euroAmount));
-        digitalTransactionProcessingDetails.getReceiverBankAccount().getBalance().plus(Money.of(euroAmount));
+        emitterBankAccount.setBalance(emitterBankAccount.getBalance().minus(emitterAmount));
+        receiverBankAccount.setBalance(receiverBankAccount.getBalance().plus(receiverAmount));
     }
 }
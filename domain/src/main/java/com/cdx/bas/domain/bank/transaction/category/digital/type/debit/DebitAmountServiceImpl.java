@@ -1,33 +1,48 @@
 package com.cdx.bas.domain.bank.transaction.category.digital.type.debit;
 
+import com.cdx.bas.domain.bank.account.BankAccount;
+import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.TransactionException;
 import com.cdx.bas.domain.bank.transaction.category.digital.DigitalAmountServicePort;
 import com.cdx.bas.domain.bank.transaction.category.digital.DigitalTransactionProcessingDetails;
-import com.cdx.bas.domain.currency.rate.ExchangeRateUtils;
+import com.cdx.bas.domain.currency.rate.ExchangeRateProviderPort;
+import com.cdx.bas.domain.currency.rate.ExchangeRateSnapshot;
 import com.cdx.bas.domain.money.Money;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
 import static com.cdx.bas.domain.message.CommonMessages.*;
 import static com.cdx.bas.domain.message.MessageFormatter.format;
-import static com.cdx.bas.domain.money.AmountUtils.isNotPositive;
+import static com.cdx.bas.domain.metadata.MetadataFieldNames.RATE_VERSION_KEY;
 
 @ApplicationScoped
 public class DebitAmountServiceImpl implements DigitalAmountServicePort {
 
+    private final ExchangeRateProviderPort exchangeRateProvider;
+
+    @Inject
+    public DebitAmountServiceImpl(ExchangeRateProviderPort exchangeRateProvider) {
+        this.exchangeRateProvider = exchangeRateProvider;
+    }
+
     @Override
     public void transferBetweenAccounts(DigitalTransactionProcessingDetails digitalTransactionProcessingDetails) {
-        BigDecimal euroAmount = ExchangeRateUtils.getEuroAmountFrom(digitalTransactionProcessingDetails.getTransaction().getCurrency(),
-                digitalTransactionProcessingDetails.getTransaction().getAmount());
-        if (isNotPositive(euroAmount)) {
+        ExchangeRateSnapshot exchangeRates = exchangeRateProvider.getSnapshot();
+        Transaction transaction = digitalTransactionProcessingDetails.getTransaction();
+        BankAccount receiverBankAccount = digitalTransactionProcessingDetails.getReceiverBankAccount();
+        BankAccount emitterBankAccount = digitalTransactionProcessingDetails.getEmitterBankAccount();
+        Money receiverAmount = exchangeRates.converter().convert(transaction.getCurrency(), receiverBankAccount.getBalance().getCurrency(), transaction.getAmount());
+        Money emitterAmount = exchangeRates.converter().convert(transaction.getCurrency(), emitterBankAccount.getBalance().getCurrency(), transaction.getAmount());
+        digitalTransactionProcessingDetails.getMetadata().put(RATE_VERSION_KEY, exchangeRates.version());
+        if (!receiverAmount.isPositive() || !emitterAmount.isPositive()) {
             throw new TransactionException(format(DEBIT_TRANSACTION_CONTEXT, DEBIT_ACTION, FAILED_STATUS,
                     Optional.of(SHOULD_HAVE_POSITIVE_VALUE_CAUSE),
-                    List.of(TRANSACTION_ID_DETAIL + digitalTransactionProcessingDetails.getTransaction().getId(), EURO_AMOUNT_DETAIL + euroAmount)));
+                    List.of(TRANSACTION_ID_DETAIL + transaction.getId(), EURO_AMOUNT_DETAIL + receiverAmount.getAmount())));
         }
-        digitalTransactionProcessingDetails.getReceiverBankAccount().getBalance().minus(Money.of(euroAmount));
-        digitalTransactionProcessingDetails.getEmitterBankAccount().getBalance().plus(Money.of(euroAmount));
+        receiverBankAccount.setBalance(receiverBankAccount.getBalance().minus(receiverAmount));
+        emitterBankAccount.setBalance(emitterBankAccount.getBalance().plus(emitterAmount));
     }
 }
@@ -0,0 +1,22 @@
+package com.cdx.bas.domain.bank.transaction.history;
+
+/**
+ * Side of the transactions listed in the history of a bank account
+ */
+public enum TransactionDirection {
+    ISSUED,
+    INCOMING,
+    ALL;
+
+    public static TransactionDirection fromString(String direction) throws IllegalArgumentException {
+        if (direction == null) {
+            return ALL;
+        }
+        for (TransactionDirection value : values()) {
+            if (value.name().equalsIgnoreCase(direction)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid direction: " + direction);
+    }
+}
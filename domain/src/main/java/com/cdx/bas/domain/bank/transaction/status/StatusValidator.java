@@ -14,13 +14,18 @@ public class StatusValidator implements ConstraintValidator<ValidStatus, Transac
     @Override
     public boolean isValid(TransactionStatus value, ConstraintValidatorContext context) {
         if (value != null && value != expectedStatus) {
-            String message = "Unexpected transaction status " + value +
-                    ", expected status: " + expectedStatus + ".";
             context.disableDefaultConstraintViolation();
-            context.buildConstraintViolationWithTemplate(message)
+            context.buildConstraintViolationWithTemplate(unexpectedStatusMessage(value, expectedStatus))
                     .addConstraintViolation();
             return false;
         }
         return true;
     }
+
+    /**
+     * Violation message of {@link ValidStatus}, also used by the compiled transaction constraints
+     */
+    public static String unexpectedStatusMessage(TransactionStatus value, TransactionStatus expectedStatus) {
+        return "Unexpected transaction status " + value + ", expected status: " + expectedStatus + ".";
+    }
 }
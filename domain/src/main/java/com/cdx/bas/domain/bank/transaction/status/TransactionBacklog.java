@@ -0,0 +1,32 @@
+package com.cdx.bas.domain.bank.transaction.status;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Transactions waiting to be processed
+ *
+ * @param size       number of unprocessed transactions
+ * @param oldestDate date of the oldest unprocessed transaction, null when there is none
+ */
+public record TransactionBacklog(long size, Instant oldestDate) {
+
+    public static final TransactionBacklog EMPTY = new TransactionBacklog(0, null);
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Time the oldest unprocessed transaction has been waiting for
+     *
+     * @param now current date
+     * @return waiting time of the oldest transaction, zero when the backlog is empty or dated in the future
+     */
+    public Duration lag(Instant now) {
+        if (oldestDate == null || oldestDate.isAfter(now)) {
+            return Duration.ZERO;
+        }
+        return Duration.between(oldestDate, now);
+    }
+}
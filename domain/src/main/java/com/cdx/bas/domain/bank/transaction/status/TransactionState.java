@@ -0,0 +1,10 @@
+package com.cdx.bas.domain.bank.transaction.status;
+
+/**
+ * Id and current status of a transaction, enough to follow a transaction accepted before it is processed
+ *
+ * @param id     id of the transaction
+ * @param status current status of the transaction
+ */
+public record TransactionState(Long id, TransactionStatus status) {
+}
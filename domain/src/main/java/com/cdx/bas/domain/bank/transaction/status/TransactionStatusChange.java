@@ -0,0 +1,29 @@
+package com.cdx.bas.domain.bank.transaction.status;
+
+import com.cdx.bas.domain.bank.transaction.Transaction;
+
+import java.util.Objects;
+
+/**
+ * Status of a transaction once it has been processed
+ *
+ * @param transactionId     id of the transaction
+ * @param emitterAccountId  id of the emitter account
+ * @param receiverAccountId id of the receiver account, null for cash transactions
+ * @param status            status given by the processing
+ */
+public record TransactionStatusChange(Long transactionId, Long emitterAccountId, Long receiverAccountId, TransactionStatus status) {
+
+    public static TransactionStatusChange of(Transaction transaction) {
+        return new TransactionStatusChange(transaction.getId(), transaction.getEmitterAccountId(),
+                transaction.getReceiverAccountId(), transaction.getStatus());
+    }
+
+    /**
+     * @param accountId id of a bank account
+     * @return true when the account emits or receives the transaction
+     */
+    public boolean concerns(Long accountId) {
+        return Objects.equals(emitterAccountId, accountId) || Objects.equals(receiverAccountId, accountId);
+    }
+}
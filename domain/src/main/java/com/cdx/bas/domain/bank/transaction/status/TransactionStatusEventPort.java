@@ -0,0 +1,12 @@
+package com.cdx.bas.domain.bank.transaction.status;
+
+public interface TransactionStatusEventPort {
+
+    /**
+     * Subscribe to the status changes of the processed transactions
+     *
+     * @param accountId id of the bank account whose transactions are followed, null to follow every transaction
+     * @return subscription buffering the changes until they are taken, to close once the subscriber is gone
+     */
+    TransactionStatusSubscription subscribe(Long accountId);
+}
@@ -7,7 +7,7 @@ import java.util.Map;
 public interface TransactionStatusServicePort {
 
     /**
-     * Set transaction to outstanding with additional metadata and avoid multiple process
+     * Set transaction to outstanding to avoid multiple process, the status is written with the outcome of the processing
      *
      * @param transaction to set as OUTSTANDING
      * @return outstanding transaction
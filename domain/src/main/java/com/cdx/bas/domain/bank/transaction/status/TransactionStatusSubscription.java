@@ -0,0 +1,140 @@
+package com.cdx.bas.domain.bank.transaction.status;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded buffer of the status changes waiting to be sent to one subscriber.
+ * <p>
+ * A slow subscriber never holds the publisher back: a new change of a buffered transaction replaces the previous one,
+ * and once the buffer is full the oldest change is dropped and counted, so the subscriber knows it has to reload
+ * its state. A lock is used instead of a monitor so a virtual thread waiting for changes does not pin its carrier.
+ */
+public class TransactionStatusSubscription implements AutoCloseable {
+
+    private final Long accountId;
+    private final int capacity;
+    private final Consumer<TransactionStatusSubscription> onClose;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changesAvailable = lock.newCondition();
+    private final LinkedHashMap<Long, TransactionStatusChange> pendingChanges = new LinkedHashMap<>();
+    private long droppedChanges;
+    private boolean closed;
+
+    /**
+     * @param accountId id of the followed bank account, null to follow every transaction
+     * @param capacity  maximum number of buffered changes
+     * @param onClose   called once when the subscription is closed
+     */
+    public TransactionStatusSubscription(Long accountId, int capacity, Consumer<TransactionStatusSubscription> onClose) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be greater than 0.");
+        }
+        this.accountId = accountId;
+        this.capacity = capacity;
+        this.onClose = onClose;
+    }
+
+    /**
+     * @param change processed transaction status
+     * @return true when the change is about the followed account
+     */
+    public boolean concerns(TransactionStatusChange change) {
+        return accountId == null || change.concerns(accountId);
+    }
+
+    /**
+     * Buffer a change without waiting, dropping the oldest buffered change when the buffer is full
+     *
+     * @param change processed transaction status
+     */
+    public void offer(TransactionStatusChange change) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            pendingChanges.remove(change.transactionId());
+            if (pendingChanges.size() >= capacity) {
+                Iterator<Long> oldestChange = pendingChanges.keySet().iterator();
+                oldestChange.next();
+                oldestChange.remove();
+                droppedChanges++;
+            }
+            pendingChanges.put(change.transactionId(), change);
+            changesAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for changes then take every buffered change
+     *
+     * @param timeout maximum waiting time
+     * @return buffered changes in publication order, empty when none arrived in time or the subscription is closed
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public List<TransactionStatusChange> take(Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long remainingNanos = timeout.toNanos();
+            while (pendingChanges.isEmpty() && !closed) {
+                if (remainingNanos <= 0) {
+                    return List.of();
+                }
+                remainingNanos = changesAvailable.awaitNanos(remainingNanos);
+            }
+            List<TransactionStatusChange> changes = new ArrayList<>(pendingChanges.values());
+            pendingChanges.clear();
+            return changes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of changes dropped since the previous call
+     */
+    public long takeDroppedChanges() {
+        lock.lock();
+        try {
+            long dropped = droppedChanges;
+            droppedChanges = 0;
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingChanges.clear();
+            changesAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        onClose.accept(this);
+    }
+}
@@ -0,0 +1,284 @@
+package com.cdx.bas.domain.currency.rate;
+
+import com.cdx.bas.domain.currency.error.CurrencyException;
+import com.cdx.bas.domain.money.Money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exact currency conversion through a pivot currency.
+ * <p>
+ * Each currency has a dense ordinal, the pivot being 0, and its rate is kept as an exact decimal: an amount multiplied
+ * by the rate of its currency is an amount of the pivot currency. A conversion multiplies and divides exactly and
+ * rounds once, to the minor units of the target currency, with the rounding mode of the converter: converting
+ * between two currencies other than the pivot does not round to the pivot on the way.
+ * <p>
+ * The cross rate of each pair of currencies is precomputed, per minor unit, as a reduced multiplier and divisor held
+ * in flat arrays indexed by {@code sourceOrdinal * size + targetOrdinal}. Amounts of minor units are converted with
+ * long arithmetic and only fall back to BigDecimal when the product would overflow, so the bulk conversions allocate
+ * nothing. A converter is immutable: new rates make a new converter and a new matrix.
+ */
+public final class CurrencyConverter {
+
+    private static final String NO_EXCHANGE_RATE_CAUSE = "No exchange rate found for currency: ";
+    private static final long NOT_A_LONG = 0L;
+
+    private final String[] currencies;
+    private final Map<String, Integer> ordinals;
+    private final BigDecimal[] rates;
+    private final int[] minorUnitScales;
+    private final long[] crossMultipliers;
+    private final long[] crossDivisors;
+    private final RoundingMode roundingMode;
+
+    private CurrencyConverter(String[] currencies, BigDecimal[] rates, RoundingMode roundingMode) {
+        int size = currencies.length;
+        this.currencies = currencies;
+        this.rates = rates;
+        this.roundingMode = roundingMode;
+        this.ordinals = new HashMap<>(size * 2);
+        this.minorUnitScales = new int[size];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            ordinals.put(currencies[ordinal], ordinal);
+            minorUnitScales[ordinal] = Money.scaleOf(currencies[ordinal]);
+        }
+        this.crossMultipliers = new long[size * size];
+        this.crossDivisors = new long[size * size];
+        for (int sourceOrdinal = 0; sourceOrdinal < size; sourceOrdinal++) {
+            for (int targetOrdinal = 0; targetOrdinal < size; targetOrdinal++) {
+                setCrossRate(sourceOrdinal, targetOrdinal);
+            }
+        }
+    }
+
+    /*
+     * target = source * 10^-sourceScale * sourceRate / targetRate * 10^targetScale: the ratio is reduced and kept as a
+     * long multiplier and divisor, or NOT_A_LONG when one of them does not fit in a long.
+     */
+    private void setCrossRate(int sourceOrdinal, int targetOrdinal) {
+        BigDecimal ratio = rates[sourceOrdinal].movePointLeft(minorUnitScales[sourceOrdinal]);
+        BigDecimal divisorRatio = rates[targetOrdinal].movePointLeft(minorUnitScales[targetOrdinal]);
+        int scale = Math.max(Math.max(ratio.scale(), divisorRatio.scale()), 0);
+        BigInteger multiplier = ratio.setScale(scale).unscaledValue();
+        BigInteger divisor = divisorRatio.setScale(scale).unscaledValue();
+        BigInteger gcd = multiplier.gcd(divisor);
+        multiplier = multiplier.divide(gcd);
+        divisor = divisor.divide(gcd);
+        int index = sourceOrdinal * currencies.length + targetOrdinal;
+        boolean fitsLong = multiplier.bitLength() < Long.SIZE && divisor.bitLength() < Long.SIZE;
+        crossMultipliers[index] = fitsLong ? multiplier.longValue() : NOT_A_LONG;
+        crossDivisors[index] = fitsLong ? divisor.longValue() : NOT_A_LONG;
+    }
+
+    /**
+     * @param pivotCurrency currency every rate converts to
+     * @param rates         rate of each currency, the amount of pivot currency for one unit of the currency
+     * @param roundingMode  rounding applied to the minor units of the converted amounts
+     * @return converter with the pivot currency at ordinal 0 and the other currencies in alphabetical order
+     * @throws CurrencyException if a rate is not positive or a currency has no minor unit
+     */
+    public static CurrencyConverter of(String pivotCurrency, Map<String, BigDecimal> rates, RoundingMode roundingMode) {
+        TreeMap<String, BigDecimal> sortedRates = new TreeMap<>(rates);
+        sortedRates.remove(pivotCurrency);
+        String[] currencies = new String[sortedRates.size() + 1];
+        BigDecimal[] exactRates = new BigDecimal[sortedRates.size() + 1];
+        currencies[0] = pivotCurrency;
+        exactRates[0] = BigDecimal.ONE;
+        int ordinal = 1;
+        for (Map.Entry<String, BigDecimal> rate : sortedRates.entrySet()) {
+            if (rate.getValue() == null || rate.getValue().signum() <= 0) {
+                throw new CurrencyException("Invalid exchange rate for currency: " + rate.getKey());
+            }
+            currencies[ordinal] = rate.getKey();
+            exactRates[ordinal] = normalize(rate.getValue());
+            ordinal++;
+        }
+        return new CurrencyConverter(currencies, exactRates, roundingMode);
+    }
+
+    /**
+     * @param currency code of the currency
+     * @return dense ordinal of the currency
+     * @throws CurrencyException if the converter has no rate for the currency
+     */
+    public int ordinalOf(String currency) {
+        Integer ordinal = currency == null ? null : ordinals.get(currency);
+        if (ordinal == null) {
+            throw new CurrencyException(NO_EXCHANGE_RATE_CAUSE + currency);
+        }
+        return ordinal;
+    }
+
+    public boolean hasCurrency(String currency) {
+        return currency != null && ordinals.containsKey(currency);
+    }
+
+    public String getCurrency(int ordinal) {
+        return currencies[ordinal];
+    }
+
+    public String getPivotCurrency() {
+        return currencies[0];
+    }
+
+    public BigDecimal getRate(int ordinal) {
+        return rates[ordinal];
+    }
+
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    /**
+     * @return number of currencies, pivot included, ordinals go from 0 to size - 1
+     */
+    public int size() {
+        return currencies.length;
+    }
+
+    /**
+     * @param currency of the amount
+     * @param amount   to convert
+     * @return exact amount of pivot currency, not rounded
+     * @throws CurrencyException if the converter has no rate for the currency
+     */
+    public BigDecimal getPivotAmount(String currency, BigDecimal amount) {
+        return amount.multiply(rates[ordinalOf(currency)]);
+    }
+
+    /**
+     * @param currency of the amount
+     * @param amount   to convert
+     * @return amount of pivot currency, rounded once to its minor units
+     * @throws CurrencyException if the converter has no rate for the currency
+     */
+    public Money toPivot(String currency, BigDecimal amount) {
+        return convert(currency, getPivotCurrency(), amount);
+    }
+
+    /**
+     * @param sourceCurrency currency of the amount
+     * @param targetCurrency currency to convert to
+     * @param amount         to convert
+     * @return amount of the target currency, rounded once to its minor units
+     * @throws CurrencyException   if the converter has no rate for one of the currencies
+     * @throws ArithmeticException if the converted amount does not fit in a long of minor units
+     */
+    public Money convert(String sourceCurrency, String targetCurrency, BigDecimal amount) {
+        int sourceOrdinal = ordinalOf(sourceCurrency);
+        int targetOrdinal = ordinalOf(targetCurrency);
+        int sourceScale = minorUnitScales[sourceOrdinal];
+        if (amount.scale() <= sourceScale) {
+            BigInteger minorUnits = amount.setScale(sourceScale).unscaledValue();
+            if (minorUnits.bitLength() < Long.SIZE) {
+                return Money.ofMinorUnits(convert(minorUnits.longValue(), sourceOrdinal, targetOrdinal), targetCurrency);
+            }
+        }
+        return Money.of(amount.multiply(rates[sourceOrdinal])
+                .divide(rates[targetOrdinal], minorUnitScales[targetOrdinal], roundingMode), targetCurrency);
+    }
+
+    /**
+     * @param minorUnits     amount in minor units of the source currency
+     * @param sourceOrdinal  ordinal of the source currency
+     * @param targetOrdinal  ordinal of the target currency
+     * @return amount in minor units of the target currency
+     * @throws ArithmeticException if the converted amount does not fit in a long
+     */
+    public long convert(long minorUnits, int sourceOrdinal, int targetOrdinal) {
+        int index = sourceOrdinal * currencies.length + targetOrdinal;
+        return convert(minorUnits, sourceOrdinal, targetOrdinal, crossMultipliers[index], crossDivisors[index]);
+    }
+
+    /**
+     * Convert amounts of the same currency, for statements and reports
+     *
+     * @param minorUnits    amounts in minor units of the source currency
+     * @param sourceOrdinal ordinal of the source currency
+     * @param targetOrdinal ordinal of the target currency
+     * @param results       receives the amounts in minor units of the target currency, at the same indexes
+     * @throws ArithmeticException if a converted amount does not fit in a long
+     */
+    public void convert(long[] minorUnits, int sourceOrdinal, int targetOrdinal, long[] results) {
+        checkLength(minorUnits.length, results.length);
+        int index = sourceOrdinal * currencies.length + targetOrdinal;
+        long multiplier = crossMultipliers[index];
+        long divisor = crossDivisors[index];
+        for (int i = 0; i < minorUnits.length; i++) {
+            results[i] = convert(minorUnits[i], sourceOrdinal, targetOrdinal, multiplier, divisor);
+        }
+    }
+
+    /**
+     * Convert amounts of different currencies, for statements and reports
+     *
+     * @param minorUnits     amounts in minor units of their currency
+     * @param sourceOrdinals ordinal of the currency of each amount
+     * @param targetOrdinal  ordinal of the target currency
+     * @param results        receives the amounts in minor units of the target currency, at the same indexes
+     * @throws ArithmeticException if a converted amount does not fit in a long
+     */
+    public void convert(long[] minorUnits, int[] sourceOrdinals, int targetOrdinal, long[] results) {
+        checkLength(minorUnits.length, sourceOrdinals.length);
+        checkLength(minorUnits.length, results.length);
+        for (int i = 0; i < minorUnits.length; i++) {
+            results[i] = convert(minorUnits[i], sourceOrdinals[i], targetOrdinal);
+        }
+    }
+
+    private long convert(long minorUnits, int sourceOrdinal, int targetOrdinal, long multiplier, long divisor) {
+        if (multiplier != NOT_A_LONG && divisor != NOT_A_LONG) {
+            long high = Math.multiplyHigh(minorUnits, multiplier);
+            long product = minorUnits * multiplier;
+            if (high == (product >> 63)) {
+                return divide(product, divisor, roundingMode);
+            }
+        }
+        return BigDecimal.valueOf(minorUnits, minorUnitScales[sourceOrdinal])
+                .multiply(rates[sourceOrdinal])
+                .divide(rates[targetOrdinal], minorUnitScales[targetOrdinal], roundingMode)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    /**
+     * @param divisor strictly positive
+     */
+    static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long sign = dividend < 0 ? -1 : 1;
+        long absoluteRemainder = Math.abs(remainder);
+        int half = Long.compare(absoluteRemainder, divisor - absoluteRemainder);
+        boolean awayFromZero = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+
+    private static BigDecimal normalize(BigDecimal rate) {
+        BigDecimal stripped = rate.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    private static void checkLength(int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalArgumentException("Expected arrays of length " + expected + " but got " + actual);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.cdx.bas.domain.currency.rate;
+
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Provides the default rates when no other provider is deployed
+ */
+@DefaultBean
+@ApplicationScoped
+public class DefaultExchangeRateProvider implements ExchangeRateProviderPort {
+
+    @Override
+    public ExchangeRateSnapshot getSnapshot() {
+        return ExchangeRateUtils.getDefaultSnapshot();
+    }
+}
@@ -0,0 +1,11 @@
+package com.cdx.bas.domain.currency.rate;
+
+public interface ExchangeRateProviderPort {
+
+    /**
+     * Current rate table, a new table replaces it as a whole so a snapshot never changes once read
+     *
+     * @return latest snapshot of the exchange rates
+     */
+    ExchangeRateSnapshot getSnapshot();
+}
@@ -0,0 +1,10 @@
+package com.cdx.bas.domain.currency.rate;
+
+/**
+ * Immutable table of exchange rates, identified by its version
+ *
+ * @param version   version of the rate table, recorded in the metadata of the transactions it converts
+ * @param converter converter of the rates
+ */
+public record ExchangeRateSnapshot(String version, CurrencyConverter converter) {
+}
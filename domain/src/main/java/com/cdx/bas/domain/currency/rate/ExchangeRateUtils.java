@@ -3,91 +3,90 @@ package com.cdx.bas.domain.currency.rate;
 import com.cdx.bas.domain.currency.error.CurrencyException;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
+import java.math.RoundingMode;
 import java.util.Map;
 
 public class ExchangeRateUtils {
     public static final String PIVOT_CURRENCY = "EUR";
-    private static final Double NO_EXCHANGE_RATE_VALUE = 1.0;
+    public static final String DEFAULT_RATE_VERSION = "default";
 
     private ExchangeRateUtils() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
 
     /**
-     * Euro Exchange Rates for each currency
-     *
-     * @param currency key to find rate
-     * @return euro exchange rate corresponding to the currency
+     * @param version           version of the rate table
+     * @param euroExchangeRates euro exchange rate of each currency
+     * @return snapshot converting through the euro, rounding converted amounts half even
+     * @throws CurrencyException if a rate is not positive or a currency has no minor unit
      */
-    private static Double getEuroExchangeRate(String currency) throws CurrencyException {
-        if (currencyEuroExchangeRates.containsKey(currency)) {
-            return currencyEuroExchangeRates.get(currency);
-        } else if (PIVOT_CURRENCY.equals(currency)) {
-            return NO_EXCHANGE_RATE_VALUE;
-        } else {
-            throw new CurrencyException("No exchange rate found for currency: " + currency);
-        }
+    public static ExchangeRateSnapshot createSnapshot(String version, Map<String, BigDecimal> euroExchangeRates) {
+        return new ExchangeRateSnapshot(version, CurrencyConverter.of(PIVOT_CURRENCY, euroExchangeRates, RoundingMode.HALF_EVEN));
     }
 
     /**
-     * Extract amount from Transaction after exchange rate from Transaction currency applied
+     * Extract amount from Transaction after exchange rate from Transaction currency applied with the default rates
      *
      * @param currency of the amount
      * @param amount to convert with the exchange rate
-     * @return euro amount
+     * @return exact euro amount, not rounded
      */
     public static BigDecimal getEuroAmountFrom(String currency, BigDecimal amount) throws CurrencyException {
-        double value = amount.doubleValue() * getEuroExchangeRate(currency);
-        return new BigDecimal(String.valueOf(value));
+        return defaultSnapshot.converter().getPivotAmount(currency, amount);
     }
 
-
     /**
-     * check if the currency is present in exchange rate Map
+     * check if the currency is present in default exchange rate Map
      *
      * @param currency to check if present or not
      * @return boolean of presence of the currency
      */
     public static boolean hasCurrency(String currency) {
-        return PIVOT_CURRENCY.equals(currency) || ExchangeRateUtils.currencyEuroExchangeRates.containsKey(currency);
+        return defaultSnapshot.converter().hasCurrency(currency);
     }
 
     /**
-     * Map currency exchange rates for pivot currency EURO
+     * @return snapshot of the default rates, used until a rate table is loaded
      */
-    private static final Map<String, Double> currencyEuroExchangeRates = new HashMap<String, Double>() {
-        {
-            put("USD", 1.0745);
-            put("JPY", 158.18);
-            put("BGN", 1.9558);
-            put("CZK", 24.217);
-            put("DKK", 7.4563);
-            put("GBP", 0.85503);
-            put("HUF", 389.15);
-            put("PLN", 4.501);
-            put("RON", 4.9603);
-            put("SEK", 11.9105);
-            put("CHF", 0.9561);
-            put("ISK", 143.9);
-            put("NOK", 11.492);
-            put("TRY", 28.772);
-            put("AUD", 1.6801);
-            put("BRL", 5.3502);
-            put("CAD", 1.4659);
-            put("CNY", 7.8476);
-            put("HKD", 8.4261);
-            put("IDR", 16431.79);
-            put("ILS", 4.0902);
-            put("INR", 89.341);
-            put("KRW", 1430.83);
-            put("MXN", 18.8455);
-            put("MYR", 5.0222);
-            put("NZD", 1.8224);
-            put("PHP", 61.257);
-            put("SGD", 1.4624);
-            put("THB", 38.166);
-            put("ZAR", 20.6702);
-        }
-    };
+    public static ExchangeRateSnapshot getDefaultSnapshot() {
+        return defaultSnapshot;
+    }
+
+    /**
+     * Default currency exchange rates for pivot currency EURO
+     */
+    private static final Map<String, BigDecimal> currencyEuroExchangeRates = Map.ofEntries(
+            Map.entry("USD", new BigDecimal("1.0745")),
+            Map.entry("JPY", new BigDecimal("158.18")),
+            Map.entry("BGN", new BigDecimal("1.9558")),
+            Map.entry("CZK", new BigDecimal("24.217")),
+            Map.entry("DKK", new BigDecimal("7.4563")),
+            Map.entry("GBP", new BigDecimal("0.85503")),
+            Map.entry("HUF", new BigDecimal("389.15")),
+            Map.entry("PLN", new BigDecimal("4.501")),
+            Map.entry("RON", new BigDecimal("4.9603")),
+            Map.entry("SEK", new BigDecimal("11.9105")),
+            Map.entry("CHF", new BigDecimal("0.9561")),
+            Map.entry("ISK", new BigDecimal("143.9")),
+            Map.entry("NOK", new BigDecimal("11.492")),
+            Map.entry("TRY", new BigDecimal("28.772")),
+            Map.entry("AUD", new BigDecimal("1.6801")),
+            Map.entry("BRL", new BigDecimal("5.3502")),
+            Map.entry("CAD", new BigDecimal("1.4659")),
+            Map.entry("CNY", new BigDecimal("7.8476")),
+            Map.entry("HKD", new BigDecimal("8.4261")),
+            Map.entry("IDR", new BigDecimal("16431.79")),
+            Map.entry("ILS", new BigDecimal("4.0902")),
+            Map.entry("INR", new BigDecimal("89.341")),
+            Map.entry("KRW", new BigDecimal("1430.83")),
+            Map.entry("MXN", new BigDecimal("18.8455")),
+            Map.entry("MYR", new BigDecimal("5.0222")),
+            Map.entry("NZD", new BigDecimal("1.8224")),
+            Map.entry("PHP", new BigDecimal("61.257")),
+            Map.entry("SGD", new BigDecimal("1.4624")),
+            Map.entry("THB", new BigDecimal("38.166")),
+            Map.entry("ZAR", new BigDecimal("20.6702"))
+    );
+
+    private static final ExchangeRateSnapshot defaultSnapshot = createSnapshot(DEFAULT_RATE_VERSION, currencyEuroExchangeRates);
 }
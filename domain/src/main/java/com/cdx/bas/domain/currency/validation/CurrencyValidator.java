@@ -1,14 +1,24 @@
 package com.cdx.bas.domain.currency.validation;
 
-import com.cdx.bas.domain.currency.rate.ExchangeRateUtils;
+import com.cdx.bas.domain.currency.rate.ExchangeRateProviderPort;
 
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+@ApplicationScoped
 public class CurrencyValidator implements ConstraintValidator<ValidCurrency, String> {
 
+    private final ExchangeRateProviderPort exchangeRateProvider;
+
+    @Inject
+    public CurrencyValidator(ExchangeRateProviderPort exchangeRateProvider) {
+        this.exchangeRateProvider = exchangeRateProvider;
+    }
+
     @Override
     public boolean isValid(String currency, ConstraintValidatorContext context) {
-        return ExchangeRateUtils.hasCurrency(currency);
+        return exchangeRateProvider.getSnapshot().converter().hasCurrency(currency);
     }
 }
@@ -17,6 +17,7 @@ public class CommonMessages {
     public static final String DEBIT_TRANSACTION_CONTEXT = "Debit transaction:";
     public static final String DEPOSIT_TRANSACTION_CONTEXT = "Deposit transaction:";
     public static final String WITHDRAW_TRANSACTION_CONTEXT = "Withdraw transaction:";
+    public static final String EXCHANGE_RATE_CONTEXT = "Exchange rate:";
 
     // Action
     public static final String STARTING_ACTION = "starting";
@@ -30,11 +31,23 @@ public class CommonMessages {
     public static final String DEBIT_ACTION = "debit";
     public static final String CREDIT_ACTION = "credit";
     public static final String DIGITAL_TRANSACTION_ACTION = "digital transaction";
+    public static final String DIGITAL_TRANSACTION_BATCH_ACTION = "digital transaction batch";
     public static final String DEPOSIT_ACTION = "deposit";
     public static final String WITHDRAW_ACTION = "withdraw";
     public static final String CASH_TRANSACTION_ACTION = "cash transaction";
     public static final String OUTSTANDING_STATUS_ACTION = "set status to outstanding";
     public static final String CHANGE_STATUS_ACTION = "set status";
+    public static final String CLAIM_ACTION = "claim";
+    public static final String RENEW_CLAIM_ACTION = "renew claim";
+    public static final String BATCH_ACTION = "batch";
+    public static final String SAVEPOINT_ACTION = "savepoint";
+    public static final String NOTIFY_ACTION = "notify";
+    public static final String LISTEN_ACTION = "listen";
+    public static final String TRIGGER_ACTION = "trigger";
+    public static final String ADMISSION_ACTION = "admission";
+    public static final String IDEMPOTENT_REPLAY_ACTION = "idempotent replay";
+    public static final String STATUS_EVENTS_ACTION = "status events";
+    public static final String RELOAD_ACTION = "reload";
     public static final String JSON_PARSE_METADATA = "parse JSON metadata to Map";
     public static final String MAP_PARSE_METADATA = "parse map metadata to JSON";
 
@@ -49,6 +62,7 @@ public class CommonMessages {
     public static final String UNEXPECTED_STATUS = "unexpected error";
     public static final String NO_LONGER_UNPROCESSED_STATUS = "no longer unprocessed";
     public static final String IS_NULL_STATUS = "is null";
+    public static final String ROLLED_BACK_STATUS = "rolled back";
 
     // Cause
     public static final String NOT_FOUND_CAUSE = "not found";
@@ -58,9 +72,28 @@ public class CommonMessages {
     public static final String BANK_ACCOUNT_ERROR_CAUSE = "bank account error";
     public static final String SHOULD_HAVE_POSITIVE_VALUE_CAUSE = "should have positive value";
     public static final String UNEXPECTED_ERROR_CAUSE = "unexpected error";
+    public static final String BACKLOG_FULL_CAUSE = "too many unprocessed transactions";
+    public static final String EMPTY_ITEM_CAUSE = "empty item";
+    public static final String BATCH_TOO_LARGE_CAUSE = "too many items, the maximum is ";
+    public static final String CLAIM_LOST_CAUSE = "no longer unprocessed or claimed by another owner";
+    public static final String CONCURRENT_BALANCE_CHANGE_CAUSE = "balance changed concurrently";
+    public static final String IDEMPOTENCY_KEY_REUSED_CAUSE = "idempotency key already used by another request";
 
     // Details
     public static final String QUEUE_DETAIL = "Queue size:";
+    public static final String SHARD_DETAIL = "Shard count:";
+    public static final String OWNER_DETAIL = "Owner:";
+    public static final String BATCH_DETAIL = "Batch size:";
+    public static final String CHANNEL_DETAIL = "Channel:";
+    public static final String NOTIFIER_DETAIL = "Notifier:";
+    public static final String MODE_DETAIL = "Mode:";
+    public static final String BACKLOG_DETAIL = "Backlog size:";
+    public static final String LAG_DETAIL = "Lag:";
+    public static final String INTERVAL_DETAIL = "Next poll in:";
+    public static final String RETRY_AFTER_DETAIL = "Retry after:";
+    public static final String IDEMPOTENCY_KEY_DETAIL = "Idempotency key:";
+    public static final String RATE_VERSION_DETAIL = "Rate version:";
+    public static final String FILE_DETAIL = "File:";
     public static final String TRANSACTION_ID_DETAIL = "Transaction id:";
     public static final String BANK_ACCOUNT_ID_DETAIL = "Bank account id:";
     public static final String CUSTOMER_ID_DETAIL = "Customer id:";
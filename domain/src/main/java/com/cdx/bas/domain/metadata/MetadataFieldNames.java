@@ -16,4 +16,5 @@ public class MetadataFieldNames {
     public static final String REMOVED_EMITTER_ID = "removed_emitter_id:";
     public static final String REMOVED_RECEIVER_ID = "removed_receiver_id:";
     public static final String ERROR_KEY = "error";
+    public static final String RATE_VERSION_KEY = "rate_version";
 }
@@ -1,27 +1,57 @@
 package com.cdx.bas.domain.money;
 
-import java.math.BigDecimal;
-
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+import static com.cdx.bas.domain.currency.rate.ExchangeRateUtils.PIVOT_CURRENCY;
+
 /**
- * Saving amount validator
+ * Saving amount validator, comparing minor units so no BigDecimal is created
  */
 public class AmountValidator implements ConstraintValidator<Amount, Money> {
-    private BigDecimal max;
-    private BigDecimal min;
+    private static final int PIVOT_SCALE = Money.scaleOf(PIVOT_CURRENCY);
 
+    private long max;
+    private long min;
+    private long maxMinorUnits;
+    private long minMinorUnits;
+
+    /**
+     * Balances are euro amounts, the bounds are converted once to cents
+     */
     @Override
     public void initialize(Amount constraintAnnotation) {
-        this.max = new BigDecimal(constraintAnnotation.max());
-        this.min = new BigDecimal(constraintAnnotation.min());
+        this.max = constraintAnnotation.max();
+        this.min = constraintAnnotation.min();
+        this.maxMinorUnits = toMinorUnits(max, PIVOT_SCALE);
+        this.minMinorUnits = toMinorUnits(min, PIVOT_SCALE);
     }
 
     @Override
     public boolean isValid(Money money, ConstraintValidatorContext context) {
-        return money != null
-                && (money.getAmount().compareTo(min) >= 0 && money.getAmount().compareTo(max) <= 0);
+        if (money == null) {
+            return false;
+        }
+        if (money.getScale() == PIVOT_SCALE) {
+            return money.getMinorUnits() >= minMinorUnits && money.getMinorUnits() <= maxMinorUnits;
+        }
+        return money.getMinorUnits() >= toMinorUnits(min, money.getScale())
+                && money.getMinorUnits() <= toMinorUnits(max, money.getScale());
     }
 
+    /**
+     * Bounds beyond the range of a long of minor units are saturated, every amount respects them
+     */
+    private static long toMinorUnits(long units, int scale) {
+        long minorUnits = units;
+        for (int i = 0; i < scale; i++) {
+            if (minorUnits > Long.MAX_VALUE / 10) {
+                return Long.MAX_VALUE;
+            } else if (minorUnits < Long.MIN_VALUE / 10) {
+                return Long.MIN_VALUE;
+            }
+            minorUnits *= 10;
+        }
+        return minorUnits;
+    }
 }
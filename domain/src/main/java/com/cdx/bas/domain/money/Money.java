@@ -1,52 +1,159 @@
 package com.cdx.bas.domain.money;
 
+import com.cdx.bas.domain.currency.error.CurrencyException;
+
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
 import java.util.Objects;
 
-import jakarta.validation.constraints.NotNull;
+import static com.cdx.bas.domain.currency.rate.ExchangeRateUtils.PIVOT_CURRENCY;
+
+/**
+ * Immutable amount of money, held as a whole number of minor units of its currency (cents for EUR).
+ * <p>
+ * Operations return a new Money and are checked: a result overflowing a long throws an {@link ArithmeticException}
+ * instead of wrapping, and amounts of different currencies are never mixed. Conversions from and to the DECIMAL
+ * columns are exact: a value with more decimals than the minor units of its currency is refused unless it is rounded
+ * explicitly with {@link #ofRounded(BigDecimal, String, RoundingMode)}.
+ */
+public final class Money implements Comparable<Money> {
+
+    private final long minorUnits;
+    private final String currency;
+    private final int scale;
 
-public class Money {
-    @NotNull(message="amount must not be null.")
-    private BigDecimal amount;
-    
+    /**
+     * @param amount euro amount, with at most 2 decimals
+     * @throws ArithmeticException if the amount has more decimals than cents or does not fit in a long of cents
+     */
     public Money(BigDecimal amount) {
-        this.amount = amount;
+        this(toMinorUnits(amount, scaleOf(PIVOT_CURRENCY)), PIVOT_CURRENCY, scaleOf(PIVOT_CURRENCY));
     }
-    
+
+    private Money(long minorUnits, String currency, int scale) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+        this.scale = scale;
+    }
+
     public static Money of(BigDecimal value) {
         return new Money(value);
     }
-    
+
+    /**
+     * @param value    amount with at most the number of decimals of the currency
+     * @param currency ISO 4217 code of the currency
+     * @return exact money
+     * @throws ArithmeticException if the value has more decimals than the currency or does not fit in a long
+     */
+    public static Money of(BigDecimal value, String currency) {
+        int scale = scaleOf(currency);
+        return new Money(toMinorUnits(value, scale), currency, scale);
+    }
+
+    /**
+     * @param value        amount, typically the result of a conversion
+     * @param currency     ISO 4217 code of the currency
+     * @param roundingMode rounding applied to the decimals the currency does not have
+     * @return money rounded to the minor units of the currency
+     */
+    public static Money ofRounded(BigDecimal value, String currency, RoundingMode roundingMode) {
+        int scale = scaleOf(currency);
+        return new Money(toMinorUnits(value.setScale(scale, roundingMode), scale), currency, scale);
+    }
+
+    public static Money ofMinorUnits(long minorUnits, String currency) {
+        return new Money(minorUnits, currency, scaleOf(currency));
+    }
+
+    /**
+     * @return exact amount, with the number of decimals of the currency
+     */
     public BigDecimal getAmount() {
-        return amount;
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    int getScale() {
+        return scale;
+    }
+
+    public Money minus(Money money) {
+        checkSameCurrency(money);
+        return new Money(Math.subtractExact(minorUnits, money.minorUnits), currency, scale);
     }
-    
-    public void minus(Money money) {
-        this.amount = this.amount.subtract(money.amount);
+
+    public Money plus(Money money) {
+        checkSameCurrency(money);
+        return new Money(Math.addExact(minorUnits, money.minorUnits), currency, scale);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency, scale);
     }
-    
-    public void plus(Money money) {
-        this.amount = this.amount.add(money.amount);
+
+    public int signum() {
+        return Long.signum(minorUnits);
     }
-    
+
     public boolean isPositive() {
-        return amount.compareTo(BigDecimal.ZERO) > 0;
+        return minorUnits > 0;
     }
-    
-    public boolean isPositiveOrZero(){
-        return this.amount.compareTo(BigDecimal.ZERO) >= 0;
+
+    public boolean isPositiveOrZero() {
+        return minorUnits >= 0;
     }
-    
+
     public boolean isNegative() {
-        return amount.compareTo(BigDecimal.ZERO) < 0;
+        return minorUnits < 0;
     }
-    
-    public boolean isGreaterThan(Money money){
-        return this.amount.compareTo(money.amount) >= 1;
+
+    public boolean isGreaterThan(Money money) {
+        return compareTo(money) > 0;
     }
-    
-    public boolean isGreaterThanOrEqual(Money money){
-        return this.amount.compareTo(money.amount) >= 0;
+
+    public boolean isGreaterThanOrEqual(Money money) {
+        return compareTo(money) >= 0;
+    }
+
+    @Override
+    public int compareTo(Money money) {
+        checkSameCurrency(money);
+        return Long.compare(minorUnits, money.minorUnits);
+    }
+
+    private void checkSameCurrency(Money money) {
+        if (!currency.equals(money.currency)) {
+            throw new CurrencyException("Currency mismatch: " + currency + " and " + money.currency);
+        }
+    }
+
+    private static long toMinorUnits(BigDecimal amount, int scale) {
+        return amount.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param currency ISO 4217 code of the currency
+     * @return number of decimals of the minor units of the currency
+     * @throws CurrencyException if the currency is unknown
+     */
+    public static int scaleOf(String currency) {
+        if (PIVOT_CURRENCY.equals(currency)) {
+            return 2;
+        }
+        try {
+            return Math.max(0, Currency.getInstance(currency).getDefaultFractionDigits());
+        } catch (IllegalArgumentException | NullPointerException exception) {
+            throw new CurrencyException("No minor unit found for currency: " + currency);
+        }
     }
 
     @Override
@@ -54,11 +161,16 @@ public class Money {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Money money = (Money) o;
-        return Objects.equals(amount, money.amount);
+        return minorUnits == money.minorUnits && Objects.equals(currency, money.currency);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(amount);
+        return Objects.hash(minorUnits, currency);
+    }
+
+    @Override
+    public String toString() {
+        return getAmount().toPlainString() + " " + currency;
     }
 }
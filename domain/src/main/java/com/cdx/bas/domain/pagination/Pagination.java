@@ -0,0 +1,48 @@
+package com.cdx.bas.domain.pagination;
+
+/**
+ * Page size rules shared by the paginated searches.
+ * A page is requested with a cursor (the id of the last element of the previous page) and a limit.
+ */
+public class Pagination {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private Pagination() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Resolve the page size to use for a requested limit
+     *
+     * @param requestedLimit limit requested by the client, null for the default limit
+     * @return page size between 1 and {@link #MAX_LIMIT}
+     * @throws IllegalArgumentException if the requested limit is not positive
+     */
+    public static int limitOf(Integer requestedLimit) {
+        if (requestedLimit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requestedLimit < 1) {
+            throw new IllegalArgumentException("Invalid limit: " + requestedLimit);
+        }
+        return Math.min(requestedLimit, MAX_LIMIT);
+    }
+
+    /**
+     * Check a page requested by a client, which is refused instead of being clamped
+     *
+     * @param after          id of the last element of the previous page, null for the first page
+     * @param requestedLimit limit requested by the client, null for the default limit
+     * @throws IllegalArgumentException if the cursor is negative or the limit is not between 1 and {@link #MAX_LIMIT}
+     */
+    public static void checkPage(Long after, Integer requestedLimit) {
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + after);
+        }
+        if (requestedLimit != null && (requestedLimit < 1 || requestedLimit > MAX_LIMIT)) {
+            throw new IllegalArgumentException("Invalid limit: " + requestedLimit + ", expected between 1 and " + MAX_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cdx.bas.domain.bank.account;
+
+import com.cdx.bas.domain.bank.account.type.AccountType;
+import com.cdx.bas.domain.bank.account.validation.BalanceLimits;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class BalanceLimitsTest {
+
+    @Test
+    void of_shouldReturnAmountRestrictions_whenAccountTypeIsChecking() {
+        // Act
+        BalanceLimits balanceLimits = BalanceLimits.of(AccountType.CHECKING);
+
+        // Assert
+        assertThat(balanceLimits.min()).isEqualByComparingTo("-600");
+        assertThat(balanceLimits.max()).isEqualByComparingTo("100000");
+        assertThat(balanceLimits.message()).isEqualTo("balance amount must be between -600 and 100000.");
+    }
+
+    @Test
+    void of_shouldReturnAmountRestrictions_whenAccountTypeIsSaving() {
+        // Act
+        BalanceLimits balanceLimits = BalanceLimits.of(AccountType.SAVING);
+
+        // Assert
+        assertThat(balanceLimits.min()).isEqualByComparingTo("1");
+        assertThat(balanceLimits.max()).isEqualByComparingTo("22950");
+    }
+
+    @Test
+    void of_shouldReturnUnboundedRestrictions_whenAccountTypeHasNoBankAccount() {
+        // Act
+        BalanceLimits balanceLimits = BalanceLimits.of(AccountType.OTHER);
+
+        // Assert
+        assertThat(balanceLimits.isRespectedBy(new BigDecimal("-1000000000"))).isTrue();
+        assertThat(balanceLimits.isRespectedBy(new BigDecimal("1000000000"))).isTrue();
+    }
+
+    @Test
+    void of_shouldThrowIllegalArgumentException_whenAccountTypeIsNull() {
+        // Act & Assert
+        assertThatThrownBy(() -> BalanceLimits.of(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unexpected account type null");
+    }
+
+    @Test
+    void isRespectedBy_shouldIncludeBounds() {
+        // Arrange
+        BalanceLimits balanceLimits = BalanceLimits.of(AccountType.MMA);
+
+        // Act & Assert
+        assertThat(balanceLimits.isRespectedBy(new BigDecimal("1000.00"))).isTrue();
+        assertThat(balanceLimits.isRespectedBy(new BigDecimal("250000.00"))).isTrue();
+        assertThat(balanceLimits.isRespectedBy(new BigDecimal("999.99"))).isFalse();
+        assertThat(balanceLimits.isRespectedBy(new BigDecimal("250000.01"))).isFalse();
+    }
+}
@@ -0,0 +1,71 @@
+package com.cdx.bas.domain.bank.transaction;
+
+import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
+import com.cdx.bas.domain.bank.transaction.category.group.DigitalTransactionGroup;
+import com.cdx.bas.domain.bank.transaction.category.group.NewTransactionGroup;
+import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Validations per second of a valid new digital transaction, run with the benchmark profile: mvn test -Pbenchmark
+ * <p>
+ * "bean validation" is the previous path, four validator calls for the default, advanced, state and category groups.
+ * "compiled" is the single pass over the constraints compiled at startup.
+ */
+@Tag("benchmark")
+@QuarkusTest
+class TransactionValidatorBenchmarkTest {
+
+    private static final Logger logger = Logger.getLogger(TransactionValidatorBenchmarkTest.class);
+    private static final int WARMUP_VALIDATIONS = 100_000;
+    private static final int MEASURED_VALIDATIONS = 1_000_000;
+
+    @Inject
+    TransactionValidator transactionValidator;
+
+    private final Transaction transaction = new Transaction(null, 1L, 2L, new BigDecimal("100.00"), "EUR",
+            TransactionType.CREDIT, TransactionStatus.UNPROCESSED, Instant.now(), "benchmark credit", new HashMap<>());
+
+    @Test
+    void validateNewDigitalTransaction_beanValidationVersusCompiled() {
+        runBeanValidation(WARMUP_VALIDATIONS);
+        runCompiled(WARMUP_VALIDATIONS);
+
+        double beanValidationRate = runBeanValidation(MEASURED_VALIDATIONS);
+        double compiledRate = runCompiled(MEASURED_VALIDATIONS);
+
+        logger.infof("Transaction validations/sec - bean validation: %.0f, compiled: %.0f (x%.1f)",
+                beanValidationRate, compiledRate, compiledRate / beanValidationRate);
+        assertThat(beanValidationRate).isPositive();
+        assertThat(compiledRate).isPositive();
+    }
+
+    private double runBeanValidation(int validations) {
+        int violations = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < validations; i++) {
+            violations += transactionValidator.validateGroups(transaction, NewTransactionGroup.class, DigitalTransactionGroup.class).size();
+        }
+        double rate = validations / ((System.nanoTime() - start) / 1_000_000_000.0);
+        assertThat(violations).isZero();
+        return rate;
+    }
+
+    private double runCompiled(int validations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < validations; i++) {
+            transactionValidator.validateNewDigitalTransaction(transaction);
+        }
+        return validations / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
@@ -1,6 +1,7 @@
 package com.cdx.bas.domain.bank.transaction;
 
 import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
+import com.cdx.bas.domain.bank.transaction.category.group.*;
 import com.cdx.bas.domain.bank.transaction.status.TransactionStatus;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
@@ -14,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.junit.jupiter.api.Assertions.fail;
 
 @QuarkusTest
@@ -196,6 +198,25 @@ class TransactionValidatorTest {
         transactionValidator.validateCashTransaction(creditTransaction);
     }
 
+    @Test
+    void shouldThrowTransactionException_whenExistingCashTransactionHasNoId() {
+        // Arrange
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("bill", "5,5");
+        Transaction depositTransaction = new Transaction(null, 1L, null, new BigDecimal("10"), "EUR",
+                TransactionType.DEPOSIT, TransactionStatus.UNPROCESSED, Instant.now(), "submitted deposit", metadata);
+        try {
+            // Act
+            transactionValidator.validateExistingCashTransaction(depositTransaction);
+            fail();
+        } catch (TransactionException transactionException) {
+            // Assert
+            assertThat(transactionException.getMessage()).isEqualTo("Id must not be null for existing transaction.\n");
+        }
+        depositTransaction.setId(12L);
+        transactionValidator.validateExistingCashTransaction(depositTransaction);
+    }
+
     @Test
     void shouldThrowTransactionException_whenNewCashTransactionIsEmpty() {
         // Arrange
@@ -256,4 +277,41 @@ class TransactionValidatorTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReportSameViolationsAsBeanValidation_forEveryStateAndCategory() {
+        // Arrange
+        Transaction emptyTransaction = new Transaction();
+        Transaction wrongTransaction = new Transaction(-1L, -1L, -1L, new BigDecimal("0"), "NFC",
+                TransactionType.DEPOSIT, TransactionStatus.ERROR, null, null, null);
+        wrongTransaction.setIdempotencyKey("k".repeat(256));
+        Transaction cashTransaction = new Transaction(12L, 1L, null, new BigDecimal("10"), "EUR",
+                TransactionType.WITHDRAW, TransactionStatus.UNPROCESSED, Instant.now(), "withdraw", Map.of("bill", "10"));
+        Transaction digitalTransaction = new Transaction(null, 1L, 2L, new BigDecimal("1"), "USD",
+                TransactionType.DEBIT, TransactionStatus.WAITING, Instant.now(), "debit", new HashMap<>());
+
+        for (Transaction transaction : List.of(emptyTransaction, wrongTransaction, cashTransaction, digitalTransaction)) {
+            // Act
+            TransactionException newDigitalException = catchThrowableOfType(() -> transactionValidator.validateNewDigitalTransaction(transaction), TransactionException.class);
+            TransactionException existingDigitalException = catchThrowableOfType(() -> transactionValidator.validateExistingDigitalTransaction(transaction), TransactionException.class);
+            TransactionException newCashException = catchThrowableOfType(() -> transactionValidator.validateCashTransaction(transaction), TransactionException.class);
+            TransactionException existingCashException = catchThrowableOfType(() -> transactionValidator.validateExistingCashTransaction(transaction), TransactionException.class);
+
+            // Assert
+            assertThat(violationsOf(newDigitalException))
+                    .containsExactlyInAnyOrderElementsOf(transactionValidator.validateGroups(transaction, NewTransactionGroup.class, DigitalTransactionGroup.class).values());
+            assertThat(violationsOf(existingDigitalException))
+                    .containsExactlyInAnyOrderElementsOf(transactionValidator.validateGroups(transaction, ExistingTransactionGroup.class, DigitalTransactionGroup.class).values());
+            assertThat(violationsOf(newCashException))
+                    .containsExactlyInAnyOrderElementsOf(transactionValidator.validateGroups(transaction, NewTransactionGroup.class, PhysicalCashTransactionGroup.class).values());
+            assertThat(violationsOf(existingCashException))
+                    .containsExactlyInAnyOrderElementsOf(transactionValidator.validateGroups(transaction, ExistingTransactionGroup.class, PhysicalCashTransactionGroup.class).values());
+        }
+    }
+
+    private static List<String> violationsOf(TransactionException transactionException) {
+        if (transactionException == null) {
+            return List.of();
+        }
+        return Arrays.stream(transactionException.getMessage().split("\\r?\\n")).toList();
+    }
+}
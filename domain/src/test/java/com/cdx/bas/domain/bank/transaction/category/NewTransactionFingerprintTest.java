@@ -0,0 +1,60 @@
+package com.cdx.bas.domain.bank.transaction.category;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NewTransactionFingerprintTest {
+
+    @Test
+    void fingerprint_shouldBeEqual_whenRequestsOnlyDifferByAmountScaleAndMetadataOrder() {
+        // Arrange
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("a", "1");
+        metadata.put("b", "2");
+        Map<String, String> reorderedMetadata = new LinkedHashMap<>();
+        reorderedMetadata.put("b", "2");
+        reorderedMetadata.put("a", "1");
+        NewDigitalTransaction newTransaction = new NewDigitalTransaction(1L, 2L, new BigDecimal("10.00"), "EUR", CREDIT, "label", metadata);
+        NewDigitalTransaction sameTransaction = new NewDigitalTransaction(1L, 2L, new BigDecimal("10"), "EUR", CREDIT, "label", reorderedMetadata);
+
+        // Act
+        String actualFingerprint = newTransaction.fingerprint();
+
+        // Assert
+        assertThat(actualFingerprint).hasSize(64).isEqualTo(sameTransaction.fingerprint());
+    }
+
+    @Test
+    void fingerprint_shouldDiffer_whenLabelOrMetadataDiffer() {
+        // Arrange
+        NewDigitalTransaction newTransaction = new NewDigitalTransaction(1L, 2L, new BigDecimal("10"), "EUR", CREDIT, "label", Map.of());
+        NewDigitalTransaction otherLabel = new NewDigitalTransaction(1L, 2L, new BigDecimal("10"), "EUR", CREDIT, "other label", Map.of());
+        NewDigitalTransaction otherMetadata = new NewDigitalTransaction(1L, 2L, new BigDecimal("10"), "EUR", CREDIT, "label", Map.of("a", "1"));
+
+        // Act
+        String actualFingerprint = newTransaction.fingerprint();
+
+        // Assert
+        assertThat(actualFingerprint)
+                .isNotEqualTo(otherLabel.fingerprint())
+                .isNotEqualTo(otherMetadata.fingerprint());
+    }
+
+    @Test
+    void fingerprint_shouldDiffer_whenCashTransactionTypeDiffers() {
+        // Arrange
+        NewCashTransaction newCashTransaction = new NewCashTransaction(1L, new BigDecimal("10"), "EUR", Map.of("bill", "10"));
+
+        // Act
+        String actualDepositFingerprint = newCashTransaction.fingerprint(DEPOSIT);
+
+        // Assert
+        assertThat(actualDepositFingerprint).isNotEqualTo(newCashTransaction.fingerprint(WITHDRAW));
+    }
+}
@@ -7,18 +7,21 @@ import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.TransactionException;
 import com.cdx.bas.domain.bank.transaction.category.digital.DigitalTransactionProcessingDetails;
 import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
+import com.cdx.bas.domain.currency.rate.ExchangeRateSnapshot;
+import com.cdx.bas.domain.currency.rate.ExchangeRateUtils;
 import com.cdx.bas.domain.money.Money;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class CreditAmountServiceImplTest {
 
-    private final CreditAmountServiceImpl creditAmountService = new CreditAmountServiceImpl();
+    private final CreditAmountServiceImpl creditAmountService = new CreditAmountServiceImpl(ExchangeRateUtils::getDefaultSnapshot);
 
     @Test
     void shouldTransferBetweenAccounts_whenCreditProcessorWithPositiveAmount() {
@@ -52,6 +55,69 @@ class CreditAmountServiceImplTest {
                 .isEqualTo(Money.of(new BigDecimal("100.0")));
     }
 
+    @Test
+    void shouldConvertWithSnapshotRatesAndRecordItsVersion_whenCurrencyIsNotEuro() {
+        // Arrange
+        ExchangeRateSnapshot exchangeRates = ExchangeRateUtils.createSnapshot("2024-06-14", Map.of("USD", new BigDecimal("1.10")));
+        CreditAmountServiceImpl snapshotCreditAmountService = new CreditAmountServiceImpl(() -> exchangeRates);
+        Transaction transaction = new Transaction();
+        transaction.setId(1L);
+        transaction.setCurrency("USD");
+        transaction.setType(TransactionType.CREDIT);
+        transaction.setEmitterAccountId(1L);
+        transaction.setReceiverAccountId(2L);
+        transaction.setAmount(new BigDecimal("100"));
+
+        BankAccount emitterBankAccount = new SavingBankAccount();
+        emitterBankAccount.setId(1L);
+        emitterBankAccount.setBalance(Money.of(new BigDecimal("200.00")));
+
+        BankAccount receiverBankAccount = new SavingBankAccount();
+        receiverBankAccount.setId(2L);
+        receiverBankAccount.setBalance(Money.of(new BigDecimal("0.00")));
+        DigitalTransactionProcessingDetails digitalTransactionProcessingDetails = new DigitalTransactionProcessingDetails(transaction, emitterBankAccount, receiverBankAccount, new HashMap<>());
+
+        // Act
+        snapshotCreditAmountService.transferBetweenAccounts(digitalTransactionProcessingDetails);
+
+        // Assert
+        assertThat(emitterBankAccount.getBalance()).isEqualTo(Money.of(new BigDecimal("90.00")));
+        assertThat(receiverBankAccount.getBalance()).isEqualTo(Money.of(new BigDecimal("110.00")));
+        assertThat(digitalTransactionProcessingDetails.getMetadata()).containsEntry("rate_version", "2024-06-14");
+    }
+
+    @Test
+    void shouldConvertDirectlyToCurrencyOfEachAccount_whenAccountIsNotHeldInEuro() {
+        // Arrange
+        ExchangeRateSnapshot exchangeRates = ExchangeRateUtils.createSnapshot("2024-06-14",
+                Map.of("USD", new BigDecimal("1.0745"), "GBP", new BigDecimal("0.85503")));
+        CreditAmountServiceImpl snapshotCreditAmountService = new CreditAmountServiceImpl(() -> exchangeRates);
+        Transaction transaction = new Transaction();
+        transaction.setId(1L);
+        transaction.setCurrency("USD");
+        transaction.setType(TransactionType.CREDIT);
+        transaction.setEmitterAccountId(1L);
+        transaction.setReceiverAccountId(2L);
+        transaction.setAmount(new BigDecimal("100"));
+
+        BankAccount emitterBankAccount = new SavingBankAccount();
+        emitterBankAccount.setId(1L);
+        emitterBankAccount.setBalance(Money.of(new BigDecimal("200.00")));
+
+        BankAccount receiverBankAccount = new SavingBankAccount();
+        receiverBankAccount.setId(2L);
+        receiverBankAccount.setBalance(Money.of(new BigDecimal("0.00"), "GBP"));
+        DigitalTransactionProcessingDetails digitalTransactionProcessingDetails = new DigitalTransactionProcessingDetails(transaction, emitterBankAccount, receiverBankAccount, new HashMap<>());
+
+        // Act
+        snapshotCreditAmountService.transferBetweenAccounts(digitalTransactionProcessingDetails);
+
+        // Assert
+        assertThat(emitterBankAccount.getBalance()).isEqualTo(Money.of(new BigDecimal("92.55")));
+        // 100 USD = 107.45 EUR = 125.6681... GBP, rounded once
+        assertThat(receiverBankAccount.getBalance()).isEqualTo(Money.of(new BigDecimal("125.67"), "GBP"));
+    }
+
     @Test
     void shouldThrowTransactionException_whenCreditProcessorWithNegativeAmount() {
         // Arrange
@@ -6,6 +6,7 @@ import com.cdx.bas.domain.bank.transaction.Transaction;
 import com.cdx.bas.domain.bank.transaction.TransactionException;
 import com.cdx.bas.domain.bank.transaction.category.digital.DigitalTransactionProcessingDetails;
 import com.cdx.bas.domain.bank.transaction.category.digital.type.TransactionType;
+import com.cdx.bas.domain.currency.rate.ExchangeRateUtils;
 import com.cdx.bas.domain.money.Money;
 import org.junit.jupiter.api.Test;
 
@@ -17,7 +18,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 class DebitAmountServiceImplTest {
 
-    private final DebitAmountServiceImpl debitAmountService = new DebitAmountServiceImpl();
+    private final DebitAmountServiceImpl debitAmountService = new DebitAmountServiceImpl(ExchangeRateUtils::getDefaultSnapshot);
 
     @Test
     void shouldTransferBetweenAccounts_whenDebitProcessorWithPositiveAmount() {
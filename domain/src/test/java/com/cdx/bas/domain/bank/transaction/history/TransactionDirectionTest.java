@@ -0,0 +1,28 @@
+package com.cdx.bas.domain.bank.transaction.history;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class TransactionDirectionTest {
+
+    @Test
+    void fromString_shouldReturnEnumValue_whenValidStringIsProvided() {
+        assertThat(TransactionDirection.fromString("ISSUED")).isEqualTo(TransactionDirection.ISSUED);
+        assertThat(TransactionDirection.fromString("incoming")).isEqualTo(TransactionDirection.INCOMING);
+        assertThat(TransactionDirection.fromString("all")).isEqualTo(TransactionDirection.ALL);
+    }
+
+    @Test
+    void fromString_shouldReturnAll_whenNullStringIsProvided() {
+        assertThat(TransactionDirection.fromString(null)).isEqualTo(TransactionDirection.ALL);
+    }
+
+    @Test
+    void fromString_shouldThrowException_whenInvalidStringIsProvided() {
+        assertThatThrownBy(() -> TransactionDirection.fromString("INVALID"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid direction: INVALID");
+    }
+}
@@ -0,0 +1,32 @@
+package com.cdx.bas.domain.bank.transaction.status;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionBacklogTest {
+
+    @Test
+    void lag_shouldReturnWaitingTimeOfOldestTransaction() {
+        // Arrange
+        TransactionBacklog transactionBacklog = new TransactionBacklog(3, Instant.parse("2024-11-06T17:00:00Z"));
+
+        // Act & Assert
+        assertThat(transactionBacklog.isEmpty()).isFalse();
+        assertThat(transactionBacklog.lag(Instant.parse("2024-11-06T17:00:42Z"))).isEqualTo(Duration.ofSeconds(42));
+    }
+
+    @Test
+    void lag_shouldReturnZero_whenBacklogIsEmptyOrDatedInTheFuture() {
+        // Arrange
+        Instant now = Instant.parse("2024-11-06T17:00:00Z");
+
+        // Act & Assert
+        assertThat(TransactionBacklog.EMPTY.isEmpty()).isTrue();
+        assertThat(TransactionBacklog.EMPTY.lag(now)).isZero();
+        assertThat(new TransactionBacklog(1, now.plusSeconds(10)).lag(now)).isZero();
+    }
+}
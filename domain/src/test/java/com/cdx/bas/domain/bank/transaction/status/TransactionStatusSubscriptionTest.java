@@ -0,0 +1,89 @@
+package com.cdx.bas.domain.bank.transaction.status;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.cdx.bas.domain.bank.transaction.status.TransactionStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionStatusSubscriptionTest {
+
+    @Test
+    void take_shouldKeepLatestChangeOfEachTransaction() throws InterruptedException {
+        // Arrange
+        TransactionStatusSubscription subscription = new TransactionStatusSubscription(1L, 10, closed -> {});
+        subscription.offer(new TransactionStatusChange(5L, 1L, 2L, OUTSTANDING));
+        subscription.offer(new TransactionStatusChange(6L, 2L, 1L, COMPLETED));
+        subscription.offer(new TransactionStatusChange(5L, 1L, 2L, REFUSED));
+
+        // Act
+        List<TransactionStatusChange> changes = subscription.take(Duration.ZERO);
+
+        // Assert
+        assertThat(changes).containsExactly(
+                new TransactionStatusChange(6L, 2L, 1L, COMPLETED),
+                new TransactionStatusChange(5L, 1L, 2L, REFUSED));
+        assertThat(subscription.takeDroppedChanges()).isZero();
+        assertThat(subscription.take(Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    void offer_shouldDropOldestChange_whenBufferIsFull() throws InterruptedException {
+        // Arrange
+        TransactionStatusSubscription subscription = new TransactionStatusSubscription(null, 2, closed -> {});
+
+        // Act
+        subscription.offer(new TransactionStatusChange(1L, 1L, 2L, COMPLETED));
+        subscription.offer(new TransactionStatusChange(2L, 1L, 2L, COMPLETED));
+        subscription.offer(new TransactionStatusChange(3L, 1L, 2L, COMPLETED));
+
+        // Assert
+        assertThat(subscription.take(Duration.ZERO))
+                .extracting(TransactionStatusChange::transactionId)
+                .containsExactly(2L, 3L);
+        assertThat(subscription.takeDroppedChanges()).isEqualTo(1);
+        assertThat(subscription.takeDroppedChanges()).isZero();
+    }
+
+    @Test
+    void concerns_shouldFollowEmitterAndReceiverOfAccount() {
+        // Arrange
+        TransactionStatusSubscription accountSubscription = new TransactionStatusSubscription(1L, 1, closed -> {});
+        TransactionStatusSubscription allSubscription = new TransactionStatusSubscription(null, 1, closed -> {});
+
+        // Act & Assert
+        assertThat(accountSubscription.concerns(new TransactionStatusChange(1L, 1L, null, COMPLETED))).isTrue();
+        assertThat(accountSubscription.concerns(new TransactionStatusChange(2L, 3L, 1L, COMPLETED))).isTrue();
+        assertThat(accountSubscription.concerns(new TransactionStatusChange(3L, 2L, 3L, COMPLETED))).isFalse();
+        assertThat(allSubscription.concerns(new TransactionStatusChange(3L, 2L, 3L, COMPLETED))).isTrue();
+    }
+
+    @Test
+    void close_shouldWakeUpWaitingSubscriberAndNotifyOnce() throws Exception {
+        // Arrange
+        List<TransactionStatusSubscription> closedSubscriptions = new ArrayList<>();
+        TransactionStatusSubscription subscription = new TransactionStatusSubscription(1L, 1, closedSubscriptions::add);
+        CompletableFuture<List<TransactionStatusChange>> waitingTake = CompletableFuture.supplyAsync(() -> {
+            try {
+                return subscription.take(Duration.ofMinutes(1));
+            } catch (InterruptedException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+
+        // Act
+        subscription.close();
+        subscription.close();
+
+        // Assert
+        assertThat(waitingTake.get()).isEmpty();
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(closedSubscriptions).containsExactly(subscription);
+        subscription.offer(new TransactionStatusChange(1L, 1L, null, COMPLETED));
+        assertThat(subscription.take(Duration.ZERO)).isEmpty();
+    }
+}
@@ -0,0 +1,95 @@
+package com.cdx.bas.domain.currency.rate;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Euro conversions per second with the previous double rates and with the converter, run with the benchmark profile:
+ * mvn test -Pbenchmark
+ * <p>
+ * The previous method multiplies doubles and parses the result back through a string. The converter multiplies the
+ * exact BigDecimal rate for single transactions, and converts longs of minor units for statements and reports.
+ */
+@Tag("benchmark")
+class CurrencyConversionBenchmarkTest {
+
+    private static final Logger logger = Logger.getLogger(CurrencyConversionBenchmarkTest.class);
+    private static final int WARMUP_CONVERSIONS = 1_000_000;
+    private static final int MEASURED_CONVERSIONS = 5_000_000;
+    private static final int BULK_SIZE = 1000;
+    private static final String[] CURRENCIES = {"USD", "JPY", "GBP", "CHF", "EUR"};
+    private static final Map<String, Double> DOUBLE_RATES = Map.of(
+            "USD", 1.0745, "JPY", 158.18, "GBP", 0.85503, "CHF", 0.9561, "EUR", 1.0);
+
+    private final CurrencyConverter currencyConverter = ExchangeRateUtils.getDefaultSnapshot().converter();
+
+    @Test
+    void euroConversions_doubleVersusExactRates() {
+        BigDecimal[] amounts = new BigDecimal[BULK_SIZE];
+        long[] minorUnits = new long[BULK_SIZE];
+        int[] sourceOrdinals = new int[BULK_SIZE];
+        for (int i = 0; i < BULK_SIZE; i++) {
+            minorUnits[i] = 100L + i * 137L;
+            amounts[i] = BigDecimal.valueOf(minorUnits[i], 2);
+            sourceOrdinals[i] = currencyConverter.ordinalOf(CURRENCIES[i % CURRENCIES.length]);
+        }
+        runDouble(amounts, WARMUP_CONVERSIONS);
+        runExact(amounts, WARMUP_CONVERSIONS);
+        runBulk(minorUnits, sourceOrdinals, WARMUP_CONVERSIONS);
+
+        double doubleRate = runDouble(amounts, MEASURED_CONVERSIONS);
+        double exactRate = runExact(amounts, MEASURED_CONVERSIONS);
+        double bulkRate = runBulk(minorUnits, sourceOrdinals, MEASURED_CONVERSIONS);
+
+        logger.infof("Euro conversions/sec - double: %.0f, exact BigDecimal: %.0f (x%.1f), bulk minor units: %.0f (x%.1f)",
+                doubleRate, exactRate, exactRate / doubleRate, bulkRate, bulkRate / doubleRate);
+        assertThat(doubleRate).isPositive();
+        assertThat(exactRate).isPositive();
+        assertThat(bulkRate).isPositive();
+    }
+
+    private double runDouble(BigDecimal[] amounts, int conversions) {
+        BigDecimal total = BigDecimal.ZERO;
+        long start = System.nanoTime();
+        for (int i = 0; i < conversions; i++) {
+            int index = i % amounts.length;
+            double value = amounts[index].doubleValue() * DOUBLE_RATES.get(CURRENCIES[index % CURRENCIES.length]);
+            total = total.add(new BigDecimal(String.valueOf(value)));
+        }
+        double rate = conversions / ((System.nanoTime() - start) / 1_000_000_000.0);
+        assertThat(total).isPositive();
+        return rate;
+    }
+
+    private double runExact(BigDecimal[] amounts, int conversions) {
+        BigDecimal total = BigDecimal.ZERO;
+        long start = System.nanoTime();
+        for (int i = 0; i < conversions; i++) {
+            int index = i % amounts.length;
+            total = total.add(currencyConverter.getPivotAmount(CURRENCIES[index % CURRENCIES.length], amounts[index]));
+        }
+        double rate = conversions / ((System.nanoTime() - start) / 1_000_000_000.0);
+        assertThat(total).isPositive();
+        return rate;
+    }
+
+    private double runBulk(long[] minorUnits, int[] sourceOrdinals, int conversions) {
+        int euroOrdinal = currencyConverter.ordinalOf(ExchangeRateUtils.PIVOT_CURRENCY);
+        long[] results = new long[minorUnits.length];
+        long total = 0;
+        long start = System.nanoTime();
+        for (int converted = 0; converted < conversions; converted += minorUnits.length) {
+            currencyConverter.convert(minorUnits, sourceOrdinals, euroOrdinal, results);
+            total += results[converted % results.length];
+        }
+        double rate = conversions / ((System.nanoTime() - start) / 1_000_000_000.0);
+        assertThat(total).isPositive();
+        return rate;
+    }
+}
@@ -0,0 +1,159 @@
+package com.cdx.bas.domain.currency.rate;
+
+import com.cdx.bas.domain.currency.error.CurrencyException;
+import com.cdx.bas.domain.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CurrencyConverterTest {
+
+    private final CurrencyConverter currencyConverter = CurrencyConverter.of("EUR", Map.of(
+            "USD", new BigDecimal("1.0745"),
+            "JPY", new BigDecimal("158.18"),
+            "GBP", new BigDecimal("0.85503")), RoundingMode.HALF_EVEN);
+
+    @Test
+    void of_shouldGiveDenseOrdinals_withPivotFirstAndCurrenciesInAlphabeticalOrder() {
+        assertThat(currencyConverter.size()).isEqualTo(4);
+        assertThat(currencyConverter.ordinalOf("EUR")).isZero();
+        assertThat(currencyConverter.ordinalOf("GBP")).isEqualTo(1);
+        assertThat(currencyConverter.ordinalOf("JPY")).isEqualTo(2);
+        assertThat(currencyConverter.ordinalOf("USD")).isEqualTo(3);
+        assertThat(currencyConverter.getCurrency(3)).isEqualTo("USD");
+        assertThat(currencyConverter.getRate(0)).isEqualTo(BigDecimal.ONE);
+    }
+
+    @Test
+    void of_shouldThrowCurrencyException_whenRateIsNotPositive() {
+        Map<String, BigDecimal> rates = Map.of("USD", BigDecimal.ZERO);
+
+        assertThatThrownBy(() -> CurrencyConverter.of("EUR", rates, RoundingMode.HALF_EVEN))
+                .isInstanceOf(CurrencyException.class)
+                .hasMessage("Invalid exchange rate for currency: USD");
+    }
+
+    @Test
+    void ordinalOf_shouldThrowCurrencyException_whenCurrencyHasNoRate() {
+        assertThatThrownBy(() -> currencyConverter.ordinalOf("ABC"))
+                .isInstanceOf(CurrencyException.class)
+                .hasMessage("No exchange rate found for currency: ABC");
+        assertThat(currencyConverter.hasCurrency("ABC")).isFalse();
+        assertThat(currencyConverter.hasCurrency(null)).isFalse();
+    }
+
+    @Test
+    void toPivot_shouldRoundExactProductOnceToCents() {
+        Money euroAmount = currencyConverter.toPivot("USD", new BigDecimal("0.10"));
+
+        assertThat(currencyConverter.getPivotAmount("USD", new BigDecimal("0.10"))).isEqualTo(new BigDecimal("0.107450"));
+        assertThat(euroAmount).isEqualTo(Money.ofMinorUnits(11L, "EUR"));
+    }
+
+    @Test
+    void convert_shouldConvertMinorUnitsBetweenCurrencies() {
+        int eur = currencyConverter.ordinalOf("EUR");
+        int jpy = currencyConverter.ordinalOf("JPY");
+        int usd = currencyConverter.ordinalOf("USD");
+
+        assertThat(currencyConverter.convert(1000L, jpy, eur)).isEqualTo(15818000L);
+        assertThat(currencyConverter.convert(10745L, eur, usd)).isEqualTo(10000L);
+        // 100 USD = 107.45 EUR = 0.67928... JPY, rounded half even to 1 yen
+        assertThat(currencyConverter.convert(10000L, usd, jpy)).isEqualTo(1L);
+        assertThat(currencyConverter.convert(-10000L, usd, eur)).isEqualTo(-10745L);
+    }
+
+    @Test
+    void convert_shouldMatchExactDivision_forEveryPairOfCurrencies() {
+        long[] amounts = {1L, 99L, 12345L, -987654321L, 4_000_000_000_000L};
+
+        for (int source = 0; source < currencyConverter.size(); source++) {
+            for (int target = 0; target < currencyConverter.size(); target++) {
+                for (long amount : amounts) {
+                    BigDecimal expected = BigDecimal.valueOf(amount, Money.scaleOf(currencyConverter.getCurrency(source)))
+                            .multiply(currencyConverter.getRate(source))
+                            .divide(currencyConverter.getRate(target), Money.scaleOf(currencyConverter.getCurrency(target)), RoundingMode.HALF_EVEN);
+
+                    assertThat(currencyConverter.convert(amount, source, target)).isEqualTo(expected.unscaledValue().longValueExact());
+                }
+            }
+        }
+    }
+
+    @Test
+    void convert_shouldConvertBetweenCurrenciesWithoutRoundingToPivot() {
+        Money roundedThroughPivot = currencyConverter.convert("EUR", "GBP", currencyConverter.toPivot("USD", new BigDecimal("0.02")).getAmount());
+
+        Money pounds = currencyConverter.convert("USD", "GBP", new BigDecimal("0.02"));
+
+        // 0.02 USD = 0.02149 EUR = 0.0251 GBP, while 0.02 EUR = 0.0234 GBP
+        assertThat(pounds).isEqualTo(Money.of(new BigDecimal("0.03"), "GBP"));
+        assertThat(roundedThroughPivot).isEqualTo(Money.of(new BigDecimal("0.02"), "GBP"));
+        assertThat(currencyConverter.convert("USD", "GBP", new BigDecimal("100"))).isEqualTo(Money.of(new BigDecimal("125.67"), "GBP"));
+        assertThat(currencyConverter.convert("USD", "JPY", new BigDecimal("100.005"))).isEqualTo(Money.of(new BigDecimal("1"), "JPY"));
+    }
+
+    @Test
+    void convert_shouldFallBackToBigDecimal_whenProductOverflowsLong() {
+        int gbp = currencyConverter.ordinalOf("GBP");
+        int usd = currencyConverter.ordinalOf("USD");
+        long pence = Long.MAX_VALUE / 2;
+
+        long cents = currencyConverter.convert(pence, gbp, usd);
+
+        assertThat(cents).isEqualTo(new BigDecimal(pence).multiply(new BigDecimal("85503"))
+                .divide(new BigDecimal("107450"), 0, RoundingMode.HALF_EVEN).longValueExact());
+    }
+
+    @Test
+    void convert_shouldThrowArithmeticException_whenConvertedAmountOverflowsLong() {
+        int eur = currencyConverter.ordinalOf("EUR");
+        int jpy = currencyConverter.ordinalOf("JPY");
+
+        assertThatThrownBy(() -> currencyConverter.convert(Long.MAX_VALUE, jpy, eur))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void convert_shouldConvertAmountsInBulk() {
+        int eur = currencyConverter.ordinalOf("EUR");
+        int gbp = currencyConverter.ordinalOf("GBP");
+        int usd = currencyConverter.ordinalOf("USD");
+        long[] amounts = {100L, 10000L, -250L};
+        long[] sameCurrencyResults = new long[amounts.length];
+        long[] mixedCurrencyResults = new long[amounts.length];
+
+        currencyConverter.convert(amounts, gbp, eur, sameCurrencyResults);
+        currencyConverter.convert(amounts, new int[]{gbp, usd, eur}, eur, mixedCurrencyResults);
+
+        assertThat(sameCurrencyResults).containsExactly(86L, 8550L, -214L);
+        assertThat(mixedCurrencyResults).containsExactly(86L, 10745L, -250L);
+    }
+
+    @Test
+    void convert_shouldThrowIllegalArgumentException_whenArraysHaveDifferentLengths() {
+        long[] amounts = {100L, 200L};
+        long[] results = new long[1];
+
+        assertThatThrownBy(() -> currencyConverter.convert(amounts, 0, 1, results))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected arrays of length 2 but got 1");
+    }
+
+    @Test
+    void divide_shouldApplyRoundingMode() {
+        assertThat(CurrencyConverter.divide(25, 10, RoundingMode.HALF_EVEN)).isEqualTo(2);
+        assertThat(CurrencyConverter.divide(35, 10, RoundingMode.HALF_EVEN)).isEqualTo(4);
+        assertThat(CurrencyConverter.divide(-25, 10, RoundingMode.HALF_EVEN)).isEqualTo(-2);
+        assertThat(CurrencyConverter.divide(25, 10, RoundingMode.HALF_UP)).isEqualTo(3);
+        assertThat(CurrencyConverter.divide(-21, 10, RoundingMode.FLOOR)).isEqualTo(-3);
+        assertThat(CurrencyConverter.divide(21, 10, RoundingMode.CEILING)).isEqualTo(3);
+        assertThatThrownBy(() -> CurrencyConverter.divide(21, 10, RoundingMode.UNNECESSARY))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
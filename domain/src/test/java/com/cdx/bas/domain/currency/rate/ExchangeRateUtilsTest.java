@@ -27,7 +27,7 @@ class ExchangeRateUtilsTest {
 
         BigDecimal euroAmount = ExchangeRateUtils.getEuroAmountFrom(currency, amount);
 
-        assertThat(euroAmount).isEqualTo(BigDecimal.valueOf(1000.0));
+        assertThat(euroAmount).isEqualByComparingTo("1000");
     }
 
     @Test
@@ -37,7 +37,7 @@ class ExchangeRateUtilsTest {
 
         BigDecimal euroAmount = ExchangeRateUtils.getEuroAmountFrom(currency, amount);
 
-        assertThat(euroAmount).isEqualTo(BigDecimal.valueOf(158180.0));
+        assertThat(euroAmount).isEqualTo(new BigDecimal("158180.00"));
     }
 
     @Test
@@ -47,7 +47,7 @@ class ExchangeRateUtilsTest {
 
         BigDecimal euroAmount = ExchangeRateUtils.getEuroAmountFrom(currency, amount);
 
-        assertThat(euroAmount).isEqualTo(new BigDecimal("0.0"));
+        assertThat(euroAmount).isEqualByComparingTo(BigDecimal.ZERO);
     }
 
     @Test
@@ -57,7 +57,7 @@ class ExchangeRateUtilsTest {
 
         BigDecimal euroAmount = ExchangeRateUtils.getEuroAmountFrom(currency, amount);
 
-        assertThat(euroAmount).isEqualTo(BigDecimal.valueOf(1.0745e9));
+        assertThat(euroAmount).isEqualByComparingTo("1074500000");
     }
 
     @Test
@@ -67,7 +67,17 @@ class ExchangeRateUtilsTest {
 
         BigDecimal euroAmount = ExchangeRateUtils.getEuroAmountFrom(currency, amount);
 
-        assertThat(euroAmount).isEqualTo(new BigDecimal("1.0745000000000002E-9"));
+        assertThat(euroAmount).isEqualByComparingTo("0.0000000010745");
+    }
+
+    @Test
+    void getEuroAmountFrom_shouldNotLosePrecision_whenAmountHasManyDigits() {
+        String currency = "GBP";
+        BigDecimal amount = new BigDecimal("123456789012.34");
+
+        BigDecimal euroAmount = ExchangeRateUtils.getEuroAmountFrom(currency, amount);
+
+        assertThat(euroAmount).isEqualTo(new BigDecimal("105559258309.2210702"));
     }
 
     @Test
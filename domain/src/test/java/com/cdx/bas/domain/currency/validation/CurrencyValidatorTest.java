@@ -1,5 +1,6 @@
 package com.cdx.bas.domain.currency.validation;
 
+import com.cdx.bas.domain.currency.rate.ExchangeRateUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -12,7 +13,7 @@ class CurrencyValidatorTest {
 
     @BeforeEach
     void setUp() {
-        currencyValidator = new CurrencyValidator();
+        currencyValidator = new CurrencyValidator(ExchangeRateUtils::getDefaultSnapshot);
     }
 
     @Test
@@ -0,0 +1,112 @@
+package com.cdx.bas.domain.money;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transfers per second with the previous BigDecimal amount and with minor units, run with the benchmark profile:
+ * mvn test -Pbenchmark
+ * <p>
+ * Each transfer checks the amount and the emitter balance then debits the emitter and credits the receiver, like the
+ * debit and credit services do for every transaction.
+ */
+@Tag("benchmark")
+class MoneyArithmeticBenchmarkTest {
+
+    private static final Logger logger = Logger.getLogger(MoneyArithmeticBenchmarkTest.class);
+    private static final int WARMUP_TRANSFERS = 2_000_000;
+    private static final int MEASURED_TRANSFERS = 10_000_000;
+    private static final String[] AMOUNTS = {"0.01", "12.50", "100.00", "999.99", "1500.75"};
+
+    @Test
+    void transfers_bigDecimalVersusMinorUnits() {
+        runBigDecimal(WARMUP_TRANSFERS);
+        runMinorUnits(WARMUP_TRANSFERS);
+
+        double bigDecimalRate = runBigDecimal(MEASURED_TRANSFERS);
+        double minorUnitsRate = runMinorUnits(MEASURED_TRANSFERS);
+
+        logger.infof("Transfers/sec - BigDecimal: %.0f, minor units: %.0f (x%.1f)",
+                bigDecimalRate, minorUnitsRate, minorUnitsRate / bigDecimalRate);
+        assertThat(bigDecimalRate).isPositive();
+        assertThat(minorUnitsRate).isPositive();
+    }
+
+    private double runBigDecimal(int transfers) {
+        BigDecimalMoney[] amounts = new BigDecimalMoney[AMOUNTS.length];
+        for (int i = 0; i < AMOUNTS.length; i++) {
+            amounts[i] = new BigDecimalMoney(new BigDecimal(AMOUNTS[i]));
+        }
+        BigDecimalMoney emitter = new BigDecimalMoney(new BigDecimal("1000000000.00"));
+        BigDecimalMoney receiver = new BigDecimalMoney(BigDecimal.ZERO);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < transfers; i++) {
+            BigDecimalMoney amount = amounts[i % amounts.length];
+            if (amount.isPositive() && emitter.isGreaterThanOrEqual(amount)) {
+                emitter.minus(amount);
+                receiver.plus(amount);
+            }
+        }
+        double rate = transfers / ((System.nanoTime() - start) / 1_000_000_000.0);
+        assertThat(emitter.getAmount().add(receiver.getAmount())).isEqualByComparingTo("1000000000.00");
+        return rate;
+    }
+
+    private double runMinorUnits(int transfers) {
+        Money[] amounts = new Money[AMOUNTS.length];
+        for (int i = 0; i < AMOUNTS.length; i++) {
+            amounts[i] = Money.of(new BigDecimal(AMOUNTS[i]));
+        }
+        Money emitter = Money.of(new BigDecimal("1000000000.00"));
+        Money receiver = Money.of(BigDecimal.ZERO);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < transfers; i++) {
+            Money amount = amounts[i % amounts.length];
+            if (amount.isPositive() && emitter.isGreaterThanOrEqual(amount)) {
+                emitter = emitter.minus(amount);
+                receiver = receiver.plus(amount);
+            }
+        }
+        double rate = transfers / ((System.nanoTime() - start) / 1_000_000_000.0);
+        assertThat(emitter.plus(receiver)).isEqualTo(Money.of(new BigDecimal("1000000000.00")));
+        return rate;
+    }
+
+    /**
+     * Previous mutable implementation of Money, kept as the baseline
+     */
+    private static class BigDecimalMoney {
+        private BigDecimal amount;
+
+        BigDecimalMoney(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        BigDecimal getAmount() {
+            return amount;
+        }
+
+        void minus(BigDecimalMoney money) {
+            amount = amount.subtract(money.amount);
+        }
+
+        void plus(BigDecimalMoney money) {
+            amount = amount.add(money.amount);
+        }
+
+        boolean isPositive() {
+            return amount.signum() > 0;
+        }
+
+        boolean isGreaterThanOrEqual(BigDecimalMoney money) {
+            return amount.compareTo(money.amount) >= 0;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.cdx.bas.domain.money;
 
+import com.cdx.bas.domain.currency.error.CurrencyException;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class MoneyTest {
 
@@ -12,7 +15,9 @@ class MoneyTest {
     void Money_shouldInstantiateMoneyWithAmountValue_whenAmountValueIsAPositiveNumber() {
         Money money = new Money(new BigDecimal("100"));
 
-        assertThat(money.getAmount()).isEqualTo("100");
+        assertThat(money.getAmount()).isEqualTo("100.00");
+        assertThat(money.getMinorUnits()).isEqualTo(10000L);
+        assertThat(money.getCurrency()).isEqualTo("EUR");
     }
 
     @Test
@@ -20,9 +25,23 @@ class MoneyTest {
         double amount = -100.00;
         Money money = new Money(new BigDecimal(amount));
 
-        assertThat(money.getAmount()).isEqualTo("-100");
+        assertThat(money.getAmount()).isEqualTo("-100.00");
     }
-    
+
+    @Test
+    void Money_shouldThrowArithmeticException_whenAmountHasMoreDecimalsThanCents() {
+        BigDecimal amount = new BigDecimal("100.001");
+
+        assertThatThrownBy(() -> new Money(amount)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void Money_shouldThrowArithmeticException_whenAmountDoesNotFitInMinorUnits() {
+        BigDecimal amount = new BigDecimal(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> new Money(amount)).isInstanceOf(ArithmeticException.class);
+    }
+
     @Test
     void of_shouldReturnMoneyWithAmountOfValue_whenValueIsAPositiveNumber() {
         double amount = 100.00;
@@ -30,9 +49,9 @@ class MoneyTest {
 
         Money money = Money.of(value);
 
-        assertThat(money.getAmount()).isEqualTo(new BigDecimal("100"));
+        assertThat(money.getAmount()).isEqualTo(new BigDecimal("100.00"));
     }
-    
+
     @Test
     void of_shouldReturnMoneyWithAmountOfValue_whenValueIsANegativeNumber() {
         double amount = -100.00;
@@ -40,7 +59,23 @@ class MoneyTest {
 
         Money money = Money.of(value);
 
-        assertThat(money.getAmount()).isEqualTo(new BigDecimal("-100"));
+        assertThat(money.getAmount()).isEqualTo(new BigDecimal("-100.00"));
+    }
+
+    @Test
+    void of_shouldUseMinorUnitsOfCurrency() {
+        Money money = Money.of(new BigDecimal("158"), "JPY");
+
+        assertThat(money.getMinorUnits()).isEqualTo(158L);
+        assertThat(money.getAmount()).isEqualTo(new BigDecimal("158"));
+        assertThatThrownBy(() -> Money.of(new BigDecimal("158.5"), "JPY")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void ofRounded_shouldRoundToMinorUnits() {
+        Money money = Money.ofRounded(new BigDecimal("107.45000000000002"), "EUR", RoundingMode.HALF_EVEN);
+
+        assertThat(money).isEqualTo(Money.ofMinorUnits(10745L, "EUR"));
     }
 
     @Test
@@ -48,8 +83,10 @@ class MoneyTest {
         Money moneyOne = new Money(new BigDecimal("100"));
         Money moneyTwo = new Money(new BigDecimal("100"));
 
-        moneyOne.minus(moneyTwo);
-        assertThat(moneyOne.getAmount()).isEqualTo(BigDecimal.ZERO);
+        Money result = moneyOne.minus(moneyTwo);
+
+        assertThat(result.getAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(moneyOne.getAmount()).isEqualTo(new BigDecimal("100.00"));
     }
 
     @Test
@@ -57,9 +94,9 @@ class MoneyTest {
         Money moneyOne = new Money(new BigDecimal("0"));
         Money moneyTwo = new Money(new BigDecimal("100"));
 
-        moneyOne.minus(moneyTwo);
+        Money result = moneyOne.minus(moneyTwo);
 
-        assertThat(moneyOne.getAmount()).isEqualTo(new BigDecimal("-100"));
+        assertThat(result.getAmount()).isEqualTo(new BigDecimal("-100.00"));
     }
 
     @Test
@@ -67,9 +104,17 @@ class MoneyTest {
         Money moneyOne = new Money(new BigDecimal("-100"));
         Money moneyTwo = new Money(new BigDecimal("-100"));
 
-        moneyOne.minus(moneyTwo);
+        Money result = moneyOne.minus(moneyTwo);
+
+        assertThat(result.getAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void minus_shouldThrowArithmeticException_whenResultOverflows() {
+        Money moneyOne = Money.ofMinorUnits(Long.MIN_VALUE, "EUR");
+        Money moneyTwo = Money.ofMinorUnits(1L, "EUR");
 
-        assertThat(moneyOne.getAmount()).isEqualTo(BigDecimal.ZERO);
+        assertThatThrownBy(() -> moneyOne.minus(moneyTwo)).isInstanceOf(ArithmeticException.class);
     }
 
     @Test
@@ -77,9 +122,10 @@ class MoneyTest {
         Money moneyOne = new Money(new BigDecimal("100"));
         Money moneyTwo = new Money(new BigDecimal("100"));
 
-        moneyOne.plus(moneyTwo);
+        Money result = moneyOne.plus(moneyTwo);
 
-        assertThat(moneyOne.getAmount()).isEqualTo(new BigDecimal("200"));
+        assertThat(result.getAmount()).isEqualTo(new BigDecimal("200.00"));
+        assertThat(moneyOne.getAmount()).isEqualTo(new BigDecimal("100.00"));
     }
 
     @Test
@@ -87,9 +133,9 @@ class MoneyTest {
         Money moneyOne = new Money(new BigDecimal("0"));
         Money moneyTwo = new Money(new BigDecimal("100"));
 
-        moneyOne.plus(moneyTwo);
+        Money result = moneyOne.plus(moneyTwo);
 
-        assertThat(moneyOne.getAmount()).isEqualTo(new BigDecimal("100"));
+        assertThat(result.getAmount()).isEqualTo(new BigDecimal("100.00"));
     }
 
     @Test
@@ -97,9 +143,27 @@ class MoneyTest {
         Money moneyOne = new Money(new BigDecimal("-100"));
         Money moneyTwo = new Money(new BigDecimal("-100"));
 
-        moneyOne.plus(moneyTwo);
+        Money result = moneyOne.plus(moneyTwo);
+
+        assertThat(result.getAmount()).isEqualTo(new BigDecimal("-200.00"));
+    }
+
+    @Test
+    void plus_shouldThrowArithmeticException_whenResultOverflows() {
+        Money moneyOne = Money.ofMinorUnits(Long.MAX_VALUE, "EUR");
+        Money moneyTwo = Money.ofMinorUnits(1L, "EUR");
+
+        assertThatThrownBy(() -> moneyOne.plus(moneyTwo)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void plus_shouldThrowCurrencyException_whenCurrenciesAreDifferent() {
+        Money euros = Money.of(new BigDecimal("100"), "EUR");
+        Money dollars = Money.of(new BigDecimal("100"), "USD");
 
-        assertThat(moneyOne.getAmount()).isEqualTo(new BigDecimal("-200"));
+        assertThatThrownBy(() -> euros.plus(dollars))
+                .isInstanceOf(CurrencyException.class)
+                .hasMessage("Currency mismatch: EUR and USD");
     }
 
     @Test
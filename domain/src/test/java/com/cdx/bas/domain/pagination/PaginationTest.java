@@ -0,0 +1,55 @@
+package com.cdx.bas.domain.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class PaginationTest {
+
+    @Test
+    void limitOf_shouldReturnDefaultLimit_whenLimitIsNull() {
+        assertThat(Pagination.limitOf(null)).isEqualTo(Pagination.DEFAULT_LIMIT);
+    }
+
+    @Test
+    void limitOf_shouldReturnRequestedLimit_whenLimitIsValid() {
+        assertThat(Pagination.limitOf(25)).isEqualTo(25);
+    }
+
+    @Test
+    void limitOf_shouldReturnMaxLimit_whenLimitIsTooHigh() {
+        assertThat(Pagination.limitOf(1_000_000)).isEqualTo(Pagination.MAX_LIMIT);
+    }
+
+    @Test
+    void limitOf_shouldThrowIllegalArgumentException_whenLimitIsNotPositive() {
+        assertThatThrownBy(() -> Pagination.limitOf(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid limit: 0");
+    }
+
+    @Test
+    void checkPage_shouldAcceptPage_whenCursorAndLimitAreValidOrMissing() {
+        Pagination.checkPage(null, null);
+        Pagination.checkPage(0L, 1);
+        Pagination.checkPage(42L, Pagination.MAX_LIMIT);
+    }
+
+    @Test
+    void checkPage_shouldThrowIllegalArgumentException_whenLimitIsOutOfRange() {
+        assertThatThrownBy(() -> Pagination.checkPage(null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid limit: 0, expected between 1 and 1000");
+        assertThatThrownBy(() -> Pagination.checkPage(null, Pagination.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid limit: 1001, expected between 1 and 1000");
+    }
+
+    @Test
+    void checkPage_shouldThrowIllegalArgumentException_whenCursorIsNegative() {
+        assertThatThrownBy(() -> Pagination.checkPage(-1L, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor: -1");
+    }
+}
@@ -36,7 +36,7 @@ SET TIME ZONE 'Europe/Paris';
 	(
 	account_id BIGSERIAL UNIQUE NOT NULL,
 	type varchar(25) NOT NULL,
-	balance DECIMAL NOT NULL,
+	balance DECIMAL(19, 2) NOT NULL,
 	CONSTRAINT pk_bank_account PRIMARY KEY (account_id)
 	);
 
@@ -53,7 +53,12 @@ SET TIME ZONE 'Europe/Paris';
 	date TIMESTAMP WITH TIME ZONE NOT NULL,
 	label text NOT NULL,
 	metadata jsonb,
+	claim_owner VARCHAR(255),
+	claim_expires_at TIMESTAMP WITH TIME ZONE,
+	idempotency_key VARCHAR(255),
+	idempotency_fingerprint VARCHAR(64),
 	CONSTRAINT pk_transaction PRIMARY KEY (transaction_id),
+	CONSTRAINT uk_transactions_idempotency_key UNIQUE (emitter_account_id, idempotency_key),
     CONSTRAINT fk_emitter_account_id FOREIGN KEY(emitter_account_id) REFERENCES basapp.bank_accounts(account_id),
     CONSTRAINT fk_receiver_account_id FOREIGN KEY(receiver_account_id) REFERENCES basapp.bank_accounts(account_id)
 	);
@@ -68,6 +73,16 @@ SET TIME ZONE 'Europe/Paris';
 	CONSTRAINT fk_customer_id FOREIGN KEY(customer_id) REFERENCES basapp.customers(customer_id)
 	);
 
+-- ALIGN SEQUENCES WITH THE POOLED-LO ID OPTIMIZER (see migration/pooled-sequences.sql) --
+ALTER SEQUENCE basapp.customers_customer_id_seq INCREMENT BY 50;
+ALTER SEQUENCE basapp.bank_accounts_account_id_seq INCREMENT BY 50;
+ALTER SEQUENCE basapp.transactions_transaction_id_seq INCREMENT BY 50;
+
+-- CREATE INDEXES --
+CREATE INDEX IF NOT EXISTS idx_transactions_status_date ON basapp.transactions (status, date, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_emitter_date ON basapp.transactions (emitter_account_id, date, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_receiver_date ON basapp.transactions (receiver_account_id, date, transaction_id);
+
 -- GRANT USER --
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA basapp TO basadm;
 GRANT SELECT, UPDATE, USAGE ON ALL SEQUENCES IN SCHEMA basapp to basadm;
@@ -0,0 +1,5 @@
+-- INDEX THE HISTORY OF BANK ACCOUNTS --
+-- Serves GET /accounts/{id}/transactions with a range scan per side, ordered like the page (date then id).
+-- CONCURRENTLY keeps the table writable while the indexes are built, it must run outside a transaction block.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_emitter_date ON basapp.transactions (emitter_account_id, date, transaction_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_receiver_date ON basapp.transactions (receiver_account_id, date, transaction_id);
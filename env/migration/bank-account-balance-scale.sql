@@ -0,0 +1,11 @@
+-- STORE BALANCES IN CENTS --
+-- Money maps balances exactly, a balance with more than 2 decimals would be refused when the account is loaded.
+-- The accounts concerned are listed before their balance is rounded half to even, like the amounts converted by Money.
+SELECT account_id, balance FROM basapp.bank_accounts WHERE balance <> trunc(balance, 2);
+UPDATE basapp.bank_accounts
+SET balance = CASE
+    WHEN abs(balance * 100 - trunc(balance * 100)) = 0.5 AND mod(trunc(balance * 100), 2) = 0 THEN trunc(balance, 2)
+    ELSE round(balance, 2)
+    END
+WHERE balance <> trunc(balance, 2);
+ALTER TABLE basapp.bank_accounts ALTER COLUMN balance TYPE DECIMAL(19, 2);
@@ -0,0 +1,5 @@
+-- ALIGN SEQUENCES WITH THE POOLED-LO ID OPTIMIZER --
+-- The increment must be equal to SequenceAllocation.BLOCK_SIZE of the application module.
+ALTER SEQUENCE basapp.customers_customer_id_seq INCREMENT BY 50;
+ALTER SEQUENCE basapp.bank_accounts_account_id_seq INCREMENT BY 50;
+ALTER SEQUENCE basapp.transactions_transaction_id_seq INCREMENT BY 50;
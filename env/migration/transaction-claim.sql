@@ -0,0 +1,5 @@
+-- STORE THE CLAIM OF TRANSACTIONS --
+-- In claim mode a node leases the unprocessed transactions it loads until claim_expires_at, the other nodes skip them
+-- until the lease expires. Rows are unclaimed when both columns are NULL, so existing transactions need no update.
+ALTER TABLE basapp.transactions ADD COLUMN IF NOT EXISTS claim_owner VARCHAR(255);
+ALTER TABLE basapp.transactions ADD COLUMN IF NOT EXISTS claim_expires_at TIMESTAMP WITH TIME ZONE;
@@ -0,0 +1,4 @@
+-- STORE THE REQUEST FINGERPRINT OF IDEMPOTENT TRANSACTIONS --
+-- A retry with the same Idempotency-Key is replayed only when its fingerprint matches the stored one, otherwise it is
+-- rejected as a reused key. Transactions created before this column have a NULL fingerprint and are never replayed.
+ALTER TABLE basapp.transactions ADD COLUMN IF NOT EXISTS idempotency_fingerprint VARCHAR(64);
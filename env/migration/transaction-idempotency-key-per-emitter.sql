@@ -0,0 +1,6 @@
+-- SCOPE THE IDEMPOTENCY KEY OF TRANSACTIONS BY EMITTER ACCOUNT --
+-- Two emitter accounts may send the same key, a retry is looked up with the key and the emitter account of the request.
+-- The new index is built CONCURRENTLY, outside a transaction block, before it replaces the global constraint.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_transactions_emitter_idempotency_key ON basapp.transactions (emitter_account_id, idempotency_key);
+ALTER TABLE basapp.transactions DROP CONSTRAINT IF EXISTS uk_transactions_idempotency_key;
+ALTER TABLE basapp.transactions ADD CONSTRAINT uk_transactions_idempotency_key UNIQUE USING INDEX uk_transactions_emitter_idempotency_key;
@@ -0,0 +1,7 @@
+-- STORE THE IDEMPOTENCY KEY OF TRANSACTIONS --
+-- A retried submission carries the key of the first one, the unique constraint refuses the duplicate.
+-- Rows without key stay NULL and are not compared. The index is built CONCURRENTLY, outside a transaction block,
+-- then attached as the constraint.
+ALTER TABLE basapp.transactions ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(255);
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_transactions_idempotency_key ON basapp.transactions (idempotency_key);
+ALTER TABLE basapp.transactions ADD CONSTRAINT uk_transactions_idempotency_key UNIQUE USING INDEX uk_transactions_idempotency_key;
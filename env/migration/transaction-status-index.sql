@@ -0,0 +1,4 @@
+-- INDEX THE UNPROCESSED TRANSACTIONS --
+-- Serves the keyset chunks and the claims of the scheduler with a range scan on the status, ordered like the chunks
+-- (date then id). CONCURRENTLY keeps the table writable while the index is built, it must run outside a transaction block.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_status_date ON basapp.transactions (status, date, transaction_id);
@@ -52,7 +52,12 @@ SET TIME ZONE 'Europe/Paris';
 	date TIMESTAMP WITH TIME ZONE NOT NULL,
 	label text NOT NULL,
 	metadata jsonb,
+	claim_owner VARCHAR(255),
+	claim_expires_at TIMESTAMP WITH TIME ZONE,
+	idempotency_key VARCHAR(255),
+	idempotency_fingerprint VARCHAR(64),
 	CONSTRAINT pk_transaction PRIMARY KEY (transaction_id),
+	CONSTRAINT uk_transactions_idempotency_key UNIQUE (emitter_account_id, idempotency_key),
     CONSTRAINT fk_emitter_account_id FOREIGN KEY(emitter_account_id) REFERENCES basapp.bank_accounts(account_id),
     CONSTRAINT fk_receiver_account_id FOREIGN KEY(receiver_account_id) REFERENCES basapp.bank_accounts(account_id)
 	);
@@ -67,5 +72,10 @@ SET TIME ZONE 'Europe/Paris';
 	CONSTRAINT fk_customer_id FOREIGN KEY(customer_id) REFERENCES basapp.customers(customer_id)
 	);
 
+-- CREATE INDEXES --
+CREATE INDEX IF NOT EXISTS idx_transactions_status_date ON basapp.transactions (status, date, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_emitter_date ON basapp.transactions (emitter_account_id, date, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_receiver_date ON basapp.transactions (receiver_account_id, date, transaction_id);
+
 -- SEQUENCE INIT WITH USE CASES
 CREATE SEQUENCE IF NOT EXISTS basapp.hibernate_sequence;
\ No newline at end of file